@@ -46,6 +46,8 @@ import org.jetbrains.annotations.Nullable;
 public abstract class AbstractComponent implements Component {
   protected final List<Component> children;
   protected final Style style;
+  // whether this tree contains a translatable component: 0 if not known yet, 1 if not, 2 if it does
+  private byte translatable;
 
   protected AbstractComponent(final @NotNull List<? extends ComponentLike> children, final @NotNull Style style) {
     this.children = ComponentLike.asComponents(children, IS_NOT_EMPTY);
@@ -62,6 +64,25 @@ public abstract class AbstractComponent implements Component {
     return this.style;
   }
 
+  /**
+   * Checks if this component tree contains a translatable component.
+   *
+   * <p>The whole tree is searched once, including hover events and separators, and the result is cached.</p>
+   *
+   * @return if the tree contains a translatable component
+   * @since 4.17.0
+   */
+  @ApiStatus.Internal
+  public final boolean containsTranslatable() {
+    byte translatable = this.translatable;
+    if (translatable == 0) {
+      // racy, but every thread computes the same value from the immutable tree
+      translatable = ComponentInternals.searchTranslatable(this) ? (byte) 2 : (byte) 1;
+      this.translatable = translatable;
+    }
+    return translatable == 2;
+  }
+
   @Override
   public boolean equals(final @Nullable Object other) {
     if (this == other) return true;
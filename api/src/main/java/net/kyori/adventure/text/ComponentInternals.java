@@ -23,9 +23,51 @@
  */
 package net.kyori.adventure.text;
 
+import java.util.List;
+import net.kyori.adventure.text.event.HoverEvent;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
 final class ComponentInternals {
   static final String CHILDREN_PROPERTY = "children";
 
   private ComponentInternals() {
   }
+
+  // whether a tree contains a translatable component, using the flag cached on our own components
+  @SuppressWarnings("deprecation")
+  static boolean containsTranslatable(final @NotNull Component component) {
+    if (component instanceof AbstractComponent) {
+      return ((AbstractComponent) component).containsTranslatable();
+    }
+    return searchTranslatable(component);
+  }
+
+  // searches the whole tree, including hover events and separators
+  static boolean searchTranslatable(final @NotNull Component component) {
+    if (component instanceof TranslatableComponent) return true;
+    final @Nullable HoverEvent<?> hoverEvent = component.hoverEvent();
+    if (hoverEvent != null) {
+      final Object value = hoverEvent.value();
+      if (value instanceof Component && containsTranslatable((Component) value)) return true;
+      if (value instanceof HoverEvent.ShowEntity) {
+        final @Nullable Component name = ((HoverEvent.ShowEntity) value).name();
+        if (name != null && containsTranslatable(name)) return true;
+      }
+    }
+    final @Nullable Component separator;
+    if (component instanceof NBTComponent<?, ?>) {
+      separator = ((NBTComponent<?, ?>) component).separator();
+    } else if (component instanceof SelectorComponent) {
+      separator = ((SelectorComponent) component).separator();
+    } else {
+      separator = null;
+    }
+    if (separator != null && containsTranslatable(separator)) return true;
+    final List<Component> children = component.children();
+    for (int i = 0, size = children.size(); i < size; i++) {
+      if (containsTranslatable(children.get(i))) return true;
+    }
+    return false;
+  }
 }
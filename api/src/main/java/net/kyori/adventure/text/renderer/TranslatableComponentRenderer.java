@@ -23,12 +23,12 @@
  */
 package net.kyori.adventure.text.renderer;
 
-import java.text.AttributedCharacterIterator;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
 import java.util.Set;
+import net.kyori.adventure.text.AbstractComponent;
 import net.kyori.adventure.text.BlockNBTComponent;
 import net.kyori.adventure.text.BuildableComponent;
 import net.kyori.adventure.text.Component;
@@ -45,6 +45,7 @@ import net.kyori.adventure.text.TranslatableComponent;
 import net.kyori.adventure.text.TranslationArgument;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.Style;
+import net.kyori.adventure.translation.TranslationTemplate;
 import net.kyori.adventure.translation.Translator;
 import net.kyori.adventure.util.TriState;
 import org.jetbrains.annotations.NotNull;
@@ -67,6 +68,9 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
    * <p>Alongside the standard {@link MessageFormat}-based translation, this will also allow the {@link Translator}
    * to create a {@link Component} {@link Translator#translate(TranslatableComponent, Locale) directly}.</p>
    *
+   * <p>Parts of a component that contain no translatable components, including in hover events and separators,
+   * are returned as they are instead of being copied.</p>
+   *
    * @param source the translation source
    * @return the renderer
    * @since 4.0.0
@@ -74,11 +78,24 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
   public static @NotNull TranslatableComponentRenderer<Locale> usingTranslationSource(final @NotNull Translator source) {
     requireNonNull(source, "source");
     return new TranslatableComponentRenderer<Locale>() {
+      @Override
+      @SuppressWarnings("deprecation")
+      public @NotNull Component render(final @NotNull Component component, final @NotNull Locale context) {
+        // nothing in this tree would be translated, so rendering it would only make a copy
+        if (component instanceof AbstractComponent && !((AbstractComponent) component).containsTranslatable()) return component;
+        return super.render(component, context);
+      }
+
       @Override
       protected @Nullable MessageFormat translate(final @NotNull String key, final @NotNull Locale context) {
         return source.translate(key, context);
       }
 
+      @Override
+      protected @Nullable TranslationTemplate translateTemplate(final @NotNull String key, final @Nullable String fallback, final @NotNull Locale context) {
+        return source.translateTemplate(key, context);
+      }
+
       @Override
       protected @NotNull Component renderTranslatable(final @NotNull TranslatableComponent component, final @NotNull Locale context) {
         final TriState anyTranslations = source.hasAnyTranslations();
@@ -115,6 +132,22 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
     return this.translate(key, context);
   }
 
+  /**
+   * Gets a compiled translation template from a key, fallback string, and context.
+   *
+   * <p>By default, the message format from {@link #translate(String, String, Object)} is compiled on every call.</p>
+   *
+   * @param key a translation key
+   * @param fallback the fallback string
+   * @param context a context
+   * @return a translation template or {@code null} to skip translation
+   * @since 4.17.0
+   */
+  protected @Nullable TranslationTemplate translateTemplate(final @NotNull String key, final @Nullable String fallback, final @NotNull C context) {
+    final @Nullable MessageFormat format = this.translate(key, fallback, context);
+    return format == null ? null : TranslationTemplate.compile(format);
+  }
+
   @Override
   protected @NotNull Component renderBlockNbt(final @NotNull BlockNBTComponent component, final @NotNull C context) {
     final BlockNBTComponent.Builder builder = this.nbt(context, Component.blockNBT(), component)
@@ -176,10 +209,9 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
   }
 
   @Override
-  @SuppressWarnings("JdkObsolete") // MessageFormat requires StringBuffer in its api
   protected @NotNull Component renderTranslatable(final @NotNull TranslatableComponent component, final @NotNull C context) {
-    final @Nullable MessageFormat format = this.translate(component.key(), component.fallback(), context);
-    if (format == null) {
+    final @Nullable TranslationTemplate template = this.translateTemplate(component.key(), component.fallback(), context);
+    if (template == null) {
       // we don't have a translation for this component, but the arguments or children
       // of this component might need additional rendering
 
@@ -205,29 +237,18 @@ public abstract class TranslatableComponentRenderer<C> extends AbstractComponent
 
     // no arguments makes this render very simple
     if (args.isEmpty()) {
-      builder.content(format.format(null, new StringBuffer(), null).toString());
+      builder.content(template.text());
       return this.optionallyRenderChildrenAppendAndBuild(component.children(), builder, context);
     }
 
-    final Object[] nulls = new Object[args.size()];
-    final StringBuffer sb = format.format(nulls, new StringBuffer(), null);
-    final AttributedCharacterIterator it = format.formatToCharacterIterator(nulls);
-
-    while (it.getIndex() < it.getEndIndex()) {
-      final int end = it.getRunLimit();
-      final Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
-      if (index != null) {
-        final TranslationArgument arg = args.get(index);
-        if (arg.value() instanceof Component) {
-          builder.append(this.render(arg.asComponent(), context));
-        } else {
-          builder.append(arg.asComponent()); // todo: number rendering?
-        }
+    template.render(args.size(), text -> builder.append(Component.text(text)), index -> {
+      final TranslationArgument arg = args.get(index);
+      if (arg.value() instanceof Component) {
+        builder.append(this.render(arg.asComponent(), context));
       } else {
-        builder.append(Component.text(sb.substring(it.getIndex(), end)));
+        builder.append(arg.asComponent()); // todo: number rendering?
       }
-      it.setIndex(end);
-    }
+    });
 
     return this.optionallyRenderChildrenAppendAndBuild(component.children(), builder, context);
   }
@@ -87,6 +87,25 @@ public interface GlobalTranslator extends Translator, Examinable {
     return renderer().render(component, locale);
   }
 
+  /**
+   * Creates a cache of components rendered by the {@link #renderer() global renderer}.
+   *
+   * <p>Rendering the same component for many audiences that share a handful of locales repeats the same work. A
+   * render cache keeps up to {@code maximumSize} rendered components, keyed by the component and locale, and evicts
+   * the least recently used ones first.</p>
+   *
+   * <p>Cached renders are discarded whenever a source is added to or removed from the global translator, or when any
+   * {@link TranslationRegistry} is modified. Translators that can change in other ways must be followed by a call to
+   * {@link RenderCache#invalidate()}.</p>
+   *
+   * @param maximumSize the maximum number of rendered components to keep, greater than {@code 0}
+   * @return a new render cache
+   * @since 4.17.0
+   */
+  static @NotNull RenderCache renderCache(final int maximumSize) {
+    return new RenderCacheImpl(GlobalTranslatorImpl.INSTANCE, maximumSize);
+  }
+
   /**
    * Gets the sources.
    *
@@ -115,4 +134,73 @@ public interface GlobalTranslator extends Translator, Examinable {
    * @since 4.0.0
    */
   boolean removeSource(final @NotNull Translator source);
+
+  /**
+   * A bounded cache of components rendered by the global renderer.
+   *
+   * <p>Render caches are thread-safe.</p>
+   *
+   * @see GlobalTranslator#renderCache(int)
+   * @since 4.17.0
+   */
+  @ApiStatus.NonExtendable
+  interface RenderCache {
+    /**
+     * Renders a component using the {@link #renderer() global renderer}, or gets the cached render of an equal
+     * component for the same locale.
+     *
+     * @param component the component to render
+     * @param locale the locale to use when rendering
+     * @return the rendered component
+     * @since 4.17.0
+     */
+    @NotNull Component render(final @NotNull Component component, final @NotNull Locale locale);
+
+    /**
+     * Discards all cached renders.
+     *
+     * @since 4.17.0
+     */
+    void invalidate();
+
+    /**
+     * Gets the number of cached renders.
+     *
+     * @return the size
+     * @since 4.17.0
+     */
+    int size();
+
+    /**
+     * Gets the maximum number of cached renders.
+     *
+     * @return the maximum size
+     * @since 4.17.0
+     */
+    int maximumSize();
+
+    /**
+     * Gets the number of renders served from the cache.
+     *
+     * @return the number of hits
+     * @since 4.17.0
+     */
+    long hits();
+
+    /**
+     * Gets the number of renders that were not cached, and had to be rendered.
+     *
+     * @return the number of misses
+     * @since 4.17.0
+     */
+    long misses();
+
+    /**
+     * Gets the number of renders evicted to stay within the maximum size.
+     *
+     * @return the number of evictions
+     * @since 4.17.0
+     */
+    long evictions();
+  }
 }
@@ -28,6 +28,7 @@ import java.util.Collections;
 import java.util.Locale;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Stream;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
@@ -45,10 +46,20 @@ final class GlobalTranslatorImpl implements GlobalTranslator {
   static final GlobalTranslatorImpl INSTANCE = new GlobalTranslatorImpl();
   final TranslatableComponentRenderer<Locale> renderer = TranslatableComponentRenderer.usingTranslationSource(this);
   private final Set<Translator> sources = Collections.newSetFromMap(new ConcurrentHashMap<>());
+  private final AtomicLong generation = new AtomicLong();
 
   private GlobalTranslatorImpl() {
   }
 
+  // the version of the available translations, which changes whenever rendered components may change
+  long generation() {
+    return this.generation.get();
+  }
+
+  void invalidate() {
+    this.generation.incrementAndGet();
+  }
+
   @Override
   public @NotNull Key name() {
     return NAME;
@@ -63,13 +74,17 @@ final class GlobalTranslatorImpl implements GlobalTranslator {
   public boolean addSource(final @NotNull Translator source) {
     requireNonNull(source, "source");
     if (source == this) throw new IllegalArgumentException("GlobalTranslationSource");
-    return this.sources.add(source);
+    if (!this.sources.add(source)) return false;
+    this.invalidate();
+    return true;
   }
 
   @Override
   public boolean removeSource(final @NotNull Translator source) {
     requireNonNull(source, "source");
-    return this.sources.remove(source);
+    if (!this.sources.remove(source)) return false;
+    this.invalidate();
+    return true;
   }
 
   @Override
@@ -91,6 +106,17 @@ final class GlobalTranslatorImpl implements GlobalTranslator {
     return null;
   }
 
+  @Override
+  public @Nullable TranslationTemplate translateTemplate(final @NotNull String key, final @NotNull Locale locale) {
+    requireNonNull(key, "key");
+    requireNonNull(locale, "locale");
+    for (final Translator source : this.sources) {
+      final TranslationTemplate translation = source.translateTemplate(key, locale);
+      if (translation != null) return translation;
+    }
+    return null;
+  }
+
   @Override
   public @Nullable Component translate(final @NotNull TranslatableComponent component, final @NotNull Locale locale) {
     requireNonNull(component, "component");
@@ -0,0 +1,185 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.translation;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import net.kyori.adventure.text.Component;
+import org.jetbrains.annotations.NotNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A render cache split into independently locked segments, each evicting its least recently used render.
+ *
+ * <p>Renders are tagged with the {@link GlobalTranslatorImpl#generation() generation} of the translations they were
+ * rendered with, and are only served while it is current. A render that races with a change to the translations is
+ * therefore never served, even if it is stored after the change.</p>
+ */
+final class RenderCacheImpl implements GlobalTranslator.RenderCache {
+  private static final int MAX_SEGMENTS = 16;
+  private final GlobalTranslatorImpl translator;
+  private final int maximumSize;
+  private final Segment[] segments;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  RenderCacheImpl(final GlobalTranslatorImpl translator, final int maximumSize) {
+    if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize must be greater than 0, was " + maximumSize);
+    this.translator = translator;
+    this.maximumSize = maximumSize;
+    // small caches use fewer segments, so each segment can still hold a useful number of renders
+    final int count = Math.min(MAX_SEGMENTS, Integer.highestOneBit(Math.max(1, maximumSize / 8)));
+    this.segments = new Segment[count];
+    for (int i = 0; i < count; i++) {
+      this.segments[i] = new Segment(maximumSize / count + (i < maximumSize % count ? 1 : 0));
+    }
+  }
+
+  @Override
+  public @NotNull Component render(final @NotNull Component component, final @NotNull Locale locale) {
+    requireNonNull(component, "component");
+    requireNonNull(locale, "locale");
+    final long generation = this.translator.generation();
+    final CacheKey key = new CacheKey(component, locale);
+    final Segment segment = this.segment(key.hash);
+    final Render cached;
+    synchronized (segment) {
+      cached = segment.get(key);
+    }
+    if (cached != null && cached.generation == generation) {
+      this.hits.increment();
+      return cached.value;
+    }
+    this.misses.increment();
+    final Component rendered = this.translator.renderer.render(component, locale);
+    synchronized (segment) {
+      segment.put(key, new Render(rendered, generation));
+    }
+    return rendered;
+  }
+
+  @Override
+  public void invalidate() {
+    for (final Segment segment : this.segments) {
+      synchronized (segment) {
+        segment.clear();
+      }
+    }
+  }
+
+  @Override
+  public int size() {
+    int size = 0;
+    for (final Segment segment : this.segments) {
+      synchronized (segment) {
+        size += segment.size();
+      }
+    }
+    return size;
+  }
+
+  @Override
+  public int maximumSize() {
+    return this.maximumSize;
+  }
+
+  @Override
+  public long hits() {
+    return this.hits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return this.misses.sum();
+  }
+
+  @Override
+  public long evictions() {
+    return this.evictions.sum();
+  }
+
+  private Segment segment(final int hash) {
+    final int spread = hash ^ (hash >>> 16);
+    return this.segments[spread & (this.segments.length - 1)];
+  }
+
+  private final class Segment extends LinkedHashMap<CacheKey, Render> {
+    private static final long serialVersionUID = 1L;
+    private final int capacity;
+
+    Segment(final int capacity) {
+      super(16, 0.75f, true); // access order
+      this.capacity = capacity;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<CacheKey, Render> eldest) {
+      if (this.size() > this.capacity) {
+        RenderCacheImpl.this.evictions.increment();
+        return true;
+      }
+      return false;
+    }
+  }
+
+  private static final class CacheKey {
+    final Component component;
+    final Locale locale;
+    // components hash their whole tree, so the hash is computed only once per lookup
+    final int hash;
+
+    CacheKey(final Component component, final Locale locale) {
+      this.component = component;
+      this.locale = locale;
+      this.hash = 31 * component.hashCode() + locale.hashCode();
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) return true;
+      if (!(other instanceof CacheKey)) return false;
+      final CacheKey that = (CacheKey) other;
+      return this.hash == that.hash && this.locale.equals(that.locale) && this.component.equals(that.component);
+    }
+
+    @Override
+    public int hashCode() {
+      return this.hash;
+    }
+  }
+
+  private static final class Render {
+    final Component value;
+    final long generation;
+
+    Render(final Component value, final long generation) {
+      this.value = value;
+      this.generation = generation;
+    }
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.translation;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PropertyResourceBundle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Finds and parses locale-suffixed translation bundles, such as {@code messages_en_US.properties}.
+ *
+ * <p>Bundles are read and parsed concurrently, one task per bundle. When the same locale is found more than once,
+ * the first bundle found is used, like {@link ClassLoader#getResource(String)} would.</p>
+ */
+final class TranslationBundles {
+  private static final String EXTENSION = ".properties";
+
+  private TranslationBundles() {
+  }
+
+  /**
+   * Loads the bundles named {@code baseName} in a directory.
+   *
+   * @param directory the directory
+   * @param baseName the base name of the bundles
+   * @param escapeSingleQuotes whether to escape single quotes
+   * @param compile a function compiling each message format, called concurrently
+   * @param executor the executor to scan and parse on
+   * @param <T> the compiled type
+   * @return a future completing with the compiled translations of each locale
+   */
+  static <T> @NotNull CompletableFuture<Map<Locale, Map<String, T>>> load(final @NotNull Path directory, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Function<MessageFormat, T> compile, final @NotNull Executor executor) {
+    return load(() -> {
+      final Map<Locale, Source> sources = new LinkedHashMap<>();
+      scan(directory, baseName, sources);
+      return sources;
+    }, escapeSingleQuotes, compile, executor);
+  }
+
+  /**
+   * Loads the bundles named {@code baseName} from every classpath location of a class loader.
+   *
+   * @param loader the class loader
+   * @param baseName the resource name of the bundles, without locale and extension
+   * @param escapeSingleQuotes whether to escape single quotes
+   * @param compile a function compiling each message format, called concurrently
+   * @param executor the executor to scan and parse on
+   * @param <T> the compiled type
+   * @return a future completing with the compiled translations of each locale
+   */
+  static <T> @NotNull CompletableFuture<Map<Locale, Map<String, T>>> load(final @NotNull ClassLoader loader, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Function<MessageFormat, T> compile, final @NotNull Executor executor) {
+    return load(() -> {
+      final int slash = baseName.lastIndexOf('/');
+      final String directory = slash == -1 ? "" : baseName.substring(0, slash);
+      final String name = baseName.substring(slash + 1);
+      final Map<Locale, Source> sources = new LinkedHashMap<>();
+      final Enumeration<URL> roots = loader.getResources(directory);
+      while (roots.hasMoreElements()) {
+        final URL root = roots.nextElement();
+        if (root.getProtocol().equals("file")) {
+          try {
+            scan(Paths.get(root.toURI()), name, sources);
+          } catch (final URISyntaxException ex) {
+            throw new IOException("Invalid classpath location " + root, ex);
+          }
+        } else if (root.getProtocol().equals("jar")) {
+          scanJar(root, directory.isEmpty() ? "" : directory + '/', name, sources);
+        }
+      }
+      return sources;
+    }, escapeSingleQuotes, compile, executor);
+  }
+
+  private static <T> @NotNull CompletableFuture<Map<Locale, Map<String, T>>> load(final @NotNull Scanner scanner, final boolean escapeSingleQuotes, final @NotNull Function<MessageFormat, T> compile, final @NotNull Executor executor) {
+    final CompletableFuture<Map<Locale, Map<String, T>>> result = new CompletableFuture<>();
+    execute(executor, result, () -> {
+      final Map<Locale, Source> sources;
+      try {
+        sources = scanner.scan();
+      } catch (final Throwable ex) {
+        result.completeExceptionally(ex);
+        return;
+      }
+      final Map<Locale, Map<String, T>> loaded = new LinkedHashMap<>();
+      if (sources.isEmpty()) {
+        result.complete(loaded);
+        return;
+      }
+      // slots are filled in scan order by the parsing tasks, and only read once all of them are done
+      final List<Map<String, T>> parsed = new ArrayList<>(sources.size());
+      for (int i = 0; i < sources.size(); i++) parsed.add(null);
+      final AtomicInteger remaining = new AtomicInteger(sources.size());
+      int index = 0;
+      for (final Map.Entry<Locale, Source> entry : sources.entrySet()) {
+        final int slot = index++;
+        final Locale locale = entry.getKey();
+        final Source source = entry.getValue();
+        final boolean scheduled = execute(executor, result, () -> {
+          if (result.isDone()) return; // another bundle already failed
+          try {
+            final Map<String, T> translations = parse(locale, source, escapeSingleQuotes, compile);
+            synchronized (parsed) {
+              parsed.set(slot, translations);
+            }
+          } catch (final Throwable ex) {
+            result.completeExceptionally(ex);
+            return;
+          }
+          if (remaining.decrementAndGet() == 0) {
+            int i = 0;
+            synchronized (parsed) {
+              for (final Locale key : sources.keySet()) {
+                loaded.put(key, parsed.get(i++));
+              }
+            }
+            result.complete(loaded);
+          }
+        });
+        if (!scheduled) return;
+      }
+    });
+    return result;
+  }
+
+  // fails the result if the executor rejects the task, as nothing else would complete it
+  private static boolean execute(final Executor executor, final CompletableFuture<?> result, final Runnable task) {
+    try {
+      executor.execute(task);
+      return true;
+    } catch (final RejectedExecutionException ex) {
+      result.completeExceptionally(ex);
+      return false;
+    }
+  }
+
+  private static <T> Map<String, T> parse(final Locale locale, final Source source, final boolean escapeSingleQuotes, final Function<MessageFormat, T> compile) throws IOException {
+    final PropertyResourceBundle bundle;
+    try (final Reader reader = source.open()) {
+      bundle = new PropertyResourceBundle(reader);
+    }
+    final Map<String, T> translations = new LinkedHashMap<>();
+    for (final String key : bundle.keySet()) {
+      final String format = bundle.getString(key);
+      translations.put(key, compile.apply(new MessageFormat(
+        escapeSingleQuotes
+          ? TranslationRegistry.SINGLE_QUOTE_PATTERN.matcher(format).replaceAll("''")
+          : format,
+        locale
+      )));
+    }
+    return translations;
+  }
+
+  private static void scan(final Path directory, final String baseName, final Map<Locale, Source> sources) throws IOException {
+    if (!Files.isDirectory(directory)) return;
+    final List<Path> files = new ArrayList<>();
+    try (final DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+      for (final Path file : stream) {
+        files.add(file);
+      }
+    }
+    files.sort(null); // directory order is unspecified
+    for (final Path file : files) {
+      final @Nullable Locale locale = locale(file.getFileName().toString(), baseName);
+      if (locale != null && Files.isRegularFile(file) && !sources.containsKey(locale)) {
+        sources.put(locale, () -> Files.newBufferedReader(file, StandardCharsets.UTF_8));
+      }
+    }
+  }
+
+  // jar entries are read up front, so the jar can be closed before parsing starts
+  private static void scanJar(final URL root, final String directory, final String baseName, final Map<Locale, Source> sources) throws IOException {
+    final JarURLConnection connection = (JarURLConnection) root.openConnection();
+    connection.setUseCaches(false); // so the jar is ours to close
+    try (final JarFile jar = connection.getJarFile()) {
+      final Enumeration<JarEntry> entries = jar.entries();
+      while (entries.hasMoreElements()) {
+        final JarEntry entry = entries.nextElement();
+        final String name = entry.getName();
+        if (entry.isDirectory() || !name.startsWith(directory) || name.indexOf('/', directory.length()) != -1) continue;
+        final @Nullable Locale locale = locale(name.substring(directory.length()), baseName);
+        if (locale != null && !sources.containsKey(locale)) {
+          final byte[] contents = read(jar.getInputStream(entry));
+          sources.put(locale, () -> new InputStreamReader(new ByteArrayInputStream(contents), StandardCharsets.UTF_8));
+        }
+      }
+    }
+  }
+
+  private static byte[] read(final InputStream input) throws IOException {
+    try (final InputStream is = input) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      final byte[] buf = new byte[8192];
+      int read;
+      while ((read = is.read(buf)) != -1) {
+        output.write(buf, 0, read);
+      }
+      return output.toByteArray();
+    }
+  }
+
+  // the locale of a file named baseName_locale.properties
+  private static @Nullable Locale locale(final String fileName, final String baseName) {
+    if (!fileName.endsWith(EXTENSION) || fileName.length() <= baseName.length() + 1 + EXTENSION.length()) return null;
+    if (!fileName.startsWith(baseName) || fileName.charAt(baseName.length()) != '_') return null;
+    final Locale locale = Translator.parseLocale(fileName.substring(baseName.length() + 1, fileName.length() - EXTENSION.length()));
+    return locale == null || locale.getLanguage().isEmpty() ? null : locale;
+  }
+
+  @FunctionalInterface
+  private interface Scanner {
+    Map<Locale, Source> scan() throws IOException;
+  }
+
+  @FunctionalInterface
+  private interface Source {
+    Reader open() throws IOException;
+  }
+}
@@ -34,6 +34,8 @@ import java.util.Map;
 import java.util.PropertyResourceBundle;
 import java.util.ResourceBundle;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.regex.Pattern;
 import net.kyori.adventure.key.Key;
@@ -217,6 +219,79 @@ public interface TranslationRegistry extends Translator {
     }
   }
 
+  /**
+   * Replaces every translation in this registry with the bundles named {@code baseName} in a directory.
+   *
+   * <p>Each bundle is a UTF-8 properties file named after the locale it translates, such as {@code messages_en_US.properties}
+   * for a {@code baseName} of {@code messages}. Files without a locale suffix are ignored. Bundles are read and parsed
+   * concurrently on {@code executor}, and are only published once all of them have loaded, as if by
+   * {@link #replaceAll(Map)}. If any bundle fails to load, the returned future completes exceptionally and the
+   * current translations are kept.</p>
+   *
+   * <p>Calling this method again reloads the bundles.</p>
+   *
+   * @param directory the directory to load bundles from
+   * @param baseName the base name of the bundles
+   * @param escapeSingleQuotes whether to escape single quotes
+   * @param executor the executor to load bundles on
+   * @return a future completing with the locales loaded
+   * @since 4.17.0
+   */
+  default @NotNull CompletableFuture<Set<Locale>> loadAll(final @NotNull Path directory, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Executor executor) {
+    return TranslationBundles.load(requireNonNull(directory, "directory"), requireNonNull(baseName, "baseName"), escapeSingleQuotes, Function.identity(), requireNonNull(executor, "executor"))
+      .thenApply(translations -> {
+        this.replaceAll(translations);
+        return translations.keySet();
+      });
+  }
+
+  /**
+   * Replaces every translation in this registry with the bundles named {@code baseName} on the classpath.
+   *
+   * <p>The {@code baseName} is a resource name, such as {@code lang/messages}, and bundles are found in every
+   * directory and jar {@code loader} can load that resource directory from. If the same locale is found more than
+   * once, the first bundle found is used. Bundles are otherwise loaded as by
+   * {@link #loadAll(Path, String, boolean, Executor)}.</p>
+   *
+   * @param loader the class loader to find bundles with
+   * @param baseName the resource name of the bundles
+   * @param escapeSingleQuotes whether to escape single quotes
+   * @param executor the executor to load bundles on
+   * @return a future completing with the locales loaded
+   * @since 4.17.0
+   */
+  default @NotNull CompletableFuture<Set<Locale>> loadAll(final @NotNull ClassLoader loader, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Executor executor) {
+    return TranslationBundles.load(requireNonNull(loader, "loader"), requireNonNull(baseName, "baseName"), escapeSingleQuotes, Function.identity(), requireNonNull(executor, "executor"))
+      .thenApply(translations -> {
+        this.replaceAll(translations);
+        return translations.keySet();
+      });
+  }
+
+  /**
+   * Replaces every translation in this registry.
+   *
+   * <p>Registries created by {@link #create(Key)} replace all of their translations at once: lookups find either the
+   * previous translations or the new ones, never a mix.</p>
+   *
+   * <p>By default, each key in {@code translations} is {@link #unregister(String) unregistered} and then
+   * {@link #register(String, Locale, MessageFormat) registered} again for each of its locales. That is not atomic, and
+   * keys that are not in {@code translations} are kept, as this interface cannot list its keys.</p>
+   *
+   * @param translations the new translations, by locale and then by translation key
+   * @since 4.17.0
+   */
+  default void replaceAll(final @NotNull Map<Locale, ? extends Map<String, MessageFormat>> translations) {
+    for (final Map<String, MessageFormat> formats : requireNonNull(translations, "translations").values()) {
+      for (final String key : formats.keySet()) {
+        this.unregister(key);
+      }
+    }
+    for (final Map.Entry<Locale, ? extends Map<String, MessageFormat>> entry : translations.entrySet()) {
+      this.registerAll(entry.getKey(), entry.getValue());
+    }
+  }
+
   /**
    * Unregisters a translation key.
    *
@@ -23,11 +23,21 @@
  */
 package net.kyori.adventure.translation;
 
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IllformedLocaleException;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.stream.Stream;
 import net.kyori.adventure.internal.Internals;
 import net.kyori.adventure.key.Key;
@@ -39,10 +49,25 @@ import org.jetbrains.annotations.Nullable;
 
 import static java.util.Objects.requireNonNull;
 
+/**
+ * A translation registry laid out by locale.
+ *
+ * <p>Every key is given a dense id the first time it is registered, and each locale holds its translations in an
+ * array indexed by those ids. Lookups resolve the requested locale to a cached chain of the locales to try, and then
+ * only index into their arrays, so rendering never allocates locales or probes a map per fallback level.</p>
+ *
+ * <p>All translations are held in a single {@link Contents}, which bulk loads build off to the side and then publish
+ * with one write, so lookups see either all of the old translations or all of the new ones.</p>
+ */
 final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
+  // bounds the number of cached fallback chains, as requested locales may come from untrusted clients
+  private static final int MAX_CHAINS = 1024;
   private final Key name;
-  private final Map<String, Translation> translations = new ConcurrentHashMap<>();
-  private Locale defaultLocale = Locale.US; // en_us
+  private volatile Contents contents = new Contents();
+  private final Map<Locale, Chain> chains = new ConcurrentHashMap<>();
+  // changes whenever the fallback chains may change
+  private volatile int layout;
+  private volatile Locale defaultLocale = Locale.US; // en_us
 
   TranslationRegistryImpl(final Key name) {
     this.name = name;
@@ -50,12 +75,63 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
 
   @Override
   public void register(final @NotNull String key, final @NotNull Locale locale, final @NotNull MessageFormat format) {
-    this.translations.computeIfAbsent(key, Translation::new).register(locale, format);
+    requireNonNull(key, "translation key");
+    requireNonNull(locale, "locale");
+    final TranslationTemplate template = TranslationTemplate.compile(requireNonNull(format, "message format"));
+    synchronized (this) {
+      if (this.contents.register(key, locale, new Registered(format, template))) {
+        this.layout++; // chains only include locales that have translations
+      }
+    }
+    GlobalTranslatorImpl.INSTANCE.invalidate();
   }
 
   @Override
   public void unregister(final @NotNull String key) {
-    this.translations.remove(key);
+    synchronized (this) {
+      if (!this.contents.unregister(key)) return;
+    }
+    GlobalTranslatorImpl.INSTANCE.invalidate();
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Set<Locale>> loadAll(final @NotNull Path directory, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Executor executor) {
+    return TranslationBundles.load(requireNonNull(directory, "directory"), requireNonNull(baseName, "baseName"), escapeSingleQuotes, TranslationRegistryImpl::compile, requireNonNull(executor, "executor"))
+      .thenApply(this::replace);
+  }
+
+  @Override
+  public @NotNull CompletableFuture<Set<Locale>> loadAll(final @NotNull ClassLoader loader, final @NotNull String baseName, final boolean escapeSingleQuotes, final @NotNull Executor executor) {
+    return TranslationBundles.load(requireNonNull(loader, "loader"), requireNonNull(baseName, "baseName"), escapeSingleQuotes, TranslationRegistryImpl::compile, requireNonNull(executor, "executor"))
+      .thenApply(this::replace);
+  }
+
+  @Override
+  public void replaceAll(final @NotNull Map<Locale, ? extends Map<String, MessageFormat>> translations) {
+    final Map<Locale, Map<String, Registered>> compiled = new LinkedHashMap<>();
+    for (final Map.Entry<Locale, ? extends Map<String, MessageFormat>> locale : requireNonNull(translations, "translations").entrySet()) {
+      final Map<String, Registered> formats = new LinkedHashMap<>();
+      for (final Map.Entry<String, MessageFormat> format : locale.getValue().entrySet()) {
+        formats.put(requireNonNull(format.getKey(), "translation key"), compile(format.getValue()));
+      }
+      compiled.put(requireNonNull(locale.getKey(), "locale"), formats);
+    }
+    this.replace(compiled);
+  }
+
+  private static Registered compile(final MessageFormat format) {
+    return new Registered(requireNonNull(format, "message format"), TranslationTemplate.compile(format));
+  }
+
+  // the new contents are built without holding the lock, and published with a single write
+  private Set<Locale> replace(final Map<Locale, Map<String, Registered>> translations) {
+    final Contents contents = new Contents(translations);
+    synchronized (this) {
+      this.contents = contents;
+      this.layout++;
+    }
+    GlobalTranslatorImpl.INSTANCE.invalidate();
+    return Collections.unmodifiableSet(translations.keySet());
   }
 
   @Override
@@ -65,12 +141,12 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
 
   @Override
   public boolean contains(final @NotNull String key) {
-    return this.translations.containsKey(key);
+    return this.contents.translations.containsKey(key);
   }
 
   @Override
   public @NotNull TriState hasAnyTranslations() {
-    if (!this.translations.isEmpty()) {
+    if (!this.contents.translations.isEmpty()) {
       return TriState.TRUE;
     }
     return TriState.FALSE;
@@ -78,19 +154,86 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
 
   @Override
   public @Nullable MessageFormat translate(final @NotNull String key, final @NotNull Locale locale) {
-    final Translation translation = this.translations.get(key);
-    if (translation == null) return null;
-    return translation.translate(locale);
+    final Registered registered = this.find(key, locale);
+    return registered == null ? null : registered.format;
+  }
+
+  @Override
+  public @Nullable TranslationTemplate translateTemplate(final @NotNull String key, final @NotNull Locale locale) {
+    final Registered registered = this.find(key, locale);
+    return registered == null ? null : registered.template;
+  }
+
+  private @Nullable Registered find(final @NotNull String key, final @NotNull Locale locale) {
+    final Contents contents = this.contents;
+    final Integer id = contents.ids.get(key);
+    if (id == null) return null;
+    final Slots[] chain = this.chain(contents, requireNonNull(locale, "locale"));
+    for (int i = 0; i < chain.length; i++) {
+      final Registered registered = chain[i].get(id);
+      if (registered != null) return registered;
+    }
+    return null;
+  }
+
+  private Slots[] chain(final Contents contents, final Locale locale) {
+    final int layout = this.layout;
+    final Locale global = TranslationLocales.global();
+    final Chain cached = this.chains.get(locale);
+    if (cached != null && cached.contents == contents && cached.layout == layout && cached.global.equals(global)) {
+      return cached.slots;
+    }
+    // try the locale, then without its variant, script and country in turn, then the registry and global defaults
+    final List<Locale> locales = new ArrayList<>(7);
+    locales.add(locale);
+    final String language = locale.getLanguage();
+    final String script = locale.getScript();
+    final String country = locale.getCountry();
+    if (!locale.getVariant().isEmpty()) {
+      addLocale(locales, language, script, country);
+    }
+    if (!script.isEmpty()) {
+      if (!country.isEmpty()) addLocale(locales, language, "", country);
+      addLocale(locales, language, script, "");
+    }
+    locales.add(new Locale(locale.getLanguage()));
+    locales.add(this.defaultLocale);
+    locales.add(global);
+    final List<Slots> chain = new ArrayList<>(locales.size());
+    for (final Locale candidate : locales) {
+      final Slots slots = contents.slots.get(candidate);
+      if (slots != null && !chain.contains(slots)) chain.add(slots);
+    }
+    final Slots[] resolved = chain.toArray(new Slots[0]);
+    if (this.chains.size() >= MAX_CHAINS) this.chains.clear();
+    this.chains.put(locale, new Chain(contents, layout, global, resolved));
+    return resolved;
+  }
+
+  private static void addLocale(final List<Locale> locales, final String language, final String script, final String country) {
+    if (script.isEmpty()) {
+      locales.add(new Locale(language, country));
+      return;
+    }
+    try {
+      locales.add(new Locale.Builder().setLanguage(language).setScript(script).setRegion(country).build());
+    } catch (final IllformedLocaleException ignored) {
+      // not representable, so it can't have been registered either
+    }
   }
 
   @Override
   public void defaultLocale(final @NotNull Locale defaultLocale) {
-    this.defaultLocale = requireNonNull(defaultLocale, "defaultLocale");
+    synchronized (this) {
+      this.defaultLocale = requireNonNull(defaultLocale, "defaultLocale");
+      this.layout++;
+    }
+    GlobalTranslatorImpl.INSTANCE.invalidate();
   }
 
   @Override
   public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
-    return Stream.of(ExaminableProperty.of("translations", this.translations));
+    return Stream.of(ExaminableProperty.of("translations", this.contents.translations));
   }
 
   @Override
@@ -101,13 +244,13 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
     final TranslationRegistryImpl that = (TranslationRegistryImpl) other;
 
     return this.name.equals(that.name)
-      && this.translations.equals(that.translations)
+      && this.contents.translations.equals(that.contents.translations)
       && this.defaultLocale.equals(that.defaultLocale);
   }
 
   @Override
   public int hashCode() {
-    return Objects.hash(this.name, this.translations, this.defaultLocale);
+    return Objects.hash(this.name, this.contents.translations, this.defaultLocale);
   }
 
   @Override
@@ -115,7 +258,109 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
     return Internals.toString(this);
   }
 
-  final class Translation implements Examinable {
+  static final class Registered {
+    final MessageFormat format;
+    final TranslationTemplate template;
+
+    Registered(final MessageFormat format, final TranslationTemplate template) {
+      this.format = format;
+      this.template = template;
+    }
+  }
+
+  static final class Contents {
+    final Map<String, Translation> translations = new ConcurrentHashMap<>();
+    // ids are never reused, so a key keeps its id if it is unregistered and registered again
+    final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    final Map<Locale, Slots> slots = new ConcurrentHashMap<>();
+
+    Contents() {
+    }
+
+    Contents(final Map<Locale, Map<String, Registered>> translations) {
+      for (final Map.Entry<Locale, Map<String, Registered>> locale : translations.entrySet()) {
+        for (final String key : locale.getValue().keySet()) {
+          this.ids.computeIfAbsent(key, k -> this.ids.size());
+        }
+      }
+      for (final Map.Entry<Locale, Map<String, Registered>> locale : translations.entrySet()) {
+        final Slots slots = new Slots(this.ids.size());
+        for (final Map.Entry<String, Registered> entry : locale.getValue().entrySet()) {
+          this.translations.computeIfAbsent(entry.getKey(), Translation::new).register(locale.getKey(), entry.getValue().format);
+          slots.set(this.ids.get(entry.getKey()), entry.getValue());
+        }
+        this.slots.put(locale.getKey(), slots);
+      }
+    }
+
+    // only called while holding the registry lock, returns whether the locale is new
+    boolean register(final String key, final Locale locale, final Registered registered) {
+      this.translations.computeIfAbsent(key, Translation::new).register(locale, registered.format);
+      final int id = this.ids.computeIfAbsent(key, k -> this.ids.size());
+      Slots slots = this.slots.get(locale);
+      final boolean added = slots == null;
+      if (added) {
+        slots = new Slots(16);
+        this.slots.put(locale, slots);
+      }
+      slots.set(id, registered);
+      return added;
+    }
+
+    // only called while holding the registry lock
+    boolean unregister(final String key) {
+      if (this.translations.remove(key) == null) return false;
+      final int id = this.ids.get(key);
+      for (final Slots slots : this.slots.values()) {
+        slots.set(id, null);
+      }
+      return true;
+    }
+  }
+
+  // the translations of one locale, indexed by key id
+  static final class Slots {
+    private volatile AtomicReferenceArray<Registered> values;
+
+    Slots(final int capacity) {
+      this.values = new AtomicReferenceArray<>(Math.max(1, capacity));
+    }
+
+    @Nullable Registered get(final int id) {
+      final AtomicReferenceArray<Registered> values = this.values;
+      return id < values.length() ? values.get(id) : null;
+    }
+
+    // only called while holding the registry lock
+    void set(final int id, final @Nullable Registered value) {
+      AtomicReferenceArray<Registered> values = this.values;
+      if (id >= values.length()) {
+        if (value == null) return;
+        final AtomicReferenceArray<Registered> grown = new AtomicReferenceArray<>(Math.max(id + 1, values.length() * 2));
+        for (int i = 0; i < values.length(); i++) {
+          grown.set(i, values.get(i));
+        }
+        this.values = values = grown;
+      }
+      values.set(id, value);
+    }
+  }
+
+  static final class Chain {
+    final Contents contents;
+    final int layout;
+    final Locale global;
+    final Slots[] slots;
+
+    Chain(final Contents contents, final int layout, final Locale global, final Slots[] slots) {
+      this.contents = contents;
+      this.layout = layout;
+      this.global = global;
+      this.slots = slots;
+    }
+  }
+
+  static final class Translation implements Examinable {
     private final String key;
     private final Map<Locale, MessageFormat> formats;
 
@@ -130,20 +375,6 @@ final class TranslationRegistryImpl implements Examinable, TranslationRegistry {
       }
     }
 
-    @Nullable MessageFormat translate(final @NotNull Locale locale) {
-      MessageFormat format = this.formats.get(requireNonNull(locale, "locale"));
-      if (format == null) {
-        format = this.formats.get(new Locale(locale.getLanguage())); // try without country
-        if (format == null) {
-          format = this.formats.get(TranslationRegistryImpl.this.defaultLocale); // try local default locale
-          if (format == null) {
-            format = this.formats.get(TranslationLocales.global()); // try global default locale
-          }
-        }
-      }
-      return format;
-    }
-
     @Override
     public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
       return Stream.of(
@@ -0,0 +1,84 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.translation;
+
+import java.text.MessageFormat;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * A {@link MessageFormat} compiled into literal text and argument slots.
+ *
+ * <p>Server-side translation never passes argument values to a message format: arguments are rendered as components
+ * in place of their slots. The output of a message format therefore only depends on its pattern and the number of
+ * arguments given, so it can be computed once instead of formatting and re-parsing the message for every render.</p>
+ *
+ * <p>Templates are immutable and thread-safe, unlike the message formats they are compiled from.</p>
+ *
+ * @see Translator#translateTemplate(String, java.util.Locale)
+ * @since 4.17.0
+ */
+@ApiStatus.NonExtendable
+public interface TranslationTemplate {
+  /**
+   * Compiles a message format into a template.
+   *
+   * <p>The message format is not retained, and may be modified or discarded afterwards.</p>
+   *
+   * @param format the message format
+   * @return a template
+   * @since 4.17.0
+   */
+  static @NotNull TranslationTemplate compile(final @NotNull MessageFormat format) {
+    return TranslationTemplateImpl.compile(requireNonNull(format, "format"));
+  }
+
+  /**
+   * Gets the text of this template when rendered without any arguments.
+   *
+   * <p>Argument slots are left as their {@code {index}} placeholders.</p>
+   *
+   * @return the text
+   * @since 4.17.0
+   */
+  @NotNull String text();
+
+  /**
+   * Renders this template for a number of arguments.
+   *
+   * <p>Each run of literal text and each argument slot is passed, in order, to the matching consumer. Slots for
+   * arguments that were not given are rendered as literal {@code {index}} placeholders, as a message format
+   * would.</p>
+   *
+   * @param arguments the number of arguments, at least {@code 1}
+   * @param literal the consumer of literal text
+   * @param argument the consumer of argument indexes
+   * @since 4.17.0
+   */
+  void render(final int arguments, final @NotNull Consumer<? super String> literal, final @NotNull IntConsumer argument);
+}
@@ -0,0 +1,162 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.translation;
+
+import java.text.AttributedCharacterIterator;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+import java.util.stream.Stream;
+import net.kyori.adventure.internal.Internals;
+import net.kyori.examination.Examinable;
+import net.kyori.examination.ExaminableProperty;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class TranslationTemplateImpl implements Examinable, TranslationTemplate {
+  private static final int LITERAL = -1;
+  // a private copy, as message formats are not thread-safe, only used while holding its lock
+  private final MessageFormat format;
+  // the runs for each argument count from 1 up to the number of argument slots, laid out when first rendered
+  private final Layout[] layouts;
+  private volatile @Nullable String text;
+
+  private TranslationTemplateImpl(final MessageFormat format, final int slots) {
+    this.format = format;
+    this.layouts = new Layout[slots];
+  }
+
+  static @NotNull TranslationTemplateImpl compile(final @NotNull MessageFormat format) {
+    final MessageFormat copy = (MessageFormat) format.clone();
+    return new TranslationTemplateImpl(copy, Math.max(copy.getFormatsByArgumentIndex().length, 1));
+  }
+
+  @Override
+  @SuppressWarnings("JdkObsolete") // MessageFormat requires StringBuffer in its api
+  public @NotNull String text() {
+    String text = this.text;
+    if (text == null) {
+      synchronized (this.format) {
+        text = this.format.format(null, new StringBuffer(), null).toString();
+      }
+      this.text = text;
+    }
+    return text;
+  }
+
+  @Override
+  public void render(final int arguments, final @NotNull Consumer<? super String> literal, final @NotNull IntConsumer argument) {
+    if (arguments < 1) throw new IllegalArgumentException("arguments must be at least 1, was " + arguments);
+    final Layout layout = this.layout(Math.min(arguments, this.layouts.length));
+    final String[] texts = layout.texts;
+    final int[] indexes = layout.indexes;
+    for (int i = 0; i < indexes.length; i++) {
+      if (indexes[i] == LITERAL) {
+        literal.accept(texts[i]);
+      } else {
+        argument.accept(indexes[i]);
+      }
+    }
+  }
+
+  // which runs are literal depends on how many arguments are given, so each count is laid out separately,
+  // exactly like a message format would split them
+  private Layout layout(final int arguments) {
+    // layouts are immutable, so one published without the lock is still seen fully constructed
+    final Layout layout = this.layouts[arguments - 1];
+    if (layout != null) return layout;
+    synchronized (this.format) {
+      Layout created = this.layouts[arguments - 1];
+      if (created == null) {
+        created = Layout.of(this.format, arguments);
+        this.layouts[arguments - 1] = created;
+      }
+      return created;
+    }
+  }
+
+  @Override
+  public @NotNull Stream<? extends ExaminableProperty> examinableProperties() {
+    return Stream.of(ExaminableProperty.of("text", this.text()));
+  }
+
+  @Override
+  public boolean equals(final Object other) {
+    if (this == other) return true;
+    if (!(other instanceof TranslationTemplateImpl)) return false;
+    final TranslationTemplateImpl that = (TranslationTemplateImpl) other;
+    // layouts only depend on the message format
+    return this.format.equals(that.format);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.format.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return Internals.toString(this);
+  }
+
+  static final class Layout {
+    // the literal text of each run, or null for argument runs
+    final String[] texts;
+    // the argument index of each run, or LITERAL
+    final int[] indexes;
+
+    private Layout(final String[] texts, final int[] indexes) {
+      this.texts = texts;
+      this.indexes = indexes;
+    }
+
+    @SuppressWarnings("JdkObsolete") // MessageFormat requires StringBuffer in its api
+    static Layout of(final MessageFormat format, final int arguments) {
+      final Object[] nulls = new Object[arguments];
+      final StringBuffer sb = format.format(nulls, new StringBuffer(), null);
+      final AttributedCharacterIterator it = format.formatToCharacterIterator(nulls);
+      final List<String> texts = new ArrayList<>();
+      final List<Integer> indexes = new ArrayList<>();
+      while (it.getIndex() < it.getEndIndex()) {
+        final int end = it.getRunLimit();
+        final Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
+        if (index != null) {
+          texts.add(null);
+          indexes.add(index);
+        } else {
+          texts.add(sb.substring(it.getIndex(), end));
+          indexes.add(LITERAL);
+        }
+        it.setIndex(end);
+      }
+      final int[] unboxed = new int[indexes.size()];
+      for (int i = 0; i < unboxed.length; i++) {
+        unboxed[i] = indexes.get(i);
+      }
+      return new Layout(texts.toArray(new String[0]), unboxed);
+    }
+  }
+}
@@ -102,6 +102,24 @@ public interface Translator {
    */
   @Nullable MessageFormat translate(final @NotNull String key, final @NotNull Locale locale);
 
+  /**
+   * Gets a compiled translation template from a key and locale.
+   *
+   * <p>By default, the message format from {@link #translate(String, Locale)} is compiled on every call. Compiling is
+   * cheap, as a template only lays itself out for the argument counts it is rendered with, but that work is redone
+   * for every new template. Translators that hold on to their message formats should compile each of them once, and
+   * return the same template.</p>
+   *
+   * @param key a translation key
+   * @param locale a locale
+   * @return a translation template or {@code null} to skip translation
+   * @since 4.17.0
+   */
+  default @Nullable TranslationTemplate translateTemplate(final @NotNull String key, final @NotNull Locale locale) {
+    final MessageFormat format = this.translate(key, locale);
+    return format == null ? null : TranslationTemplate.compile(format);
+  }
+
   /**
    * Gets a translated component from a translatable component and locale.
    *
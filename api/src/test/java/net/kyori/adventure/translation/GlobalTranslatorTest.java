@@ -38,7 +38,9 @@ import org.junit.jupiter.params.provider.ValueSource;
 
 import static com.google.common.truth.Truth.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -103,6 +105,49 @@ class GlobalTranslatorTest {
     );
   }
 
+  @Test
+  void testRenderCache() {
+    final GlobalTranslator.RenderCache cache = GlobalTranslator.renderCache(64);
+    final Component component = Component.translatable("testDummy", Component.text("kashike"));
+    final Component untranslated = cache.render(component, Locale.US);
+    assertEquals(component, untranslated);
+    assertSame(untranslated, cache.render(Component.translatable("testDummy", Component.text("kashike")), Locale.US));
+    assertEquals(1, cache.hits());
+    assertEquals(1, cache.misses());
+
+    GlobalTranslator.translator().addSource(DummyTranslator.INSTANCE); // invalidates
+    final Component translated = cache.render(component, Locale.US);
+    assertEquals(GlobalTranslator.render(component, Locale.US), translated);
+    assertSame(translated, cache.render(component, Locale.US));
+    assertNotSame(translated, cache.render(component, Locale.GERMANY)); // cached per locale
+    assertEquals(2, cache.size());
+
+    TranslationRegistry.create(Key.key("adventure", "unrelated")).register("key", Locale.US, new MessageFormat("value"));
+    assertNotSame(translated, cache.render(component, Locale.US));
+
+    GlobalTranslator.translator().removeSource(DummyTranslator.INSTANCE);
+    assertEquals(component, cache.render(component, Locale.US));
+    assertEquals(2, cache.hits());
+    assertEquals(5, cache.misses());
+    cache.invalidate();
+    assertEquals(0, cache.size());
+    cache.render(component, Locale.US);
+    assertEquals(6, cache.misses());
+  }
+
+  @Test
+  void testRenderCacheEviction() {
+    final GlobalTranslator.RenderCache cache = GlobalTranslator.renderCache(8);
+    for (int i = 0; i < 100; i++) {
+      cache.render(Component.text(i), Locale.US);
+    }
+    assertEquals(8, cache.maximumSize());
+    assertEquals(8, cache.size());
+    assertEquals(92, cache.evictions());
+    assertEquals(100, cache.misses());
+    assertThrows(IllegalArgumentException.class, () -> GlobalTranslator.renderCache(0));
+  }
+
   static class DummyTranslator implements Translator {
     static final DummyTranslator INSTANCE = new DummyTranslator();
 
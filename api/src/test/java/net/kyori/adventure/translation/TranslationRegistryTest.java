@@ -25,21 +25,35 @@ package net.kyori.adventure.translation;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.testing.EqualsTester;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Locale;
 import java.util.ResourceBundle;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import net.kyori.adventure.key.Key;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
 import net.kyori.adventure.text.format.NamedTextColor;
 import net.kyori.adventure.text.renderer.TranslatableComponentRenderer;
 import net.kyori.adventure.util.UTF8ResourceBundleControl;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class TranslationRegistryTest {
@@ -169,6 +183,29 @@ class TranslationRegistryTest {
     );
   }
 
+  @Test
+  void testRender_untranslatedSubtreesKept() {
+    final Component plain = Component.text()
+      .content("Hello ")
+      .color(NamedTextColor.YELLOW)
+      .append(Component.keybind("key.jump"), Component.selector("@p", Component.text(", ")))
+      .hoverEvent(HoverEvent.showText(Component.text("hover")))
+      .build();
+    assertSame(plain, RENDERER.render(plain, Locale.US));
+
+    final Component mixed = Component.text().append(plain, Component.translatable("test")).build();
+    final Component rendered = RENDERER.render(mixed, Locale.US);
+    assertNotSame(mixed, rendered);
+    assertSame(plain, rendered.children().get(0));
+    assertEquals(Component.text("This is a test."), rendered.children().get(1));
+
+    final Component hover = Component.text("hover me").hoverEvent(HoverEvent.showText(Component.translatable("test")));
+    assertEquals(
+      Component.text("hover me").hoverEvent(HoverEvent.showText(Component.text("This is a test."))),
+      RENDERER.render(hover, Locale.US)
+    );
+  }
+
   @Test
   void testUnknownTranslatableWithKnownArgsAndChildren() {
     assertEquals(
@@ -198,6 +235,120 @@ class TranslationRegistryTest {
     );
   }
 
+  @Test
+  void testTranslateFallbackChain() {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("adventure", "fallback"));
+    final MessageFormat german = new MessageFormat("Hallo", Locale.GERMANY);
+    registry.register("hello", Locale.GERMANY, german);
+    assertEquals(german, registry.translate("hello", new Locale("de", "DE", "bavarian"))); // without variant
+    assertNull(registry.translate("hello", Locale.GERMAN)); // "de"
+
+    final Locale traditional = Locale.forLanguageTag("zh-Hant");
+    final MessageFormat chinese = new MessageFormat("\u4f60\u597d", traditional);
+    registry.register("hello", traditional, chinese);
+    assertEquals(chinese, registry.translate("hello", Locale.forLanguageTag("zh-Hant-TW"))); // without country
+    assertNull(registry.translate("hello", Locale.forLanguageTag("zh-Hans-CN")));
+    final MessageFormat taiwan = new MessageFormat("\u4f60\u597d\u5440", Locale.TAIWAN);
+    registry.register("hello", Locale.TAIWAN, taiwan);
+    assertEquals(taiwan, registry.translate("hello", Locale.forLanguageTag("zh-Hant-TW"))); // without script
+    final Locale hongKong = Locale.forLanguageTag("zh-Hant-HK");
+    final MessageFormat hongKongFormat = new MessageFormat("\u54c8\u56c9", hongKong);
+    registry.register("hello", hongKong, hongKongFormat);
+    assertEquals(hongKongFormat, registry.translate("hello", new Locale.Builder().setLanguageTag("zh-Hant-HK").setVariant("variant").build())); // without variant
+    assertEquals(chinese, registry.translate("hello", Locale.forLanguageTag("zh-Hant-MO"))); // without country
+
+    assertNull(registry.translate("hello", Locale.FRANCE));
+    registry.defaultLocale(Locale.GERMANY);
+    assertEquals(german, registry.translate("hello", Locale.FRANCE));
+    final MessageFormat french = new MessageFormat("Bonjour", Locale.FRENCH);
+    registry.register("hello", Locale.FRENCH, french); // a new locale after its chain was cached
+    assertEquals(french, registry.translate("hello", Locale.FRANCE));
+    assertEquals(TranslationTemplate.compile(french), registry.translateTemplate("hello", Locale.FRANCE));
+
+    registry.unregister("hello");
+    assertNull(registry.translate("hello", Locale.FRANCE));
+    assertNull(registry.translateTemplate("hello", Locale.GERMANY));
+    registry.register("hello", Locale.GERMANY, german);
+    assertEquals(german, registry.translate("hello", Locale.FRANCE));
+
+    for (int i = 0; i < 100; i++) {
+      registry.register("key." + i, Locale.US, new MessageFormat("value " + i, Locale.US));
+    }
+    for (int i = 0; i < 100; i++) {
+      assertEquals(new MessageFormat("value " + i, Locale.US), registry.translate("key." + i, Locale.US));
+    }
+  }
+
+  @Test
+  void testLoadAll() throws Exception {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("adventure", "bundles"));
+    registry.register("stale", Locale.US, new MessageFormat("Replaced on load", Locale.US));
+    final Path directory = Files.createTempDirectory("adventure-translations");
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      Files.write(directory.resolve("messages_en_US.properties"), Arrays.asList("hello = Hello {0}!", "quote = It's {0}"), StandardCharsets.UTF_8);
+      Files.write(directory.resolve("messages_de_DE.properties"), Collections.singletonList("hello = Hallo {0}!"), StandardCharsets.UTF_8);
+      Files.write(directory.resolve("messages.properties"), Collections.singletonList("hello = Ignored"), StandardCharsets.UTF_8);
+      Files.write(directory.resolve("other_fr_FR.properties"), Collections.singletonList("hello = Ignored"), StandardCharsets.UTF_8);
+
+      assertEquals(new HashSet<>(Arrays.asList(Locale.US, Locale.GERMANY)), registry.loadAll(directory, "messages", true, executor).get());
+      assertNull(registry.translate("stale", Locale.US));
+      assertEquals(new MessageFormat("Hello {0}!", Locale.US), registry.translate("hello", Locale.US));
+      assertEquals(new MessageFormat("Hallo {0}!", Locale.GERMANY), registry.translate("hello", Locale.GERMANY));
+      assertEquals(new MessageFormat("It''s {0}", Locale.US), registry.translate("quote", Locale.US));
+      assertEquals(new MessageFormat("Hello {0}!", Locale.US), registry.translate("hello", Locale.FRANCE)); // default locale
+
+      // reloading replaces everything, and a failed reload keeps the current translations
+      Files.delete(directory.resolve("messages_de_DE.properties"));
+      Files.write(directory.resolve("messages_en_US.properties"), Collections.singletonList("hello = Hi {0}!"), StandardCharsets.UTF_8);
+      assertEquals(Collections.singleton(Locale.US), registry.loadAll(directory, "messages", true, executor).get());
+      assertEquals(new MessageFormat("Hi {0}!", Locale.US), registry.translate("hello", Locale.GERMANY));
+      assertNull(registry.translate("quote", Locale.US));
+      Files.write(directory.resolve("messages_de_DE.properties"), Collections.singletonList("hello = Hallo {0"), StandardCharsets.UTF_8);
+      final ExecutionException failure = assertThrows(ExecutionException.class, () -> registry.loadAll(directory, "messages", true, executor).get());
+      assertEquals(IllegalArgumentException.class, failure.getCause().getClass());
+      assertEquals(new MessageFormat("Hi {0}!", Locale.US), registry.translate("hello", Locale.GERMANY));
+
+      assertEquals(Collections.singleton(Locale.US), registry.loadAll(this.getClass().getClassLoader(), "adventure-test", true, executor).get());
+      assertEquals(REGISTRY.translate("cats", Locale.US), registry.translate("cats", Locale.US));
+      assertNull(registry.translate("hello", Locale.US));
+
+      registry.replaceAll(Collections.singletonMap(Locale.GERMANY, Collections.singletonMap("hello", new MessageFormat("Hallo", Locale.GERMANY))));
+      assertNull(registry.translate("cats", Locale.US));
+      assertEquals(new MessageFormat("Hallo", Locale.GERMANY), registry.translate("hello", Locale.GERMANY));
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testLoadAllDefaults() throws Exception {
+    final TranslationRegistry delegate = TranslationRegistry.create(Key.key("adventure", "delegate"));
+    final TranslationRegistry registry = new DelegatingRegistry(delegate);
+    registry.register("test", Locale.US, new MessageFormat("Replaced on load", Locale.US));
+    registry.register("kept", Locale.US, new MessageFormat("Kept", Locale.US));
+    assertEquals(Collections.singleton(Locale.US), registry.loadAll(this.getClass().getClassLoader(), "adventure-test", true, Runnable::run).get());
+    assertEquals(REGISTRY.translate("test", Locale.US), delegate.translate("test", Locale.US));
+    assertEquals(new MessageFormat("Kept", Locale.US), delegate.translate("kept", Locale.US)); // keys can't be listed
+  }
+
+  @Test
+  void testLoadAllRejected() throws Exception {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("adventure", "rejected"));
+    final Path directory = Files.createTempDirectory("adventure-translations");
+    Files.write(directory.resolve("messages_en_US.properties"), Collections.singletonList("hello = Hello"), StandardCharsets.UTF_8);
+    final int[] scheduled = new int[1];
+    // the directory is scanned, but the executor shuts down before the bundles are parsed
+    final ExecutionException failure = assertThrows(ExecutionException.class, () -> registry.loadAll(directory, "messages", true, command -> {
+      if (scheduled[0]++ > 0) throw new RejectedExecutionException();
+      command.run();
+    }).get());
+    assertEquals(RejectedExecutionException.class, failure.getCause().getClass());
+    assertThrows(ExecutionException.class, () -> registry.loadAll(directory, "messages", true, command -> {
+      throw new RejectedExecutionException();
+    }).get());
+  }
+
   @Test
   void testEquality() {
     new EqualsTester()
@@ -212,4 +363,42 @@ class TranslationRegistryTest {
     REGISTRY.unregister("test");
     assertNull(REGISTRY.translate("test", Locale.US));
   }
+
+  static final class DelegatingRegistry implements TranslationRegistry {
+    private final TranslationRegistry delegate;
+
+    DelegatingRegistry(final TranslationRegistry delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public @NotNull Key name() {
+      return this.delegate.name();
+    }
+
+    @Override
+    public boolean contains(final @NotNull String key) {
+      return this.delegate.contains(key);
+    }
+
+    @Override
+    public @Nullable MessageFormat translate(final @NotNull String key, final @NotNull Locale locale) {
+      return this.delegate.translate(key, locale);
+    }
+
+    @Override
+    public void defaultLocale(final @NotNull Locale locale) {
+      this.delegate.defaultLocale(locale);
+    }
+
+    @Override
+    public void register(final @NotNull String key, final @NotNull Locale locale, final @NotNull MessageFormat format) {
+      this.delegate.register(key, locale, format);
+    }
+
+    @Override
+    public void unregister(final @NotNull String key) {
+      this.delegate.unregister(key);
+    }
+  }
 }
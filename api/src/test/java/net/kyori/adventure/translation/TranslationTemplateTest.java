@@ -0,0 +1,119 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.translation;
+
+import java.text.AttributedCharacterIterator;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import net.kyori.adventure.key.Key;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TranslationTemplateTest {
+  private static final String[] PATTERNS = {
+    "plain",
+    "",
+    "Hello {0}!",
+    "{0}{0}",
+    "{0}{1}{0}",
+    "a{1}b{0}c",
+    "x{2}y",
+    "{0,number} x {1,date}",
+    "{0,choice,0#none|1#one {1}}",
+    "''{0}'' and '{1}'",
+  };
+
+  @Test
+  void testMatchesMessageFormat() {
+    for (final String pattern : PATTERNS) {
+      final MessageFormat format = new MessageFormat(pattern, Locale.US);
+      final TranslationTemplate template = TranslationTemplate.compile(format);
+      assertEquals(format.format(null, new StringBuffer(), null).toString(), template.text(), pattern);
+      for (int arguments = 1; arguments <= 4; arguments++) {
+        assertEquals(runs(format, arguments), runs(template, arguments), pattern + " with " + arguments + " arguments");
+      }
+    }
+  }
+
+  @Test
+  void testLaidOutOnDemand() {
+    // each argument count is laid out when first rendered, in whatever order that happens
+    for (final String pattern : PATTERNS) {
+      final MessageFormat format = new MessageFormat(pattern, Locale.US);
+      final TranslationTemplate template = TranslationTemplate.compile(format);
+      for (int arguments = 4; arguments >= 1; arguments--) {
+        assertEquals(runs(format, arguments), runs(template, arguments), pattern + " with " + arguments + " arguments");
+      }
+      assertEquals(format.format(null, new StringBuffer(), null).toString(), template.text(), pattern);
+    }
+  }
+
+  @Test
+  void testIndependentOfFormat() {
+    final MessageFormat format = new MessageFormat("Hello {0}!");
+    final TranslationTemplate template = TranslationTemplate.compile(format);
+    format.applyPattern("Goodbye {0}.");
+    assertEquals("Hello {0}!", template.text());
+    assertEquals(TranslationTemplate.compile(new MessageFormat("Hello {0}!")), template);
+    assertThrows(IllegalArgumentException.class, () -> template.render(0, text -> { }, index -> { }));
+  }
+
+  @Test
+  void testRegistryCompilesOnce() {
+    final TranslationRegistry registry = TranslationRegistry.create(Key.key("adventure", "templates"));
+    registry.register("greeting", Locale.US, new MessageFormat("Hello {0}!", Locale.US));
+    final TranslationTemplate template = registry.translateTemplate("greeting", Locale.US);
+    assertEquals(TranslationTemplate.compile(new MessageFormat("Hello {0}!")), template);
+    assertSame(template, registry.translateTemplate("greeting", Locale.US));
+    assertSame(template, registry.translateTemplate("greeting", Locale.ENGLISH));
+    assertNull(registry.translateTemplate("missing", Locale.US));
+  }
+
+  private static List<String> runs(final TranslationTemplate template, final int arguments) {
+    final List<String> runs = new ArrayList<>();
+    template.render(arguments, text -> runs.add("'" + text + "'"), index -> runs.add("<" + index + ">"));
+    return runs;
+  }
+
+  // splits the output of a message format the way the renderer used to before templates
+  private static List<String> runs(final MessageFormat format, final int arguments) {
+    final List<String> runs = new ArrayList<>();
+    final Object[] nulls = new Object[arguments];
+    final StringBuffer sb = format.format(nulls, new StringBuffer(), null);
+    final AttributedCharacterIterator it = format.formatToCharacterIterator(nulls);
+    while (it.getIndex() < it.getEndIndex()) {
+      final int end = it.getRunLimit();
+      final Integer index = (Integer) it.getAttribute(MessageFormat.Field.ARGUMENT);
+      runs.add(index != null ? "<" + index + ">" : "'" + sb.substring(it.getIndex(), end) + "'");
+      it.setIndex(end);
+    }
+    return runs;
+  }
+}
@@ -1,5 +1,6 @@
 plugins {
   id("adventure.common-conventions")
+  alias(libs.plugins.jmh)
 }
 
 dependencies {
@@ -8,4 +9,8 @@ dependencies {
   compileOnlyApi(libs.jetbrainsAnnotations)
 }
 
+tasks.checkstyleJmh {
+  exclude("**")
+}
+
 applyJarMetadata("net.kyori.adventure.nbt")
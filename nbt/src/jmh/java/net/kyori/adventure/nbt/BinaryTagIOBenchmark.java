@@ -0,0 +1,106 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BinaryTagIOBenchmark {
+  @Param({"player", "chunk", "deep", "wide"})
+  private String fixture;
+  @Param({"none", "gzip", "zlib"})
+  private String compression;
+
+  private CompoundBinaryTag tag;
+  private BinaryTagIO.Compression codec;
+  private byte[] encoded;
+  private ByteBuffer output;
+
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    this.tag = NbtFixtures.fixture(this.fixture);
+    switch (this.compression) {
+      case "gzip": this.codec = BinaryTagIO.Compression.GZIP; break;
+      case "zlib": this.codec = BinaryTagIO.Compression.ZLIB; break;
+      default: this.codec = BinaryTagIO.Compression.NONE; break;
+    }
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(this.tag, output, this.codec);
+    this.encoded = output.toByteArray();
+    this.output = ByteBuffer.allocate((int) BinaryTagIO.writer().encodedSize(this.tag));
+  }
+
+  @Benchmark
+  public CompoundBinaryTag readStream() throws IOException {
+    return BinaryTagIO.unlimitedReader().read(new ByteArrayInputStream(this.encoded), this.codec);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag readBuffer() throws IOException {
+    return BinaryTagIO.unlimitedReader().read(ByteBuffer.wrap(this.encoded), this.codec);
+  }
+
+  @Benchmark
+  public byte[] writeStream() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(this.tag, output, this.codec);
+    return output.toByteArray();
+  }
+
+  @Benchmark
+  public ByteBuffer writeBuffer() throws IOException {
+    // the exactly sized, uncompressed path, which does not depend on the compression parameter
+    this.output.clear();
+    BinaryTagIO.writer().write(this.tag, this.output);
+    return this.output;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+      .include(BinaryTagIOBenchmark.class.getSimpleName())
+      .forks(1)
+      .build();
+
+    new Runner(opt).run();
+  }
+}
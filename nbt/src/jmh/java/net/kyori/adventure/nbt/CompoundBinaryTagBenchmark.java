@@ -0,0 +1,119 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CompoundBinaryTagBenchmark {
+  @Param({"8", "64", "1024"})
+  private int size;
+
+  private String[] keys;
+  private CompoundBinaryTag tag;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    this.keys = new String[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.keys[i] = "key" + i;
+    }
+    this.tag = NbtFixtures.wide(this.size);
+  }
+
+  @Benchmark
+  public CompoundBinaryTag putChain() {
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for (int i = 0; i < this.keys.length; i++) {
+      tag = tag.putInt(this.keys[i], i);
+    }
+    return tag;
+  }
+
+  @Benchmark
+  public CompoundBinaryTag builder() {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < this.keys.length; i++) {
+      builder.putInt(this.keys[i], i);
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public CompoundBinaryTag edit() {
+    return CompoundBinaryTag.empty().edit(view -> {
+      for (int i = 0; i < this.keys.length; i++) {
+        view.putInt(this.keys[i], i);
+      }
+    });
+  }
+
+  @Benchmark
+  public CompoundBinaryTag replaceOne() {
+    return this.tag.putInt(this.keys[this.keys.length / 2], -1);
+  }
+
+  @Benchmark
+  public int get() {
+    int found = 0;
+    for (int i = 0; i < this.keys.length; i++) {
+      if (this.tag.get(this.keys[i]) != null) found++;
+    }
+    return found;
+  }
+
+  @Benchmark
+  public int iterate() {
+    int sum = 0;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : this.tag) {
+      sum += entry.getKey().length();
+    }
+    return sum;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+      .include(CompoundBinaryTagBenchmark.class.getSimpleName())
+      .forks(1)
+      .build();
+
+    new Runner(opt).run();
+  }
+}
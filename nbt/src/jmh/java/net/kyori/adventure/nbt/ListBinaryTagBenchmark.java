@@ -0,0 +1,130 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListBinaryTagBenchmark {
+  @Param({"16", "256", "4096"})
+  private int size;
+
+  private List<BinaryTag> elements;
+  private int[] ints;
+  private ListBinaryTag compounds;
+  private ListBinaryTag primitives;
+
+  @Setup(Level.Trial)
+  public void prepare() {
+    this.elements = new ArrayList<>(this.size);
+    this.ints = new int[this.size];
+    for (int i = 0; i < this.size; i++) {
+      this.elements.add(CompoundBinaryTag.builder().putInt("index", i).putString("name", "element" + i).build());
+      this.ints[i] = i;
+    }
+    this.compounds = ListBinaryTag.from(this.elements);
+    this.primitives = ListBinaryTag.intListBinaryTag(this.ints);
+  }
+
+  @Benchmark
+  public ListBinaryTag builder() {
+    final ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
+    for (int i = 0; i < this.elements.size(); i++) {
+      builder.add(this.elements.get(i));
+    }
+    return builder.build();
+  }
+
+  @Benchmark
+  public ListBinaryTag addChain() {
+    ListBinaryTag list = ListBinaryTag.empty();
+    for (int i = 0; i < this.elements.size(); i++) {
+      list = list.add(this.elements.get(i));
+    }
+    return list;
+  }
+
+  @Benchmark
+  public ListBinaryTag from() {
+    return ListBinaryTag.from(this.elements);
+  }
+
+  @Benchmark
+  public ListBinaryTag primitiveList() {
+    return ListBinaryTag.intListBinaryTag(this.ints);
+  }
+
+  @Benchmark
+  public int iterateCompounds() {
+    int sum = 0;
+    for (final BinaryTag element : this.compounds) {
+      sum += ((CompoundBinaryTag) element).getInt("index");
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int iteratePrimitives() {
+    int sum = 0;
+    for (final BinaryTag element : this.primitives) {
+      sum += ((IntBinaryTag) element).value();
+    }
+    return sum;
+  }
+
+  @Benchmark
+  public int indexPrimitives() {
+    int sum = 0;
+    for (int i = 0; i < this.size; i++) {
+      sum += this.primitives.getInt(i);
+    }
+    return sum;
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+      .include(ListBinaryTagBenchmark.class.getSimpleName())
+      .forks(1)
+      .build();
+
+    new Runner(opt).run();
+  }
+}
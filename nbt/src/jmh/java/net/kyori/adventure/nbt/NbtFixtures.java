@@ -0,0 +1,231 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic trees shaped like the data benchmarks should be representative of.
+ */
+final class NbtFixtures {
+  private static final String[] ITEMS = {"minecraft:stone", "minecraft:diamond_sword", "minecraft:oak_planks", "minecraft:torch", "minecraft:bread", "minecraft:iron_pickaxe"};
+  private static final String[] BLOCKS = {"minecraft:stone", "minecraft:dirt", "minecraft:grass_block", "minecraft:deepslate", "minecraft:water", "minecraft:air", "minecraft:oak_log", "minecraft:iron_ore"};
+  private static final String[] BIOMES = {"minecraft:plains", "minecraft:forest", "minecraft:river"};
+
+  private NbtFixtures() {
+  }
+
+  static CompoundBinaryTag fixture(final String name) {
+    switch (name) {
+      case "player": return player();
+      case "chunk": return chunk();
+      case "deep": return deep(400);
+      case "wide": return wide(10_000);
+      default: throw new IllegalArgumentException(name);
+    }
+  }
+
+  /**
+   * A tree shaped like the player data in {@code playerdata/<uuid>.dat}.
+   *
+   * @return the tree
+   */
+  static CompoundBinaryTag player() {
+    final Random random = new Random(0);
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder()
+      .putInt("DataVersion", 3700)
+      .putIntArray("UUID", new int[]{random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()})
+      .put("Pos", ListBinaryTag.doubleListBinaryTag(random.nextDouble() * 1000, 64, random.nextDouble() * 1000))
+      .put("Motion", ListBinaryTag.doubleListBinaryTag(0, -0.0784000015258789, 0))
+      .put("Rotation", ListBinaryTag.floatListBinaryTag(random.nextFloat() * 360, random.nextFloat() * 90))
+      .putFloat("Health", 20f)
+      .putShort("Air", (short) 300)
+      .putShort("Fire", (short) -20)
+      .putByte("OnGround", (byte) 1)
+      .putInt("playerGameType", 0)
+      .putInt("XpLevel", 30)
+      .putFloat("XpP", 0.25f)
+      .putString("Dimension", "minecraft:overworld")
+      .put("Inventory", items(random, 36))
+      .put("EnderItems", items(random, 27))
+      .put("abilities", CompoundBinaryTag.builder()
+        .putFloat("walkSpeed", 0.1f)
+        .putFloat("flySpeed", 0.05f)
+        .putByte("mayfly", (byte) 0)
+        .putByte("flying", (byte) 0)
+        .putByte("invulnerable", (byte) 0)
+        .putByte("mayBuild", (byte) 1)
+        .putByte("instabuild", (byte) 0)
+        .build());
+    final List<BinaryTag> attributes = new ArrayList<>();
+    for (final String attribute : new String[]{"minecraft:generic.max_health", "minecraft:generic.movement_speed", "minecraft:generic.attack_damage", "minecraft:generic.armor"}) {
+      attributes.add(CompoundBinaryTag.builder()
+        .putString("Name", attribute)
+        .putDouble("Base", random.nextDouble() * 20)
+        .put("Modifiers", ListBinaryTag.from(Collections.singletonList(CompoundBinaryTag.builder()
+          .putString("Name", "effect")
+          .putDouble("Amount", random.nextDouble())
+          .putInt("Operation", 0)
+          .putIntArray("UUID", new int[]{random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()})
+          .build())))
+        .build());
+    }
+    builder.put("Attributes", ListBinaryTag.from(attributes));
+    final List<BinaryTag> recipes = new ArrayList<>();
+    for (int i = 0; i < 600; i++) {
+      recipes.add(StringBinaryTag.stringBinaryTag("minecraft:recipe_" + i));
+    }
+    builder.put("recipeBook", CompoundBinaryTag.builder()
+      .put("recipes", ListBinaryTag.from(recipes))
+      .put("toBeDisplayed", ListBinaryTag.from(recipes.subList(0, 50)))
+      .putByte("isFilteringCraftable", (byte) 0)
+      .build());
+    return builder.build();
+  }
+
+  private static ListBinaryTag items(final Random random, final int count) {
+    final List<BinaryTag> items = new ArrayList<>(count);
+    for (int slot = 0; slot < count; slot++) {
+      final CompoundBinaryTag.Builder item = CompoundBinaryTag.builder()
+        .putByte("Slot", (byte) slot)
+        .putString("id", ITEMS[random.nextInt(ITEMS.length)])
+        .putByte("Count", (byte) (1 + random.nextInt(64)));
+      if (random.nextInt(3) == 0) {
+        item.put("tag", CompoundBinaryTag.builder()
+          .putInt("Damage", random.nextInt(250))
+          .put("display", CompoundBinaryTag.builder()
+            .putString("Name", "{\"text\":\"Item " + slot + "\",\"italic\":false}")
+            .put("Lore", ListBinaryTag.from(Arrays.asList(StringBinaryTag.stringBinaryTag("{\"text\":\"A line of lore\"}"), StringBinaryTag.stringBinaryTag("{\"text\":\"Another line\"}"))))
+            .build())
+          .put("Enchantments", ListBinaryTag.from(Arrays.asList(
+            CompoundBinaryTag.builder().putString("id", "minecraft:sharpness").putShort("lvl", (short) 5).build(),
+            CompoundBinaryTag.builder().putString("id", "minecraft:unbreaking").putShort("lvl", (short) 3).build()
+          )))
+          .build());
+      }
+      items.add(item.build());
+    }
+    return ListBinaryTag.from(items);
+  }
+
+  /**
+   * A tree shaped like a chunk in a region file.
+   *
+   * @return the tree
+   */
+  static CompoundBinaryTag chunk() {
+    final Random random = new Random(0);
+    final List<BinaryTag> sections = new ArrayList<>(24);
+    for (int y = -4; y < 20; y++) {
+      final List<BinaryTag> palette = new ArrayList<>();
+      for (int i = 0, size = 1 + random.nextInt(BLOCKS.length); i < size; i++) {
+        final CompoundBinaryTag.Builder state = CompoundBinaryTag.builder().putString("Name", BLOCKS[i]);
+        if (BLOCKS[i].endsWith("_log")) {
+          state.put("Properties", CompoundBinaryTag.builder().putString("axis", "y").build());
+        }
+        palette.add(state.build());
+      }
+      final long[] data = new long[256];
+      for (int i = 0; i < data.length; i++) data[i] = random.nextLong();
+      final byte[] blockLight = new byte[2048];
+      final byte[] skyLight = new byte[2048];
+      random.nextBytes(blockLight);
+      random.nextBytes(skyLight);
+      final List<BinaryTag> biomes = new ArrayList<>();
+      for (final String biome : BIOMES) biomes.add(StringBinaryTag.stringBinaryTag(biome));
+      sections.add(CompoundBinaryTag.builder()
+        .putByte("Y", (byte) y)
+        .put("block_states", CompoundBinaryTag.builder().put("palette", ListBinaryTag.from(palette)).putLongArray("data", data).build())
+        .put("biomes", CompoundBinaryTag.builder().put("palette", ListBinaryTag.from(biomes)).putLongArray("data", new long[]{random.nextLong()}).build())
+        .putByteArray("BlockLight", blockLight)
+        .putByteArray("SkyLight", skyLight)
+        .build());
+    }
+    final CompoundBinaryTag.Builder heightmaps = CompoundBinaryTag.builder();
+    for (final String heightmap : new String[]{"MOTION_BLOCKING", "MOTION_BLOCKING_NO_LEAVES", "OCEAN_FLOOR", "WORLD_SURFACE"}) {
+      final long[] data = new long[37];
+      for (int i = 0; i < data.length; i++) data[i] = random.nextLong();
+      heightmaps.putLongArray(heightmap, data);
+    }
+    final List<BinaryTag> blockEntities = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      blockEntities.add(CompoundBinaryTag.builder()
+        .putString("id", "minecraft:chest")
+        .putInt("x", random.nextInt(16))
+        .putInt("y", random.nextInt(320) - 64)
+        .putInt("z", random.nextInt(16))
+        .putByte("keepPacked", (byte) 0)
+        .put("Items", items(random, 27))
+        .build());
+    }
+    return CompoundBinaryTag.builder()
+      .putInt("DataVersion", 3700)
+      .putInt("xPos", random.nextInt(1000))
+      .putInt("zPos", random.nextInt(1000))
+      .putInt("yPos", -4)
+      .putString("Status", "minecraft:full")
+      .putLong("LastUpdate", random.nextLong())
+      .putLong("InhabitedTime", random.nextInt(100_000))
+      .put("sections", ListBinaryTag.from(sections))
+      .put("Heightmaps", heightmaps.build())
+      .put("block_entities", ListBinaryTag.from(blockEntities))
+      .build();
+  }
+
+  /**
+   * A chain of nested compounds.
+   *
+   * @param depth the depth of the chain
+   * @return the tree
+   */
+  static CompoundBinaryTag deep(final int depth) {
+    CompoundBinaryTag tag = CompoundBinaryTag.builder().putString("leaf", "value").build();
+    for (int i = 0; i < depth; i++) {
+      tag = CompoundBinaryTag.builder().putInt("level", i).put("child", tag).build();
+    }
+    return tag;
+  }
+
+  /**
+   * A single compound with many entries.
+   *
+   * @param width the number of entries
+   * @return the tree
+   */
+  static CompoundBinaryTag wide(final int width) {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < width; i++) {
+      if ((i & 1) == 0) {
+        builder.putInt("key" + i, i);
+      } else {
+        builder.putString("key" + i, "value" + i);
+      }
+    }
+    return builder.build();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagStringReaderBenchmark {
+  @Param({"mixed", "numbers", "arrays", "strings"})
+  private String shape;
+
+  private String input;
+
+  @Setup(Level.Trial)
+  public void prepare() throws IOException {
+    final Random random = new Random(0);
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < 200; i++) {
+      final String key = "entry" + i;
+      switch (this.shape) {
+        case "numbers":
+          builder.put(key, CompoundBinaryTag.builder()
+            .putByte("b", (byte) random.nextInt())
+            .putShort("s", (short) random.nextInt())
+            .putInt("i", random.nextInt())
+            .putLong("l", random.nextLong())
+            .putFloat("f", random.nextFloat() * 1000)
+            .putDouble("d", random.nextDouble() * 1000)
+            .build());
+          break;
+        case "arrays":
+          final int[] ints = new int[64];
+          final long[] longs = new long[64];
+          final byte[] bytes = new byte[64];
+          for (int j = 0; j < 64; j++) {
+            ints[j] = random.nextInt();
+            longs[j] = random.nextLong();
+            bytes[j] = (byte) random.nextInt();
+          }
+          builder.putIntArray(key + "i", ints).putLongArray(key + "l", longs).putByteArray(key + "b", bytes);
+          break;
+        case "strings":
+          builder.putString(key, "value " + i + " with \"quotes\" and 'apostrophes'");
+          break;
+        default:
+          builder.put(key, CompoundBinaryTag.builder()
+            .putString("id", "minecraft:stone")
+            .putByte("Count", (byte) 64)
+            .putInt("Slot", i)
+            .put("tag", CompoundBinaryTag.builder()
+              .putInt("Damage", random.nextInt(100))
+              .putIntArray("UUID", new int[]{random.nextInt(), random.nextInt(), random.nextInt(), random.nextInt()})
+              .put("Pos", ListBinaryTag.doubleListBinaryTag(random.nextDouble(), random.nextDouble(), random.nextDouble()))
+              .build())
+            .build());
+          break;
+      }
+    }
+    this.input = TagStringIO.get().asString(builder.build());
+  }
+
+  @Benchmark
+  public BinaryTag current() throws StringTagParseException {
+    return new TagStringReader(new CharBuffer(this.input)).compound();
+  }
+
+  @Benchmark
+  public BinaryTag legacy() throws StringTagParseException {
+    return new LegacyTagStringReader(new CharBuffer(this.input)).compound();
+  }
+
+  public static void main(final String[] args) throws RunnerException {
+    final Options opt = new OptionsBuilder()
+      .include(TagStringReaderBenchmark.class.getSimpleName())
+      .forks(1)
+      .build();
+
+    new Runner(opt).run();
+  }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Runs bulk reads and writes on an executor.
+ *
+ * <p>Rather than submitting a task per item, up to one worker per processor is submitted, and each worker
+ * claims items until none remain. Each worker owns a {@link Scratch} for its whole run.</p>
+ */
+final class BinaryTagBulkIO {
+  private static final byte[] EMPTY = new byte[0];
+
+  private BinaryTagBulkIO() {
+  }
+
+  static <I, O> @NotNull CompletableFuture<List<BinaryTagIO.BulkResult<O>>> run(final @NotNull Collection<? extends I> inputs, final @NotNull Executor executor, final @NotNull Task<I, O> task) {
+    final List<I> items = new ArrayList<>(inputs);
+    final int size = items.size();
+    final CompletableFuture<List<BinaryTagIO.BulkResult<O>>> future = new CompletableFuture<>();
+    if (size == 0) {
+      future.complete(Collections.emptyList());
+      return future;
+    }
+    // each index is written once by the worker that claimed it, and only read once all of them are done
+    final List<BinaryTagIO.BulkResult<O>> results = new ArrayList<>(Collections.nCopies(size, null));
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger remaining = new AtomicInteger(size);
+    final Runnable worker = () -> {
+      final Scratch scratch = new Scratch();
+      while (true) {
+        final int index = next.getAndIncrement();
+        if (index >= size) break;
+        BinaryTagIO.BulkResult<O> result;
+        try {
+          result = new Result<>(index, task.run(items.get(index), scratch), null);
+        } catch (final Exception ex) {
+          result = new Result<>(index, null, ex);
+        } catch (final Throwable ex) {
+          // the item can't hold an error, so fail the whole operation rather than leave it incomplete
+          future.completeExceptionally(ex);
+          return;
+        }
+        results.set(index, result);
+        if (remaining.decrementAndGet() == 0) {
+          future.complete(Collections.unmodifiableList(results));
+        }
+      }
+    };
+    final int workers = Math.min(size, Runtime.getRuntime().availableProcessors());
+    for (int i = 0; i < workers; i++) {
+      try {
+        executor.execute(worker);
+      } catch (final RejectedExecutionException ex) {
+        if (i == 0) {
+          // nothing will claim the items, so fail them all
+          final IOException error = new IOException("Could not schedule bulk operation", ex);
+          for (int index = 0; index < size; index++) {
+            results.set(index, new Result<>(index, null, error));
+          }
+          future.complete(Collections.unmodifiableList(results));
+        }
+        break;
+      }
+    }
+    return future;
+  }
+
+  @FunctionalInterface
+  interface Task<I, O> {
+    O run(final I input, final @NotNull Scratch scratch) throws IOException;
+  }
+
+  /**
+   * Buffers reused between the items handled by one worker.
+   */
+  static final class Scratch {
+    private final ExposedOutputStream encoded = new ExposedOutputStream();
+    final DataOutputStream data = new DataOutputStream(this.encoded);
+    private byte[] input = EMPTY;
+    byte[] output = EMPTY;
+
+    // reads the remainder of a channel into the input array
+    @NotNull ByteBuffer read(final @NotNull FileChannel channel) throws IOException {
+      final long size = channel.size() - channel.position();
+      if (size > Integer.MAX_VALUE - 8) throw new IOException("File is too large to read into memory: " + size + " bytes");
+      if (this.input.length < size) {
+        this.input = new byte[(int) size];
+      }
+      final ByteBuffer buffer = ByteBuffer.wrap(this.input, 0, (int) size);
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer) < 0) break;
+      }
+      buffer.flip();
+      return buffer;
+    }
+
+    @NotNull ByteBuffer encoded() {
+      return ByteBuffer.wrap(this.encoded.buffer(), 0, this.encoded.size());
+    }
+
+    void resetEncoded() {
+      this.encoded.reset();
+    }
+
+    // whether the buffer shares an array with the input or encoded scratch
+    boolean shared(final @NotNull ByteBuffer buffer) {
+      return !buffer.hasArray() || buffer.array() == this.input || buffer.array() == this.encoded.buffer();
+    }
+
+    // adopts the array of a codec result as the output array, if it is larger
+    void keep(final @NotNull ByteBuffer result) {
+      if (!this.shared(result) && result.array().length > this.output.length) {
+        this.output = result.array();
+      }
+    }
+  }
+
+  private static final class ExposedOutputStream extends ByteArrayOutputStream {
+    ExposedOutputStream() {
+      super(512);
+    }
+
+    byte[] buffer() {
+      return this.buf;
+    }
+  }
+
+  static final class Result<T> implements BinaryTagIO.BulkResult<T> {
+    private final int index;
+    private final @Nullable T value;
+    private final @Nullable Exception error;
+
+    Result(final int index, final @Nullable T value, final @Nullable Exception error) {
+      this.index = index;
+      this.value = value;
+      this.error = error;
+    }
+
+    @Override
+    public int index() {
+      return this.index;
+    }
+
+    @Override
+    public @Nullable T value() {
+      return this.value;
+    }
+
+    @Override
+    public @Nullable Exception error() {
+      return this.error;
+    }
+
+    @Override
+    public @NotNull T orThrow() throws IOException {
+      if (this.error instanceof IOException) throw (IOException) this.error;
+      if (this.error instanceof RuntimeException) throw (RuntimeException) this.error;
+      if (this.error != null) throw new IOException(this.error);
+      return this.value;
+    }
+
+    @Override
+    public String toString() {
+      return this.error == null ? "BulkResult[" + this.index + "]{value=" + this.value + "}" : "BulkResult[" + this.index + "]{error=" + this.error + "}";
+    }
+  }
+}
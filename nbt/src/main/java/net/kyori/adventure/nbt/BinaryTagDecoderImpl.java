@@ -0,0 +1,488 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A resumable decoder driven by an explicit stack instead of the call stack.
+ *
+ * <p>Every state only consumes the bytes it needs. When a chunk runs out part way through a value, the partial value
+ * is kept in a scratch buffer (for numbers, lengths and strings) or in the array being filled (for arrays and numeric
+ * lists), so no chunk is ever retained and the whole document is never buffered.</p>
+ */
+final class BinaryTagDecoderImpl implements BinaryTagIO.Decoder {
+  private static final int MAX_DEPTH = 512;
+
+  private static final int ROOT_TYPE = 0;
+  private static final int ROOT_NAME_LENGTH = 1;
+  private static final int ROOT_NAME = 2;
+  private static final int ENTRY_TYPE = 3;
+  private static final int ENTRY_KEY_LENGTH = 4;
+  private static final int ENTRY_KEY = 5;
+  private static final int VALUE = 6;
+  private static final int STRING_LENGTH = 7;
+  private static final int STRING = 8;
+  private static final int ARRAY_LENGTH = 9;
+  private static final int ARRAY = 10;
+  private static final int LIST_TYPE = 11;
+  private static final int LIST_LENGTH = 12;
+  private static final int DONE = 13;
+  private static final int FAILED = 14;
+
+  private final long maxBytes;
+  private final boolean named;
+  private final @Nullable StringPool keys;
+  private final @Nullable StringPool strings;
+  private final @Nullable BinaryTagInterner interner;
+
+  private final Deque<Frame> stack = new ArrayDeque<>();
+  private final byte[] word = new byte[Long.BYTES];
+  private final ByteBuffer wordView = ByteBuffer.wrap(this.word);
+  private byte[] bytes = new byte[64];
+  private char[] chars = new char[64];
+
+  private int state;
+  private long counter;
+  private int depth;
+  // bytes of the current scratch value (word or string) received so far
+  private int filled;
+  // the length of the string being read, or of the name being skipped
+  private int length;
+  // the type of the value being read
+  private BinaryTagType<? extends BinaryTag> type;
+  // the type of the array or numeric list being filled, with its storage and position
+  private BinaryTagType<? extends BinaryTag> arrayType;
+  private boolean arrayIsList;
+  private Object array;
+  private int arrayLength;
+  private int index;
+  private @Nullable CompoundBinaryTag result;
+
+  BinaryTagDecoderImpl(final long maxBytes, final boolean named, final @Nullable StringPool keys, final @Nullable StringPool strings, final @Nullable BinaryTagInterner interner) {
+    this.maxBytes = maxBytes;
+    this.named = named;
+    this.keys = keys;
+    this.strings = strings;
+    this.interner = interner;
+    this.reset();
+  }
+
+  @Override
+  public boolean decode(final @NotNull ByteBuffer chunk) throws IOException {
+    if (this.state == DONE) return true;
+    if (this.state == FAILED) throw new IllegalStateException("The decoder has failed, and must be reset before it can be reused");
+    final ByteBuffer in = chunk.slice().order(ByteOrder.BIG_ENDIAN);
+    try {
+      this.run(in);
+    } catch (final IOException | RuntimeException ex) {
+      this.state = FAILED;
+      this.release();
+      throw ex;
+    } finally {
+      chunk.position(chunk.position() + in.position());
+    }
+    return this.state == DONE;
+  }
+
+  @Override
+  public boolean done() {
+    return this.state == DONE;
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag result() {
+    if (this.result == null) throw new IllegalStateException("The decoder has not finished decoding a tag");
+    return this.result;
+  }
+
+  @Override
+  public long consumed() {
+    return this.counter;
+  }
+
+  @Override
+  public void reset() {
+    this.state = ROOT_TYPE;
+    this.counter = 0;
+    this.depth = 0;
+    this.filled = 0;
+    this.result = null;
+    this.release();
+  }
+
+  // drop partially decoded state so a failed or reset decoder doesn't keep it reachable
+  private void release() {
+    this.stack.clear();
+    this.array = null;
+    this.type = null;
+    this.arrayType = null;
+  }
+
+  private void run(final ByteBuffer in) throws IOException {
+    ByteBuffer src;
+    while (true) {
+      switch (this.state) {
+        case ROOT_TYPE:
+          if ((src = this.word(in, 1)) == null) return;
+          final BinaryTagType<? extends BinaryTag> rootType = BinaryTagType.binaryTagType(src.get());
+          if (rootType != BinaryTagTypes.COMPOUND) {
+            throw new IOException(String.format("Expected root tag to be a %s, was %s", BinaryTagTypes.COMPOUND, rootType));
+          }
+          if (this.named) {
+            this.state = ROOT_NAME_LENGTH;
+          } else {
+            this.enterCompound();
+          }
+          break;
+        case ROOT_NAME_LENGTH:
+          if ((src = this.word(in, 2)) == null) return;
+          this.length = src.getShort() & 0xffff;
+          this.state = ROOT_NAME;
+          break;
+        case ROOT_NAME: // the root name is discarded
+          final int skipped = Math.min(this.length - this.filled, in.remaining());
+          in.position(in.position() + skipped);
+          this.consume(skipped);
+          if ((this.filled += skipped) < this.length) return;
+          this.filled = 0;
+          this.enterCompound();
+          break;
+        case ENTRY_TYPE:
+          if ((src = this.word(in, 1)) == null) return;
+          final BinaryTagType<? extends BinaryTag> entryType = BinaryTagType.binaryTagType(src.get());
+          if (entryType == BinaryTagTypes.END) {
+            final CompoundFrame frame = (CompoundFrame) this.stack.pop();
+            this.exit();
+            this.complete(new CompoundBinaryTagImpl(frame.tags));
+          } else {
+            this.type = entryType;
+            this.state = ENTRY_KEY_LENGTH;
+          }
+          break;
+        case ENTRY_KEY_LENGTH:
+        case STRING_LENGTH:
+          if ((src = this.word(in, 2)) == null) return;
+          this.length = src.getShort() & 0xffff;
+          if (this.bytes.length < this.length) {
+            this.bytes = new byte[Math.max(this.length, this.bytes.length * 2)];
+          }
+          this.state = this.state == STRING_LENGTH ? STRING : ENTRY_KEY;
+          break;
+        case ENTRY_KEY:
+          if (!this.fill(in)) return;
+          final String key = this.utf();
+          ((CompoundFrame) this.stack.element()).key = this.keys == null ? key : this.keys.intern(key);
+          this.state = VALUE;
+          break;
+        case STRING:
+          if (!this.fill(in)) return;
+          final String value = this.utf();
+          this.complete(StringBinaryTag.stringBinaryTag(this.strings == null ? value : this.strings.intern(value)));
+          break;
+        case VALUE:
+          if (!this.value(in)) return;
+          break;
+        case ARRAY_LENGTH:
+          if ((src = this.word(in, 4)) == null) return;
+          this.startArray(this.type, src.getInt(), false);
+          break;
+        case ARRAY:
+          if (!this.fillArray(in)) return;
+          this.exit();
+          this.complete(this.finishArray());
+          break;
+        case LIST_TYPE:
+          if ((src = this.word(in, 1)) == null) return;
+          this.type = BinaryTagType.binaryTagType(src.get());
+          this.state = LIST_LENGTH;
+          break;
+        case LIST_LENGTH:
+          if ((src = this.word(in, 4)) == null) return;
+          this.startList(this.type, src.getInt());
+          break;
+        case DONE:
+          return;
+        default:
+          throw new IllegalStateException("Unknown decoder state " + this.state);
+      }
+    }
+  }
+
+  // begins the value of this.type, returning false if more input is needed
+  private boolean value(final ByteBuffer in) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = this.type;
+    if (type == BinaryTagTypes.COMPOUND) {
+      this.enterCompound();
+    } else if (type == BinaryTagTypes.LIST) {
+      this.state = LIST_TYPE;
+    } else if (type == BinaryTagTypes.STRING) {
+      this.state = STRING_LENGTH;
+    } else if (type == BinaryTagTypes.BYTE_ARRAY || type == BinaryTagTypes.INT_ARRAY || type == BinaryTagTypes.LONG_ARRAY) {
+      this.state = ARRAY_LENGTH;
+    } else if (type == BinaryTagTypes.END) {
+      this.complete(EndBinaryTag.endBinaryTag());
+    } else {
+      final ByteBuffer src = this.word(in, width(type));
+      if (src == null) return false;
+      this.complete(number(type, src));
+    }
+    return true;
+  }
+
+  private void enterCompound() throws IOException {
+    this.enter(0);
+    this.stack.push(new CompoundFrame());
+    this.state = ENTRY_TYPE;
+  }
+
+  private void startList(final BinaryTagType<? extends BinaryTag> elementType, final int length) throws IOException {
+    if (length <= 0) {
+      this.enter(length * 8L);
+      this.exit();
+      this.complete(ListBinaryTag.empty());
+    } else if (elementType.numeric()) {
+      this.startArray(elementType, length, true);
+    } else {
+      this.enter(length * 8L);
+      this.stack.push(new ListFrame(elementType, length));
+      this.type = elementType;
+      this.state = VALUE;
+    }
+  }
+
+  private void startArray(final BinaryTagType<? extends BinaryTag> type, final int length, final boolean list) throws IOException {
+    final int width = type == BinaryTagTypes.BYTE_ARRAY ? 1 : type == BinaryTagTypes.INT_ARRAY ? 4 : type == BinaryTagTypes.LONG_ARRAY ? 8 : width(type);
+    this.enter(list ? length * 8L : (long) length * width);
+    if (length < 0) throw new IOException("Negative array length " + length);
+    this.arrayType = type;
+    this.arrayIsList = list;
+    this.arrayLength = length;
+    this.index = 0;
+    if (type == BinaryTagTypes.BYTE_ARRAY || type == BinaryTagTypes.BYTE) {
+      this.array = new byte[length];
+    } else if (type == BinaryTagTypes.SHORT) {
+      this.array = new short[length];
+    } else if (type == BinaryTagTypes.INT_ARRAY || type == BinaryTagTypes.INT) {
+      this.array = new int[length];
+    } else if (type == BinaryTagTypes.LONG_ARRAY || type == BinaryTagTypes.LONG) {
+      this.array = new long[length];
+    } else if (type == BinaryTagTypes.FLOAT) {
+      this.array = new float[length];
+    } else {
+      this.array = new double[length];
+    }
+    this.state = ARRAY;
+  }
+
+  // copies as many elements as are available, returning true once the array is full
+  private boolean fillArray(final ByteBuffer in) throws IOException {
+    final Object array = this.array;
+    if (array instanceof byte[]) {
+      final int count = Math.min(this.arrayLength - this.index, in.remaining());
+      in.get((byte[]) array, this.index, count);
+      this.index += count;
+      this.consume(count);
+      return this.index == this.arrayLength;
+    }
+    ByteBuffer src;
+    while (this.index < this.arrayLength) {
+      if (array instanceof short[]) {
+        if ((src = this.word(in, 2)) == null) return false;
+        ((short[]) array)[this.index++] = src.getShort();
+      } else if (array instanceof int[]) {
+        if ((src = this.word(in, 4)) == null) return false;
+        ((int[]) array)[this.index++] = src.getInt();
+      } else if (array instanceof long[]) {
+        if ((src = this.word(in, 8)) == null) return false;
+        ((long[]) array)[this.index++] = src.getLong();
+      } else if (array instanceof float[]) {
+        if ((src = this.word(in, 4)) == null) return false;
+        ((float[]) array)[this.index++] = src.getFloat();
+      } else {
+        if ((src = this.word(in, 8)) == null) return false;
+        ((double[]) array)[this.index++] = src.getDouble();
+      }
+    }
+    return true;
+  }
+
+  private BinaryTag finishArray() {
+    final Object array = this.array;
+    final BinaryTagType<? extends BinaryTag> type = this.arrayType;
+    this.array = null;
+    if (!this.arrayIsList) {
+      if (type == BinaryTagTypes.BYTE_ARRAY) return ByteArrayBinaryTag.byteArrayBinaryTag((byte[]) array);
+      if (type == BinaryTagTypes.INT_ARRAY) return IntArrayBinaryTag.intArrayBinaryTag((int[]) array);
+      return LongArrayBinaryTag.longArrayBinaryTag((long[]) array);
+    }
+    final PrimitiveTagList primitives;
+    if (array instanceof byte[]) {
+      primitives = new PrimitiveTagList.Bytes((byte[]) array);
+    } else if (array instanceof short[]) {
+      primitives = new PrimitiveTagList.Shorts((short[]) array);
+    } else if (array instanceof int[]) {
+      primitives = new PrimitiveTagList.Ints((int[]) array);
+    } else if (array instanceof long[]) {
+      primitives = new PrimitiveTagList.Longs((long[]) array);
+    } else if (array instanceof float[]) {
+      primitives = new PrimitiveTagList.Floats((float[]) array);
+    } else {
+      primitives = new PrimitiveTagList.Doubles((double[]) array);
+    }
+    return new ListBinaryTagImpl(type, primitives);
+  }
+
+  // hands a finished value to its parent, or finishes decoding if it was the root
+  private void complete(final BinaryTag value) throws IOException {
+    BinaryTag tag = value;
+    while (true) {
+      final Frame parent = this.stack.peek();
+      if (parent == null) {
+        final CompoundBinaryTag root = (CompoundBinaryTag) tag;
+        this.result = this.interner == null ? root : this.interner.intern(root);
+        this.state = DONE;
+        return;
+      }
+      if (parent instanceof CompoundFrame) {
+        final CompoundFrame compound = (CompoundFrame) parent;
+        compound.tags.put(compound.key, tag);
+        compound.key = null;
+        this.state = ENTRY_TYPE;
+        return;
+      }
+      final ListFrame list = (ListFrame) parent;
+      list.tags.add(tag);
+      if (list.tags.size() < list.length) {
+        this.type = list.elementType;
+        this.state = VALUE;
+        return;
+      }
+      this.stack.pop();
+      this.exit();
+      tag = ListBinaryTag.listBinaryTag(list.elementType, list.tags);
+    }
+  }
+
+  // returns a buffer holding the next size bytes, reading straight from the input when it has all of them
+  private @Nullable ByteBuffer word(final ByteBuffer in, final int size) throws IOException {
+    if (this.filled == 0 && in.remaining() >= size) {
+      this.consume(size);
+      return in;
+    }
+    final int count = Math.min(size - this.filled, in.remaining());
+    in.get(this.word, this.filled, count);
+    this.consume(count);
+    if ((this.filled += count) < size) return null;
+    this.filled = 0;
+    this.wordView.clear();
+    return this.wordView;
+  }
+
+  // accumulates this.length bytes of a string into the scratch buffer
+  private boolean fill(final ByteBuffer in) throws IOException {
+    final int count = Math.min(this.length - this.filled, in.remaining());
+    in.get(this.bytes, this.filled, count);
+    this.consume(count);
+    if ((this.filled += count) < this.length) return false;
+    this.filled = 0;
+    return true;
+  }
+
+  private String utf() throws IOException {
+    if (this.chars.length < this.length) {
+      this.chars = new char[Math.max(this.length, this.chars.length * 2)];
+    }
+    return ModifiedUtf8.decode(this.bytes, 0, this.length, this.chars);
+  }
+
+  private void consume(final int count) throws IOException {
+    this.counter += count;
+    this.ensureMaxLength(0);
+  }
+
+  private void enter(final long expectedSize) throws IOException {
+    if (this.depth++ > MAX_DEPTH) {
+      throw new IOException("NBT read exceeded maximum depth of " + MAX_DEPTH);
+    }
+    this.ensureMaxLength(expectedSize);
+  }
+
+  private void exit() throws IOException {
+    this.depth--;
+    this.ensureMaxLength(0);
+  }
+
+  private void ensureMaxLength(final long expected) throws IOException {
+    if (this.maxBytes > 0 && this.counter + expected > this.maxBytes) {
+      throw new IOException("The read NBT was longer than the maximum allowed size of " + this.maxBytes + " bytes!");
+    }
+  }
+
+  private static int width(final BinaryTagType<? extends BinaryTag> type) {
+    if (type == BinaryTagTypes.BYTE) return 1;
+    if (type == BinaryTagTypes.SHORT) return 2;
+    if (type == BinaryTagTypes.INT || type == BinaryTagTypes.FLOAT) return 4;
+    return 8;
+  }
+
+  private static BinaryTag number(final BinaryTagType<? extends BinaryTag> type, final ByteBuffer src) {
+    if (type == BinaryTagTypes.BYTE) return ByteBinaryTag.byteBinaryTag(src.get());
+    if (type == BinaryTagTypes.SHORT) return ShortBinaryTag.shortBinaryTag(src.getShort());
+    if (type == BinaryTagTypes.INT) return IntBinaryTag.intBinaryTag(src.getInt());
+    if (type == BinaryTagTypes.LONG) return LongBinaryTag.longBinaryTag(src.getLong());
+    if (type == BinaryTagTypes.FLOAT) return FloatBinaryTag.floatBinaryTag(src.getFloat());
+    return DoubleBinaryTag.doubleBinaryTag(src.getDouble());
+  }
+
+  private interface Frame {
+  }
+
+  private static final class CompoundFrame implements Frame {
+    final Map<String, BinaryTag> tags = new HashMap<>();
+    @Nullable String key;
+  }
+
+  private static final class ListFrame implements Frame {
+    final BinaryTagType<? extends BinaryTag> elementType;
+    final int length;
+    final List<BinaryTag> tags;
+
+    ListFrame(final BinaryTagType<? extends BinaryTag> elementType, final int length) {
+      this.elementType = elementType;
+      this.length = length;
+      this.tags = new ArrayList<>(Math.min(length, 1024));
+    }
+  }
+}
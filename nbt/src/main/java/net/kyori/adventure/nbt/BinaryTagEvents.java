@@ -0,0 +1,188 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Drives a {@link BinaryTagVisitor} from binary input or from an existing tag.
+ */
+final class BinaryTagEvents {
+  private BinaryTagEvents() {
+  }
+
+  /**
+   * Decodes the payload of a tag of {@code type}, producing events for {@code visitor}.
+   *
+   * @param input the input
+   * @param type the type of the tag
+   * @param visitor the visitor
+   * @return {@code false} if the visitor requested to stop
+   * @throws IOException if an exception was encountered while reading
+   */
+  @SuppressWarnings("try")
+  static boolean read(final DataInput input, final BinaryTagType<? extends BinaryTag> type, final BinaryTagVisitor visitor) throws IOException {
+    if (type == BinaryTagTypes.COMPOUND) {
+      final BinaryTagVisitor.Action action = visitor.visitCompoundStart();
+      if (action == BinaryTagVisitor.Action.STOP) {
+        return false;
+      } else if (action == BinaryTagVisitor.Action.SKIP) {
+        BinaryTagSkipper.skip(input, BinaryTagTypes.COMPOUND);
+        return true;
+      }
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
+        BinaryTagType<? extends BinaryTag> entryType;
+        while ((entryType = BinaryTagType.binaryTagType(input.readByte())) != BinaryTagTypes.END) {
+          final BinaryTagVisitor.Action entryAction = visitor.visitCompoundEntry(entryType, input.readUTF());
+          if (entryAction == BinaryTagVisitor.Action.STOP) {
+            return false;
+          } else if (entryAction == BinaryTagVisitor.Action.SKIP) {
+            BinaryTagSkipper.skip(input, entryType);
+          } else if (!read(input, entryType, visitor)) {
+            return false;
+          }
+        }
+      }
+      visitor.visitCompoundEnd();
+    } else if (type == BinaryTagTypes.LIST) {
+      final BinaryTagType<? extends BinaryTag> elementType = BinaryTagType.binaryTagType(input.readByte());
+      final int length = input.readInt();
+      final BinaryTagVisitor.Action action = visitor.visitListStart(elementType, length);
+      if (action == BinaryTagVisitor.Action.STOP) {
+        return false;
+      } else if (action == BinaryTagVisitor.Action.SKIP) {
+        BinaryTagSkipper.skipElements(input, elementType, length);
+        return true;
+      }
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
+        for (int i = 0; i < length; i++) {
+          if (!read(input, elementType, visitor)) {
+            return false;
+          }
+        }
+      }
+      visitor.visitListEnd();
+    } else if (type == BinaryTagTypes.BYTE) {
+      visitor.visitByte(input.readByte());
+    } else if (type == BinaryTagTypes.SHORT) {
+      visitor.visitShort(input.readShort());
+    } else if (type == BinaryTagTypes.INT) {
+      visitor.visitInt(input.readInt());
+    } else if (type == BinaryTagTypes.LONG) {
+      visitor.visitLong(input.readLong());
+    } else if (type == BinaryTagTypes.FLOAT) {
+      visitor.visitFloat(input.readFloat());
+    } else if (type == BinaryTagTypes.DOUBLE) {
+      visitor.visitDouble(input.readDouble());
+    } else if (type == BinaryTagTypes.STRING) {
+      visitor.visitString(input.readUTF());
+    } else if (type == BinaryTagTypes.BYTE_ARRAY) {
+      final int length = input.readInt();
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length)) {
+        final byte[] value = new byte[length];
+        input.readFully(value);
+        visitor.visitByteArray(value);
+      }
+    } else if (type == BinaryTagTypes.INT_ARRAY) {
+      final int length = input.readInt();
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 4L)) {
+        final int[] value = new int[length];
+        for (int i = 0; i < length; i++) {
+          value[i] = input.readInt();
+        }
+        visitor.visitIntArray(value);
+      }
+    } else if (type == BinaryTagTypes.LONG_ARRAY) {
+      final int length = input.readInt();
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
+        final long[] value = new long[length];
+        for (int i = 0; i < length; i++) {
+          value[i] = input.readLong();
+        }
+        visitor.visitLongArray(value);
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Produces events for an existing tag.
+   *
+   * @param tag the tag
+   * @param visitor the visitor
+   * @return {@code false} if the visitor requested to stop
+   */
+  static boolean accept(final BinaryTag tag, final BinaryTagVisitor visitor) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    if (type == BinaryTagTypes.COMPOUND) {
+      final BinaryTagVisitor.Action action = visitor.visitCompoundStart();
+      if (action != BinaryTagVisitor.Action.CONTINUE) {
+        return action != BinaryTagVisitor.Action.STOP;
+      }
+      for (final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) tag) {
+        final BinaryTag value = entry.getValue();
+        final BinaryTagVisitor.Action entryAction = visitor.visitCompoundEntry(value.type(), entry.getKey());
+        if (entryAction == BinaryTagVisitor.Action.STOP || (entryAction == BinaryTagVisitor.Action.CONTINUE && !accept(value, visitor))) {
+          return false;
+        }
+      }
+      visitor.visitCompoundEnd();
+    } else if (type == BinaryTagTypes.LIST) {
+      final ListBinaryTag list = (ListBinaryTag) tag;
+      final BinaryTagVisitor.Action action = visitor.visitListStart(list.elementType(), list.size());
+      if (action != BinaryTagVisitor.Action.CONTINUE) {
+        return action != BinaryTagVisitor.Action.STOP;
+      }
+      for (final BinaryTag element : list) {
+        if (!accept(element, visitor)) {
+          return false;
+        }
+      }
+      visitor.visitListEnd();
+    } else if (type == BinaryTagTypes.BYTE) {
+      visitor.visitByte(((ByteBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.SHORT) {
+      visitor.visitShort(((ShortBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.INT) {
+      visitor.visitInt(((IntBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.LONG) {
+      visitor.visitLong(((LongBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.FLOAT) {
+      visitor.visitFloat(((FloatBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.DOUBLE) {
+      visitor.visitDouble(((DoubleBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.STRING) {
+      visitor.visitString(((StringBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.BYTE_ARRAY) {
+      visitor.visitByteArray(((ByteArrayBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.INT_ARRAY) {
+      visitor.visitIntArray(((IntArrayBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.LONG_ARRAY) {
+      visitor.visitLongArray(((LongArrayBinaryTag) tag).value());
+    }
+    return true;
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A 128-bit fingerprint of the contents of a tag.
+ *
+ * <p>Fingerprints only depend on the contents of a tag: they are stable across runs and virtual machines, and
+ * the entries of a compound tag are combined regardless of their order. Equal tags always have equal fingerprints,
+ * and unequal tags have different fingerprints with overwhelming probability, which makes fingerprints suitable
+ * as compact cache keys or for deduplication. They are not cryptographic hashes, and should not be relied on where
+ * the tags come from an adversary.</p>
+ *
+ * <p>Fingerprints of compound and list tags are cached, so repeated requests for a tree, or for a tree derived from
+ * one whose fingerprint is known, only visit the parts which changed.</p>
+ *
+ * @since 4.17.0
+ */
+public interface BinaryTagFingerprint {
+  /**
+   * Gets the fingerprint of a tag.
+   *
+   * @param tag the tag
+   * @return the fingerprint
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagFingerprint of(final @NotNull BinaryTag tag) {
+    return BinaryTagFingerprintImpl.of(tag);
+  }
+
+  /**
+   * Gets the high 64 bits of this fingerprint.
+   *
+   * @return the high bits
+   * @since 4.17.0
+   */
+  long high();
+
+  /**
+   * Gets the low 64 bits of this fingerprint.
+   *
+   * @return the low bits
+   * @since 4.17.0
+   */
+  long low();
+
+  /**
+   * Gets a 64-bit fingerprint, for when fewer bits are enough.
+   *
+   * @return the 64-bit fingerprint
+   * @since 4.17.0
+   */
+  default long asLong() {
+    return this.high();
+  }
+
+  /**
+   * Gets this fingerprint as 32 hexadecimal digits.
+   *
+   * @return the hexadecimal string
+   * @since 4.17.0
+   */
+  @NotNull String asHexString();
+}
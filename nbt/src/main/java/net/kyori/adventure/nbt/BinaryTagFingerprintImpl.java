@@ -0,0 +1,238 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Computes fingerprints with two independently seeded 64-bit lanes, mixed with the MurmurHash3 finalizer.
+ *
+ * <p>Every tag is hashed starting with its type id. Compound entries are hashed on their own, and then summed,
+ * so the result does not depend on iteration order.</p>
+ */
+final class BinaryTagFingerprintImpl implements BinaryTagFingerprint {
+  private static final long SEED_HIGH = 0x9e3779b97f4a7c15L;
+  private static final long SEED_LOW = 0xc2b2ae3d27d4eb4fL;
+  private static final long MULTIPLIER_HIGH = 0x87c37b91114253d5L;
+  private static final long MULTIPLIER_LOW = 0x4cf5ad432745937fL;
+  private final long high;
+  private final long low;
+
+  BinaryTagFingerprintImpl(final long high, final long low) {
+    this.high = high;
+    this.low = low;
+  }
+
+  static @NotNull BinaryTagFingerprintImpl of(final @NotNull BinaryTag tag) {
+    if (tag instanceof CompoundBinaryTagImpl) {
+      return ((CompoundBinaryTagImpl) tag).fingerprint();
+    } else if (tag instanceof ListBinaryTagImpl) {
+      return ((ListBinaryTagImpl) tag).fingerprint();
+    }
+    return compute(tag);
+  }
+
+  /**
+   * Computes the fingerprint of a tag, without consulting the cache of the tag itself.
+   *
+   * @param tag the tag
+   * @return the fingerprint
+   */
+  static @NotNull BinaryTagFingerprintImpl compute(final @NotNull BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    final Hasher hasher = new Hasher(type.id());
+    if (type == BinaryTagTypes.COMPOUND) {
+      long sumHigh = 0;
+      long sumLow = 0;
+      int size = 0;
+      for (final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) tag) {
+        final BinaryTagFingerprintImpl value = of(entry.getValue());
+        final Hasher entryHasher = new Hasher(0);
+        entryHasher.add(entry.getKey());
+        entryHasher.add(value.high);
+        entryHasher.add(value.low);
+        sumHigh += entryHasher.high();
+        sumLow += entryHasher.low();
+        size++;
+      }
+      hasher.add(size);
+      hasher.add(sumHigh);
+      hasher.add(sumLow);
+    } else if (type == BinaryTagTypes.LIST) {
+      final ListBinaryTag list = (ListBinaryTag) tag;
+      final BinaryTagType<? extends BinaryTag> elementType = list.elementType();
+      final int size = list.size();
+      // empty lists are equal whatever their element type, so they are hashed as untyped
+      hasher.add(size == 0 ? BinaryTagTypes.END.id() : elementType.id());
+      hasher.add(size);
+      final @Nullable PrimitiveTagList primitives = list instanceof ListBinaryTagImpl ? ((ListBinaryTagImpl) list).primitives() : null;
+      if (primitives != null) {
+        for (int i = 0; i < size; i++) {
+          hasher.add(bits(elementType, primitives, i));
+        }
+      } else if (elementType.numeric()) {
+        for (final BinaryTag element : list) {
+          hasher.add(bits(elementType, (NumberBinaryTag) element));
+        }
+      } else {
+        for (final BinaryTag element : list) {
+          final BinaryTagFingerprintImpl value = of(element);
+          hasher.add(value.high);
+          hasher.add(value.low);
+        }
+      }
+    } else if (type == BinaryTagTypes.STRING) {
+      hasher.add(((StringBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.BYTE_ARRAY) {
+      final byte[] value = ByteArrayBinaryTagImpl.value((ByteArrayBinaryTag) tag);
+      hasher.add(value.length);
+      int i = 0;
+      for (; i + 8 <= value.length; i += 8) {
+        long word = 0;
+        for (int j = 0; j < 8; j++) word = (word << 8) | (value[i + j] & 0xff);
+        hasher.add(word);
+      }
+      long word = 0;
+      for (; i < value.length; i++) word = (word << 8) | (value[i] & 0xff);
+      hasher.add(word);
+    } else if (type == BinaryTagTypes.INT_ARRAY) {
+      final int[] value = IntArrayBinaryTagImpl.value((IntArrayBinaryTag) tag);
+      hasher.add(value.length);
+      for (final int element : value) hasher.add(element);
+    } else if (type == BinaryTagTypes.LONG_ARRAY) {
+      final long[] value = LongArrayBinaryTagImpl.value((LongArrayBinaryTag) tag);
+      hasher.add(value.length);
+      for (final long element : value) hasher.add(element);
+    } else if (type.numeric()) {
+      hasher.add(bits(type, (NumberBinaryTag) tag));
+    }
+    return new BinaryTagFingerprintImpl(hasher.high(), hasher.low());
+  }
+
+  // The bits of a number, compared the same way the tags are
+  private static long bits(final BinaryTagType<? extends BinaryTag> type, final NumberBinaryTag tag) {
+    if (type == BinaryTagTypes.FLOAT) {
+      return Float.floatToIntBits(tag.floatValue());
+    } else if (type == BinaryTagTypes.DOUBLE) {
+      return Double.doubleToLongBits(tag.doubleValue());
+    }
+    return tag.longValue();
+  }
+
+  private static long bits(final BinaryTagType<? extends BinaryTag> type, final PrimitiveTagList list, final int index) {
+    if (type == BinaryTagTypes.FLOAT) {
+      return Float.floatToIntBits(list.floatValue(index));
+    } else if (type == BinaryTagTypes.DOUBLE) {
+      return Double.doubleToLongBits(list.doubleValue(index));
+    }
+    return list.longValue(index);
+  }
+
+  @Override
+  public long high() {
+    return this.high;
+  }
+
+  @Override
+  public long low() {
+    return this.low;
+  }
+
+  @Override
+  public @NotNull String asHexString() {
+    final String high = Long.toHexString(this.high);
+    final String low = Long.toHexString(this.low);
+    final StringBuilder builder = new StringBuilder(32);
+    for (int i = high.length(); i < 16; i++) builder.append('0');
+    builder.append(high);
+    for (int i = low.length(); i < 16; i++) builder.append('0');
+    return builder.append(low).toString();
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) return true;
+    if (!(other instanceof BinaryTagFingerprintImpl)) return false;
+    final BinaryTagFingerprintImpl that = (BinaryTagFingerprintImpl) other;
+    return this.high == that.high && this.low == that.low;
+  }
+
+  @Override
+  public int hashCode() {
+    return (int) this.high;
+  }
+
+  @Override
+  public String toString() {
+    return this.asHexString();
+  }
+
+  static final class Hasher {
+    private long high;
+    private long low;
+    private long length;
+
+    Hasher(final long seed) {
+      this.high = SEED_HIGH ^ seed;
+      this.low = SEED_LOW ^ seed;
+    }
+
+    void add(final long value) {
+      this.high = Long.rotateLeft(this.high ^ mix(value * MULTIPLIER_HIGH), 27) * 5 + 0x52dce729;
+      this.low = Long.rotateLeft(this.low ^ mix(value * MULTIPLIER_LOW), 31) * 5 + 0x38495ab5;
+      this.length++;
+    }
+
+    void add(final String value) {
+      final int length = value.length();
+      this.add(length);
+      int i = 0;
+      for (; i + 4 <= length; i += 4) {
+        this.add(((long) value.charAt(i) << 48) | ((long) value.charAt(i + 1) << 32) | ((long) value.charAt(i + 2) << 16) | value.charAt(i + 3));
+      }
+      long word = 0;
+      for (; i < length; i++) word = (word << 16) | value.charAt(i);
+      this.add(word);
+    }
+
+    long high() {
+      return mix(this.high + this.low + this.length);
+    }
+
+    long low() {
+      return mix(this.low + 2 * this.high + this.length);
+    }
+
+    // the MurmurHash3 64-bit finalizer
+    private static long mix(final long value) {
+      long mixed = value ^ (value >>> 33);
+      mixed *= 0xff51afd7ed558ccdL;
+      mixed ^= mixed >>> 33;
+      mixed *= 0xc4ceb9fe1a85ec53L;
+      return mixed ^ (mixed >>> 33);
+    }
+  }
+}
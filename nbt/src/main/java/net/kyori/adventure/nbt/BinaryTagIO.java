@@ -23,18 +23,23 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
-import java.util.zip.DeflaterOutputStream;
-import java.util.zip.GZIPInputStream;
-import java.util.zip.GZIPOutputStream;
-import java.util.zip.InflaterInputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Serialization operations for binary tags.
@@ -89,6 +94,18 @@ public final class BinaryTagIO {
     return new BinaryTagReaderImpl(sizeLimitBytes);
   }
 
+  /**
+   * Creates a builder for a configured {@link Reader}.
+   *
+   * <p>Unless configured otherwise, built readers have the same size limit as {@link #reader()}.</p>
+   *
+   * @return a reader builder
+   * @since 4.17.0
+   */
+  public static Reader.@NotNull Builder readerBuilder() {
+    return new BinaryTagReaderImpl.BuilderImpl();
+  }
+
   /**
    * Returns {@link Writer}, used to write binary tags.
    *
@@ -315,6 +332,72 @@ public final class BinaryTagIO {
      */
     @NotNull CompoundBinaryTag read(final @NotNull DataInput input) throws IOException;
 
+    /**
+     * Reads a binary tag from {@code input}.
+     *
+     * <p>The tag is decoded directly from the buffer, starting at its current position, without copying
+     * into intermediate streams. The buffer may be heap-allocated, direct or memory-mapped, and is always
+     * read as big-endian data. Once read, the position of the buffer is advanced past the tag.</p>
+     *
+     * <p>The buffer must contain uncompressed data. The root name field is discarded.</p>
+     *
+     * @param input the input buffer
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.17.0
+     */
+    @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer input) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code input} with a compression type.
+     *
+     * <p>The compressed data is decompressed in a single block before being decoded. Once read, the position of
+     * the buffer is advanced past the compressed data. The root name field is discarded.</p>
+     *
+     * @param input the input buffer
+     * @param compression the compression type
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.17.0
+     */
+    @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer input, final @NotNull Compression compression) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code channel} by memory-mapping it.
+     *
+     * <p>Reading begins at the current position of the channel, which is advanced past the tag once read.
+     * The channel must contain uncompressed data.</p>
+     *
+     * <p>The root name field is discarded.</p>
+     *
+     * @param channel the file channel
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(ByteBuffer)
+     * @since 4.17.0
+     */
+    @NotNull CompoundBinaryTag read(final @NotNull FileChannel channel) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code input}, decoding its contents lazily.
+     *
+     * <p>The structure of the tag is validated against this reader's limits up-front, but no child tags are
+     * created. Instead, the returned tag indexes its keys on first access, and only decodes the values that are
+     * requested. Nested compound tags are decoded lazily in the same way. The returned tag otherwise behaves
+     * like any other compound tag, and modifying it produces a fully decoded copy.</p>
+     *
+     * <p>The returned tag keeps a reference to {@code input}, whose contents must not be modified while the tag
+     * or any tag obtained from it is in use. The position of the buffer is advanced past the tag.</p>
+     *
+     * <p>The buffer must contain uncompressed data. The root name field is discarded.</p>
+     *
+     * @param input the input buffer
+     * @return a lazily decoded binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.17.0
+     */
+    @NotNull CompoundBinaryTag readLazy(final @NotNull ByteBuffer input) throws IOException;
+
     /**
      * Reads a binary tag from {@code path}.
      *
@@ -390,6 +473,63 @@ public final class BinaryTagIO {
      */
     @NotNull CompoundBinaryTag readNameless(final @NotNull DataInput input) throws IOException;
 
+    /**
+     * Reads a binary tag from {@code input}.
+     *
+     * <p>Doesn't read a root name from the {@link ByteBuffer} at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param input the input buffer
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(ByteBuffer)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    @NotNull CompoundBinaryTag readNameless(final @NotNull ByteBuffer input) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code input} with a compression type.
+     *
+     * <p>Doesn't read a root name from the {@link ByteBuffer} at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param input the input buffer
+     * @param compression the compression type
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(ByteBuffer, Compression)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    @NotNull CompoundBinaryTag readNameless(final @NotNull ByteBuffer input, final @NotNull Compression compression) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code channel} by memory-mapping it.
+     *
+     * <p>Doesn't read a root name from the {@link FileChannel} at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param channel the file channel
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(FileChannel)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    @NotNull CompoundBinaryTag readNameless(final @NotNull FileChannel channel) throws IOException;
+
+    /**
+     * Reads a binary tag from {@code input}, decoding its contents lazily.
+     *
+     * <p>Doesn't read a root name from the {@link ByteBuffer} at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param input the input buffer
+     * @return a lazily decoded binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #readLazy(ByteBuffer)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    @NotNull CompoundBinaryTag readNamelessLazy(final @NotNull ByteBuffer input) throws IOException;
+
     /**
      * Reads a binary tag, with a name, from {@code path}.
      *
@@ -449,6 +589,192 @@ public final class BinaryTagIO {
      * @since 4.4.0
      */
     Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull DataInput input) throws IOException;
+
+    /**
+     * Reads a binary tag, with a name, from {@code input}.
+     *
+     * @param input the input buffer
+     * @return a binary tag
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #read(ByteBuffer)
+     * @since 4.17.0
+     */
+    Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull ByteBuffer input) throws IOException;
+
+    /**
+     * Decodes a binary tag from {@code input} with a {@code compression} type, passing its contents to a visitor
+     * instead of building a tag.
+     *
+     * <p>The root name field is discarded.</p>
+     *
+     * @param input the input stream
+     * @param compression the compression type
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.17.0
+     */
+    void visit(final @NotNull InputStream input, final @NotNull Compression compression, final @NotNull BinaryTagVisitor visitor) throws IOException;
+
+    /**
+     * Decodes a binary tag from {@code input}, passing its contents to a visitor instead of building a tag.
+     *
+     * <p>Events are produced as the input is read, so documents of any size can be visited in constant memory.
+     * Values skipped by the visitor are not decoded. If the visitor stops, the remaining input is left unread.</p>
+     *
+     * <p>The root name field is discarded.</p>
+     *
+     * @param input the input
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @since 4.17.0
+     */
+    void visit(final @NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException;
+
+    /**
+     * Decodes a binary tag from {@code input}, passing its contents to a visitor instead of building a tag.
+     *
+     * <p>The buffer must contain uncompressed data. The root name field is discarded.</p>
+     *
+     * @param input the input buffer
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #visit(DataInput, BinaryTagVisitor)
+     * @see #read(ByteBuffer)
+     * @since 4.17.0
+     */
+    void visit(final @NotNull ByteBuffer input, final @NotNull BinaryTagVisitor visitor) throws IOException;
+
+    /**
+     * Decodes a binary tag from {@code input}, passing its contents to a visitor instead of building a tag.
+     *
+     * <p>Doesn't read a root name from the {@link DataInput} at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param input the input
+     * @param visitor the visitor
+     * @throws IOException if an exception was encountered while reading the tag
+     * @see #visit(DataInput, BinaryTagVisitor)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    void visitNameless(final @NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException;
+
+    /**
+     * Reads binary tags from many files in parallel.
+     *
+     * <p>Each file is read whole, decompressed and decoded on {@code executor}, reusing buffers and codecs between files
+     * handled by the same worker. A failure to read one file does not affect the others.</p>
+     *
+     * @param paths the paths to read
+     * @param compression the compression type of every file
+     * @param executor the executor to run on
+     * @return a future completing with one result per path, in iteration order
+     * @see #read(Path, Compression)
+     * @since 4.17.0
+     */
+    @NotNull CompletableFuture<List<BulkResult<CompoundBinaryTag>>> readAll(final @NotNull Collection<? extends Path> paths, final @NotNull Compression compression, final @NotNull Executor executor);
+
+    /**
+     * Reads binary tags from many buffers in parallel.
+     *
+     * <p>The positions of the buffers are not modified. A failure to read one buffer does not affect the others.</p>
+     *
+     * @param buffers the buffers to read
+     * @param compression the compression type of every buffer
+     * @param executor the executor to run on
+     * @return a future completing with one result per buffer, in iteration order
+     * @see #read(ByteBuffer, Compression)
+     * @since 4.17.0
+     */
+    @NotNull CompletableFuture<List<BulkResult<CompoundBinaryTag>>> readAllBuffers(final @NotNull Collection<? extends ByteBuffer> buffers, final @NotNull Compression compression, final @NotNull Executor executor);
+
+    /**
+     * Creates an incremental decoder for a binary tag that arrives in chunks.
+     *
+     * <p>The decoder enforces this reader's size and depth limits as data arrives, and passes keys, values and
+     * the decoded tag through this reader's pools and interner. The root name field is discarded.</p>
+     *
+     * @return a new decoder
+     * @see Decoder
+     * @since 4.17.0
+     */
+    @NotNull Decoder decoder();
+
+    /**
+     * Creates an incremental decoder for a binary tag that arrives in chunks.
+     *
+     * <p>Doesn't read a root name at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @return a new decoder
+     * @see #decoder()
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    @NotNull Decoder decoderNameless();
+
+    /**
+     * A builder for a {@link Reader}.
+     *
+     * @see BinaryTagIO#readerBuilder()
+     * @since 4.17.0
+     */
+    interface Builder {
+      /**
+       * Sets the maximum (approximate) size of uncompressed data a built reader will read.
+       *
+       * @param sizeLimitBytes the size limit, must be greater than {@code 0}
+       * @return this builder
+       * @since 4.17.0
+       */
+      @NotNull Builder sizeLimit(final long sizeLimitBytes);
+
+      /**
+       * Removes the size limit, leaving only the maximum depth of nested tags.
+       *
+       * @return this builder
+       * @since 4.17.0
+       */
+      @NotNull Builder unlimited();
+
+      /**
+       * Sets the pool used to deduplicate compound keys.
+       *
+       * <p>Documents sharing a schema repeat the same keys, which the pool lets them share.</p>
+       *
+       * @param pool the pool, or {@code null} to not deduplicate keys
+       * @return this builder
+       * @since 4.17.0
+       */
+      @NotNull Builder keyPool(final @Nullable StringPool pool);
+
+      /**
+       * Sets the pool used to deduplicate the values of {@link StringBinaryTag}s.
+       *
+       * @param pool the pool, or {@code null} to not deduplicate values
+       * @return this builder
+       * @since 4.17.0
+       */
+      @NotNull Builder stringPool(final @Nullable StringPool pool);
+
+      /**
+       * Sets the interner eagerly read tags are passed through once decoded.
+       *
+       * <p>Interning lets trees read separately share their equal parts. Lazily read and visited tags are not
+       * interned.</p>
+       *
+       * @param interner the interner, or {@code null} to not intern read tags
+       * @return this builder
+       * @since 4.17.0
+       */
+      @NotNull Builder interner(final @Nullable BinaryTagInterner interner);
+
+      /**
+       * Builds a reader.
+       *
+       * @return a reader
+       * @since 4.17.0
+       */
+      @NotNull Reader build();
+    }
   }
 
   /**
@@ -602,6 +928,60 @@ public final class BinaryTagIO {
      */
     void writeNameless(final @NotNull CompoundBinaryTag tag, final @NotNull DataOutput output) throws IOException;
 
+    /**
+     * Gets the exact number of bytes {@link #write(CompoundBinaryTag, DataOutput)} writes for a tag.
+     *
+     * <p>Sizes are cached on compound and list tags, so asking again for an unchanged tree, or for a tree derived
+     * from it, only walks the parts which changed.</p>
+     *
+     * @param tag the tag
+     * @return the encoded size, in bytes
+     * @since 4.17.0
+     */
+    long encodedSize(final @NotNull CompoundBinaryTag tag);
+
+    /**
+     * Gets the exact number of bytes {@link #writeNameless(CompoundBinaryTag, DataOutput)} writes for a tag.
+     *
+     * @param tag the tag
+     * @return the encoded size, in bytes
+     * @see #encodedSize(CompoundBinaryTag)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    long encodedSizeNameless(final @NotNull CompoundBinaryTag tag);
+
+    /**
+     * Writes a binary tag into {@code output}, starting at its position.
+     *
+     * <p>The tag is encoded straight into the buffer, which is advanced by {@link #encodedSize(CompoundBinaryTag)} bytes.
+     * The tag is always written in big-endian order, regardless of the order of the buffer.</p>
+     *
+     * <p>An empty root name is written.</p>
+     *
+     * @param tag the tag to write
+     * @param output the output buffer
+     * @throws java.nio.BufferOverflowException if {@code output} does not have enough space remaining, in which case nothing is written
+     * @throws IOException if an exception was encountered while writing the tag
+     * @since 4.17.0
+     */
+    void write(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer output) throws IOException;
+
+    /**
+     * Writes a binary tag into {@code output}, starting at its position.
+     *
+     * <p>Doesn't write a root name at all, to match the wire protocol in modern game versions.</p>
+     *
+     * @param tag the tag to write
+     * @param output the output buffer
+     * @throws java.nio.BufferOverflowException if {@code output} does not have enough space remaining, in which case nothing is written
+     * @throws IOException if an exception was encountered while writing the tag
+     * @see #write(CompoundBinaryTag, ByteBuffer)
+     * @since 4.17.0
+     * @sinceMinecraft 1.20.2
+     */
+    void writeNameless(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer output) throws IOException;
+
     /**
      * Writes a binary tag, with a name, to {@code path}.
      *
@@ -661,11 +1041,156 @@ public final class BinaryTagIO {
      * @since 4.4.0
      */
     void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull DataOutput output) throws IOException;
+
+    /**
+     * Encodes binary tags in parallel.
+     *
+     * <p>A failure to write one tag does not affect the others.</p>
+     *
+     * @param tags the tags to write
+     * @param compression the compression type
+     * @param executor the executor to run on
+     * @return a future completing with one result per tag, in iteration order, holding the encoded bytes
+     * @since 4.17.0
+     */
+    @NotNull CompletableFuture<List<BulkResult<ByteBuffer>>> writeAll(final @NotNull Collection<? extends CompoundBinaryTag> tags, final @NotNull Compression compression, final @NotNull Executor executor);
+
+    /**
+     * Writes binary tags to many files in parallel.
+     *
+     * <p>Existing files are replaced. A failure to write one file does not affect the others.</p>
+     *
+     * @param tags the tags to write, keyed by destination
+     * @param compression the compression type
+     * @param executor the executor to run on
+     * @return a future completing with one result per entry, in iteration order, holding the written path
+     * @see #write(CompoundBinaryTag, Path, Compression)
+     * @since 4.17.0
+     */
+    @NotNull CompletableFuture<List<BulkResult<Path>>> writeAll(final @NotNull Map<Path, ? extends CompoundBinaryTag> tags, final @NotNull Compression compression, final @NotNull Executor executor);
+  }
+
+  /**
+   * The outcome for one item of a bulk read or write.
+   *
+   * @param <T> the value type
+   * @see Reader#readAll(Collection, Compression, Executor)
+   * @see Writer#writeAll(Collection, Compression, Executor)
+   * @since 4.17.0
+   */
+  public interface BulkResult<T> {
+    /**
+     * Gets the position of the item in the bulk operation's input.
+     *
+     * @return the index
+     * @since 4.17.0
+     */
+    int index();
+
+    /**
+     * Gets the value, if the item succeeded.
+     *
+     * @return the value, or {@code null} if the item failed
+     * @since 4.17.0
+     */
+    @Nullable T value();
+
+    /**
+     * Gets the error, if the item failed.
+     *
+     * @return the error, or {@code null} if the item succeeded
+     * @since 4.17.0
+     */
+    @Nullable Exception error();
+
+    /**
+     * Gets if the item succeeded.
+     *
+     * @return if the item succeeded
+     * @since 4.17.0
+     */
+    default boolean successful() {
+      return this.error() == null;
+    }
+
+    /**
+     * Gets the value, or throws the error if the item failed.
+     *
+     * @return the value
+     * @throws IOException if the item failed with an I/O error, or a checked error
+     * @since 4.17.0
+     */
+    @NotNull T orThrow() throws IOException;
+  }
+
+  /**
+   * A resumable decoder for a single {@link CompoundBinaryTag}, fed with chunks of uncompressed data as they arrive.
+   *
+   * <p>Unlike a {@link Reader}, a decoder never blocks waiting for more data: it decodes what it is given, keeps only
+   * the values it is part way through, and picks up where it left off when given the next chunk. This makes it
+   * suitable for decoding on a network event loop without assembling the whole document first.</p>
+   *
+   * <p>Decoders are not thread-safe, and decode a single tag at a time. Once a tag is done, it is available from
+   * {@link #result()} until the decoder is {@link #reset() reset}.</p>
+   *
+   * @see Reader#decoder()
+   * @since 4.17.0
+   */
+  public interface Decoder {
+    /**
+     * Decodes as much of {@code chunk} as is needed.
+     *
+     * <p>The position of the chunk is advanced past the consumed bytes. Once the tag is done, any bytes following
+     * it are left in the chunk. The decoder does not keep a reference to the chunk, which may be reused as soon as
+     * this method returns.</p>
+     *
+     * @param chunk the next chunk of data
+     * @return {@code true} if the tag is done, {@code false} if more data is needed
+     * @throws IOException if the data is malformed or exceeds the reader's limits, after which the decoder must be reset
+     * @since 4.17.0
+     */
+    boolean decode(final @NotNull ByteBuffer chunk) throws IOException;
+
+    /**
+     * Gets if the tag is done.
+     *
+     * @return if the tag is done
+     * @since 4.17.0
+     */
+    boolean done();
+
+    /**
+     * Gets the decoded tag.
+     *
+     * @return the decoded tag
+     * @throws IllegalStateException if the tag is not done yet
+     * @since 4.17.0
+     */
+    @NotNull CompoundBinaryTag result();
+
+    /**
+     * Gets the number of bytes consumed for the current tag so far.
+     *
+     * @return the number of bytes consumed
+     * @since 4.17.0
+     */
+    long consumed();
+
+    /**
+     * Discards any partially decoded or decoded tag, so the decoder can decode the next one.
+     *
+     * @since 4.17.0
+     */
+    void reset();
   }
 
   /**
    * Compression types.
    *
+   * <p>Additional codecs can be provided by extending this class and implementing
+   * {@link #decompress(InputStream)} and {@link #compress(OutputStream)}. The buffer-based
+   * methods stream through those, while the built-in compressions work on whole buffers.</p>
+   *
    * @since 4.4.0
    */
   public static abstract class Compression {
@@ -676,65 +1201,186 @@ public final class BinaryTagIO {
      */
     public static final Compression NONE = new Compression() {
       @Override
-      @NotNull InputStream decompress(final @NotNull InputStream is) {
+      protected @NotNull InputStream decompress(final @NotNull InputStream is) {
         return is;
       }
 
       @Override
-      @NotNull OutputStream compress(final @NotNull OutputStream os) {
+      protected @NotNull OutputStream compress(final @NotNull OutputStream os) {
         return os;
       }
 
       @Override
-      public String toString() {
-        return "Compression.NONE";
+      @NotNull ByteBuffer decompress(final @NotNull ByteBuffer input, final long maxBytes, final byte@Nullable[] output) {
+        return slice(input);
       }
-    };
-    /**
-     * <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression.
-     *
-     * @since 4.4.0
-     */
-    public static final Compression GZIP = new Compression() {
+
       @Override
-      @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException {
-        return new GZIPInputStream(is);
+      @NotNull ByteBuffer compress(final @NotNull ByteBuffer input, final byte@Nullable[] output) {
+        return slice(input);
       }
 
-      @Override
-      @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException {
-        return new GZIPOutputStream(os);
+      private ByteBuffer slice(final ByteBuffer input) {
+        final ByteBuffer result = input.slice();
+        input.position(input.limit());
+        return result;
       }
 
       @Override
       public String toString() {
-        return "Compression.GZIP";
+        return "Compression.NONE";
       }
     };
+    /**
+     * <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression.
+     *
+     * @since 4.4.0
+     */
+    public static final Compression GZIP = new DeflateCompression("Compression.GZIP", true, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
     /**
      * <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression.
      *
      * @since 4.6.0
      */
-    public static final Compression ZLIB = new Compression() {
-      @Override
-      @NotNull InputStream decompress(final @NotNull InputStream is) {
-        return new InflaterInputStream(is);
-      }
+    public static final Compression ZLIB = new DeflateCompression("Compression.ZLIB", false, Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
 
-      @Override
-      @NotNull OutputStream compress(final @NotNull OutputStream os) {
-        return new DeflaterOutputStream(os);
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression with a specific level.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return a compression
+     * @throws IllegalArgumentException if the level is invalid
+     * @since 4.17.0
+     */
+    public static @NotNull Compression gzip(final int level) {
+      return gzip(level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a> compression with a specific level and strategy.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy the compression strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @return a compression
+     * @throws IllegalArgumentException if the level or strategy is invalid
+     * @since 4.17.0
+     */
+    public static @NotNull Compression gzip(final int level, final int strategy) {
+      checkDeflateSettings(level, strategy);
+      return new DeflateCompression("Compression.gzip(level=" + level + ", strategy=" + strategy + ")", true, level, strategy);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression with a specific level.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @return a compression
+     * @throws IllegalArgumentException if the level is invalid
+     * @since 4.17.0
+     */
+    public static @NotNull Compression zlib(final int level) {
+      return zlib(level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    /**
+     * Creates a <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> compression with a specific level and strategy.
+     *
+     * @param level the compression level, from {@code 0} to {@code 9}, or {@link Deflater#DEFAULT_COMPRESSION}
+     * @param strategy the compression strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED} or {@link Deflater#HUFFMAN_ONLY}
+     * @return a compression
+     * @throws IllegalArgumentException if the level or strategy is invalid
+     * @since 4.17.0
+     */
+    public static @NotNull Compression zlib(final int level, final int strategy) {
+      checkDeflateSettings(level, strategy);
+      return new DeflateCompression("Compression.zlib(level=" + level + ", strategy=" + strategy + ")", false, level, strategy);
+    }
+
+    private static void checkDeflateSettings(final int level, final int strategy) {
+      if (level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.NO_COMPRESSION || level > Deflater.BEST_COMPRESSION)) {
+        throw new IllegalArgumentException("Invalid compression level " + level);
+      }
+      if (strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED && strategy != Deflater.HUFFMAN_ONLY) {
+        throw new IllegalArgumentException("Invalid compression strategy " + strategy);
       }
+    }
 
-      @Override
-      public String toString() {
-        return "Compression.ZLIB";
+    /**
+     * Wraps a stream of compressed data in a stream that decompresses it.
+     *
+     * <p>Closing the returned stream must close {@code is}.</p>
+     *
+     * @param is the compressed input
+     * @return the decompressing stream
+     * @throws IOException if an exception was encountered while reading the start of the compressed data
+     * @since 4.17.0
+     */
+    protected abstract @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException;
+
+    /**
+     * Wraps a stream in a stream that compresses data written to it.
+     *
+     * <p>Closing the returned stream must finish the compressed data and close {@code os}.</p>
+     *
+     * @param os the compressed output
+     * @return the compressing stream
+     * @throws IOException if an exception was encountered while writing the start of the compressed data
+     * @since 4.17.0
+     */
+    protected abstract @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException;
+
+    /**
+     * Decompresses data from {@code input}.
+     *
+     * <p>The position of {@code input} is advanced past the data that was consumed.</p>
+     *
+     * @param input the compressed input
+     * @return a buffer containing the decompressed data
+     * @throws IOException if the data could not be decompressed
+     * @since 4.17.0
+     */
+    public final @NotNull ByteBuffer decompress(final @NotNull ByteBuffer input) throws IOException {
+      return this.decompress(input, -1, null);
+    }
+
+    // decompresses at most maxBytes bytes, when positive, preferably into output
+    @NotNull ByteBuffer decompress(final @NotNull ByteBuffer input, final long maxBytes, final byte@Nullable[] output) throws IOException {
+      try (final InputStream is = this.decompress(new ByteBufferInputStream(input))) {
+        return IOStreamUtil.readFully(is, maxBytes, output);
       }
-    };
+    }
 
-    abstract @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException;
+    /**
+     * Compresses the remaining data in {@code input}.
+     *
+     * <p>The position of {@code input} is advanced to its limit.</p>
+     *
+     * @param input the input
+     * @return a buffer containing the compressed data
+     * @throws IOException if the data could not be compressed
+     * @since 4.17.0
+     */
+    public final @NotNull ByteBuffer compress(final @NotNull ByteBuffer input) throws IOException {
+      return this.compress(input, null);
+    }
 
-    abstract @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException;
+    // compresses, preferably into output
+    @NotNull ByteBuffer compress(final @NotNull ByteBuffer input, final byte@Nullable[] output) throws IOException {
+      final ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, input.remaining() / 2));
+      try (final OutputStream os = this.compress(compressed)) {
+        if (input.hasArray()) {
+          os.write(input.array(), input.arrayOffset() + input.position(), input.remaining());
+          input.position(input.limit());
+        } else {
+          final byte[] chunk = new byte[Math.min(input.remaining(), 8192)];
+          while (input.hasRemaining()) {
+            final int length = Math.min(chunk.length, input.remaining());
+            input.get(chunk, 0, length);
+            os.write(chunk, 0, length);
+          }
+        }
+      }
+      return ByteBuffer.wrap(compressed.toByteArray());
+    }
   }
 }
@@ -0,0 +1,66 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An interner canonicalizing equal tags into shared instances.
+ *
+ * <p>As tags are immutable, equal subtrees can safely be shared between unrelated trees, such as the many identical
+ * item or block entity tags of a world. Interners may be shared between readers and threads, so implementations
+ * must be thread-safe.</p>
+ *
+ * @see BinaryTagIO.Reader.Builder#interner(BinaryTagInterner)
+ * @since 4.17.0
+ */
+@FunctionalInterface
+public interface BinaryTagInterner {
+  /**
+   * Creates an interner which only weakly references its canonical instances.
+   *
+   * <p>Trees are interned from the bottom up, so a tree that is interned shares every one of its compound, list,
+   * string and array tags that is equal to one interned before. Canonical instances are released once they are no
+   * longer referenced from anywhere else. Lookups rely on the hash codes cached by compound and list tags, and once
+   * the children of a tag are canonical, comparing it to a candidate only compares its children by reference.</p>
+   *
+   * <p>Lazily read compounds are fully decoded when interned.</p>
+   *
+   * @return an interner
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagInterner weak() {
+    return new WeakBinaryTagInterner();
+  }
+
+  /**
+   * Gets the canonical instance of {@code tag}.
+   *
+   * @param tag a tag
+   * @param <T> the type of the tag
+   * @return an equal tag, possibly {@code tag} itself
+   * @since 4.17.0
+   */
+  <T extends BinaryTag> @NotNull T intern(final @NotNull T tag);
+}
@@ -0,0 +1,125 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A structural patch between two compound tags.
+ *
+ * <p>Patches are made of the smallest changes found between two trees: entries which were set or removed,
+ * nested compounds and lists which were patched in place, and list elements which were spliced in or out. Subtrees
+ * which are shared between the two trees, or which have different hash codes, are classified without being walked,
+ * so diffing trees derived from each other is cheap.</p>
+ *
+ * <p>Patches are immutable, and can be written to and read from a compact binary form to be sent in place of
+ * the changed tag.</p>
+ *
+ * @since 4.17.0
+ */
+public interface BinaryTagPatch {
+  /**
+   * Gets an empty patch.
+   *
+   * @return an empty patch
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagPatch empty() {
+    return BinaryTagPatchImpl.EMPTY;
+  }
+
+  /**
+   * Computes the patch turning {@code from} into {@code to}.
+   *
+   * @param from the original tag
+   * @param to the changed tag
+   * @return a patch which, when {@link #apply(CompoundBinaryTag) applied} to {@code from}, produces a tag equal to {@code to}
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagPatch diff(final @NotNull CompoundBinaryTag from, final @NotNull CompoundBinaryTag to) {
+    return BinaryTagPatchImpl.diff(from, to);
+  }
+
+  /**
+   * Reads a patch written by {@link #write(DataOutput)}.
+   *
+   * <p>The patch is read with the same size limit as {@link BinaryTagIO#reader()}.</p>
+   *
+   * @param input the input
+   * @return a patch
+   * @throws IOException if the patch could not be read
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagPatch read(final @NotNull DataInput input) throws IOException {
+    return BinaryTagPatchImpl.read(input, BinaryTagReaderImpl.DEFAULT_MAX_BYTES);
+  }
+
+  /**
+   * Reads a patch written by {@link #write(DataOutput)}.
+   *
+   * <p>This will limit the number of bytes read to the approximate size limit indicated.</p>
+   *
+   * @param input the input
+   * @param sizeLimitBytes the maximum (approximate) size of the patch, must be greater than {@code 0}
+   * @return a patch
+   * @throws IOException if the patch could not be read
+   * @since 4.17.0
+   */
+  static @NotNull BinaryTagPatch read(final @NotNull DataInput input, final long sizeLimitBytes) throws IOException {
+    if (sizeLimitBytes <= 0) {
+      throw new IllegalArgumentException("The size limit must be greater than zero");
+    }
+    return BinaryTagPatchImpl.read(input, sizeLimitBytes);
+  }
+
+  /**
+   * Gets if this patch makes no changes.
+   *
+   * @return if this patch is empty
+   * @since 4.17.0
+   */
+  boolean isEmpty();
+
+  /**
+   * Applies this patch to a tag.
+   *
+   * @param tag the tag
+   * @return the patched tag, or {@code tag} if this patch is empty
+   * @throws IllegalArgumentException if {@code tag} does not have the structure this patch expects
+   * @since 4.17.0
+   */
+  @NotNull CompoundBinaryTag apply(final @NotNull CompoundBinaryTag tag);
+
+  /**
+   * Writes this patch.
+   *
+   * @param output the output
+   * @throws IOException if the patch could not be written
+   * @since 4.17.0
+   */
+  void write(final @NotNull DataOutput output) throws IOException;
+}
@@ -0,0 +1,441 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class BinaryTagPatchImpl implements BinaryTagPatch {
+  static final BinaryTagPatchImpl EMPTY = new BinaryTagPatchImpl(new Change[0]);
+  private static final int MAX_DEPTH = 512;
+  // the smallest encoded sizes: an operation and an empty key, an operation and two ints, and a type id and a byte
+  private static final long MIN_CHANGE_BYTES = 3;
+  private static final long MIN_LIST_EDIT_BYTES = 9;
+  private static final long MIN_TAG_BYTES = 2;
+
+  private static final byte SET = 1;
+  private static final byte REMOVE = 2;
+  private static final byte PATCH_COMPOUND = 3;
+  private static final byte PATCH_LIST = 4;
+  private static final byte SPLICE = 5;
+  private static final byte PATCH_ELEMENT = 6;
+
+  private final Change[] changes;
+
+  private BinaryTagPatchImpl(final Change[] changes) {
+    this.changes = changes;
+  }
+
+  static @NotNull BinaryTagPatchImpl diff(final @NotNull CompoundBinaryTag from, final @NotNull CompoundBinaryTag to) {
+    if (same(from, to)) return EMPTY;
+    final List<Change> changes = new ArrayList<>();
+    for (final Map.Entry<String, ? extends BinaryTag> entry : from) {
+      if (to.get(entry.getKey()) == null) changes.add(new Remove(entry.getKey()));
+    }
+    for (final Map.Entry<String, ? extends BinaryTag> entry : to) {
+      final String key = entry.getKey();
+      final BinaryTag value = entry.getValue();
+      final BinaryTag previous = from.get(key);
+      if (previous == null) {
+        changes.add(new Put(key, value));
+      } else if (!same(previous, value)) {
+        changes.add(diff(key, previous, value));
+      }
+    }
+    return changes.isEmpty() ? EMPTY : new BinaryTagPatchImpl(changes.toArray(new Change[0]));
+  }
+
+  // The change from one value of an entry to another, unequal, value
+  private static Change diff(final String key, final BinaryTag from, final BinaryTag to) {
+    if (from instanceof CompoundBinaryTag && to instanceof CompoundBinaryTag) {
+      return new PatchCompound(key, diff((CompoundBinaryTag) from, (CompoundBinaryTag) to));
+    } else if (from instanceof ListBinaryTag && to instanceof ListBinaryTag) {
+      final ListEdit[] edits = diff((ListBinaryTag) from, (ListBinaryTag) to);
+      if (edits != null) return new PatchList(key, edits);
+    }
+    return new Put(key, to);
+  }
+
+  /*
+   * Trims the common prefix and suffix of two lists, then patches the remaining elements in place if they are
+   * compounds at the same positions, or splices them otherwise. Returns null if nothing is shared, in which case
+   * replacing the whole list is smaller.
+   */
+  private static ListEdit @Nullable[] diff(final ListBinaryTag from, final ListBinaryTag to) {
+    final int fromSize = from.size();
+    final int toSize = to.size();
+    final int limit = Math.min(fromSize, toSize);
+    int prefix = 0;
+    while (prefix < limit && same(from.get(prefix), to.get(prefix))) prefix++;
+    int suffix = 0;
+    while (suffix < limit - prefix && same(from.get(fromSize - 1 - suffix), to.get(toSize - 1 - suffix))) suffix++;
+    final int fromEnd = fromSize - suffix;
+    final int toEnd = toSize - suffix;
+    if (fromEnd - prefix == toEnd - prefix && from.elementType() == BinaryTagTypes.COMPOUND && to.elementType() == BinaryTagTypes.COMPOUND) {
+      final List<ListEdit> edits = new ArrayList<>();
+      for (int i = prefix; i < fromEnd; i++) {
+        final BinaryTag element = from.get(i);
+        final BinaryTag changed = to.get(i);
+        if (!same(element, changed)) edits.add(new PatchElement(i, diff((CompoundBinaryTag) element, (CompoundBinaryTag) changed)));
+      }
+      return edits.toArray(new ListEdit[0]);
+    }
+    if (prefix == 0 && suffix == 0) return null;
+    final BinaryTag[] inserted = new BinaryTag[toEnd - prefix];
+    for (int i = prefix; i < toEnd; i++) {
+      inserted[i - prefix] = to.get(i);
+    }
+    return new ListEdit[]{new Splice(prefix, fromEnd - prefix, inserted)};
+  }
+
+  // Equality, skipping the deep comparison where the cached hash codes already tell the tags apart
+  private static boolean same(final BinaryTag a, final BinaryTag b) {
+    return a == b || (a.hashCode() == b.hashCode() && a.equals(b));
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return this.changes.length == 0;
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag apply(final @NotNull CompoundBinaryTag tag) {
+    if (this.changes.length == 0) return tag;
+    return tag.edit(view -> {
+      for (final Change change : this.changes) {
+        change.apply(view);
+      }
+    });
+  }
+
+  @Override
+  public void write(final @NotNull DataOutput output) throws IOException {
+    output.writeInt(this.changes.length);
+    for (final Change change : this.changes) {
+      change.write(output);
+    }
+  }
+
+  static @NotNull BinaryTagPatchImpl read(final @NotNull DataInput input, final long maxBytes) throws IOException {
+    return readPatch(input instanceof TrackingDataInput ? input : new TrackingDataInput(input, maxBytes), 0);
+  }
+
+  // counts are checked against the size limit before anything is allocated for them
+  @SuppressWarnings("try")
+  private static @NotNull BinaryTagPatchImpl readPatch(final @NotNull DataInput input, final int depth) throws IOException {
+    if (depth > MAX_DEPTH) throw new IOException("Patch is nested too deeply");
+    final int length = input.readInt();
+    if (length == 0) return EMPTY;
+    if (length < 0) throw new IOException("Invalid patch length " + length);
+    final Change[] changes;
+    try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * MIN_CHANGE_BYTES)) {
+      changes = new Change[length];
+      for (int i = 0; i < length; i++) {
+        final byte op = input.readByte();
+        final String key = input.readUTF();
+        switch (op) {
+          case SET: changes[i] = new Put(key, readTag(input)); break;
+          case REMOVE: changes[i] = new Remove(key); break;
+          case PATCH_COMPOUND: changes[i] = new PatchCompound(key, readPatch(input, depth + 1)); break;
+          case PATCH_LIST: changes[i] = new PatchList(key, readListEdits(input, depth + 1)); break;
+          default: throw new IOException("Unknown patch operation " + op);
+        }
+      }
+    }
+    return new BinaryTagPatchImpl(changes);
+  }
+
+  @SuppressWarnings("try")
+  private static ListEdit[] readListEdits(final DataInput input, final int depth) throws IOException {
+    final int length = input.readInt();
+    if (length < 0) throw new IOException("Invalid list patch length " + length);
+    final ListEdit[] edits;
+    try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * MIN_LIST_EDIT_BYTES)) {
+      edits = new ListEdit[length];
+      for (int i = 0; i < length; i++) {
+        final byte op = input.readByte();
+        final int index = input.readInt();
+        if (index < 0) throw new IOException("Invalid list patch index " + index);
+        if (op == SPLICE) {
+          final int removed = input.readInt();
+          if (removed < 0 || removed > Integer.MAX_VALUE - index) throw new IOException("Invalid splice removal " + removed + " at " + index);
+          edits[i] = new Splice(index, removed, readTags(input));
+        } else if (op == PATCH_ELEMENT) {
+          edits[i] = new PatchElement(index, readPatch(input, depth + 1));
+        } else {
+          throw new IOException("Unknown list patch operation " + op);
+        }
+      }
+    }
+    return edits;
+  }
+
+  @SuppressWarnings("try")
+  private static BinaryTag[] readTags(final DataInput input) throws IOException {
+    final int count = input.readInt();
+    if (count < 0) throw new IOException("Invalid splice length " + count);
+    try (final BinaryTagScope ignored = TrackingDataInput.enter(input, count * MIN_TAG_BYTES)) {
+      final BinaryTag[] tags = new BinaryTag[count];
+      for (int i = 0; i < count; i++) {
+        tags[i] = readTag(input);
+      }
+      return tags;
+    }
+  }
+
+  private static BinaryTag readTag(final DataInput input) throws IOException {
+    final byte id = input.readByte();
+    if (id == BinaryTagTypes.END.id()) throw new IOException("Cannot read an end tag in a patch");
+    try {
+      return BinaryTagType.binaryTagType(id).read(input);
+    } catch (final IllegalArgumentException e) {
+      throw new IOException("Unknown tag type " + id, e);
+    }
+  }
+
+  private static void writeTag(final BinaryTag tag, final DataOutput output) throws IOException {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    output.writeByte(type.id());
+    BinaryTagType.writeUntyped(type, tag, output);
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder("BinaryTagPatch[");
+    for (int i = 0; i < this.changes.length; i++) {
+      if (i > 0) builder.append(", ");
+      builder.append(this.changes[i]);
+    }
+    return builder.append(']').toString();
+  }
+
+  abstract static class Change {
+    final String key;
+
+    Change(final String key) {
+      this.key = key;
+    }
+
+    abstract void apply(final CompoundBinaryTag.MutableView view);
+
+    abstract void write(final DataOutput output) throws IOException;
+  }
+
+  static final class Put extends Change {
+    private final BinaryTag value;
+
+    Put(final String key, final BinaryTag value) {
+      super(key);
+      this.value = value;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.MutableView view) {
+      view.put(this.key, this.value);
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.writeByte(SET);
+      output.writeUTF(this.key);
+      writeTag(this.value, output);
+    }
+
+    @Override
+    public String toString() {
+      return "set " + this.key + " = " + this.value;
+    }
+  }
+
+  static final class Remove extends Change {
+    Remove(final String key) {
+      super(key);
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.MutableView view) {
+      view.remove(this.key);
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.writeByte(REMOVE);
+      output.writeUTF(this.key);
+    }
+
+    @Override
+    public String toString() {
+      return "remove " + this.key;
+    }
+  }
+
+  static final class PatchCompound extends Change {
+    private final BinaryTagPatchImpl patch;
+
+    PatchCompound(final String key, final BinaryTagPatchImpl patch) {
+      super(key);
+      this.patch = patch;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.MutableView view) {
+      final BinaryTag tag = view.get(this.key);
+      if (!(tag instanceof CompoundBinaryTag)) throw new IllegalArgumentException("Expected a compound tag under " + this.key + ", but found " + tag);
+      view.put(this.key, this.patch.apply((CompoundBinaryTag) tag));
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.writeByte(PATCH_COMPOUND);
+      output.writeUTF(this.key);
+      this.patch.write(output);
+    }
+
+    @Override
+    public String toString() {
+      return "patch " + this.key + " " + this.patch;
+    }
+  }
+
+  static final class PatchList extends Change {
+    private final ListEdit[] edits;
+
+    PatchList(final String key, final ListEdit[] edits) {
+      super(key);
+      this.edits = edits;
+    }
+
+    @Override
+    void apply(final CompoundBinaryTag.MutableView view) {
+      final BinaryTag tag = view.get(this.key);
+      if (!(tag instanceof ListBinaryTag)) throw new IllegalArgumentException("Expected a list tag under " + this.key + ", but found " + tag);
+      final ListBinaryTag list = (ListBinaryTag) tag;
+      final List<BinaryTag> elements = new ArrayList<>(list.size());
+      for (final BinaryTag element : list) elements.add(element);
+      for (final ListEdit edit : this.edits) {
+        edit.apply(elements);
+      }
+      view.put(this.key, ListBinaryTag.from(elements));
+    }
+
+    @Override
+    void write(final DataOutput output) throws IOException {
+      output.writeByte(PATCH_LIST);
+      output.writeUTF(this.key);
+      output.writeInt(this.edits.length);
+      for (final ListEdit edit : this.edits) {
+        edit.write(output);
+      }
+    }
+
+    @Override
+    public String toString() {
+      final StringBuilder builder = new StringBuilder("patch ").append(this.key).append(" [");
+      for (int i = 0; i < this.edits.length; i++) {
+        if (i > 0) builder.append(", ");
+        builder.append(this.edits[i]);
+      }
+      return builder.append(']').toString();
+    }
+  }
+
+  interface ListEdit {
+    void apply(final List<BinaryTag> elements);
+
+    void write(final DataOutput output) throws IOException;
+  }
+
+  static final class Splice implements ListEdit {
+    private final int index;
+    private final int removed;
+    private final BinaryTag[] inserted;
+
+    Splice(final int index, final int removed, final BinaryTag[] inserted) {
+      this.index = index;
+      this.removed = removed;
+      this.inserted = inserted;
+    }
+
+    @Override
+    public void apply(final List<BinaryTag> elements) {
+      if (this.index < 0 || this.removed < 0 || this.index + this.removed > elements.size()) {
+        throw new IllegalArgumentException("Cannot splice " + this.removed + " elements at " + this.index + " of a list of size " + elements.size());
+      }
+      final List<BinaryTag> range = elements.subList(this.index, this.index + this.removed);
+      range.clear();
+      for (final BinaryTag tag : this.inserted) range.add(tag);
+    }
+
+    @Override
+    public void write(final DataOutput output) throws IOException {
+      output.writeByte(SPLICE);
+      output.writeInt(this.index);
+      output.writeInt(this.removed);
+      output.writeInt(this.inserted.length);
+      for (final BinaryTag tag : this.inserted) {
+        writeTag(tag, output);
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "splice " + this.index + " -" + this.removed + " +" + this.inserted.length;
+    }
+  }
+
+  static final class PatchElement implements ListEdit {
+    private final int index;
+    private final BinaryTagPatchImpl patch;
+
+    PatchElement(final int index, final BinaryTagPatchImpl patch) {
+      this.index = index;
+      this.patch = patch;
+    }
+
+    @Override
+    public void apply(final List<BinaryTag> elements) {
+      final BinaryTag tag = this.index >= 0 && this.index < elements.size() ? elements.get(this.index) : null;
+      if (!(tag instanceof CompoundBinaryTag)) throw new IllegalArgumentException("Expected a compound tag at index " + this.index + ", but found " + tag);
+      elements.set(this.index, this.patch.apply((CompoundBinaryTag) tag));
+    }
+
+    @Override
+    public void write(final DataOutput output) throws IOException {
+      output.writeByte(PATCH_ELEMENT);
+      output.writeInt(this.index);
+      this.patch.write(output);
+    }
+
+    @Override
+    public String toString() {
+      return "patch " + this.index + " " + this.patch;
+    }
+  }
+}
@@ -26,24 +26,54 @@ package net.kyori.adventure.nbt;
 import java.io.BufferedInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import static net.kyori.adventure.nbt.IOStreamUtil.closeShield;
 
 @SuppressWarnings("DuplicatedCode")
 final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
+  static final long DEFAULT_MAX_BYTES = 0x20_00a;
   private final long maxBytes;
+  private final @Nullable StringPool keys;
+  private final @Nullable StringPool strings;
+  private final @Nullable BinaryTagInterner interner;
   static final BinaryTagIO.Reader UNLIMITED = new BinaryTagReaderImpl(-1L);
-  static final BinaryTagIO.Reader DEFAULT_LIMIT = new BinaryTagReaderImpl(0x20_00a);
+  static final BinaryTagIO.Reader DEFAULT_LIMIT = new BinaryTagReaderImpl(DEFAULT_MAX_BYTES);
 
   BinaryTagReaderImpl(final long maxBytes) {
+    this(maxBytes, null, null, null);
+  }
+
+  BinaryTagReaderImpl(final long maxBytes, final @Nullable StringPool keys, final @Nullable StringPool strings, final @Nullable BinaryTagInterner interner) {
     this.maxBytes = maxBytes;
+    this.keys = keys;
+    this.strings = strings;
+    this.interner = interner;
+  }
+
+  private CompoundBinaryTag intern(final CompoundBinaryTag tag) {
+    return this.interner == null ? tag : this.interner.intern(tag);
+  }
+
+  private TrackingDataInput track(final DataInput input) {
+    return new TrackingDataInput(input, this.maxBytes).pools(this.keys, this.strings);
   }
 
   @Override
@@ -65,9 +95,55 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
     return this.read(input, true);
   }
 
+  @Override
+  public @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer input) throws IOException {
+    return this.read(input, data -> this.read(data, true));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer input, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+    return this.read(compression.decompress(input, this.maxBytes, null), data -> this.read(data, true));
+  }
+
+  @Override
+  public @NotNull CompletableFuture<List<BinaryTagIO.BulkResult<CompoundBinaryTag>>> readAll(final @NotNull Collection<? extends Path> paths, final BinaryTagIO.@NotNull Compression compression, final @NotNull Executor executor) {
+    return BinaryTagBulkIO.run(paths, executor, (path, scratch) -> {
+      try (final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+        return this.read(scratch.read(channel), compression, scratch);
+      }
+    });
+  }
+
+  @Override
+  public @NotNull CompletableFuture<List<BinaryTagIO.BulkResult<CompoundBinaryTag>>> readAllBuffers(final @NotNull Collection<? extends ByteBuffer> buffers, final BinaryTagIO.@NotNull Compression compression, final @NotNull Executor executor) {
+    return BinaryTagBulkIO.run(buffers, executor, (buffer, scratch) -> this.read(buffer.duplicate(), compression, scratch));
+  }
+
+  @Override
+  public BinaryTagIO.@NotNull Decoder decoder() {
+    return new BinaryTagDecoderImpl(this.maxBytes, true, this.keys, this.strings, this.interner);
+  }
+
+  @Override
+  public BinaryTagIO.@NotNull Decoder decoderNameless() {
+    return new BinaryTagDecoderImpl(this.maxBytes, false, this.keys, this.strings, this.interner);
+  }
+
+  // decompresses into the scratch output, which the eager reader does not retain
+  private @NotNull CompoundBinaryTag read(final @NotNull ByteBuffer input, final BinaryTagIO.@NotNull Compression compression, final BinaryTagBulkIO.@NotNull Scratch scratch) throws IOException {
+    final ByteBuffer data = compression.decompress(input, this.maxBytes, scratch.output);
+    scratch.keep(data);
+    return this.read(data, d -> this.read(d, true));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag read(final @NotNull FileChannel channel) throws IOException {
+    return this.read(channel, data -> this.read(data, true));
+  }
+
   private @NotNull CompoundBinaryTag read(@NotNull DataInput input, final boolean named) throws IOException {
     if (!(input instanceof TrackingDataInput)) {
-      input = new TrackingDataInput(input, this.maxBytes);
+      input = this.track(input);
     }
 
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.binaryTagType(input.readByte());
@@ -75,7 +151,22 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
     if (named) {
       input.skipBytes(input.readUnsignedShort()); // read empty name
     }
-    return BinaryTagTypes.COMPOUND.read(input);
+    return this.intern(BinaryTagTypes.COMPOUND.read(input));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag readLazy(final @NotNull ByteBuffer input) throws IOException {
+    return this.read(input, data -> this.readLazy(data, true));
+  }
+
+  private @NotNull CompoundBinaryTag readLazy(final @NotNull ByteBufferDataInput input, final boolean named) throws IOException {
+    requireCompound(BinaryTagType.binaryTagType(input.readByte()));
+    if (named) {
+      input.skipBytes(input.readUnsignedShort()); // read empty name
+    }
+    final int start = input.consumed();
+    BinaryTagSkipper.skip(input, BinaryTagTypes.COMPOUND); // validate structure and enforce limits up-front
+    return LazyCompoundMap.compound(input.slice(start, input.consumed()));
   }
 
   @Override
@@ -97,6 +188,26 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
     return this.read(input, false);
   }
 
+  @Override
+  public @NotNull CompoundBinaryTag readNameless(final @NotNull ByteBuffer input) throws IOException {
+    return this.read(input, data -> this.read(data, false));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag readNameless(final @NotNull FileChannel channel) throws IOException {
+    return this.read(channel, data -> this.read(data, false));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag readNameless(final @NotNull ByteBuffer input, final BinaryTagIO.@NotNull Compression compression) throws IOException {
+    return this.read(compression.decompress(input, this.maxBytes, null), data -> this.read(data, false));
+  }
+
+  @Override
+  public @NotNull CompoundBinaryTag readNamelessLazy(final @NotNull ByteBuffer input) throws IOException {
+    return this.read(input, data -> this.readLazy(data, false));
+  }
+
   @Override
   public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
     try (final InputStream is = Files.newInputStream(path)) {
@@ -116,7 +227,64 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.binaryTagType(input.readByte());
     requireCompound(type);
     final String name = input.readUTF();
-    return new AbstractMap.SimpleImmutableEntry<>(name, BinaryTagTypes.COMPOUND.read(input));
+    return new AbstractMap.SimpleImmutableEntry<>(name, this.intern(BinaryTagTypes.COMPOUND.read(input)));
+  }
+
+  @Override
+  public Map.@NotNull Entry<String, CompoundBinaryTag> readNamed(final @NotNull ByteBuffer input) throws IOException {
+    return this.read(input, this::readNamed);
+  }
+
+  private <T> T read(final @NotNull FileChannel channel, final BufferReader<T> reader) throws IOException {
+    final long position = channel.position();
+    final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, channel.size() - position);
+    final T result = this.read(buffer, reader);
+    channel.position(position + buffer.position());
+    return result;
+  }
+
+  private <T> T read(final @NotNull ByteBuffer input, final BufferReader<T> reader) throws IOException {
+    final ByteBufferDataInput data = new ByteBufferDataInput(input, this.maxBytes);
+    data.pools(this.keys, this.strings);
+    final T result;
+    try {
+      result = reader.read(data);
+    } catch (final BufferUnderflowException ex) {
+      throw new EOFException("Reached end of buffer after " + data.consumed() + " bytes while reading NBT");
+    }
+    input.position(input.position() + data.consumed());
+    return result;
+  }
+
+  @Override
+  public void visit(final @NotNull InputStream input, final BinaryTagIO.@NotNull Compression compression, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    try (final DataInputStream dis = new DataInputStream(new BufferedInputStream(compression.decompress(closeShield(input))))) {
+      this.visit((DataInput) dis, visitor);
+    }
+  }
+
+  @Override
+  public void visit(final @NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    this.visit(input, true, visitor);
+  }
+
+  @Override
+  public void visit(final @NotNull ByteBuffer input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    this.read(input, data -> this.visit(data, true, visitor));
+  }
+
+  @Override
+  public void visitNameless(final @NotNull DataInput input, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    this.visit(input, false, visitor);
+  }
+
+  private boolean visit(final @NotNull DataInput input, final boolean named, final @NotNull BinaryTagVisitor visitor) throws IOException {
+    final DataInput tracked = input instanceof TrackingDataInput ? input : this.track(input);
+    requireCompound(BinaryTagType.binaryTagType(tracked.readByte()));
+    if (named) {
+      tracked.skipBytes(tracked.readUnsignedShort()); // read empty name
+    }
+    return BinaryTagEvents.read(tracked, BinaryTagTypes.COMPOUND, visitor);
   }
 
   private static void requireCompound(final BinaryTagType<? extends BinaryTag> type) throws IOException {
@@ -124,4 +292,54 @@ final class BinaryTagReaderImpl implements BinaryTagIO.Reader {
       throw new IOException(String.format("Expected root tag to be a %s, was %s", BinaryTagTypes.COMPOUND, type));
     }
   }
+
+  static final class BuilderImpl implements BinaryTagIO.Reader.Builder {
+    private long maxBytes = DEFAULT_MAX_BYTES;
+    private @Nullable StringPool keys;
+    private @Nullable StringPool strings;
+    private @Nullable BinaryTagInterner interner;
+
+    @Override
+    public BinaryTagIO.Reader.@NotNull Builder sizeLimit(final long sizeLimitBytes) {
+      if (sizeLimitBytes <= 0) {
+        throw new IllegalArgumentException("The size limit must be greater than zero");
+      }
+      this.maxBytes = sizeLimitBytes;
+      return this;
+    }
+
+    @Override
+    public BinaryTagIO.Reader.@NotNull Builder unlimited() {
+      this.maxBytes = -1L;
+      return this;
+    }
+
+    @Override
+    public BinaryTagIO.Reader.@NotNull Builder keyPool(final @Nullable StringPool pool) {
+      this.keys = pool;
+      return this;
+    }
+
+    @Override
+    public BinaryTagIO.Reader.@NotNull Builder stringPool(final @Nullable StringPool pool) {
+      this.strings = pool;
+      return this;
+    }
+
+    @Override
+    public BinaryTagIO.Reader.@NotNull Builder interner(final @Nullable BinaryTagInterner interner) {
+      this.interner = interner;
+      return this;
+    }
+
+    @Override
+    public BinaryTagIO.@NotNull Reader build() {
+      return new BinaryTagReaderImpl(this.maxBytes, this.keys, this.strings, this.interner);
+    }
+  }
+
+  @FunctionalInterface
+  private interface BufferReader<T> {
+    T read(final @NotNull ByteBufferDataInput input) throws IOException;
+  }
 }
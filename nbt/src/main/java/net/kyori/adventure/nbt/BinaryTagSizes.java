@@ -0,0 +1,116 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Map;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Computes the exact number of bytes tags are encoded to.
+ *
+ * <p>Sizes of compound and list tags are cached on their instances, so repeated size queries, and the queries
+ * for a parent tag after one of its children was replaced, only walk the parts of a tree which changed.</p>
+ */
+final class BinaryTagSizes {
+  private BinaryTagSizes() {
+  }
+
+  /**
+   * Gets the number of bytes the payload of a tag is encoded to, excluding its type id.
+   *
+   * @param tag the tag
+   * @return the payload size
+   */
+  static long payloadSize(final @NotNull BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    if (type == BinaryTagTypes.COMPOUND) {
+      return tag instanceof CompoundBinaryTagImpl ? ((CompoundBinaryTagImpl) tag).encodedSize() : compoundSize((CompoundBinaryTag) tag);
+    } else if (type == BinaryTagTypes.LIST) {
+      return tag instanceof ListBinaryTagImpl ? ((ListBinaryTagImpl) tag).encodedSize() : listSize((ListBinaryTag) tag);
+    } else if (type == BinaryTagTypes.STRING) {
+      return 2 + ModifiedUtf8.encodedLength(((StringBinaryTag) tag).value());
+    } else if (type == BinaryTagTypes.BYTE_ARRAY) {
+      return 4 + (long) ((ByteArrayBinaryTag) tag).size();
+    } else if (type == BinaryTagTypes.INT_ARRAY) {
+      return 4 + 4L * ((IntArrayBinaryTag) tag).size();
+    } else if (type == BinaryTagTypes.LONG_ARRAY) {
+      return 4 + 8L * ((LongArrayBinaryTag) tag).size();
+    }
+    return fixedSize(type);
+  }
+
+  // The payload size of a fixed-width tag type
+  static int fixedSize(final BinaryTagType<? extends BinaryTag> type) {
+    if (type == BinaryTagTypes.BYTE) {
+      return 1;
+    } else if (type == BinaryTagTypes.SHORT) {
+      return 2;
+    } else if (type == BinaryTagTypes.INT || type == BinaryTagTypes.FLOAT) {
+      return 4;
+    } else if (type == BinaryTagTypes.LONG || type == BinaryTagTypes.DOUBLE) {
+      return 8;
+    } else if (type == BinaryTagTypes.END) {
+      return 0;
+    }
+    throw new IllegalArgumentException("Unknown tag type " + type);
+  }
+
+  /**
+   * Computes the payload size of a compound tag, without consulting its cache.
+   *
+   * @param tag the tag
+   * @return the payload size
+   */
+  static long compoundSize(final @NotNull CompoundBinaryTag tag) {
+    long size = 1; // end tag
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      final BinaryTag value = entry.getValue();
+      if (value == null) continue;
+      size += 1; // type id
+      if (value.type() != BinaryTagTypes.END) {
+        size += 2 + ModifiedUtf8.encodedLength(entry.getKey()) + payloadSize(value);
+      }
+    }
+    return size;
+  }
+
+  /**
+   * Computes the payload size of a list tag, without consulting its cache.
+   *
+   * @param tag the tag
+   * @return the payload size
+   */
+  static long listSize(final @NotNull ListBinaryTag tag) {
+    final long header = 1 + 4; // element type and length
+    final BinaryTagType<? extends BinaryTag> type = tag.elementType();
+    if (type.numeric()) {
+      return header + (long) fixedSize(type) * tag.size();
+    }
+    long size = header;
+    for (final BinaryTag element : tag) {
+      size += payloadSize(element);
+    }
+    return size;
+  }
+}
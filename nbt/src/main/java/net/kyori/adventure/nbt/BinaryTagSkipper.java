@@ -0,0 +1,136 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Skips over encoded binary tags without decoding them.
+ */
+final class BinaryTagSkipper {
+  private BinaryTagSkipper() {
+  }
+
+  /**
+   * Skips the payload of a tag of {@code type}.
+   *
+   * <p>Size and depth limits are enforced when {@code input} is a {@link TrackingDataInput}.</p>
+   *
+   * @param input the input
+   * @param type the type of the tag to skip
+   * @throws IOException if an exception was encountered while skipping
+   */
+  @SuppressWarnings("try")
+  static void skip(final DataInput input, final BinaryTagType<? extends BinaryTag> type) throws IOException {
+    if (type == BinaryTagTypes.COMPOUND) {
+      try (final BinaryTagScope ignored = TrackingDataInput.enter(input)) {
+        BinaryTagType<? extends BinaryTag> entryType;
+        while ((entryType = BinaryTagType.binaryTagType(input.readByte())) != BinaryTagTypes.END) {
+          skipFully(input, input.readUnsignedShort()); // key
+          skip(input, entryType);
+        }
+      }
+    } else if (type == BinaryTagTypes.LIST) {
+      final BinaryTagType<? extends BinaryTag> elementType = BinaryTagType.binaryTagType(input.readByte());
+      skipElements(input, elementType, input.readInt());
+    } else if (type == BinaryTagTypes.STRING) {
+      skipFully(input, input.readUnsignedShort());
+    } else if (type == BinaryTagTypes.BYTE_ARRAY) {
+      skipArray(input, 1);
+    } else if (type == BinaryTagTypes.INT_ARRAY) {
+      skipArray(input, Integer.BYTES);
+    } else if (type == BinaryTagTypes.LONG_ARRAY) {
+      skipArray(input, Long.BYTES);
+    } else {
+      skipFully(input, fixedSize(type));
+    }
+  }
+
+  /**
+   * Skips the elements of a list tag, after its header has been read.
+   *
+   * @param input the input
+   * @param elementType the type of the elements
+   * @param length the number of elements
+   * @throws IOException if an exception was encountered while skipping
+   */
+  @SuppressWarnings("try")
+  static void skipElements(final DataInput input, final BinaryTagType<? extends BinaryTag> elementType, final int length) throws IOException {
+    final int elementSize = fixedSize(elementType);
+    try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * (elementSize > 0 ? (long) elementSize : 8L))) {
+      if (elementSize >= 0) {
+        skipFully(input, (long) length * elementSize);
+      } else {
+        for (int i = 0; i < length; i++) {
+          skip(input, elementType);
+        }
+      }
+    }
+  }
+
+  /**
+   * Gets the encoded size of a tag of {@code type}, if it is constant.
+   *
+   * @param type the type
+   * @return the size in bytes, or {@code -1} if tags of this type vary in size
+   */
+  static int fixedSize(final BinaryTagType<? extends BinaryTag> type) {
+    if (type == BinaryTagTypes.END) {
+      return 0;
+    } else if (type == BinaryTagTypes.BYTE) {
+      return Byte.BYTES;
+    } else if (type == BinaryTagTypes.SHORT) {
+      return Short.BYTES;
+    } else if (type == BinaryTagTypes.INT || type == BinaryTagTypes.FLOAT) {
+      return Integer.BYTES;
+    } else if (type == BinaryTagTypes.LONG || type == BinaryTagTypes.DOUBLE) {
+      return Long.BYTES;
+    }
+    return -1;
+  }
+
+  @SuppressWarnings("try")
+  private static void skipArray(final DataInput input, final int elementSize) throws IOException {
+    final int length = input.readInt();
+    try (final BinaryTagScope ignored = TrackingDataInput.enter(input, (long) length * elementSize)) {
+      skipFully(input, (long) length * elementSize);
+    }
+  }
+
+  private static void skipFully(final DataInput input, final long length) throws IOException {
+    if (length < 0) {
+      throw new IOException("Encountered a negative length of " + length + " while skipping NBT");
+    }
+    long remaining = length;
+    while (remaining > 0) {
+      final int skipped = input.skipBytes((int) Math.min(remaining, Integer.MAX_VALUE));
+      if (skipped <= 0) {
+        throw new EOFException();
+      }
+      remaining -= skipped;
+    }
+  }
+}
@@ -23,6 +23,7 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -99,7 +100,7 @@ public final class BinaryTagTypes {
    *
    * @since 4.0.0
    */
-  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.stringBinaryTag(input.readUTF()), (tag, output) -> output.writeUTF(tag.value()));
+  public static final BinaryTagType<StringBinaryTag> STRING = BinaryTagType.register(StringBinaryTag.class, (byte) 8, input -> StringBinaryTag.stringBinaryTag(TrackingDataInput.readString(input)), (tag, output) -> ModifiedUtf8.write(output, tag.value()));
   /**
    * {@link ListBinaryTag}.
    *
@@ -110,6 +111,9 @@ public final class BinaryTagTypes {
     final BinaryTagType<? extends BinaryTag> type = BinaryTagType.binaryTagType(input.readByte());
     final int length = input.readInt();
     try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
+      if (length == 0) return ListBinaryTag.empty();
+      final PrimitiveTagList primitives = PrimitiveTagList.read(input, type, length);
+      if (primitives != null) return new ListBinaryTagImpl(type, primitives);
       final List<BinaryTag> tags = new ArrayList<>(length);
       for (int i = 0; i < length; i++) {
         tags.add(type.read(input));
@@ -120,6 +124,11 @@ public final class BinaryTagTypes {
     output.writeByte(tag.elementType().id());
     final int size = tag.size();
     output.writeInt(size);
+    final PrimitiveTagList primitives = tag instanceof ListBinaryTagImpl ? ((ListBinaryTagImpl) tag).primitives() : null;
+    if (primitives != null) {
+      primitives.write(output);
+      return;
+    }
     for (final BinaryTag item : tag) {
       BinaryTagType.writeUntyped(item.type(), item, output);
     }
@@ -135,20 +144,25 @@ public final class BinaryTagTypes {
       final Map<String, BinaryTag> tags = new HashMap<>();
       BinaryTagType<? extends BinaryTag> type;
       while ((type = BinaryTagType.binaryTagType(input.readByte())) != BinaryTagTypes.END) {
-        final String key = input.readUTF();
+        final String key = TrackingDataInput.readKey(input);
         final BinaryTag tag = type.read(input);
         tags.put(key, tag);
       }
       return new CompoundBinaryTagImpl(tags);
     }
   }, (tag, output) -> {
+    final ByteBuffer payload = tag instanceof CompoundBinaryTagImpl ? ((CompoundBinaryTagImpl) tag).lazyPayload() : null;
+    if (payload != null) { // still encoded, so copy it over as is
+      LazyCompoundMap.write(payload, output);
+      return;
+    }
     for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
       final BinaryTag value = entry.getValue();
       if (value != null) {
         final BinaryTagType<? extends BinaryTag> type = value.type();
         output.writeByte(type.id());
         if (type != BinaryTagTypes.END) {
-          output.writeUTF(entry.getKey());
+          ModifiedUtf8.write(output, entry.getKey());
           BinaryTagType.writeUntyped(type, value, output);
         }
       }
@@ -166,9 +180,7 @@ public final class BinaryTagTypes {
     final int length = input.readInt();
     try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 4L)) {
       final int[] value = new int[length];
-      for (int i = 0; i < length; i++) {
-        value[i] = input.readInt();
-      }
+      PrimitiveTagList.readFully(input, value);
       return IntArrayBinaryTag.intArrayBinaryTag(value);
     }
   }, (tag, output) -> {
@@ -190,9 +202,7 @@ public final class BinaryTagTypes {
     final int length = input.readInt();
     try (final BinaryTagScope ignored = TrackingDataInput.enter(input, length * 8L)) {
       final long[] value = new long[length];
-      for (int i = 0; i < length; i++) {
-        value[i] = input.readLong();
-      }
+      PrimitiveTagList.readFully(input, value);
       return LongArrayBinaryTag.longArrayBinaryTag(value);
     }
   }, (tag, output) -> {
@@ -0,0 +1,215 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A visitor receiving binary tag events as they are decoded, without building a tree of tags.
+ *
+ * <p>Visitors can be driven by {@link BinaryTagIO.Reader#visit(java.io.DataInput, BinaryTagVisitor)} and
+ * {@link TagStringIO#visit(String, BinaryTagVisitor)}. Every method has a no-op default implementation,
+ * so implementations only need to override the events they care about.</p>
+ *
+ * <p>Container events can return an {@link Action} to descend into, skip over, or stop visiting at that
+ * point in the document. Skipped values produce no further events, including their end events.</p>
+ *
+ * @since 4.17.0
+ */
+public interface BinaryTagVisitor {
+  /**
+   * Called when a compound tag begins.
+   *
+   * @return {@link Action#CONTINUE} to visit the entries of this compound, {@link Action#SKIP} to skip them,
+   *     or {@link Action#STOP} to stop visiting
+   * @since 4.17.0
+   */
+  default @NotNull Action visitCompoundStart() {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Called for each entry of a compound tag, before its value is visited.
+   *
+   * @param type the type of the value
+   * @param key the key
+   * @return {@link Action#CONTINUE} to visit the value, {@link Action#SKIP} to skip it,
+   *     or {@link Action#STOP} to stop visiting
+   * @since 4.17.0
+   */
+  default @NotNull Action visitCompoundEntry(final @NotNull BinaryTagType<? extends BinaryTag> type, final @NotNull String key) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Called when a compound tag ends.
+   *
+   * @since 4.17.0
+   */
+  default void visitCompoundEnd() {
+  }
+
+  /**
+   * Called when a list tag begins.
+   *
+   * @param elementType the type of the elements
+   * @param size the number of elements
+   * @return {@link Action#CONTINUE} to visit the elements of this list, {@link Action#SKIP} to skip them,
+   *     or {@link Action#STOP} to stop visiting
+   * @since 4.17.0
+   */
+  default @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+    return Action.CONTINUE;
+  }
+
+  /**
+   * Called when a list tag ends.
+   *
+   * @since 4.17.0
+   */
+  default void visitListEnd() {
+  }
+
+  /**
+   * Called for a {@code byte} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitByte(final byte value) {
+  }
+
+  /**
+   * Called for a {@code short} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitShort(final short value) {
+  }
+
+  /**
+   * Called for an {@code int} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitInt(final int value) {
+  }
+
+  /**
+   * Called for a {@code long} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitLong(final long value) {
+  }
+
+  /**
+   * Called for a {@code float} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitFloat(final float value) {
+  }
+
+  /**
+   * Called for a {@code double} value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitDouble(final double value) {
+  }
+
+  /**
+   * Called for a string value.
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitString(final @NotNull String value) {
+  }
+
+  /**
+   * Called for a {@code byte} array value.
+   *
+   * <p>The visitor takes ownership of the array.</p>
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitByteArray(final byte@NotNull[] value) {
+  }
+
+  /**
+   * Called for an {@code int} array value.
+   *
+   * <p>The visitor takes ownership of the array.</p>
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitIntArray(final int@NotNull[] value) {
+  }
+
+  /**
+   * Called for a {@code long} array value.
+   *
+   * <p>The visitor takes ownership of the array.</p>
+   *
+   * @param value the value
+   * @since 4.17.0
+   */
+  default void visitLongArray(final long@NotNull[] value) {
+  }
+
+  /**
+   * The action to take after a container event.
+   *
+   * @since 4.17.0
+   */
+  enum Action {
+    /**
+     * Visit the contents of the container.
+     *
+     * @since 4.17.0
+     */
+    CONTINUE,
+    /**
+     * Skip the contents of the container, without producing any events for them.
+     *
+     * @since 4.17.0
+     */
+    SKIP,
+    /**
+     * Stop visiting entirely. No further events are produced, and the remaining input is not read.
+     *
+     * @since 4.17.0
+     */
+    STOP;
+  }
+}
@@ -28,9 +28,17 @@ import java.io.DataOutput;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import org.jetbrains.annotations.NotNull;
 
 import static net.kyori.adventure.nbt.IOStreamUtil.closeShield;
@@ -84,6 +92,36 @@ final class BinaryTagWriterImpl implements BinaryTagIO.Writer {
     this.write(tag, output, false);
   }
 
+  @Override
+  public long encodedSize(final @NotNull CompoundBinaryTag tag) {
+    return 1 + 2 + BinaryTagSizes.payloadSize(tag); // type id, empty name and payload
+  }
+
+  @Override
+  public long encodedSizeNameless(final @NotNull CompoundBinaryTag tag) {
+    return 1 + BinaryTagSizes.payloadSize(tag);
+  }
+
+  @Override
+  public void write(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer output) throws IOException {
+    this.write(tag, output, true);
+  }
+
+  @Override
+  public void writeNameless(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer output) throws IOException {
+    this.write(tag, output, false);
+  }
+
+  private void write(final @NotNull CompoundBinaryTag tag, final @NotNull ByteBuffer output, final boolean named) throws IOException {
+    final long size = named ? this.encodedSize(tag) : this.encodedSizeNameless(tag);
+    if (size > output.remaining()) {
+      throw new BufferOverflowException();
+    }
+    final ByteBufferDataOutput data = new ByteBufferDataOutput(output);
+    this.write(tag, data, named);
+    data.finish();
+  }
+
   @Override
   public void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull Path path, final BinaryTagIO.@NotNull Compression compression) throws IOException {
     try (final OutputStream os = Files.newOutputStream(path)) {
@@ -101,7 +139,38 @@ final class BinaryTagWriterImpl implements BinaryTagIO.Writer {
   @Override
   public void writeNamed(final Map.@NotNull Entry<String, CompoundBinaryTag> tag, final @NotNull DataOutput output) throws IOException {
     output.writeByte(BinaryTagTypes.COMPOUND.id());
-    output.writeUTF(tag.getKey());
+    ModifiedUtf8.write(output, tag.getKey());
     BinaryTagTypes.COMPOUND.write(tag.getValue(), output);
   }
+
+  @Override
+  public @NotNull CompletableFuture<List<BinaryTagIO.BulkResult<ByteBuffer>>> writeAll(final @NotNull Collection<? extends CompoundBinaryTag> tags, final BinaryTagIO.@NotNull Compression compression, final @NotNull Executor executor) {
+    return BinaryTagBulkIO.run(tags, executor, (tag, scratch) -> {
+      final ByteBuffer result = compression.compress(this.encode(tag, scratch), null);
+      if (!scratch.shared(result)) return result;
+      final ByteBuffer copy = ByteBuffer.allocate(result.remaining()).put(result);
+      copy.flip();
+      return copy;
+    });
+  }
+
+  @Override
+  public @NotNull CompletableFuture<List<BinaryTagIO.BulkResult<Path>>> writeAll(final @NotNull Map<Path, ? extends CompoundBinaryTag> tags, final BinaryTagIO.@NotNull Compression compression, final @NotNull Executor executor) {
+    return BinaryTagBulkIO.run(tags.entrySet(), executor, (entry, scratch) -> {
+      final ByteBuffer result = compression.compress(this.encode(entry.getValue(), scratch), scratch.output);
+      scratch.keep(result);
+      try (final FileChannel channel = FileChannel.open(entry.getKey(), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+        while (result.hasRemaining()) {
+          channel.write(result);
+        }
+      }
+      return entry.getKey();
+    });
+  }
+
+  private @NotNull ByteBuffer encode(final @NotNull CompoundBinaryTag tag, final BinaryTagBulkIO.@NotNull Scratch scratch) throws IOException {
+    scratch.resetEncoded();
+    this.write(tag, (DataOutput) scratch.data);
+    return scratch.encoded();
+  }
 }
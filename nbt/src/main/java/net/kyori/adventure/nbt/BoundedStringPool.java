@@ -0,0 +1,60 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A string pool made of two-slot buckets, where the most recently added string of each bucket comes first.
+ *
+ * <p>Slots are read and written without synchronization. A racing write may replace a pooled string
+ * or let a duplicate through, but never returns a string that is not equal to the requested one.</p>
+ */
+final class BoundedStringPool implements StringPool {
+  private final String[] strings;
+  private final int mask;
+
+  BoundedStringPool(final int capacity) {
+    this.strings = new String[capacity];
+    this.mask = capacity - 1;
+  }
+
+  @Override
+  public @NotNull String intern(final @NotNull String value) {
+    final int hash = value.hashCode(); // cached by the string from now on
+    final int first = (hash ^ (hash >>> 16)) & this.mask & ~1;
+    final int second = (first + 1) & this.mask;
+    final String recent = this.strings[first];
+    if (matches(recent, hash, value)) return recent;
+    final String older = this.strings[second];
+    if (matches(older, hash, value)) return older;
+    this.strings[second] = recent; // evict the older string
+    this.strings[first] = value;
+    return value;
+  }
+
+  private static boolean matches(final String pooled, final int hash, final String value) {
+    return pooled != null && pooled.hashCode() == hash && pooled.equals(value);
+  }
+}
@@ -59,7 +59,7 @@ public interface ByteBinaryTag extends NumberBinaryTag {
     } else if (value == 1) {
       return ONE;
     } else {
-      return new ByteBinaryTagImpl(value);
+      return ByteBinaryTagImpl.of(value);
     }
   }
 
@@ -37,6 +37,22 @@ final class ByteBinaryTagImpl extends AbstractBinaryTag implements ByteBinaryTag
     this.value = value;
   }
 
+  // every value is shared, though ZERO and ONE are separate instances created by the interface itself
+  static @NotNull ByteBinaryTag of(final byte value) {
+    return Cache.VALUES[value & 0xff];
+  }
+
+  // initialized on first use, as the interface creates instances of this class while it is initialized
+  private static final class Cache {
+    static final ByteBinaryTagImpl[] VALUES = new ByteBinaryTagImpl[256];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new ByteBinaryTagImpl((byte) i);
+      }
+    }
+  }
+
   @Override
   public byte value() {
     return this.value;
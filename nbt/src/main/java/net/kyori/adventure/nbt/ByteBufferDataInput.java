@@ -0,0 +1,249 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A tracking input that decodes directly from a {@link ByteBuffer}.
+ *
+ * <p>The buffer may be heap-allocated, direct or memory-mapped. Values are read in big-endian order
+ * regardless of the order of the provided buffer.</p>
+ */
+final class ByteBufferDataInput extends TrackingDataInput {
+  private final ByteBuffer buffer;
+
+  ByteBufferDataInput(final ByteBuffer buffer, final long maxLength) {
+    super(null, maxLength);
+    this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Gets the number of bytes consumed from the source buffer.
+   *
+   * @return the number of bytes consumed
+   */
+  int consumed() {
+    return this.buffer.position();
+  }
+
+  /**
+   * Creates a view of a region of the source buffer.
+   *
+   * @param start the start offset, relative to the initial position of the source buffer
+   * @param end the end offset, exclusive
+   * @return a big-endian view of the region
+   */
+  ByteBuffer slice(final int start, final int end) {
+    final ByteBuffer view = this.buffer.duplicate();
+    view.limit(end).position(start);
+    return view.slice().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  @Override
+  public void readFully(final byte@NotNull[] array) throws IOException {
+    this.readFully(array, 0, array.length);
+  }
+
+  @Override
+  public void readFully(final byte@NotNull[] array, final int off, final int len) throws IOException {
+    this.counter += len;
+    this.buffer.get(array, off, len);
+  }
+
+  /**
+   * Reads a run of big-endian shorts in one pass.
+   *
+   * @param array the destination array
+   */
+  void readFully(final short@NotNull[] array) {
+    this.counter += (long) array.length * (Short.SIZE / Byte.SIZE);
+    this.buffer.asShortBuffer().get(array);
+    this.advance(array.length * (Short.SIZE / Byte.SIZE));
+  }
+
+  /**
+   * Reads a run of big-endian ints in one pass.
+   *
+   * @param array the destination array
+   */
+  void readFully(final int@NotNull[] array) {
+    this.counter += (long) array.length * (Integer.SIZE / Byte.SIZE);
+    this.buffer.asIntBuffer().get(array);
+    this.advance(array.length * (Integer.SIZE / Byte.SIZE));
+  }
+
+  /**
+   * Reads a run of big-endian longs in one pass.
+   *
+   * @param array the destination array
+   */
+  void readFully(final long@NotNull[] array) {
+    this.counter += (long) array.length * (Long.SIZE / Byte.SIZE);
+    this.buffer.asLongBuffer().get(array);
+    this.advance(array.length * (Long.SIZE / Byte.SIZE));
+  }
+
+  /**
+   * Reads a run of big-endian floats in one pass.
+   *
+   * @param array the destination array
+   */
+  void readFully(final float@NotNull[] array) {
+    this.counter += (long) array.length * (Float.SIZE / Byte.SIZE);
+    this.buffer.asFloatBuffer().get(array);
+    this.advance(array.length * (Float.SIZE / Byte.SIZE));
+  }
+
+  /**
+   * Reads a run of big-endian doubles in one pass.
+   *
+   * @param array the destination array
+   */
+  void readFully(final double@NotNull[] array) {
+    this.counter += (long) array.length * (Double.SIZE / Byte.SIZE);
+    this.buffer.asDoubleBuffer().get(array);
+    this.advance(array.length * (Double.SIZE / Byte.SIZE));
+  }
+
+  private void advance(final int length) {
+    this.buffer.position(this.buffer.position() + length);
+  }
+
+  @Override
+  public int skipBytes(final int n) {
+    final int skipped = Math.max(0, Math.min(n, this.buffer.remaining()));
+    this.buffer.position(this.buffer.position() + skipped);
+    this.counter += skipped;
+    return skipped;
+  }
+
+  @Override
+  public boolean readBoolean() {
+    this.counter++;
+    return this.buffer.get() != 0;
+  }
+
+  @Override
+  public byte readByte() {
+    this.counter++;
+    return this.buffer.get();
+  }
+
+  @Override
+  public int readUnsignedByte() {
+    this.counter++;
+    return this.buffer.get() & 0xff;
+  }
+
+  @Override
+  public short readShort() {
+    this.counter += (Short.SIZE / Byte.SIZE);
+    return this.buffer.getShort();
+  }
+
+  @Override
+  public int readUnsignedShort() {
+    this.counter += (Short.SIZE / Byte.SIZE);
+    return this.buffer.getShort() & 0xffff;
+  }
+
+  @Override
+  public char readChar() {
+    this.counter += (Character.SIZE / Byte.SIZE);
+    return this.buffer.getChar();
+  }
+
+  @Override
+  public int readInt() {
+    this.counter += (Integer.SIZE / Byte.SIZE);
+    return this.buffer.getInt();
+  }
+
+  @Override
+  public long readLong() {
+    this.counter += (Long.SIZE / Byte.SIZE);
+    return this.buffer.getLong();
+  }
+
+  @Override
+  public float readFloat() {
+    this.counter += (Float.SIZE / Byte.SIZE);
+    return this.buffer.getFloat();
+  }
+
+  @Override
+  public double readDouble() {
+    this.counter += (Double.SIZE / Byte.SIZE);
+    return this.buffer.getDouble();
+  }
+
+  @Override
+  public @Nullable String readLine() {
+    if (!this.buffer.hasRemaining()) {
+      return null;
+    }
+    final StringBuilder builder = new StringBuilder();
+    while (this.buffer.hasRemaining()) {
+      final char c = (char) (this.buffer.get() & 0xff);
+      this.counter++;
+      if (c == '\n') {
+        break;
+      } else if (c == '\r') {
+        if (this.buffer.hasRemaining() && this.buffer.get(this.buffer.position()) == '\n') {
+          this.buffer.get();
+          this.counter++;
+        }
+        break;
+      }
+      builder.append(c);
+    }
+    return builder.toString();
+  }
+
+  @Override
+  public @NotNull String readUTF() throws IOException {
+    final int length = this.readUnsignedShort();
+    if (length > this.buffer.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    this.counter += length;
+    final int position = this.buffer.position();
+    final String value;
+    if (this.buffer.hasArray()) { // decode in place
+      value = ModifiedUtf8.decode(this.buffer.array(), this.buffer.arrayOffset() + position, length, this.chars(length));
+    } else {
+      final byte[] bytes = this.bytes(length);
+      this.buffer.get(bytes, 0, length);
+      value = ModifiedUtf8.decode(bytes, 0, length, this.chars(length));
+    }
+    this.buffer.position(position + length);
+    return value;
+  }
+}
@@ -0,0 +1,136 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An output that encodes directly into a {@link ByteBuffer}.
+ *
+ * <p>Values are written in big-endian order regardless of the order of the provided buffer, and the position
+ * of the provided buffer is only advanced by {@link #finish()}.</p>
+ */
+final class ByteBufferDataOutput implements DataOutput {
+  private final ByteBuffer source;
+  private final ByteBuffer buffer;
+
+  ByteBufferDataOutput(final ByteBuffer buffer) {
+    this.source = buffer;
+    this.buffer = buffer.slice().order(ByteOrder.BIG_ENDIAN);
+  }
+
+  /**
+   * Advances the source buffer past the bytes written.
+   */
+  void finish() {
+    this.source.position(this.source.position() + this.buffer.position());
+  }
+
+  /**
+   * Writes the remaining bytes of a buffer, without moving its position.
+   *
+   * @param bytes the bytes
+   */
+  void write(final @NotNull ByteBuffer bytes) {
+    this.buffer.put(bytes.duplicate());
+  }
+
+  @Override
+  public void write(final int b) {
+    this.buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(final byte@NotNull[] b) {
+    this.buffer.put(b);
+  }
+
+  @Override
+  public void write(final byte@NotNull[] b, final int off, final int len) {
+    this.buffer.put(b, off, len);
+  }
+
+  @Override
+  public void writeBoolean(final boolean v) {
+    this.buffer.put((byte) (v ? 1 : 0));
+  }
+
+  @Override
+  public void writeByte(final int v) {
+    this.buffer.put((byte) v);
+  }
+
+  @Override
+  public void writeShort(final int v) {
+    this.buffer.putShort((short) v);
+  }
+
+  @Override
+  public void writeChar(final int v) {
+    this.buffer.putChar((char) v);
+  }
+
+  @Override
+  public void writeInt(final int v) {
+    this.buffer.putInt(v);
+  }
+
+  @Override
+  public void writeLong(final long v) {
+    this.buffer.putLong(v);
+  }
+
+  @Override
+  public void writeFloat(final float v) {
+    this.buffer.putFloat(v);
+  }
+
+  @Override
+  public void writeDouble(final double v) {
+    this.buffer.putDouble(v);
+  }
+
+  @Override
+  public void writeBytes(final @NotNull String s) {
+    for (int i = 0, length = s.length(); i < length; i++) {
+      this.buffer.put((byte) s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeChars(final @NotNull String s) {
+    for (int i = 0, length = s.length(); i < length; i++) {
+      this.buffer.putChar(s.charAt(i));
+    }
+  }
+
+  @Override
+  public void writeUTF(final @NotNull String s) throws IOException {
+    ModifiedUtf8.write(this, s);
+  }
+}
@@ -34,6 +34,23 @@ final class CharBuffer {
     this.sequence = sequence;
   }
 
+  public CharSequence sequence() {
+    return this.sequence;
+  }
+
+  public int index() {
+    return this.index;
+  }
+
+  /**
+   * Move to a position in the sequence, such as the end of a token scanned directly from {@link #sequence()}.
+   *
+   * @param index the new position
+   */
+  public void index(final int index) {
+    this.index = index;
+  }
+
   /**
    * Get the character at the current position.
    *
@@ -0,0 +1,81 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A bounded, thread-safe pool of reusable codec instances, such as {@link java.util.zip.Deflater}s.
+ *
+ * @param <T> the instance type
+ */
+final class CodecPool<T> {
+  static final int DEFAULT_MAX_IDLE = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+  private final Queue<T> idle = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger idleCount = new AtomicInteger();
+  private final Supplier<T> factory;
+  private final Consumer<T> reset;
+  private final Consumer<T> dispose;
+  private final int maxIdle;
+
+  /**
+   * Creates a pool.
+   *
+   * @param factory creates new instances
+   * @param reset prepares a released instance for reuse
+   * @param dispose frees an instance that will not be reused
+   * @param maxIdle the maximum number of idle instances retained
+   */
+  CodecPool(final Supplier<T> factory, final Consumer<T> reset, final Consumer<T> dispose, final int maxIdle) {
+    this.factory = factory;
+    this.reset = reset;
+    this.dispose = dispose;
+    this.maxIdle = maxIdle;
+  }
+
+  @NotNull T acquire() {
+    final @Nullable T instance = this.idle.poll();
+    if (instance == null) {
+      return this.factory.get();
+    }
+    this.idleCount.decrementAndGet();
+    return instance;
+  }
+
+  void release(final @NotNull T instance) {
+    if (this.idleCount.incrementAndGet() > this.maxIdle) {
+      this.idleCount.decrementAndGet();
+      this.dispose.accept(instance);
+      return;
+    }
+    this.reset.accept(instance);
+    this.idle.offer(instance);
+  }
+}
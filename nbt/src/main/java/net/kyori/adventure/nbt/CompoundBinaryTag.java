@@ -26,6 +26,7 @@ package net.kyori.adventure.nbt;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -267,6 +268,108 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
    */
   double getDouble(final @NotNull String key, final double defaultValue);
 
+  /**
+   * Gets a tag nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the tag at the end of the path, or {@code null} if there is no tag at the path or a tag
+   *     along it is not a compound tag
+   * @since 4.17.0
+   */
+  default @Nullable BinaryTag get(final @NotNull String key, final @NotNull String@NotNull... path) {
+    @Nullable BinaryTag tag = this.get(key);
+    for (final String next : path) {
+      if (!(tag instanceof CompoundBinaryTag)) return null;
+      tag = ((CompoundBinaryTag) tag).get(next);
+    }
+    return tag;
+  }
+
+  /**
+   * Gets a byte nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the byte value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default byte getByte(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).byteValue() : (byte) 0;
+  }
+
+  /**
+   * Gets a short nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the short value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default short getShort(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).shortValue() : (short) 0;
+  }
+
+  /**
+   * Gets an int nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the int value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default int getInt(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).intValue() : 0;
+  }
+
+  /**
+   * Gets a long nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the long value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default long getLong(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).longValue() : 0L;
+  }
+
+  /**
+   * Gets a float nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the float value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default float getFloat(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).floatValue() : 0f;
+  }
+
+  /**
+   * Gets a double nested in compound tags.
+   *
+   * @param key the key of the first tag
+   * @param path the keys of the tags nested in the first tag, in order
+   * @return the double value, or {@code 0} if there is no numeric tag at the path
+   * @see #get(String, String...)
+   * @since 4.17.0
+   */
+  default double getDouble(final @NotNull String key, final @NotNull String@NotNull... path) {
+    final @Nullable BinaryTag tag = this.get(key, path);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).doubleValue() : 0d;
+  }
+
   /**
    * Gets an array of bytes.
    *
@@ -423,6 +526,68 @@ public interface CompoundBinaryTag extends BinaryTag, CompoundTagSetter<Compound
    */
   long@NotNull[] getLongArray(final @NotNull String key, final long@NotNull[] defaultValue);
 
+  /**
+   * Applies a batch of edits, producing a new tag.
+   *
+   * <p>The view passed to {@code editor} edits a private copy of this tag in place, so individual edits
+   * do not copy the whole compound. This tag is left untouched. The view must not be used once
+   * {@code editor} returns.</p>
+   *
+   * @param editor the editor
+   * @return the edited tag, or this tag if no edits were made
+   * @since 4.17.0
+   */
+  @NotNull CompoundBinaryTag edit(final @NotNull Consumer<? super MutableView> editor);
+
+  /**
+   * A mutable view of a compound tag, used for batch edits.
+   *
+   * @see #edit(Consumer)
+   * @since 4.17.0
+   */
+  interface MutableView extends CompoundTagSetter<MutableView> {
+    /**
+     * Gets a tag.
+     *
+     * @param key the key
+     * @return a tag, or {@code null} if there is no tag for {@code key}
+     * @since 4.17.0
+     */
+    @Nullable BinaryTag get(final @NotNull String key);
+
+    /**
+     * Gets the number of elements in the compound.
+     *
+     * @return the number of elements in the compound
+     * @since 4.17.0
+     */
+    int size();
+
+    /**
+     * Edits the compound tag stored under {@code key} in place.
+     *
+     * <p>If there is no compound tag under {@code key}, editing starts from an empty compound.</p>
+     *
+     * @param key the key
+     * @param editor the editor
+     * @return this view
+     * @since 4.17.0
+     */
+    @NotNull MutableView editCompound(final @NotNull String key, final @NotNull Consumer<? super MutableView> editor);
+
+    /**
+     * Edits the list tag stored under {@code key} in place.
+     *
+     * <p>If there is no list tag under {@code key}, editing starts from an empty list.</p>
+     *
+     * @param key the key
+     * @param editor the editor
+     * @return this view
+     * @since 4.17.0
+     */
+    @NotNull MutableView editList(final @NotNull String key, final @NotNull Consumer<? super ListBinaryTag.MutableView> editor);
+  }
+
   /**
    * A compound tag builder.
    *
@@ -23,8 +23,8 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.nio.ByteBuffer;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Set;
@@ -41,11 +41,37 @@ import static java.util.Objects.requireNonNull;
 final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundBinaryTag {
   static final CompoundBinaryTag EMPTY = new CompoundBinaryTagImpl(Collections.emptyMap());
   private final Map<String, BinaryTag> tags;
-  private final int hashCode;
+  private int hashCode; // computed on first use, so lazily decoded tags are not decoded eagerly
+  private int encodedSize; // computed on first use, or 0 if too large to cache
+  private @Nullable BinaryTagFingerprintImpl fingerprint; // computed on first use
 
   CompoundBinaryTagImpl(final Map<String, BinaryTag> tags) {
-    this.tags = Collections.unmodifiableMap(tags);
-    this.hashCode = tags.hashCode();
+    // both are read-only already, and lazy maps must stay visible as such to be written without decoding
+    this.tags = tags instanceof PersistentCompoundMap || tags instanceof LazyCompoundMap ? tags : Collections.unmodifiableMap(tags);
+  }
+
+  // the fingerprint of this tag, which is immutable and so safely published without synchronization
+  BinaryTagFingerprintImpl fingerprint() {
+    BinaryTagFingerprintImpl fingerprint = this.fingerprint;
+    if (fingerprint == null) {
+      fingerprint = BinaryTagFingerprintImpl.compute(this);
+      this.fingerprint = fingerprint;
+    }
+    return fingerprint;
+  }
+
+  // the number of bytes the payload of this tag is encoded to
+  long encodedSize() {
+    final int cached = this.encodedSize;
+    if (cached != 0) return cached;
+    final long size = this.tags instanceof LazyCompoundMap ? ((LazyCompoundMap) this.tags).payload().remaining() : BinaryTagSizes.compoundSize(this);
+    if (size <= Integer.MAX_VALUE) this.encodedSize = (int) size;
+    return size;
+  }
+
+  // the still encoded payload of a lazily decoded tag, if any
+  @Nullable ByteBuffer lazyPayload() {
+    return this.tags instanceof LazyCompoundMap ? ((LazyCompoundMap) this.tags).payload() : null;
   }
 
   public boolean contains(final @NotNull String key, final @NotNull BinaryTagType<?> type) {
@@ -70,171 +96,148 @@ final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundB
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull String key, final @NotNull BinaryTag tag) {
-    return this.edit(map -> map.put(key, tag));
+    return this.with(PersistentCompoundMap.copyOf(this.tags).plus(key, tag));
   }
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull CompoundBinaryTag tag) {
-    return this.edit(map -> {
-      for (final String key : tag.keySet()) {
-        map.put(key, tag.get(key));
-      }
-    });
+    PersistentCompoundMap tags = PersistentCompoundMap.copyOf(this.tags);
+    for (final String key : tag.keySet()) {
+      tags = tags.plus(key, tag.get(key));
+    }
+    return this.with(tags);
   }
 
   @Override
   public @NotNull CompoundBinaryTag put(final @NotNull Map<String, ? extends BinaryTag> tags) {
-    return this.edit(map -> map.putAll(tags));
+    PersistentCompoundMap result = PersistentCompoundMap.copyOf(this.tags);
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tags.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    return this.with(result);
   }
 
   @Override
   public @NotNull CompoundBinaryTag remove(final @NotNull String key, final @Nullable Consumer<? super BinaryTag> removed) {
-    if (!this.tags.containsKey(key)) {
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag == null) {
       return this;
     }
-    return this.edit(map -> {
-      final BinaryTag tag = map.remove(key);
-      if (removed != null) {
-        removed.accept(tag);
-      }
-    });
+    if (removed != null) {
+      removed.accept(tag);
+    }
+    return this.with(PersistentCompoundMap.copyOf(this.tags).minus(key));
   }
 
   @Override
   public byte getByte(final @NotNull String key, final byte defaultValue) {
-    if (this.contains(key, BinaryTagTypes.BYTE)) {
-      return ((NumberBinaryTag) this.tags.get(key)).byteValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).byteValue() : defaultValue;
   }
 
   @Override
   public short getShort(final @NotNull String key, final short defaultValue) {
-    if (this.contains(key, BinaryTagTypes.SHORT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).shortValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).shortValue() : defaultValue;
   }
 
   @Override
   public int getInt(final @NotNull String key, final int defaultValue) {
-    if (this.contains(key, BinaryTagTypes.INT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).intValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).intValue() : defaultValue;
   }
 
   @Override
   public long getLong(final @NotNull String key, final long defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LONG)) {
-      return ((NumberBinaryTag) this.tags.get(key)).longValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).longValue() : defaultValue;
   }
 
   @Override
   public float getFloat(final @NotNull String key, final float defaultValue) {
-    if (this.contains(key, BinaryTagTypes.FLOAT)) {
-      return ((NumberBinaryTag) this.tags.get(key)).floatValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).floatValue() : defaultValue;
   }
 
   @Override
   public double getDouble(final @NotNull String key, final double defaultValue) {
-    if (this.contains(key, BinaryTagTypes.DOUBLE)) {
-      return ((NumberBinaryTag) this.tags.get(key)).doubleValue();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof NumberBinaryTag ? ((NumberBinaryTag) tag).doubleValue() : defaultValue;
   }
 
   @Override
   public byte@NotNull[] getByteArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.BYTE_ARRAY)) {
-      return ((ByteArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return new byte[0];
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof ByteArrayBinaryTag ? ((ByteArrayBinaryTag) tag).value() : new byte[0];
   }
 
   @Override
   public byte@NotNull[] getByteArray(final @NotNull String key, final byte@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.BYTE_ARRAY)) {
-      return ((ByteArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof ByteArrayBinaryTag ? ((ByteArrayBinaryTag) tag).value() : defaultValue;
   }
 
   @Override
   public @NotNull String getString(final @NotNull String key, final @NotNull String defaultValue) {
-    if (this.contains(key, BinaryTagTypes.STRING)) {
-      return ((StringBinaryTag) this.tags.get(key)).value();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof StringBinaryTag ? ((StringBinaryTag) tag).value() : defaultValue;
   }
 
   @Override
   public @NotNull ListBinaryTag getList(final @NotNull String key, final @NotNull ListBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LIST)) {
-      return (ListBinaryTag) this.tags.get(key);
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof ListBinaryTag ? (ListBinaryTag) tag : defaultValue;
   }
 
   @Override
   public @NotNull ListBinaryTag getList(final @NotNull String key, final @NotNull BinaryTagType<? extends BinaryTag> expectedType, final @NotNull ListBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LIST)) {
-      final ListBinaryTag tag = (ListBinaryTag) this.tags.get(key);
-      if (expectedType.test(tag.elementType())) {
-        return tag;
-      }
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    if (tag instanceof ListBinaryTag && expectedType.test(((ListBinaryTag) tag).elementType())) {
+      return (ListBinaryTag) tag;
     }
     return defaultValue;
   }
 
   @Override
   public @NotNull CompoundBinaryTag getCompound(final @NotNull String key, final @NotNull CompoundBinaryTag defaultValue) {
-    if (this.contains(key, BinaryTagTypes.COMPOUND)) {
-      return (CompoundBinaryTag) this.tags.get(key);
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof CompoundBinaryTag ? (CompoundBinaryTag) tag : defaultValue;
   }
 
   @Override
   public int@NotNull[] getIntArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.INT_ARRAY)) {
-      return ((IntArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return new int[0];
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof IntArrayBinaryTag ? ((IntArrayBinaryTag) tag).value() : new int[0];
   }
 
   @Override
   public int@NotNull[] getIntArray(final @NotNull String key, final int@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.INT_ARRAY)) {
-      return ((IntArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof IntArrayBinaryTag ? ((IntArrayBinaryTag) tag).value() : defaultValue;
   }
 
   @Override
   public long@NotNull[] getLongArray(final @NotNull String key) {
-    if (this.contains(key, BinaryTagTypes.LONG_ARRAY)) {
-      return ((LongArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return new long[0];
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof LongArrayBinaryTag ? ((LongArrayBinaryTag) tag).value() : new long[0];
   }
 
   @Override
   public long@NotNull[] getLongArray(final @NotNull String key, final long@NotNull[] defaultValue) {
-    if (this.contains(key, BinaryTagTypes.LONG_ARRAY)) {
-      return ((LongArrayBinaryTag) this.tags.get(key)).value();
-    }
-    return defaultValue;
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    return tag instanceof LongArrayBinaryTag ? ((LongArrayBinaryTag) tag).value() : defaultValue;
   }
 
-  private CompoundBinaryTag edit(final Consumer<Map<String, BinaryTag>> consumer) {
-    final Map<String, BinaryTag> tags = new HashMap<>(this.tags);
-    consumer.accept(tags);
-    return new CompoundBinaryTagImpl(tags);
+  @Override
+  public @NotNull CompoundBinaryTag edit(final @NotNull Consumer<? super MutableView> editor) {
+    final CompoundTagMutableView view = new CompoundTagMutableView(PersistentCompoundMap.copyOf(this.tags));
+    editor.accept(view);
+    return this.with(view.freeze());
+  }
+
+  private CompoundBinaryTag with(final PersistentCompoundMap tags) {
+    if (tags == this.tags) return this;
+    return tags.isEmpty() ? CompoundBinaryTag.empty() : new CompoundBinaryTagImpl(tags);
   }
 
   @Override
@@ -244,7 +247,12 @@ final class CompoundBinaryTagImpl extends AbstractBinaryTag implements CompoundB
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if (hashCode == 0) {
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
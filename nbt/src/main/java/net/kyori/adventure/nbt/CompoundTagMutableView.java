@@ -0,0 +1,103 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.Map;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class CompoundTagMutableView implements CompoundBinaryTag.MutableView {
+  private final PersistentCompoundMap.Transient tags;
+
+  CompoundTagMutableView(final PersistentCompoundMap tags) {
+    this.tags = tags.asTransient();
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final @NotNull String key) {
+    return this.tags.get(key);
+  }
+
+  @Override
+  public int size() {
+    return this.tags.size();
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView put(final @NotNull String key, final @NotNull BinaryTag tag) {
+    this.tags.put(key, tag);
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView put(final @NotNull CompoundBinaryTag tag) {
+    for (final String key : tag.keySet()) {
+      this.tags.put(key, tag.get(key));
+    }
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView put(final @NotNull Map<String, ? extends BinaryTag> tags) {
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tags.entrySet()) {
+      this.tags.put(entry.getKey(), entry.getValue());
+    }
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView remove(final @NotNull String key, final @Nullable Consumer<? super BinaryTag> removed) {
+    final @Nullable BinaryTag tag = this.tags.remove(key);
+    if (tag != null && removed != null) {
+      removed.accept(tag);
+    }
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView editCompound(final @NotNull String key, final @NotNull Consumer<? super CompoundBinaryTag.MutableView> editor) {
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    final CompoundBinaryTag compound = tag instanceof CompoundBinaryTag ? (CompoundBinaryTag) tag : CompoundBinaryTag.empty();
+    this.tags.put(key, compound.edit(editor));
+    return this;
+  }
+
+  @Override
+  public CompoundBinaryTag.@NotNull MutableView editList(final @NotNull String key, final @NotNull Consumer<? super ListBinaryTag.MutableView> editor) {
+    final @Nullable BinaryTag tag = this.tags.get(key);
+    final ListBinaryTag list = tag instanceof ListBinaryTag ? (ListBinaryTag) tag : ListBinaryTag.empty();
+    this.tags.put(key, list.edit(editor));
+    return this;
+  }
+
+  /**
+   * Ends editing.
+   *
+   * @return the edited entries
+   */
+  PersistentCompoundMap freeze() {
+    return this.tags.persistent();
+  }
+}
@@ -0,0 +1,359 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * <a href="https://en.wikipedia.org/wiki/Zlib">ZLIB</a> and <a href="https://en.wikipedia.org/wiki/Gzip">GZIP</a>
+ * compression using pooled {@link Deflater}s and {@link Inflater}s.
+ *
+ * <p>GZIP framing is handled here rather than by {@link java.util.zip.GZIPInputStream}, which always allocates
+ * its own inflater. Only the first member of a multi-member GZIP stream is read.</p>
+ */
+final class DeflateCompression extends BinaryTagIO.Compression {
+  private static final int BUFFER_SIZE = 8192;
+  private static final int GZIP_MAGIC = 0x8b1f;
+  private static final int GZIP_HEADER_LENGTH = 10;
+  private static final int GZIP_TRAILER_LENGTH = 8;
+  private static final int FHCRC = 2;
+  private static final int FEXTRA = 4;
+  private static final int FNAME = 8;
+  private static final int FCOMMENT = 16;
+  // inflaters only depend on the format, so they are shared between instances
+  private static final CodecPool<Inflater> ZLIB_INFLATERS = inflaters(false);
+  private static final CodecPool<Inflater> GZIP_INFLATERS = inflaters(true);
+  private final String name;
+  private final boolean gzip;
+  private final CodecPool<Deflater> deflaters;
+
+  DeflateCompression(final String name, final boolean gzip, final int level, final int strategy) {
+    this.name = name;
+    this.gzip = gzip;
+    this.deflaters = new CodecPool<>(() -> {
+      final Deflater deflater = new Deflater(level, gzip);
+      deflater.setStrategy(strategy);
+      return deflater;
+    }, Deflater::reset, Deflater::end, CodecPool.DEFAULT_MAX_IDLE);
+  }
+
+  private static CodecPool<Inflater> inflaters(final boolean nowrap) {
+    return new CodecPool<>(() -> new Inflater(nowrap), Inflater::reset, Inflater::end, CodecPool.DEFAULT_MAX_IDLE);
+  }
+
+  private CodecPool<Inflater> inflaters() {
+    return this.gzip ? GZIP_INFLATERS : ZLIB_INFLATERS;
+  }
+
+  @Override
+  protected @NotNull InputStream decompress(final @NotNull InputStream is) throws IOException {
+    if (this.gzip) {
+      readGzipHeader(is);
+    }
+    final CodecPool<Inflater> pool = this.inflaters();
+    final Inflater inflater = pool.acquire();
+    return this.gzip ? new GzipInputStream(is, inflater, pool) : new PooledInflaterInputStream(is, inflater, pool);
+  }
+
+  @Override
+  protected @NotNull OutputStream compress(final @NotNull OutputStream os) throws IOException {
+    if (this.gzip) {
+      os.write(gzipHeader());
+    }
+    final Deflater deflater = this.deflaters.acquire();
+    return this.gzip ? new GzipOutputStream(os, deflater, this.deflaters) : new PooledDeflaterOutputStream(os, deflater, this.deflaters);
+  }
+
+  @Override
+  @NotNull ByteBuffer decompress(final @NotNull ByteBuffer input, final long maxBytes, final byte@Nullable[] output) throws IOException {
+    final int length = input.remaining();
+    final byte[] array = array(input);
+    final int offset = input.hasArray() ? input.arrayOffset() + input.position() : 0;
+    int header = 0;
+    if (this.gzip) {
+      final ByteArrayInputStream in = new ByteArrayInputStream(array, offset, length);
+      readGzipHeader(in);
+      header = length - in.available();
+    }
+    final CodecPool<Inflater> pool = this.inflaters();
+    final Inflater inflater = pool.acquire();
+    try {
+      inflater.setInput(array, offset + header, length - header);
+      byte[] out = output != null && output.length > 0 ? output : new byte[(int) Math.min(Math.max(64L, length * 4L), maxBytes > 0 ? maxBytes + 1 : Integer.MAX_VALUE - 8)];
+      int count = 0;
+      while (!inflater.finished()) {
+        if (count == out.length) {
+          if (maxBytes > 0 && count > maxBytes) {
+            throw new IOException("The read NBT was longer than the maximum allowed size of " + maxBytes + " bytes!");
+          }
+          out = Arrays.copyOf(out, count * 2);
+        }
+        final int inflated = inflater.inflate(out, count, out.length - count);
+        if (inflated == 0) {
+          if (inflater.needsDictionary()) throw new ZipException("Compressed data requires a preset dictionary");
+          if (inflater.needsInput()) throw new EOFException("Unexpected end of compressed data");
+        }
+        count += inflated;
+      }
+      if (maxBytes > 0 && count > maxBytes) {
+        throw new IOException("The read NBT was longer than the maximum allowed size of " + maxBytes + " bytes!");
+      }
+      int consumed = length - inflater.getRemaining();
+      if (this.gzip) {
+        if (consumed + GZIP_TRAILER_LENGTH > length) throw new EOFException("Unexpected end of GZIP trailer");
+        final CRC32 crc = new CRC32();
+        crc.update(out, 0, count);
+        checkGzipTrailer(new ByteArrayInputStream(array, offset + consumed, GZIP_TRAILER_LENGTH), crc.getValue(), count);
+        consumed += GZIP_TRAILER_LENGTH;
+      }
+      input.position(input.position() + consumed);
+      return ByteBuffer.wrap(out, 0, count);
+    } catch (final DataFormatException ex) {
+      throw new ZipException(ex.getMessage());
+    } finally {
+      pool.release(inflater);
+    }
+  }
+
+  @Override
+  @NotNull ByteBuffer compress(final @NotNull ByteBuffer input, final byte@Nullable[] output) throws IOException {
+    final int length = input.remaining();
+    final byte[] array = array(input);
+    final int offset = input.hasArray() ? input.arrayOffset() + input.position() : 0;
+    final Deflater deflater = this.deflaters.acquire();
+    try {
+      byte[] out = output != null && output.length >= GZIP_HEADER_LENGTH ? output : new byte[Math.max(64, length / 2 + GZIP_HEADER_LENGTH + GZIP_TRAILER_LENGTH)];
+      int count = 0;
+      if (this.gzip) {
+        System.arraycopy(gzipHeader(), 0, out, 0, GZIP_HEADER_LENGTH);
+        count = GZIP_HEADER_LENGTH;
+      }
+      deflater.setInput(array, offset, length);
+      deflater.finish();
+      while (!deflater.finished()) {
+        if (count == out.length) {
+          out = Arrays.copyOf(out, count * 2);
+        }
+        count += deflater.deflate(out, count, out.length - count);
+      }
+      if (this.gzip) {
+        if (count + GZIP_TRAILER_LENGTH > out.length) {
+          out = Arrays.copyOf(out, count + GZIP_TRAILER_LENGTH);
+        }
+        final CRC32 crc = new CRC32();
+        crc.update(array, offset, length);
+        writeIntLE(out, count, (int) crc.getValue());
+        writeIntLE(out, count + 4, length);
+        count += GZIP_TRAILER_LENGTH;
+      }
+      input.position(input.limit());
+      return ByteBuffer.wrap(out, 0, count);
+    } finally {
+      this.deflaters.release(deflater);
+    }
+  }
+
+  // the backing array of a heap buffer, or a copy of the remaining bytes
+  private static byte[] array(final ByteBuffer input) {
+    if (input.hasArray()) return input.array();
+    final byte[] array = new byte[input.remaining()];
+    input.duplicate().get(array);
+    return array;
+  }
+
+  private static byte[] gzipHeader() {
+    return new byte[]{(byte) GZIP_MAGIC, (byte) (GZIP_MAGIC >> 8), (byte) Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, 0};
+  }
+
+  private static void readGzipHeader(final InputStream in) throws IOException {
+    if ((readUnsignedByte(in) | (readUnsignedByte(in) << 8)) != GZIP_MAGIC) throw new ZipException("Not in GZIP format");
+    if (readUnsignedByte(in) != Deflater.DEFLATED) throw new ZipException("Unsupported compression method");
+    final int flags = readUnsignedByte(in);
+    skipFully(in, 6); // modification time, extra flags and operating system
+    if ((flags & FEXTRA) != 0) {
+      skipFully(in, readUnsignedByte(in) | (readUnsignedByte(in) << 8));
+    }
+    if ((flags & FNAME) != 0) {
+      skipZeroTerminated(in);
+    }
+    if ((flags & FCOMMENT) != 0) {
+      skipZeroTerminated(in);
+    }
+    if ((flags & FHCRC) != 0) {
+      skipFully(in, 2);
+    }
+  }
+
+  private static void checkGzipTrailer(final InputStream in, final long crc, final long size) throws IOException {
+    final long expectedCrc = readIntLE(in) & 0xffffffffL;
+    final long expectedSize = readIntLE(in) & 0xffffffffL;
+    if (expectedCrc != crc || expectedSize != (size & 0xffffffffL)) {
+      throw new ZipException("Corrupt GZIP trailer");
+    }
+  }
+
+  private static int readUnsignedByte(final InputStream in) throws IOException {
+    final int b = in.read();
+    if (b == -1) throw new EOFException();
+    return b;
+  }
+
+  private static int readIntLE(final InputStream in) throws IOException {
+    return readUnsignedByte(in) | (readUnsignedByte(in) << 8) | (readUnsignedByte(in) << 16) | (readUnsignedByte(in) << 24);
+  }
+
+  private static void writeIntLE(final byte[] out, final int offset, final int value) {
+    out[offset] = (byte) value;
+    out[offset + 1] = (byte) (value >> 8);
+    out[offset + 2] = (byte) (value >> 16);
+    out[offset + 3] = (byte) (value >> 24);
+  }
+
+  private static void skipFully(final InputStream in, final int length) throws IOException {
+    for (int i = 0; i < length; i++) {
+      readUnsignedByte(in);
+    }
+  }
+
+  private static void skipZeroTerminated(final InputStream in) throws IOException {
+    int b;
+    do {
+      b = readUnsignedByte(in);
+    } while (b != 0);
+  }
+
+  @Override
+  public String toString() {
+    return this.name;
+  }
+
+  // returns its inflater to the pool when closed
+  private static class PooledInflaterInputStream extends InflaterInputStream {
+    private final CodecPool<Inflater> pool;
+    private boolean released;
+
+    PooledInflaterInputStream(final InputStream in, final Inflater inflater, final CodecPool<Inflater> pool) {
+      super(in, inflater, BUFFER_SIZE);
+      this.pool = pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.released) return;
+      this.released = true;
+      try {
+        super.close();
+      } finally {
+        this.pool.release(this.inf);
+      }
+    }
+  }
+
+  private static final class GzipInputStream extends PooledInflaterInputStream {
+    private final CRC32 crc = new CRC32();
+    private boolean eos;
+
+    GzipInputStream(final InputStream in, final Inflater inflater, final CodecPool<Inflater> pool) {
+      super(in, inflater, pool);
+    }
+
+    @Override
+    public int read(final byte@NotNull[] b, final int off, final int len) throws IOException {
+      if (this.eos) return -1;
+      final int read = super.read(b, off, len);
+      if (read == -1) {
+        this.eos = true;
+        // the start of the trailer may already have been read into the inflater's input buffer
+        final int remaining = this.inf.getRemaining();
+        final InputStream trailer = remaining > 0 ? new SequenceInputStream(new ByteArrayInputStream(this.buf, this.len - remaining, remaining), this.in) : this.in;
+        checkGzipTrailer(trailer, this.crc.getValue(), this.inf.getBytesWritten());
+      } else {
+        this.crc.update(b, off, read);
+      }
+      return read;
+    }
+  }
+
+  // returns its deflater to the pool when closed
+  private static class PooledDeflaterOutputStream extends DeflaterOutputStream {
+    private final CodecPool<Deflater> pool;
+    private boolean released;
+
+    PooledDeflaterOutputStream(final OutputStream out, final Deflater deflater, final CodecPool<Deflater> pool) {
+      super(out, deflater, BUFFER_SIZE);
+      this.pool = pool;
+    }
+
+    @Override
+    public void close() throws IOException {
+      if (this.released) return;
+      this.released = true;
+      try {
+        super.close();
+      } finally {
+        this.pool.release(this.def);
+      }
+    }
+  }
+
+  private static final class GzipOutputStream extends PooledDeflaterOutputStream {
+    private final CRC32 crc = new CRC32();
+
+    GzipOutputStream(final OutputStream out, final Deflater deflater, final CodecPool<Deflater> pool) {
+      super(out, deflater, pool);
+    }
+
+    @Override
+    public void write(final byte@NotNull[] b, final int off, final int len) throws IOException {
+      super.write(b, off, len);
+      this.crc.update(b, off, len);
+    }
+
+    @Override
+    public void finish() throws IOException {
+      if (this.def.finished()) return;
+      super.finish();
+      final byte[] trailer = new byte[GZIP_TRAILER_LENGTH];
+      writeIntLE(trailer, 0, (int) this.crc.getValue());
+      writeIntLE(trailer, 4, (int) this.def.getBytesRead());
+      this.out.write(trailer);
+    }
+  }
+}
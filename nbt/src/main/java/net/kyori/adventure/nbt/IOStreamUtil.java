@@ -26,6 +26,9 @@ package net.kyori.adventure.nbt;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.jetbrains.annotations.Nullable;
 
 final class IOStreamUtil {
   private IOStreamUtil() {
@@ -68,4 +71,25 @@ final class IOStreamUtil {
       }
     };
   }
+
+  static ByteBuffer readFully(final InputStream stream, final long maxBytes, final byte@Nullable[] output) throws IOException {
+    byte[] out = output != null && output.length > 0 ? output : new byte[512];
+    int count = 0;
+    while (true) {
+      if (count == out.length) {
+        if (maxBytes > 0 && count > maxBytes) {
+          throw new IOException("The read NBT was longer than the maximum allowed size of " + maxBytes + " bytes!");
+        }
+        // never grow past the limit, so oversized data is rejected before it is all decompressed
+        out = Arrays.copyOf(out, maxBytes > 0 ? (int) Math.min(count * 2L, maxBytes + 1) : count * 2);
+      }
+      final int read = stream.read(out, count, out.length - count);
+      if (read == -1) break;
+      count += read;
+    }
+    if (maxBytes > 0 && count > maxBytes) {
+      throw new IOException("The read NBT was longer than the maximum allowed size of " + maxBytes + " bytes!");
+    }
+    return ByteBuffer.wrap(out, 0, count);
+  }
 }
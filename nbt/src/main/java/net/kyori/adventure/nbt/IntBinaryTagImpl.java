@@ -37,6 +37,27 @@ final class IntBinaryTagImpl extends AbstractBinaryTag implements IntBinaryTag {
     this.value = value;
   }
 
+  // small values are shared, like Integer.valueOf does
+  static @NotNull IntBinaryTag of(final int value) {
+    if (value >= Cache.LOW && value <= Cache.HIGH) {
+      return Cache.VALUES[value - Cache.LOW];
+    }
+    return new IntBinaryTagImpl(value);
+  }
+
+  // initialized on first use, so unused types do not allocate their cache
+  private static final class Cache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final IntBinaryTagImpl[] VALUES = new IntBinaryTagImpl[HIGH - LOW + 1];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new IntBinaryTagImpl((LOW + i));
+      }
+    }
+  }
+
   @Override
   public int value() {
     return this.value;
@@ -0,0 +1,278 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A read-only map of compound entries, decoded on demand from their binary encoding.
+ *
+ * <p>Key offsets are indexed on first access, and each value is decoded the first time it is requested.
+ * Nested compounds are themselves decoded lazily.</p>
+ *
+ * <p>The payload must have been validated beforehand, using {@link BinaryTagSkipper}.</p>
+ */
+final class LazyCompoundMap extends AbstractMap<String, BinaryTag> {
+  private final ByteBuffer payload;
+  private volatile @Nullable Index index;
+  private @Nullable Set<Map.Entry<String, BinaryTag>> entrySet;
+
+  /**
+   * Creates a new lazy map.
+   *
+   * @param payload a big-endian buffer holding the compound entries, including the trailing end tag
+   */
+  LazyCompoundMap(final ByteBuffer payload) {
+    this.payload = payload;
+  }
+
+  /**
+   * Creates a lazily decoded compound tag for a validated payload.
+   *
+   * @param payload a big-endian buffer holding the compound entries, including the trailing end tag
+   * @return a compound tag
+   */
+  static @NotNull CompoundBinaryTag compound(final ByteBuffer payload) {
+    if (payload.remaining() == 1) { // just an end tag
+      return CompoundBinaryTag.empty();
+    }
+    return new CompoundBinaryTagImpl(new LazyCompoundMap(payload));
+  }
+
+  /**
+   * Gets the encoded payload of this map.
+   *
+   * @return a view of the payload, including the trailing end tag
+   */
+  ByteBuffer payload() {
+    return this.payload.duplicate();
+  }
+
+  /**
+   * Writes an encoded payload.
+   *
+   * @param payload the payload
+   * @param output the output
+   * @throws IOException if an exception occurs while writing
+   */
+  static void write(final ByteBuffer payload, final DataOutput output) throws IOException {
+    if (output instanceof ByteBufferDataOutput) {
+      ((ByteBufferDataOutput) output).write(payload);
+    } else if (payload.hasArray()) {
+      output.write(payload.array(), payload.arrayOffset() + payload.position(), payload.remaining());
+    } else {
+      final byte[] bytes = new byte[payload.remaining()];
+      payload.duplicate().get(bytes);
+      output.write(bytes);
+    }
+  }
+
+  private Index index() {
+    Index index = this.index;
+    if (index == null) {
+      synchronized (this) {
+        index = this.index;
+        if (index == null) {
+          try {
+            index = new Index(this.payload);
+          } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+          this.index = index;
+        }
+      }
+    }
+    return index;
+  }
+
+  @Override
+  public int size() {
+    return this.index().size;
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.index().positions.containsKey(key);
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    final Index index = this.index();
+    final Integer position = index.positions.get(key);
+    return position == null ? null : index.value(position);
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<String, BinaryTag>> entrySet() {
+    if (this.entrySet == null) {
+      this.entrySet = new AbstractSet<Map.Entry<String, BinaryTag>>() {
+        @Override
+        public @NotNull Iterator<Map.Entry<String, BinaryTag>> iterator() {
+          final Index index = LazyCompoundMap.this.index();
+          return new Iterator<Map.Entry<String, BinaryTag>>() {
+            private int next;
+
+            @Override
+            public boolean hasNext() {
+              return this.next < index.size;
+            }
+
+            @Override
+            public Map.Entry<String, BinaryTag> next() {
+              if (this.next >= index.size) {
+                throw new NoSuchElementException();
+              }
+              return index.new Entry(this.next++);
+            }
+          };
+        }
+
+        @Override
+        public int size() {
+          return LazyCompoundMap.this.size();
+        }
+      };
+    }
+    return this.entrySet;
+  }
+
+  static final class Index {
+    private static final int INITIAL_CAPACITY = 8;
+    final Map<String, Integer> positions = new HashMap<>();
+    final ByteBuffer payload;
+    int size;
+    String[] keys = new String[INITIAL_CAPACITY];
+    BinaryTagType<?>[] types = new BinaryTagType<?>[INITIAL_CAPACITY];
+    int[] starts = new int[INITIAL_CAPACITY];
+    int[] ends = new int[INITIAL_CAPACITY];
+    private final BinaryTag[] values;
+
+    Index(final ByteBuffer payload) throws IOException {
+      this.payload = payload;
+      final ByteBufferDataInput input = new ByteBufferDataInput(payload.duplicate(), -1L);
+      BinaryTagType<? extends BinaryTag> type;
+      while ((type = BinaryTagType.binaryTagType(input.readByte())) != BinaryTagTypes.END) {
+        final String key = input.readUTF();
+        final int start = input.consumed();
+        BinaryTagSkipper.skip(input, type);
+        final Integer existing = this.positions.get(key);
+        final int position;
+        if (existing != null) { // the last occurrence of a key wins, as with eager decoding
+          position = existing;
+        } else {
+          position = this.size++;
+          if (position == this.keys.length) {
+            this.grow();
+          }
+          this.keys[position] = key;
+          this.positions.put(key, position);
+        }
+        this.types[position] = type;
+        this.starts[position] = start;
+        this.ends[position] = input.consumed();
+      }
+      this.values = new BinaryTag[this.size];
+    }
+
+    private void grow() {
+      final int capacity = this.keys.length << 1;
+      this.keys = Arrays.copyOf(this.keys, capacity);
+      this.types = Arrays.copyOf(this.types, capacity);
+      this.starts = Arrays.copyOf(this.starts, capacity);
+      this.ends = Arrays.copyOf(this.ends, capacity);
+    }
+
+    synchronized BinaryTag value(final int position) {
+      BinaryTag value = this.values[position];
+      if (value == null) {
+        final ByteBuffer view = this.payload.duplicate();
+        view.limit(this.ends[position]).position(this.starts[position]);
+        if (this.types[position] == BinaryTagTypes.COMPOUND) {
+          value = compound(view.slice());
+        } else {
+          try {
+            value = this.types[position].read(new ByteBufferDataInput(view, -1L));
+          } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+          }
+        }
+        this.values[position] = value;
+      }
+      return value;
+    }
+
+    final class Entry implements Map.Entry<String, BinaryTag> {
+      private final int position;
+
+      Entry(final int position) {
+        this.position = position;
+      }
+
+      @Override
+      public String getKey() {
+        return Index.this.keys[this.position];
+      }
+
+      @Override
+      public BinaryTag getValue() {
+        return Index.this.value(this.position);
+      }
+
+      @Override
+      public BinaryTag setValue(final BinaryTag value) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public boolean equals(final Object other) {
+        if (!(other instanceof Map.Entry<?, ?>)) return false;
+        final Map.Entry<?, ?> that = (Map.Entry<?, ?>) other;
+        return this.getKey().equals(that.getKey()) && this.getValue().equals(that.getValue());
+      }
+
+      @Override
+      public int hashCode() {
+        return this.getKey().hashCode() ^ this.getValue().hashCode();
+      }
+
+      @Override
+      public String toString() {
+        return this.getKey() + "=" + this.getValue();
+      }
+    }
+  }
+}
@@ -102,6 +102,102 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
     return new ListBinaryTagImpl(type, tags);
   }
 
+  /**
+   * Creates a list of {@link ByteBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag byteListBinaryTag(final byte@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.BYTE, new PrimitiveTagList.Bytes(values.clone()));
+  }
+
+  /**
+   * Creates a list of {@link ShortBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag shortListBinaryTag(final short@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.SHORT, new PrimitiveTagList.Shorts(values.clone()));
+  }
+
+  /**
+   * Creates a list of {@link IntBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag intListBinaryTag(final int@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.INT, new PrimitiveTagList.Ints(values.clone()));
+  }
+
+  /**
+   * Creates a list of {@link LongBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag longListBinaryTag(final long@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.LONG, new PrimitiveTagList.Longs(values.clone()));
+  }
+
+  /**
+   * Creates a list of {@link FloatBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag floatListBinaryTag(final float@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.FLOAT, new PrimitiveTagList.Floats(values.clone()));
+  }
+
+  /**
+   * Creates a list of {@link DoubleBinaryTag}s backed by a copy of {@code values}.
+   *
+   * <p>The elements are stored unboxed and are only wrapped into tags when accessed as tags.</p>
+   *
+   * <p>If {@code values} is empty, {@link #empty()} will be returned.</p>
+   *
+   * @param values the values
+   * @return a tag
+   * @since 4.17.0
+   */
+  static @NotNull ListBinaryTag doubleListBinaryTag(final double@NotNull... values) {
+    if (values.length == 0) return empty();
+    return new ListBinaryTagImpl(BinaryTagTypes.DOUBLE, new PrimitiveTagList.Doubles(values.clone()));
+  }
+
   /**
    * Creates a tag.
    *
@@ -550,6 +646,114 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
     return defaultValue;
   }
 
+  /**
+   * Gets the elements of this list as an array of bytes.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#byteValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of bytes
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default byte@NotNull[] toByteArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final byte[] values = new byte[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).byteValue();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the elements of this list as an array of shorts.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#shortValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of shorts
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default short@NotNull[] toShortArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final short[] values = new short[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).shortValue();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the elements of this list as an array of ints.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#intValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of ints
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default int@NotNull[] toIntArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final int[] values = new int[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).intValue();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the elements of this list as an array of longs.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#longValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of longs
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default long@NotNull[] toLongArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final long[] values = new long[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).longValue();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the elements of this list as an array of floats.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#floatValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of floats
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default float@NotNull[] toFloatArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final float[] values = new float[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).floatValue();
+    }
+    return values;
+  }
+
+  /**
+   * Gets the elements of this list as an array of doubles.
+   *
+   * <p>Each element is converted as if by {@link NumberBinaryTag#doubleValue()}. An empty list produces an empty array.</p>
+   *
+   * @return a new array of doubles
+   * @throws IllegalStateException if the elements of this list are not numeric
+   * @since 4.17.0
+   */
+  default double@NotNull[] toDoubleArray() {
+    ListBinaryTagImpl.mustBeNumeric(this);
+    final double[] values = new double[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = ((NumberBinaryTag) this.get(i)).doubleValue();
+    }
+    return values;
+  }
+
   /**
    * Creates a stream of the tags contained within this list.
    *
@@ -558,6 +762,87 @@ public interface ListBinaryTag extends ListTagSetter<ListBinaryTag, BinaryTag>,
    */
   @NotNull Stream<BinaryTag> stream();
 
+  /**
+   * Applies a batch of edits, producing a new tag.
+   *
+   * <p>The view passed to {@code editor} edits a private copy of this tag in place, so individual edits
+   * do not copy the whole list. This tag is left untouched. The view must not be used once
+   * {@code editor} returns.</p>
+   *
+   * @param editor the editor
+   * @return the edited tag, or this tag if no edits were made
+   * @since 4.17.0
+   */
+  @NotNull ListBinaryTag edit(final @NotNull Consumer<? super MutableView> editor);
+
+  /**
+   * A mutable view of a list tag, used for batch edits.
+   *
+   * @see #edit(Consumer)
+   * @since 4.17.0
+   */
+  interface MutableView extends ListTagSetter<MutableView, BinaryTag> {
+    /**
+     * Gets a tag.
+     *
+     * @param index the index
+     * @return the tag
+     * @throws IndexOutOfBoundsException if the index is out of range
+     * @since 4.17.0
+     */
+    @NotNull BinaryTag get(final @Range(from = 0, to = Integer.MAX_VALUE) int index);
+
+    /**
+     * Gets the size.
+     *
+     * @return the size
+     * @since 4.17.0
+     */
+    int size();
+
+    /**
+     * Sets the tag at index {@code index} to {@code tag}.
+     *
+     * @param index the index
+     * @param tag the tag
+     * @return this view
+     * @throws IllegalArgumentException if {@code tag} does not match the element type of this list
+     * @since 4.17.0
+     */
+    @NotNull MutableView set(final int index, final @NotNull BinaryTag tag);
+
+    /**
+     * Removes the tag at index {@code index}.
+     *
+     * @param index the index
+     * @return this view
+     * @since 4.17.0
+     */
+    @NotNull MutableView remove(final int index);
+
+    /**
+     * Edits the compound tag at index {@code index} in place.
+     *
+     * @param index the index
+     * @param editor the editor
+     * @return this view
+     * @throws IllegalStateException if the tag at {@code index} is not a compound tag
+     * @since 4.17.0
+     */
+    @NotNull MutableView editCompound(final int index, final @NotNull Consumer<? super CompoundBinaryTag.MutableView> editor);
+
+    /**
+     * Edits the list tag at index {@code index} in place.
+     *
+     * @param index the index
+     * @param editor the editor
+     * @return this view
+     * @throws IllegalStateException if the tag at {@code index} is not a list tag
+     * @since 4.17.0
+     */
+    @NotNull MutableView editList(final int index, final @NotNull Consumer<? super MutableView> editor);
+  }
+
   /**
    * A list tag builder.
    *
@@ -43,12 +43,20 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
   static final ListBinaryTag EMPTY = new ListBinaryTagImpl(BinaryTagTypes.END, Collections.emptyList());
   private final List<BinaryTag> tags;
   private final BinaryTagType<? extends BinaryTag> elementType;
-  private final int hashCode;
+  private final @Nullable PrimitiveTagList primitives;
+  private int hashCode; // computed on first use, so edits do not walk the whole list
+  private int encodedSize; // computed on first use, or 0 if too large to cache
+  private @Nullable BinaryTagFingerprintImpl fingerprint; // computed on first use
 
   ListBinaryTagImpl(final BinaryTagType<? extends BinaryTag> elementType, final List<BinaryTag> tags) {
-    this.tags = Collections.unmodifiableList(tags);
+    if (tags instanceof PrimitiveTagList) {
+      this.primitives = (PrimitiveTagList) tags;
+      this.tags = tags; // already immutable
+    } else {
+      this.primitives = null;
+      this.tags = tags instanceof PersistentTagVector ? tags : Collections.unmodifiableList(tags);
+    }
     this.elementType = elementType;
-    this.hashCode = tags.hashCode();
   }
 
   @Override
@@ -66,24 +74,120 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     return this.tags.get(index);
   }
 
+  // the fingerprint of this tag, which is immutable and so safely published without synchronization
+  BinaryTagFingerprintImpl fingerprint() {
+    BinaryTagFingerprintImpl fingerprint = this.fingerprint;
+    if (fingerprint == null) {
+      fingerprint = BinaryTagFingerprintImpl.compute(this);
+      this.fingerprint = fingerprint;
+    }
+    return fingerprint;
+  }
+
+  // the number of bytes the payload of this tag is encoded to
+  long encodedSize() {
+    final int cached = this.encodedSize;
+    if (cached != 0) return cached;
+    final long size = BinaryTagSizes.listSize(this);
+    if (size <= Integer.MAX_VALUE) this.encodedSize = (int) size;
+    return size;
+  }
+
+  // the primitive storage backing this list, if any
+  @Nullable PrimitiveTagList primitives() {
+    return this.primitives;
+  }
+
+  @Override
+  public byte getByte(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final byte defaultValue) {
+    if (this.primitives != null) return this.primitives.byteValue(index);
+    return ListBinaryTag.super.getByte(index, defaultValue);
+  }
+
+  @Override
+  public short getShort(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final short defaultValue) {
+    if (this.primitives != null) return this.primitives.shortValue(index);
+    return ListBinaryTag.super.getShort(index, defaultValue);
+  }
+
+  @Override
+  public int getInt(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final int defaultValue) {
+    if (this.primitives != null) return this.primitives.intValue(index);
+    return ListBinaryTag.super.getInt(index, defaultValue);
+  }
+
+  @Override
+  public long getLong(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final long defaultValue) {
+    if (this.primitives != null) return this.primitives.longValue(index);
+    return ListBinaryTag.super.getLong(index, defaultValue);
+  }
+
+  @Override
+  public float getFloat(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final float defaultValue) {
+    if (this.primitives != null) return this.primitives.floatValue(index);
+    return ListBinaryTag.super.getFloat(index, defaultValue);
+  }
+
+  @Override
+  public double getDouble(final @Range(from = 0, to = Integer.MAX_VALUE) int index, final double defaultValue) {
+    if (this.primitives != null) return this.primitives.doubleValue(index);
+    return ListBinaryTag.super.getDouble(index, defaultValue);
+  }
+
+  @Override
+  public byte@NotNull[] toByteArray() {
+    if (this.primitives != null) return this.primitives.toByteArray();
+    return ListBinaryTag.super.toByteArray();
+  }
+
+  @Override
+  public short@NotNull[] toShortArray() {
+    if (this.primitives != null) return this.primitives.toShortArray();
+    return ListBinaryTag.super.toShortArray();
+  }
+
+  @Override
+  public int@NotNull[] toIntArray() {
+    if (this.primitives != null) return this.primitives.toIntArray();
+    return ListBinaryTag.super.toIntArray();
+  }
+
+  @Override
+  public long@NotNull[] toLongArray() {
+    if (this.primitives != null) return this.primitives.toLongArray();
+    return ListBinaryTag.super.toLongArray();
+  }
+
+  @Override
+  public float@NotNull[] toFloatArray() {
+    if (this.primitives != null) return this.primitives.toFloatArray();
+    return ListBinaryTag.super.toFloatArray();
+  }
+
+  @Override
+  public double@NotNull[] toDoubleArray() {
+    if (this.primitives != null) return this.primitives.toDoubleArray();
+    return ListBinaryTag.super.toDoubleArray();
+  }
+
   @Override
   public @NotNull ListBinaryTag set(final int index, final @NotNull BinaryTag newTag, final @Nullable Consumer<? super BinaryTag> removed) {
-    return this.edit(tags -> {
-      final BinaryTag oldTag = tags.set(index, newTag);
-      if (removed != null) {
-        removed.accept(oldTag);
-      }
-    }, newTag.type());
+    final PersistentTagVector tags = PersistentTagVector.copyOf(this.tags);
+    final BinaryTag oldTag = tags.get(index);
+    if (removed != null) {
+      removed.accept(oldTag);
+    }
+    return this.with(tags.with(index, newTag), newTag.type());
   }
 
   @Override
   public @NotNull ListBinaryTag remove(final int index, final @Nullable Consumer<? super BinaryTag> removed) {
-    return this.edit(tags -> {
-      final BinaryTag oldTag = tags.remove(index);
-      if (removed != null) {
-        removed.accept(oldTag);
-      }
-    }, null);
+    final PersistentTagVector tags = PersistentTagVector.copyOf(this.tags);
+    final BinaryTag oldTag = tags.get(index);
+    if (removed != null) {
+      removed.accept(oldTag);
+    }
+    return this.with(tags.minus(index), null);
   }
 
   @Override
@@ -92,7 +196,7 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     if (this.elementType != BinaryTagTypes.END) {
       mustBeSameType(tag, this.elementType);
     }
-    return this.edit(tags -> tags.add(tag), tag.type());
+    return this.with(PersistentTagVector.copyOf(this.tags).plus(tag), tag.type());
   }
 
   @Override
@@ -101,11 +205,11 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
       return this;
     }
     final BinaryTagType<?> type = ListBinaryTagImpl.mustBeSameType(tagsToAdd);
-    return this.edit(tags -> {
-      for (final BinaryTag tag : tagsToAdd) {
-        tags.add(tag);
-      }
-    }, type);
+    PersistentTagVector tags = PersistentTagVector.copyOf(this.tags);
+    for (final BinaryTag tag : tagsToAdd) {
+      tags = tags.plus(tag);
+    }
+    return this.with(tags, type);
   }
 
   // An end tag cannot be an element in a list tag
@@ -115,6 +219,14 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     }
   }
 
+  // Bulk numeric views require numeric elements
+  static void mustBeNumeric(final ListBinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.elementType();
+    if (type != BinaryTagTypes.END && !type.numeric()) {
+      throw new IllegalStateException(String.format("Cannot convert a %s of %s to a numeric array", BinaryTagTypes.LIST, type));
+    }
+  }
+
   // Cannot have different element types in a list tag
   static BinaryTagType<?> mustBeSameType(final Iterable<? extends BinaryTag> tags) {
     BinaryTagType<?> type = null;
@@ -135,9 +247,15 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
     }
   }
 
-  private ListBinaryTag edit(final Consumer<List<BinaryTag>> consumer, final @Nullable BinaryTagType<? extends BinaryTag> maybeElementType) {
-    final List<BinaryTag> tags = new ArrayList<>(this.tags);
-    consumer.accept(tags);
+  @Override
+  public @NotNull ListBinaryTag edit(final @NotNull Consumer<? super MutableView> editor) {
+    final ListTagMutableView view = new ListTagMutableView(this.elementType, new ArrayList<>(this.tags));
+    editor.accept(view);
+    if (!view.freeze()) return this;
+    return new ListBinaryTagImpl(view.elementType(), view.elements());
+  }
+
+  private ListBinaryTag with(final PersistentTagVector tags, final @Nullable BinaryTagType<? extends BinaryTag> maybeElementType) {
     BinaryTagType<? extends BinaryTag> elementType = this.elementType;
     // set the type if it has not yet been set
     if (maybeElementType != null && elementType == BinaryTagTypes.END) {
@@ -189,7 +307,12 @@ final class ListBinaryTagImpl extends AbstractBinaryTag implements ListBinaryTag
 
   @Override
   public int hashCode() {
-    return this.hashCode;
+    int hashCode = this.hashCode;
+    if (hashCode == 0) {
+      hashCode = this.tags.hashCode();
+      this.hashCode = hashCode;
+    }
+    return hashCode;
   }
 
   @Override
@@ -0,0 +1,142 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.List;
+import java.util.function.Consumer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Range;
+
+final class ListTagMutableView implements ListBinaryTag.MutableView {
+  private final List<BinaryTag> tags;
+  private BinaryTagType<? extends BinaryTag> elementType;
+  private boolean modified;
+  private boolean frozen;
+
+  ListTagMutableView(final BinaryTagType<? extends BinaryTag> elementType, final List<BinaryTag> tags) {
+    this.elementType = elementType;
+    this.tags = tags;
+  }
+
+  private List<BinaryTag> tags() {
+    if (this.frozen) throw new IllegalStateException("Cannot edit a list after its edits have been applied");
+    return this.tags;
+  }
+
+  private List<BinaryTag> modify() {
+    final List<BinaryTag> tags = this.tags();
+    this.modified = true;
+    return tags;
+  }
+
+  // the element type the list will have once the tag is added
+  private BinaryTagType<? extends BinaryTag> accept(final BinaryTag tag) {
+    ListBinaryTagImpl.noAddEnd(tag);
+    // an empty list takes the type of its first element
+    if (this.elementType == BinaryTagTypes.END) return tag.type();
+    ListBinaryTagImpl.mustBeSameType(tag, this.elementType);
+    return this.elementType;
+  }
+
+  @Override
+  public @NotNull BinaryTag get(final @Range(from = 0, to = Integer.MAX_VALUE) int index) {
+    return this.tags().get(index);
+  }
+
+  @Override
+  public int size() {
+    return this.tags().size();
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView add(final BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = this.accept(tag);
+    this.modify().add(tag);
+    this.elementType = type;
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView add(final Iterable<? extends BinaryTag> tags) {
+    for (final BinaryTag tag : tags) {
+      this.add(tag);
+    }
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView set(final int index, final @NotNull BinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = this.accept(tag);
+    this.modify().set(index, tag);
+    this.elementType = type;
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView remove(final int index) {
+    this.modify().remove(index);
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView editCompound(final int index, final @NotNull Consumer<? super CompoundBinaryTag.MutableView> editor) {
+    final BinaryTag tag = this.get(index);
+    if (!(tag instanceof CompoundBinaryTag)) {
+      throw new IllegalStateException(String.format("Element %d is a %s, not a %s", index, tag.type(), BinaryTagTypes.COMPOUND));
+    }
+    final CompoundBinaryTag edited = ((CompoundBinaryTag) tag).edit(editor);
+    if (edited != tag) this.modify().set(index, edited);
+    return this;
+  }
+
+  @Override
+  public ListBinaryTag.@NotNull MutableView editList(final int index, final @NotNull Consumer<? super ListBinaryTag.MutableView> editor) {
+    final BinaryTag tag = this.get(index);
+    if (!(tag instanceof ListBinaryTag)) {
+      throw new IllegalStateException(String.format("Element %d is a %s, not a %s", index, tag.type(), BinaryTagTypes.LIST));
+    }
+    final ListBinaryTag edited = ((ListBinaryTag) tag).edit(editor);
+    if (edited != tag) this.modify().set(index, edited);
+    return this;
+  }
+
+  /**
+   * Ends editing.
+   *
+   * @return whether any edits were made
+   */
+  boolean freeze() {
+    this.tags();
+    this.frozen = true;
+    return this.modified;
+  }
+
+  BinaryTagType<? extends BinaryTag> elementType() {
+    return this.elementType;
+  }
+
+  List<BinaryTag> elements() {
+    return this.tags;
+  }
+}
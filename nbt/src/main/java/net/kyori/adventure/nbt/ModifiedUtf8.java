@@ -0,0 +1,165 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.charset.StandardCharsets;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An encoder and decoder for the modified UTF-8 encoding used by {@link java.io.DataInput#readUTF()}.
+ *
+ * <p>Runs of ASCII characters, which make up most keys and many values, are copied without decoding.</p>
+ */
+final class ModifiedUtf8 {
+  static final int MAX_LENGTH = 0xffff;
+  private static final int MAX_RETAINED_SCRATCH = 8192;
+  private static final ThreadLocal<byte[]> SCRATCH = ThreadLocal.withInitial(() -> new byte[256]);
+
+  private ModifiedUtf8() {
+  }
+
+  /**
+   * Decodes a string.
+   *
+   * @param bytes the encoded bytes
+   * @param offset the offset of the first byte
+   * @param length the number of bytes
+   * @param chars a scratch array of at least {@code length} characters
+   * @return the decoded string
+   * @throws UTFDataFormatException if the bytes are not valid modified UTF-8
+   */
+  static @NotNull String decode(final byte@NotNull[] bytes, final int offset, final int length, final char@NotNull[] chars) throws UTFDataFormatException {
+    final int end = offset + length;
+    int i = offset;
+    while (i < end && bytes[i] >= 0) {
+      i++;
+    }
+    if (i == end) {
+      return new String(bytes, offset, length, StandardCharsets.ISO_8859_1); // all ASCII
+    }
+    int count = 0;
+    for (int j = offset; j < i; j++) {
+      chars[count++] = (char) bytes[j];
+    }
+    while (i < end) {
+      final int c = bytes[i] & 0xff;
+      if (c < 0x80) {
+        chars[count++] = (char) c;
+        i++;
+      } else if ((c & 0xe0) == 0xc0) {
+        if (i + 2 > end) throw malformed("partial character at end of input");
+        final int c2 = bytes[i + 1];
+        if ((c2 & 0xc0) != 0x80) throw malformed("malformed input around byte " + (i + 1 - offset));
+        chars[count++] = (char) (((c & 0x1f) << 6) | (c2 & 0x3f));
+        i += 2;
+      } else if ((c & 0xf0) == 0xe0) {
+        if (i + 3 > end) throw malformed("partial character at end of input");
+        final int c2 = bytes[i + 1];
+        final int c3 = bytes[i + 2];
+        if ((c2 & 0xc0) != 0x80 || (c3 & 0xc0) != 0x80) throw malformed("malformed input around byte " + (i + 2 - offset));
+        chars[count++] = (char) (((c & 0x0f) << 12) | ((c2 & 0x3f) << 6) | (c3 & 0x3f));
+        i += 3;
+      } else {
+        throw malformed("malformed input around byte " + (i - offset));
+      }
+    }
+    return new String(chars, 0, count);
+  }
+
+  private static UTFDataFormatException malformed(final String message) {
+    return new UTFDataFormatException(message);
+  }
+
+  /**
+   * Gets the number of bytes needed to encode a string, excluding the length prefix.
+   *
+   * @param value the string
+   * @return the encoded length
+   */
+  static int encodedLength(final @NotNull String value) {
+    final int length = value.length();
+    int encoded = length;
+    for (int i = 0; i < length; i++) {
+      final char c = value.charAt(i);
+      if (c >= 0x80 || c == 0) {
+        encoded += c >= 0x800 ? 2 : 1;
+      }
+    }
+    return encoded;
+  }
+
+  /**
+   * Writes a length-prefixed string, like {@link DataOutput#writeUTF(String)}.
+   *
+   * <p>The string is encoded into a per-thread scratch buffer, and passed to {@code output} in a single write.</p>
+   *
+   * @param output the output
+   * @param value the string
+   * @throws IOException if the string is too long, or an exception occurs while writing
+   */
+  static void write(final @NotNull DataOutput output, final @NotNull String value) throws IOException {
+    final int length = value.length();
+    final int encoded = encodedLength(value);
+    if (encoded > MAX_LENGTH) {
+      throw new UTFDataFormatException("encoded string too long: " + encoded + " bytes");
+    }
+    final byte[] bytes = scratch(encoded + 2);
+    bytes[0] = (byte) (encoded >>> 8);
+    bytes[1] = (byte) encoded;
+    int count = 2;
+    if (encoded == length) { // all ASCII
+      for (int i = 0; i < length; i++) {
+        bytes[count++] = (byte) value.charAt(i);
+      }
+    } else {
+      for (int i = 0; i < length; i++) {
+        final char c = value.charAt(i);
+        if (c < 0x80 && c != 0) {
+          bytes[count++] = (byte) c;
+        } else if (c < 0x800) {
+          bytes[count++] = (byte) (0xc0 | (c >> 6));
+          bytes[count++] = (byte) (0x80 | (c & 0x3f));
+        } else {
+          bytes[count++] = (byte) (0xe0 | (c >> 12));
+          bytes[count++] = (byte) (0x80 | ((c >> 6) & 0x3f));
+          bytes[count++] = (byte) (0x80 | (c & 0x3f));
+        }
+      }
+    }
+    output.write(bytes, 0, count);
+  }
+
+  private static byte[] scratch(final int length) {
+    final byte[] scratch = SCRATCH.get();
+    if (scratch.length >= length) return scratch;
+    final byte[] bigger = new byte[Math.max(length, scratch.length * 2)];
+    if (bigger.length <= MAX_RETAINED_SCRATCH) {
+      SCRATCH.set(bigger);
+    }
+    return bigger;
+  }
+}
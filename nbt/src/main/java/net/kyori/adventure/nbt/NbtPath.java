@@ -0,0 +1,116 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.List;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * A compiled NBT path, as used by NBT components and commands.
+ *
+ * <p>Paths are parsed once by {@link #compile(String)}, and may then be evaluated any number of times from any thread.
+ * A path is a sequence of nodes separated by {@code .}:</p>
+ * <ul>
+ *   <li>{@code {filter}} at the start of a path matches the root tag, if it matches the compound filter</li>
+ *   <li>{@code name}, or the quoted {@code "name"}, selects an entry of a compound</li>
+ *   <li>{@code name{filter}} selects an entry of a compound if it matches the compound filter</li>
+ *   <li>{@code [index]} selects an element of a list or array, where negative indices count from the end</li>
+ *   <li>{@code []} selects every element of a list or array</li>
+ *   <li>{@code [{filter}]} selects every compound element of a list matching the compound filter</li>
+ * </ul>
+ *
+ * <p>A tag matches a filter if it contains every entry of the filter, where nested compounds are matched the same way
+ * and every element of a list in the filter must match some element of the corresponding list.</p>
+ *
+ * <p>As binary tags are immutable, {@link #set(BinaryTag, BinaryTag)} and {@link #remove(BinaryTag)} return
+ * modified copies of the root tag, sharing any untouched parts of the tree.</p>
+ *
+ * @since 4.17.0
+ */
+public interface NbtPath {
+  /**
+   * Compiles a path.
+   *
+   * @param path the path
+   * @return a compiled path
+   * @throws IllegalArgumentException if the path is not valid
+   * @since 4.17.0
+   */
+  static @NotNull NbtPath compile(final @NotNull String path) {
+    return NbtPathImpl.compile(path);
+  }
+
+  /**
+   * Gets every tag matched by this path.
+   *
+   * @param root the root tag
+   * @return the matched tags, in traversal order
+   * @since 4.17.0
+   */
+  @NotNull List<BinaryTag> get(final @NotNull BinaryTag root);
+
+  /**
+   * Gets the first tag matched by this path.
+   *
+   * @param root the root tag
+   * @return the first matched tag, or {@code null} if nothing matched
+   * @since 4.17.0
+   */
+  @Nullable BinaryTag first(final @NotNull BinaryTag root);
+
+  /**
+   * Sets every tag matched by this path to {@code value}.
+   *
+   * <p>Missing compound entries leading up to the final node are created, and a {@code [{filter}]} node without
+   * any match adds a copy of its filter to the list. Values which do not fit their list or array are skipped.</p>
+   *
+   * @param root the root tag
+   * @param value the value
+   * @param <T> the type of the root tag
+   * @return the modified root tag, or {@code root} if nothing was set
+   * @throws IllegalStateException if this path only matches the root tag
+   * @since 4.17.0
+   */
+  <T extends BinaryTag> @NotNull T set(final @NotNull T root, final @NotNull BinaryTag value);
+
+  /**
+   * Removes every tag matched by this path.
+   *
+   * @param root the root tag
+   * @param <T> the type of the root tag
+   * @return the modified root tag, or {@code root} if nothing was removed
+   * @throws IllegalStateException if this path only matches the root tag
+   * @since 4.17.0
+   */
+  <T extends BinaryTag> @NotNull T remove(final @NotNull T root);
+
+  /**
+   * Gets the source of this path.
+   *
+   * @return the path, as it was compiled
+   * @since 4.17.0
+   */
+  @NotNull String asString();
+}
@@ -0,0 +1,607 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+final class NbtPathImpl implements NbtPath {
+  private final String source;
+  private final Node[] nodes;
+
+  private NbtPathImpl(final String source, final Node[] nodes) {
+    this.source = source;
+    this.nodes = nodes;
+  }
+
+  static @NotNull NbtPathImpl compile(final @NotNull String path) {
+    return new NbtPathImpl(path, new Parser(path).parse());
+  }
+
+  @Override
+  public @NotNull List<BinaryTag> get(final @NotNull BinaryTag root) {
+    List<BinaryTag> current = Collections.singletonList(root);
+    for (final Node node : this.nodes) {
+      final List<BinaryTag> next = new ArrayList<>(current.size());
+      for (int i = 0, size = current.size(); i < size; i++) {
+        node.collect(current.get(i), next);
+      }
+      if (next.isEmpty()) return Collections.emptyList();
+      current = next;
+    }
+    return current;
+  }
+
+  @Override
+  public @Nullable BinaryTag first(final @NotNull BinaryTag root) {
+    return this.first(0, root);
+  }
+
+  // depth-first, so that wide lists early in the path are not expanded in full
+  private @Nullable BinaryTag first(final int index, final BinaryTag tag) {
+    if (index == this.nodes.length) return tag;
+    final List<BinaryTag> children = new ArrayList<>();
+    this.nodes[index].collect(tag, children);
+    for (int i = 0, size = children.size(); i < size; i++) {
+      final BinaryTag found = this.first(index + 1, children.get(i));
+      if (found != null) return found;
+    }
+    return null;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends BinaryTag> @NotNull T set(final @NotNull T root, final @NotNull BinaryTag value) {
+    this.checkModifiable();
+    return (T) this.update(0, root, true, old -> value);
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends BinaryTag> @NotNull T remove(final @NotNull T root) {
+    this.checkModifiable();
+    return (T) this.update(0, root, false, old -> null);
+  }
+
+  private void checkModifiable() {
+    if (this.nodes.length == 1 && this.nodes[0] instanceof RootFilter) {
+      throw new IllegalStateException("Cannot modify the root tag with path " + this.source);
+    }
+  }
+
+  // Applies leaf to every tag matched from index onwards, returning tag itself if nothing changed
+  private BinaryTag update(final int index, final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> leaf) {
+    final boolean last = index == this.nodes.length - 1;
+    final Node node = this.nodes[index];
+    // like vanilla, a filter that matches nothing only creates a tag to continue the path through, never the leaf itself
+    final boolean creates = create && !(last && node.filtered());
+    return node.update(tag, creates, child -> {
+      if (last) return leaf.apply(child);
+      if (child != null) return this.update(index + 1, child, create, leaf);
+      if (!create) return null;
+      final BinaryTag parent = this.nodes[index + 1].createParent();
+      if (parent == null) return null;
+      final BinaryTag created = this.update(index + 1, parent, true, leaf);
+      return created == parent ? null : created;
+    });
+  }
+
+  @Override
+  public @NotNull String asString() {
+    return this.source;
+  }
+
+  @Override
+  public boolean equals(final @Nullable Object other) {
+    if (this == other) return true;
+    if (!(other instanceof NbtPathImpl)) return false;
+    return this.source.equals(((NbtPathImpl) other).source);
+  }
+
+  @Override
+  public int hashCode() {
+    return this.source.hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return this.source;
+  }
+
+  // A filter matches if every entry in it is present in the tag; elements of a list filter may match anywhere in the list
+  static boolean matches(final BinaryTag filter, final BinaryTag tag) {
+    if (filter.type() != tag.type()) return false;
+    if (filter instanceof CompoundBinaryTag) {
+      final CompoundBinaryTag compound = (CompoundBinaryTag) tag;
+      for (final Map.Entry<String, ? extends BinaryTag> entry : (CompoundBinaryTag) filter) {
+        final BinaryTag value = compound.get(entry.getKey());
+        if (value == null || !matches(entry.getValue(), value)) return false;
+      }
+      return true;
+    } else if (filter instanceof ListBinaryTag) {
+      final ListBinaryTag filterList = (ListBinaryTag) filter;
+      final ListBinaryTag list = (ListBinaryTag) tag;
+      if (filterList.size() == 0) return list.size() == 0;
+      outer:
+      for (final BinaryTag element : filterList) {
+        for (final BinaryTag candidate : list) {
+          if (matches(element, candidate)) continue outer;
+        }
+        return false;
+      }
+      return true;
+    }
+    return filter.equals(tag);
+  }
+
+  // Lists and arrays, as a list of tags
+  static @Nullable List<BinaryTag> elements(final BinaryTag tag) {
+    if (tag instanceof ListBinaryTag) {
+      final ListBinaryTag list = (ListBinaryTag) tag;
+      final List<BinaryTag> elements = new ArrayList<>(list.size());
+      for (final BinaryTag element : list) elements.add(element);
+      return elements;
+    } else if (tag instanceof ByteArrayBinaryTag) {
+      final ByteArrayBinaryTag array = (ByteArrayBinaryTag) tag;
+      final List<BinaryTag> elements = new ArrayList<>(array.size());
+      for (int i = 0, size = array.size(); i < size; i++) elements.add(ByteBinaryTag.byteBinaryTag(array.get(i)));
+      return elements;
+    } else if (tag instanceof IntArrayBinaryTag) {
+      final IntArrayBinaryTag array = (IntArrayBinaryTag) tag;
+      final List<BinaryTag> elements = new ArrayList<>(array.size());
+      for (int i = 0, size = array.size(); i < size; i++) elements.add(IntBinaryTag.intBinaryTag(array.get(i)));
+      return elements;
+    } else if (tag instanceof LongArrayBinaryTag) {
+      final LongArrayBinaryTag array = (LongArrayBinaryTag) tag;
+      final List<BinaryTag> elements = new ArrayList<>(array.size());
+      for (int i = 0, size = array.size(); i < size; i++) elements.add(LongBinaryTag.longBinaryTag(array.get(i)));
+      return elements;
+    }
+    return null;
+  }
+
+  // The number of elements in an array, or -1 if tag is not an array
+  static int arraySize(final BinaryTag tag) {
+    if (tag instanceof ByteArrayBinaryTag) return ((ByteArrayBinaryTag) tag).size();
+    if (tag instanceof IntArrayBinaryTag) return ((IntArrayBinaryTag) tag).size();
+    if (tag instanceof LongArrayBinaryTag) return ((LongArrayBinaryTag) tag).size();
+    return -1;
+  }
+
+  // One element of an array, without boxing the others
+  static BinaryTag arrayElement(final BinaryTag array, final int index) {
+    if (array instanceof ByteArrayBinaryTag) return ByteBinaryTag.byteBinaryTag(((ByteArrayBinaryTag) array).get(index));
+    if (array instanceof IntArrayBinaryTag) return IntBinaryTag.intBinaryTag(((IntArrayBinaryTag) array).get(index));
+    return LongBinaryTag.longBinaryTag(((LongArrayBinaryTag) array).get(index));
+  }
+
+  // An array with one element replaced, or removed if updated is null, or original if updated does not fit
+  static BinaryTag withArrayElement(final BinaryTag original, final int index, final @Nullable BinaryTag updated) {
+    if (updated != null && updated.type() != arrayElementType(original)) return original;
+    if (original instanceof ByteArrayBinaryTag) {
+      final byte[] value = ((ByteArrayBinaryTag) original).value();
+      if (updated != null) {
+        value[index] = ((ByteBinaryTag) updated).value();
+        return ByteArrayBinaryTag.byteArrayBinaryTag(value);
+      }
+      final byte[] removed = Arrays.copyOf(value, value.length - 1);
+      System.arraycopy(value, index + 1, removed, index, removed.length - index);
+      return ByteArrayBinaryTag.byteArrayBinaryTag(removed);
+    } else if (original instanceof IntArrayBinaryTag) {
+      final int[] value = ((IntArrayBinaryTag) original).value();
+      if (updated != null) {
+        value[index] = ((IntBinaryTag) updated).value();
+        return IntArrayBinaryTag.intArrayBinaryTag(value);
+      }
+      final int[] removed = Arrays.copyOf(value, value.length - 1);
+      System.arraycopy(value, index + 1, removed, index, removed.length - index);
+      return IntArrayBinaryTag.intArrayBinaryTag(removed);
+    } else {
+      final long[] value = ((LongArrayBinaryTag) original).value();
+      if (updated != null) {
+        value[index] = ((LongBinaryTag) updated).value();
+        return LongArrayBinaryTag.longArrayBinaryTag(value);
+      }
+      final long[] removed = Arrays.copyOf(value, value.length - 1);
+      System.arraycopy(value, index + 1, removed, index, removed.length - index);
+      return LongArrayBinaryTag.longArrayBinaryTag(removed);
+    }
+  }
+
+  // The type of the elements of an array
+  static BinaryTagType<? extends BinaryTag> arrayElementType(final BinaryTag array) {
+    if (array instanceof ByteArrayBinaryTag) return BinaryTagTypes.BYTE;
+    if (array instanceof IntArrayBinaryTag) return BinaryTagTypes.INT;
+    return BinaryTagTypes.LONG;
+  }
+
+  // Rebuilds a list or array of the same kind as original, or returns original if the elements no longer fit
+  static BinaryTag rebuild(final BinaryTag original, final List<BinaryTag> elements) {
+    if (original instanceof ListBinaryTag) {
+      try {
+        return ListBinaryTag.from(elements);
+      } catch (final IllegalArgumentException e) {
+        return original;
+      }
+    }
+    // like list elements, array elements must all be of the array's type rather than be narrowed into it
+    final BinaryTagType<? extends BinaryTag> type = arrayElementType(original);
+    final int size = elements.size();
+    for (int i = 0; i < size; i++) {
+      if (elements.get(i).type() != type) return original;
+    }
+    if (original instanceof ByteArrayBinaryTag) {
+      final byte[] value = new byte[size];
+      for (int i = 0; i < size; i++) value[i] = ((NumberBinaryTag) elements.get(i)).byteValue();
+      return ByteArrayBinaryTag.byteArrayBinaryTag(value);
+    } else if (original instanceof IntArrayBinaryTag) {
+      final int[] value = new int[size];
+      for (int i = 0; i < size; i++) value[i] = ((NumberBinaryTag) elements.get(i)).intValue();
+      return IntArrayBinaryTag.intArrayBinaryTag(value);
+    } else {
+      final long[] value = new long[size];
+      for (int i = 0; i < size; i++) value[i] = ((NumberBinaryTag) elements.get(i)).longValue();
+      return LongArrayBinaryTag.longArrayBinaryTag(value);
+    }
+  }
+
+  interface Node {
+    void collect(final BinaryTag tag, final List<BinaryTag> out);
+
+    /*
+     * Updates the children of tag selected by this node. The continuation receives each selected child, or null
+     * for a missing child when create is set, and returns its replacement: null to remove it, or the same
+     * instance if it is unchanged.
+     */
+    BinaryTag update(final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> continuation);
+
+    // The empty tag this node can select from, used to create missing parents
+    @Nullable BinaryTag createParent();
+
+    // Whether this node selects by a filter
+    boolean filtered();
+  }
+
+  static final class RootFilter implements Node {
+    private final CompoundBinaryTag filter;
+
+    RootFilter(final CompoundBinaryTag filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public void collect(final BinaryTag tag, final List<BinaryTag> out) {
+      if (matches(this.filter, tag)) out.add(tag);
+    }
+
+    @Override
+    public BinaryTag update(final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> continuation) {
+      if (!matches(this.filter, tag)) return tag;
+      final BinaryTag updated = continuation.apply(tag);
+      return updated == null ? tag : updated;
+    }
+
+    @Override
+    public @Nullable BinaryTag createParent() {
+      return null;
+    }
+
+    @Override
+    public boolean filtered() {
+      return true;
+    }
+  }
+
+  static final class Key implements Node {
+    private final String name;
+    private final @Nullable CompoundBinaryTag filter;
+
+    Key(final String name, final @Nullable CompoundBinaryTag filter) {
+      this.name = name;
+      this.filter = filter;
+    }
+
+    @Override
+    public void collect(final BinaryTag tag, final List<BinaryTag> out) {
+      if (!(tag instanceof CompoundBinaryTag)) return;
+      final BinaryTag child = ((CompoundBinaryTag) tag).get(this.name);
+      if (child != null && (this.filter == null || matches(this.filter, child))) out.add(child);
+    }
+
+    @Override
+    public BinaryTag update(final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> continuation) {
+      if (!(tag instanceof CompoundBinaryTag)) return tag;
+      final CompoundBinaryTag compound = (CompoundBinaryTag) tag;
+      final BinaryTag child = compound.get(this.name);
+      final BinaryTag updated;
+      if (child == null) {
+        if (!create) return tag;
+        // a filtered key is created from its filter, like a filtered list element
+        updated = continuation.apply(this.filter);
+        if (updated == null) return tag;
+      } else {
+        if (this.filter != null && !matches(this.filter, child)) return tag;
+        updated = continuation.apply(child);
+        if (updated == child) return tag;
+        if (updated == null) return compound.remove(this.name);
+      }
+      return compound.put(this.name, updated);
+    }
+
+    @Override
+    public @Nullable BinaryTag createParent() {
+      return CompoundBinaryTag.empty();
+    }
+
+    @Override
+    public boolean filtered() {
+      return this.filter != null;
+    }
+  }
+
+  static final class Index implements Node {
+    private final int index;
+
+    Index(final int index) {
+      this.index = index;
+    }
+
+    private int resolve(final int size) {
+      final int index = this.index < 0 ? size + this.index : this.index;
+      return index >= 0 && index < size ? index : -1;
+    }
+
+    @Override
+    public void collect(final BinaryTag tag, final List<BinaryTag> out) {
+      if (tag instanceof ListBinaryTag) {
+        final ListBinaryTag list = (ListBinaryTag) tag;
+        final int index = this.resolve(list.size());
+        if (index != -1) out.add(list.get(index));
+        return;
+      }
+      final int size = arraySize(tag);
+      if (size == -1) return;
+      final int index = this.resolve(size);
+      if (index != -1) out.add(arrayElement(tag, index));
+    }
+
+    @Override
+    public BinaryTag update(final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> continuation) {
+      if (tag instanceof ListBinaryTag) {
+        final ListBinaryTag list = (ListBinaryTag) tag;
+        final int index = this.resolve(list.size());
+        if (index == -1) return tag;
+        final BinaryTag child = list.get(index);
+        final BinaryTag updated = continuation.apply(child);
+        if (updated == child) return tag;
+        if (updated == null) return list.remove(index, null);
+        if (updated.type() != list.elementType()) return tag;
+        return list.set(index, updated, null);
+      }
+      final int size = arraySize(tag);
+      if (size == -1) return tag;
+      final int index = this.resolve(size);
+      if (index == -1) return tag;
+      final BinaryTag child = arrayElement(tag, index);
+      final BinaryTag updated = continuation.apply(child);
+      if (updated == child) return tag;
+      return withArrayElement(tag, index, updated);
+    }
+
+    @Override
+    public @Nullable BinaryTag createParent() {
+      return ListBinaryTag.empty();
+    }
+
+    @Override
+    public boolean filtered() {
+      return false;
+    }
+  }
+
+  static final class Elements implements Node {
+    private final @Nullable CompoundBinaryTag filter;
+
+    Elements(final @Nullable CompoundBinaryTag filter) {
+      this.filter = filter;
+    }
+
+    @Override
+    public void collect(final BinaryTag tag, final List<BinaryTag> out) {
+      if (tag instanceof ListBinaryTag) {
+        for (final BinaryTag element : (ListBinaryTag) tag) {
+          if (this.filter == null || matches(this.filter, element)) out.add(element);
+        }
+      } else if (this.filter == null) {
+        final List<BinaryTag> elements = elements(tag);
+        if (elements != null) out.addAll(elements);
+      }
+    }
+
+    @Override
+    public BinaryTag update(final BinaryTag tag, final boolean create, final UnaryOperator<BinaryTag> continuation) {
+      final List<BinaryTag> elements = tag instanceof ListBinaryTag || this.filter == null ? elements(tag) : null;
+      if (elements == null) return tag;
+      boolean changed = false;
+      boolean matched = false;
+      for (int i = 0; i < elements.size(); i++) {
+        final BinaryTag child = elements.get(i);
+        if (this.filter != null && !matches(this.filter, child)) continue;
+        matched = true;
+        final BinaryTag updated = continuation.apply(child);
+        if (updated == child) continue;
+        changed = true;
+        if (updated == null) {
+          elements.remove(i--);
+        } else {
+          elements.set(i, updated);
+        }
+      }
+      if (!matched && create && this.filter != null) {
+        // like a filtered key, a filtered element is created from its filter
+        final BinaryTag updated = continuation.apply(this.filter);
+        if (updated != null) {
+          elements.add(updated);
+          changed = true;
+        }
+      }
+      return changed ? rebuild(tag, elements) : tag;
+    }
+
+    @Override
+    public @Nullable BinaryTag createParent() {
+      return ListBinaryTag.empty();
+    }
+
+    @Override
+    public boolean filtered() {
+      return this.filter != null;
+    }
+  }
+
+  static final class Parser {
+    private final String path;
+    private final int length;
+    private int position;
+
+    Parser(final String path) {
+      this.path = path;
+      this.length = path.length();
+    }
+
+    Node[] parse() {
+      if (this.length == 0) throw this.error("Expected a path");
+      final List<Node> nodes = new ArrayList<>();
+      if (this.path.charAt(0) == Tokens.COMPOUND_BEGIN) {
+        nodes.add(new RootFilter(this.filter()));
+      } else {
+        nodes.add(this.node());
+      }
+      while (this.position < this.length) {
+        final char c = this.path.charAt(this.position);
+        if (c == '.') {
+          this.position++;
+          if (this.position == this.length) throw this.error("Expected a node");
+          nodes.add(this.node());
+        } else if (c == Tokens.ARRAY_BEGIN) {
+          nodes.add(this.node());
+        } else {
+          throw this.error("Expected '.' or '['");
+        }
+      }
+      return nodes.toArray(new Node[0]);
+    }
+
+    private Node node() {
+      final char c = this.path.charAt(this.position);
+      if (c == Tokens.ARRAY_BEGIN) {
+        return this.element();
+      }
+      final String name;
+      if (c == Tokens.DOUBLE_QUOTE || c == Tokens.SINGLE_QUOTE) {
+        name = this.quoted(c);
+      } else {
+        final int start = this.position;
+        while (this.position < this.length && isKeyChar(this.path.charAt(this.position))) this.position++;
+        if (this.position == start) throw this.error("Expected a key");
+        name = this.path.substring(start, this.position);
+      }
+      if (this.position < this.length && this.path.charAt(this.position) == Tokens.COMPOUND_BEGIN) {
+        return new Key(name, this.filter());
+      }
+      return new Key(name, null);
+    }
+
+    private Node element() {
+      this.position++; // [
+      if (this.position == this.length) throw this.error("Expected an index, filter or ']'");
+      final char c = this.path.charAt(this.position);
+      final Node node;
+      if (c == Tokens.ARRAY_END) {
+        node = new Elements(null);
+      } else if (c == Tokens.COMPOUND_BEGIN) {
+        node = new Elements(this.filter());
+      } else {
+        final int start = this.position;
+        if (c == '-') this.position++;
+        while (this.position < this.length && Character.isDigit(this.path.charAt(this.position))) this.position++;
+        try {
+          node = new Index(Integer.parseInt(this.path.substring(start, this.position)));
+        } catch (final NumberFormatException e) {
+          this.position = start;
+          throw this.error("Expected an index");
+        }
+      }
+      if (this.position == this.length || this.path.charAt(this.position) != Tokens.ARRAY_END) throw this.error("Expected ']'");
+      this.position++;
+      return node;
+    }
+
+    private String quoted(final char quote) {
+      final StringBuilder builder = new StringBuilder();
+      this.position++;
+      while (this.position < this.length) {
+        final char c = this.path.charAt(this.position++);
+        if (c == quote) return builder.toString();
+        if (c == Tokens.ESCAPE_MARKER) {
+          if (this.position == this.length) break;
+          final char escaped = this.path.charAt(this.position);
+          if (escaped != quote && escaped != Tokens.ESCAPE_MARKER) throw this.error("Invalid escape");
+          this.position++;
+          builder.append(escaped);
+        } else {
+          builder.append(c);
+        }
+      }
+      throw this.error("Unterminated quoted key");
+    }
+
+    private CompoundBinaryTag filter() {
+      final CharBuffer buffer = new CharBuffer(this.path);
+      buffer.index(this.position);
+      try {
+        final CompoundBinaryTag filter = new TagStringReader(buffer).compound();
+        this.position = buffer.index();
+        return filter;
+      } catch (final StringTagParseException e) {
+        throw new IllegalArgumentException("Invalid compound filter in path '" + this.path + "': " + e.getMessage(), e);
+      }
+    }
+
+    private static boolean isKeyChar(final char c) {
+      return c != ' ' && c != Tokens.DOUBLE_QUOTE && c != Tokens.SINGLE_QUOTE && c != Tokens.ARRAY_BEGIN && c != Tokens.ARRAY_END
+        && c != '.' && c != Tokens.COMPOUND_BEGIN && c != Tokens.COMPOUND_END;
+    }
+
+    private IllegalArgumentException error(final String message) {
+      return new IllegalArgumentException(message + " at position " + this.position + " in path '" + this.path + "'");
+    }
+  }
+}
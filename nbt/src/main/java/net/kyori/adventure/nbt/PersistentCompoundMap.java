@@ -0,0 +1,456 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable hash array mapped trie of compound entries.
+ *
+ * <p>Adding or removing a single entry copies only the nodes along the path to that entry, sharing
+ * everything else with the original map.</p>
+ *
+ * <p>A {@link Transient} edits nodes it has created in place. Nodes record the token of the transient
+ * that created them, and are never modified once that transient has been frozen.</p>
+ */
+final class PersistentCompoundMap extends AbstractMap<String, BinaryTag> {
+  static final PersistentCompoundMap EMPTY = new PersistentCompoundMap(BitmapNode.EMPTY, 0);
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private final Node root;
+  private final int size;
+  private @Nullable Set<Map.Entry<String, BinaryTag>> entrySet;
+
+  private PersistentCompoundMap(final Node root, final int size) {
+    this.root = root;
+    this.size = size;
+  }
+
+  /**
+   * Gets a persistent map with the same entries as {@code map}.
+   *
+   * @param map the source map
+   * @return a persistent map, which is {@code map} itself if it is already persistent
+   */
+  static @NotNull PersistentCompoundMap copyOf(final @NotNull Map<String, ? extends BinaryTag> map) {
+    if (map instanceof PersistentCompoundMap) {
+      return (PersistentCompoundMap) map;
+    }
+    PersistentCompoundMap result = EMPTY;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : map.entrySet()) {
+      result = result.plus(entry.getKey(), entry.getValue());
+    }
+    return result;
+  }
+
+  private static int hash(final String key) {
+    final int hash = key.hashCode();
+    return hash ^ (hash >>> 16);
+  }
+
+  private static int bit(final int hash, final int shift) {
+    return 1 << ((hash >>> shift) & MASK);
+  }
+
+  /**
+   * Gets a map with {@code key} mapped to {@code value}.
+   *
+   * @param key the key
+   * @param value the value
+   * @return the new map, or this map if {@code key} is already mapped to {@code value}
+   */
+  @NotNull PersistentCompoundMap plus(final @NotNull String key, final @NotNull BinaryTag value) {
+    final boolean[] added = new boolean[1];
+    final Node root = this.root.plus(null, 0, hash(key), key, value, added);
+    if (root == this.root) return this;
+    return new PersistentCompoundMap(root, added[0] ? this.size + 1 : this.size);
+  }
+
+  /**
+   * Gets a map without a mapping for {@code key}.
+   *
+   * @param key the key
+   * @return the new map, or this map if {@code key} is not mapped
+   */
+  @NotNull PersistentCompoundMap minus(final @NotNull String key) {
+    final @Nullable Node root = this.root.minus(null, 0, hash(key), key);
+    if (root == this.root) return this;
+    if (root == null) return EMPTY;
+    return new PersistentCompoundMap(root, this.size - 1);
+  }
+
+  /**
+   * Creates a transient copy of this map, for a batch of edits.
+   *
+   * @return a transient map
+   */
+  @NotNull Transient asTransient() {
+    return new Transient(this);
+  }
+
+  @Override
+  public @Nullable BinaryTag get(final Object key) {
+    if (!(key instanceof String)) return null;
+    return this.root.find(0, hash((String) key), (String) key);
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return this.get(key) != null;
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  @Override
+  public @NotNull Set<Map.Entry<String, BinaryTag>> entrySet() {
+    Set<Map.Entry<String, BinaryTag>> entrySet = this.entrySet;
+    if (entrySet == null) {
+      entrySet = new EntrySet();
+      this.entrySet = entrySet;
+    }
+    return entrySet;
+  }
+
+  /**
+   * A single-owner mutable view of a map.
+   *
+   * <p>Edits modify nodes created by this transient in place, and copy shared nodes on first write.</p>
+   */
+  static final class Transient {
+    private final PersistentCompoundMap source;
+    private @Nullable Object owner = new Object();
+    private Node root;
+    private int size;
+
+    Transient(final PersistentCompoundMap source) {
+      this.source = source;
+      this.root = source.root;
+      this.size = source.size;
+    }
+
+    private Object owner() {
+      final @Nullable Object owner = this.owner;
+      if (owner == null) throw new IllegalStateException("Cannot edit a compound after its edits have been applied");
+      return owner;
+    }
+
+    @Nullable BinaryTag get(final @NotNull String key) {
+      this.owner();
+      return this.root.find(0, hash(key), key);
+    }
+
+    int size() {
+      this.owner();
+      return this.size;
+    }
+
+    void put(final @NotNull String key, final @NotNull BinaryTag value) {
+      final boolean[] added = new boolean[1];
+      this.root = this.root.plus(this.owner(), 0, hash(key), key, value, added);
+      if (added[0]) this.size++;
+    }
+
+    @Nullable BinaryTag remove(final @NotNull String key) {
+      final Object owner = this.owner();
+      final int hash = hash(key);
+      final @Nullable BinaryTag removed = this.root.find(0, hash, key);
+      if (removed != null) {
+        final @Nullable Node root = this.root.minus(owner, 0, hash, key);
+        this.root = root == null ? BitmapNode.EMPTY : root;
+        this.size--;
+      }
+      return removed;
+    }
+
+    /**
+     * Ends editing, and gets the edited map.
+     *
+     * @return the edited map, which is the source map if no edits were made
+     */
+    @NotNull PersistentCompoundMap persistent() {
+      this.owner();
+      this.owner = null;
+      if (this.root == this.source.root) return this.source;
+      if (this.size == 0) return EMPTY;
+      return new PersistentCompoundMap(this.root, this.size);
+    }
+  }
+
+  /*
+   * Nodes store their contents as key/value pairs. A pair with a null key holds a child node as its value.
+   */
+  private abstract static class Node {
+    private final @Nullable Object owner;
+    Object[] array;
+
+    Node(final @Nullable Object owner, final Object[] array) {
+      this.owner = owner;
+      this.array = array;
+    }
+
+    // whether this node can be modified in place by the transient holding owner
+    final boolean ownedBy(final @Nullable Object owner) {
+      return owner != null && owner == this.owner;
+    }
+
+    abstract @Nullable BinaryTag find(final int shift, final int hash, final String key);
+
+    abstract Node plus(final @Nullable Object owner, final int shift, final int hash, final String key, final BinaryTag value, final boolean[] added);
+
+    abstract @Nullable Node minus(final @Nullable Object owner, final int shift, final int hash, final String key);
+
+    static Node create(final @Nullable Object owner, final int shift, final String key0, final BinaryTag value0, final int hash1, final String key1, final BinaryTag value1) {
+      final int hash0 = hash(key0);
+      if (hash0 == hash1) {
+        return new CollisionNode(owner, hash0, new Object[]{key0, value0, key1, value1});
+      }
+      final boolean[] added = new boolean[1];
+      return BitmapNode.EMPTY
+        .plus(owner, shift, hash0, key0, value0, added)
+        .plus(owner, shift, hash1, key1, value1, added);
+    }
+  }
+
+  private static final class BitmapNode extends Node {
+    static final BitmapNode EMPTY = new BitmapNode(null, 0, new Object[0]);
+    private int bitmap;
+
+    BitmapNode(final @Nullable Object owner, final int bitmap, final Object[] array) {
+      super(owner, array);
+      this.bitmap = bitmap;
+    }
+
+    private int index(final int bit) {
+      return Integer.bitCount(this.bitmap & (bit - 1));
+    }
+
+    @Override
+    @Nullable BinaryTag find(final int shift, final int hash, final String key) {
+      final int bit = bit(hash, shift);
+      if ((this.bitmap & bit) == 0) return null;
+      final int index = this.index(bit);
+      final Object k = this.array[2 * index];
+      final Object v = this.array[2 * index + 1];
+      if (k == null) return ((Node) v).find(shift + BITS, hash, key);
+      return key.equals(k) ? (BinaryTag) v : null;
+    }
+
+    @Override
+    Node plus(final @Nullable Object owner, final int shift, final int hash, final String key, final BinaryTag value, final boolean[] added) {
+      final int bit = bit(hash, shift);
+      final int index = this.index(bit);
+      if ((this.bitmap & bit) != 0) {
+        final Object k = this.array[2 * index];
+        final Object v = this.array[2 * index + 1];
+        if (k == null) {
+          final Node child = ((Node) v).plus(owner, shift + BITS, hash, key, value, added);
+          return child == v ? this : this.with(owner, 2 * index + 1, child);
+        } else if (key.equals(k)) {
+          return value == v ? this : this.with(owner, 2 * index + 1, value);
+        }
+        added[0] = true;
+        final Node child = create(owner, shift + BITS, (String) k, (BinaryTag) v, hash, key, value);
+        final BitmapNode node = this.with(owner, 2 * index + 1, child);
+        node.array[2 * index] = null;
+        return node;
+      }
+      added[0] = true;
+      final Object[] array = new Object[this.array.length + 2];
+      System.arraycopy(this.array, 0, array, 0, 2 * index);
+      array[2 * index] = key;
+      array[2 * index + 1] = value;
+      System.arraycopy(this.array, 2 * index, array, 2 * index + 2, this.array.length - 2 * index);
+      return this.with(owner, this.bitmap | bit, array);
+    }
+
+    @Override
+    @Nullable Node minus(final @Nullable Object owner, final int shift, final int hash, final String key) {
+      final int bit = bit(hash, shift);
+      if ((this.bitmap & bit) == 0) return this;
+      final int index = this.index(bit);
+      final Object k = this.array[2 * index];
+      final Object v = this.array[2 * index + 1];
+      if (k == null) {
+        final @Nullable Node child = ((Node) v).minus(owner, shift + BITS, hash, key);
+        if (child == v) return this;
+        if (child != null) return this.with(owner, 2 * index + 1, child);
+      } else if (!key.equals(k)) {
+        return this;
+      }
+      if (this.bitmap == bit) return null;
+      final Object[] array = new Object[this.array.length - 2];
+      System.arraycopy(this.array, 0, array, 0, 2 * index);
+      System.arraycopy(this.array, 2 * index + 2, array, 2 * index, array.length - 2 * index);
+      return this.with(owner, this.bitmap ^ bit, array);
+    }
+
+    // a node with one slot replaced, in place if owned
+    private BitmapNode with(final @Nullable Object owner, final int position, final Object value) {
+      final BitmapNode node = this.ownedBy(owner) ? this : new BitmapNode(owner, this.bitmap, this.array.clone());
+      node.array[position] = value;
+      return node;
+    }
+
+    // a node with new contents, in place if owned
+    private BitmapNode with(final @Nullable Object owner, final int bitmap, final Object[] array) {
+      if (this.ownedBy(owner)) {
+        this.bitmap = bitmap;
+        this.array = array;
+        return this;
+      }
+      return new BitmapNode(owner, bitmap, array);
+    }
+  }
+
+  // Entries whose keys have identical hashes
+  private static final class CollisionNode extends Node {
+    private final int hash;
+
+    CollisionNode(final @Nullable Object owner, final int hash, final Object[] array) {
+      super(owner, array);
+      this.hash = hash;
+    }
+
+    private int indexOf(final String key) {
+      for (int i = 0; i < this.array.length; i += 2) {
+        if (key.equals(this.array[i])) return i;
+      }
+      return -1;
+    }
+
+    @Override
+    @Nullable BinaryTag find(final int shift, final int hash, final String key) {
+      final int index = this.indexOf(key);
+      return index == -1 ? null : (BinaryTag) this.array[index + 1];
+    }
+
+    @Override
+    Node plus(final @Nullable Object owner, final int shift, final int hash, final String key, final BinaryTag value, final boolean[] added) {
+      if (hash != this.hash) {
+        return new BitmapNode(owner, bit(this.hash, shift), new Object[]{null, this}).plus(owner, shift, hash, key, value, added);
+      }
+      final int index = this.indexOf(key);
+      if (index != -1) {
+        if (this.array[index + 1] == value) return this;
+        final Object[] array = this.ownedBy(owner) ? this.array : this.array.clone();
+        array[index + 1] = value;
+        return this.with(owner, array);
+      }
+      added[0] = true;
+      final Object[] array = Arrays.copyOf(this.array, this.array.length + 2);
+      array[this.array.length] = key;
+      array[this.array.length + 1] = value;
+      return this.with(owner, array);
+    }
+
+    @Override
+    @Nullable Node minus(final @Nullable Object owner, final int shift, final int hash, final String key) {
+      final int index = this.indexOf(key);
+      if (index == -1) return this;
+      if (this.array.length == 2) return null;
+      final Object[] array = new Object[this.array.length - 2];
+      System.arraycopy(this.array, 0, array, 0, index);
+      System.arraycopy(this.array, index + 2, array, index, array.length - index);
+      return this.with(owner, array);
+    }
+
+    // a node with new contents, in place if owned
+    private CollisionNode with(final @Nullable Object owner, final Object[] array) {
+      if (this.ownedBy(owner)) {
+        this.array = array;
+        return this;
+      }
+      return new CollisionNode(owner, this.hash, array);
+    }
+  }
+
+  private final class EntrySet extends AbstractSet<Map.Entry<String, BinaryTag>> {
+    @Override
+    public @NotNull Iterator<Map.Entry<String, BinaryTag>> iterator() {
+      return new EntryIterator(PersistentCompoundMap.this.root);
+    }
+
+    @Override
+    public int size() {
+      return PersistentCompoundMap.this.size;
+    }
+  }
+
+  // Depth-first walk over the node arrays; the trie is at most seven levels deep
+  private static final class EntryIterator implements Iterator<Map.Entry<String, BinaryTag>> {
+    private final Object[][] arrays = new Object[8][];
+    private final int[] positions = new int[8];
+    private int depth;
+    private Map.@Nullable Entry<String, BinaryTag> next;
+
+    EntryIterator(final Node root) {
+      this.arrays[0] = root.array;
+      this.next = this.advance();
+    }
+
+    private Map.@Nullable Entry<String, BinaryTag> advance() {
+      while (this.depth >= 0) {
+        final Object[] array = this.arrays[this.depth];
+        final int position = this.positions[this.depth];
+        if (position >= array.length) {
+          this.depth--;
+          continue;
+        }
+        this.positions[this.depth] = position + 2;
+        final Object key = array[position];
+        if (key != null) {
+          return new AbstractMap.SimpleImmutableEntry<>((String) key, (BinaryTag) array[position + 1]);
+        }
+        this.depth++;
+        this.arrays[this.depth] = ((Node) array[position + 1]).array;
+        this.positions[this.depth] = 0;
+      }
+      return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return this.next != null;
+    }
+
+    @Override
+    public Map.Entry<String, BinaryTag> next() {
+      final Map.@Nullable Entry<String, BinaryTag> next = this.next;
+      if (next == null) throw new NoSuchElementException();
+      this.next = this.advance();
+      return next;
+    }
+  }
+}
@@ -0,0 +1,254 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable 32-way vector trie of list elements.
+ *
+ * <p>Appending, replacing and removing the last element copy only the nodes along the path to that
+ * element, sharing everything else with the original vector. The last (up to 32) elements are kept
+ * in a separate tail so that most appends copy a single small array.</p>
+ */
+final class PersistentTagVector extends AbstractList<BinaryTag> implements RandomAccess {
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  static final PersistentTagVector EMPTY = new PersistentTagVector(0, BITS, new Object[WIDTH], new Object[0]);
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentTagVector(final int size, final int shift, final Object[] root, final Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  /**
+   * Gets a persistent vector with the same elements as {@code tags}.
+   *
+   * @param tags the source list
+   * @return a persistent vector, which is {@code tags} itself if it is already persistent
+   */
+  static @NotNull PersistentTagVector copyOf(final @NotNull List<? extends BinaryTag> tags) {
+    if (tags instanceof PersistentTagVector) {
+      return (PersistentTagVector) tags;
+    }
+    final int size = tags.size();
+    if (size == 0) return EMPTY;
+    final Object[] elements = tags.toArray();
+    final int head = Math.min(WIDTH, size);
+    PersistentTagVector result = new PersistentTagVector(head, BITS, EMPTY.root, Arrays.copyOf(elements, head));
+    for (int start = WIDTH; start < size; start += WIDTH) {
+      result = result.pushTail(Arrays.copyOfRange(elements, start, Math.min(start + WIDTH, size)));
+    }
+    return result;
+  }
+
+  private int tailOffset() {
+    return this.size - this.tail.length;
+  }
+
+  // the leaf array holding the element at index
+  private Object[] leafFor(final int index) {
+    if (index >= this.tailOffset()) return this.tail;
+    Object[] node = this.root;
+    for (int level = this.shift; level > 0; level -= BITS) {
+      node = (Object[]) node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  @Override
+  public BinaryTag get(final int index) {
+    if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    return (BinaryTag) this.leafFor(index)[index & MASK];
+  }
+
+  @Override
+  public int size() {
+    return this.size;
+  }
+
+  /**
+   * Gets a vector with {@code tag} appended.
+   *
+   * @param tag the tag
+   * @return the new vector
+   */
+  @NotNull PersistentTagVector plus(final @NotNull BinaryTag tag) {
+    if (this.tail.length < WIDTH) {
+      final Object[] tail = Arrays.copyOf(this.tail, this.tail.length + 1);
+      tail[this.tail.length] = tag;
+      return new PersistentTagVector(this.size + 1, this.shift, this.root, tail);
+    }
+    return this.pushTail(new Object[]{tag});
+  }
+
+  // moves the full tail into the trie, and starts a new one
+  private PersistentTagVector pushTail(final Object[] tail) {
+    final int tailOffset = this.tailOffset();
+    final Object[] root;
+    int shift = this.shift;
+    if ((tailOffset >>> BITS) >= (1 << shift)) { // root is full
+      root = new Object[WIDTH];
+      root[0] = this.root;
+      root[1] = newPath(shift, this.tail);
+      shift += BITS;
+    } else {
+      root = pushTail(tailOffset, shift, this.root, this.tail);
+    }
+    return new PersistentTagVector(this.size + tail.length, shift, root, tail);
+  }
+
+  private static Object[] pushTail(final int tailOffset, final int level, final Object[] parent, final Object[] leaf) {
+    final Object[] node = parent.clone();
+    final int index = (tailOffset >>> level) & MASK;
+    if (level == BITS) {
+      node[index] = leaf;
+    } else {
+      final Object[] child = (Object[]) parent[index];
+      node[index] = child == null ? newPath(level - BITS, leaf) : pushTail(tailOffset, level - BITS, child, leaf);
+    }
+    return node;
+  }
+
+  private static Object[] newPath(final int level, final Object[] leaf) {
+    if (level == 0) return leaf;
+    final Object[] node = new Object[WIDTH];
+    node[0] = newPath(level - BITS, leaf);
+    return node;
+  }
+
+  /**
+   * Gets a vector with the element at {@code index} replaced.
+   *
+   * @param index the index
+   * @param tag the replacement tag
+   * @return the new vector
+   */
+  @NotNull PersistentTagVector with(final int index, final @NotNull BinaryTag tag) {
+    if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    if (index >= this.tailOffset()) {
+      final Object[] tail = this.tail.clone();
+      tail[index & MASK] = tag;
+      return new PersistentTagVector(this.size, this.shift, this.root, tail);
+    }
+    return new PersistentTagVector(this.size, this.shift, with(this.shift, this.root, index, tag), this.tail);
+  }
+
+  private static Object[] with(final int level, final Object[] parent, final int index, final BinaryTag tag) {
+    final Object[] node = parent.clone();
+    if (level == 0) {
+      node[index & MASK] = tag;
+    } else {
+      final int child = (index >>> level) & MASK;
+      node[child] = with(level - BITS, (Object[]) parent[child], index, tag);
+    }
+    return node;
+  }
+
+  /**
+   * Gets a vector without the element at {@code index}.
+   *
+   * <p>Removing the last element shares structure with this vector, other removals rebuild it.</p>
+   *
+   * @param index the index
+   * @return the new vector
+   */
+  @NotNull PersistentTagVector minus(final int index) {
+    if (index < 0 || index >= this.size) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+    if (index != this.size - 1) {
+      final Object[] elements = this.toArray();
+      System.arraycopy(elements, index + 1, elements, index, elements.length - index - 1);
+      return copyOf(new ArrayView(elements, elements.length - 1));
+    }
+    if (this.size == 1) return EMPTY;
+    if (this.tail.length > 1) {
+      return new PersistentTagVector(this.size - 1, this.shift, this.root, Arrays.copyOf(this.tail, this.tail.length - 1));
+    }
+    final Object[] tail = this.leafFor(this.size - 2);
+    Object[] root = popTail(this.size, this.shift, this.root);
+    int shift = this.shift;
+    if (root == null) {
+      root = EMPTY.root;
+    }
+    if (shift > BITS && root[1] == null) {
+      root = (Object[]) root[0];
+      shift -= BITS;
+    }
+    return new PersistentTagVector(this.size - 1, shift, root, tail);
+  }
+
+  private static Object@Nullable[] popTail(final int size, final int level, final Object[] parent) {
+    final int index = ((size - 2) >>> level) & MASK;
+    if (level > BITS) {
+      final Object[] child = popTail(size, level - BITS, (Object[]) parent[index]);
+      if (child == null && index == 0) return null;
+      final Object[] node = parent.clone();
+      node[index] = child;
+      return node;
+    } else if (index == 0) {
+      return null;
+    }
+    final Object[] node = parent.clone();
+    node[index] = null;
+    return node;
+  }
+
+  // a read-only view of the first elements of an array, used when rebuilding
+  private static final class ArrayView extends AbstractList<BinaryTag> {
+    private final Object[] elements;
+    private final int size;
+
+    ArrayView(final Object[] elements, final int size) {
+      this.elements = elements;
+      this.size = size;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return (BinaryTag) this.elements[index];
+    }
+
+    @Override
+    public int size() {
+      return this.size;
+    }
+
+    @Override
+    public Object[] toArray() {
+      return Arrays.copyOf(this.elements, this.size);
+    }
+  }
+}
@@ -0,0 +1,645 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.RandomAccess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An immutable list of numeric tags stored as a primitive array.
+ *
+ * <p>Elements are only boxed into tags when accessed through the {@link java.util.List} interface. The
+ * {@code *Value(int)} accessors convert elements exactly like the matching {@link NumberBinaryTag} methods.</p>
+ */
+abstract class PrimitiveTagList extends AbstractList<BinaryTag> implements RandomAccess {
+  /**
+   * Reads {@code length} elements of {@code type} directly into a primitive array.
+   *
+   * @param input the input
+   * @param type the element type
+   * @param length the number of elements
+   * @return the list, or {@code null} if {@code type} has no primitive storage
+   * @throws IOException if an exception occurs while reading
+   */
+  static @Nullable PrimitiveTagList read(final @NotNull DataInput input, final @NotNull BinaryTagType<? extends BinaryTag> type, final int length) throws IOException {
+    if (type == BinaryTagTypes.BYTE) {
+      final byte[] values = new byte[length];
+      input.readFully(values);
+      return new Bytes(values);
+    } else if (type == BinaryTagTypes.SHORT) {
+      final short[] values = new short[length];
+      readFully(input, values);
+      return new Shorts(values);
+    } else if (type == BinaryTagTypes.INT) {
+      final int[] values = new int[length];
+      readFully(input, values);
+      return new Ints(values);
+    } else if (type == BinaryTagTypes.LONG) {
+      final long[] values = new long[length];
+      readFully(input, values);
+      return new Longs(values);
+    } else if (type == BinaryTagTypes.FLOAT) {
+      final float[] values = new float[length];
+      readFully(input, values);
+      return new Floats(values);
+    } else if (type == BinaryTagTypes.DOUBLE) {
+      final double[] values = new double[length];
+      readFully(input, values);
+      return new Doubles(values);
+    }
+    return null;
+  }
+
+  static void readFully(final @NotNull DataInput input, final short@NotNull[] values) throws IOException {
+    if (input instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) input).readFully(values);
+    } else {
+      for (int i = 0, length = values.length; i < length; i++) {
+        values[i] = input.readShort();
+      }
+    }
+  }
+
+  static void readFully(final @NotNull DataInput input, final int@NotNull[] values) throws IOException {
+    if (input instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) input).readFully(values);
+    } else {
+      for (int i = 0, length = values.length; i < length; i++) {
+        values[i] = input.readInt();
+      }
+    }
+  }
+
+  static void readFully(final @NotNull DataInput input, final long@NotNull[] values) throws IOException {
+    if (input instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) input).readFully(values);
+    } else {
+      for (int i = 0, length = values.length; i < length; i++) {
+        values[i] = input.readLong();
+      }
+    }
+  }
+
+  static void readFully(final @NotNull DataInput input, final float@NotNull[] values) throws IOException {
+    if (input instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) input).readFully(values);
+    } else {
+      for (int i = 0, length = values.length; i < length; i++) {
+        values[i] = input.readFloat();
+      }
+    }
+  }
+
+  static void readFully(final @NotNull DataInput input, final double@NotNull[] values) throws IOException {
+    if (input instanceof ByteBufferDataInput) {
+      ((ByteBufferDataInput) input).readFully(values);
+    } else {
+      for (int i = 0, length = values.length; i < length; i++) {
+        values[i] = input.readDouble();
+      }
+    }
+  }
+
+  abstract byte byteValue(final int index);
+
+  abstract short shortValue(final int index);
+
+  abstract int intValue(final int index);
+
+  abstract long longValue(final int index);
+
+  abstract float floatValue(final int index);
+
+  abstract double doubleValue(final int index);
+
+  byte@NotNull[] toByteArray() {
+    final byte[] values = new byte[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.byteValue(i);
+    }
+    return values;
+  }
+
+  short@NotNull[] toShortArray() {
+    final short[] values = new short[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.shortValue(i);
+    }
+    return values;
+  }
+
+  int@NotNull[] toIntArray() {
+    final int[] values = new int[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.intValue(i);
+    }
+    return values;
+  }
+
+  long@NotNull[] toLongArray() {
+    final long[] values = new long[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.longValue(i);
+    }
+    return values;
+  }
+
+  float@NotNull[] toFloatArray() {
+    final float[] values = new float[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.floatValue(i);
+    }
+    return values;
+  }
+
+  double@NotNull[] toDoubleArray() {
+    final double[] values = new double[this.size()];
+    for (int i = 0; i < values.length; i++) {
+      values[i] = this.doubleValue(i);
+    }
+    return values;
+  }
+
+  /**
+   * Writes the payload of every element, without the list header.
+   *
+   * @param output the output
+   * @throws IOException if an exception occurs while writing
+   */
+  abstract void write(final @NotNull DataOutput output) throws IOException;
+
+  static final class Bytes extends PrimitiveTagList {
+    private final byte[] values;
+
+    Bytes(final byte@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return ByteBinaryTag.byteBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    int intValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    long longValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    byte@NotNull[] toByteArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      output.write(this.values);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Bytes) return Arrays.equals(this.values, ((Bytes) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final byte value : this.values) {
+        hashCode = 31 * hashCode + Byte.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+
+  static final class Shorts extends PrimitiveTagList {
+    private final short[] values;
+
+    Shorts(final short@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return ShortBinaryTag.shortBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return (byte) (this.values[index] & 0xff);
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    int intValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    long longValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    short@NotNull[] toShortArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      for (final short value : this.values) {
+        output.writeShort(value);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Shorts) return Arrays.equals(this.values, ((Shorts) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final short value : this.values) {
+        hashCode = 31 * hashCode + Short.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+
+  static final class Ints extends PrimitiveTagList {
+    private final int[] values;
+
+    Ints(final int@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return IntBinaryTag.intBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return (byte) (this.values[index] & 0xff);
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return (short) (this.values[index] & 0xffff);
+    }
+
+    @Override
+    int intValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    long longValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    int@NotNull[] toIntArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      for (final int value : this.values) {
+        output.writeInt(value);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Ints) return Arrays.equals(this.values, ((Ints) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final int value : this.values) {
+        hashCode = 31 * hashCode + Integer.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+
+  static final class Longs extends PrimitiveTagList {
+    private final long[] values;
+
+    Longs(final long@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return LongBinaryTag.longBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return (byte) (this.values[index] & 0xff);
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return (short) (this.values[index] & 0xffff);
+    }
+
+    @Override
+    int intValue(final int index) {
+      return (int) this.values[index];
+    }
+
+    @Override
+    long longValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    long@NotNull[] toLongArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      for (final long value : this.values) {
+        output.writeLong(value);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Longs) return Arrays.equals(this.values, ((Longs) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final long value : this.values) {
+        hashCode = 31 * hashCode + Long.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+
+  static final class Floats extends PrimitiveTagList {
+    private final float[] values;
+
+    Floats(final float@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return FloatBinaryTag.floatBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return (byte) (ShadyPines.floor(this.values[index]) & 0xff);
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return (short) (ShadyPines.floor(this.values[index]) & 0xffff);
+    }
+
+    @Override
+    int intValue(final int index) {
+      return ShadyPines.floor(this.values[index]);
+    }
+
+    @Override
+    long longValue(final int index) {
+      return (long) this.values[index];
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    float@NotNull[] toFloatArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      for (final float value : this.values) {
+        output.writeFloat(value);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Floats) return Arrays.equals(this.values, ((Floats) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final float value : this.values) {
+        hashCode = 31 * hashCode + Float.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+
+  static final class Doubles extends PrimitiveTagList {
+    private final double[] values;
+
+    Doubles(final double@NotNull[] values) {
+      this.values = values;
+    }
+
+    @Override
+    public BinaryTag get(final int index) {
+      return DoubleBinaryTag.doubleBinaryTag(this.values[index]);
+    }
+
+    @Override
+    public int size() {
+      return this.values.length;
+    }
+
+    @Override
+    byte byteValue(final int index) {
+      return (byte) (ShadyPines.floor(this.values[index]) & 0xff);
+    }
+
+    @Override
+    short shortValue(final int index) {
+      return (short) (ShadyPines.floor(this.values[index]) & 0xffff);
+    }
+
+    @Override
+    int intValue(final int index) {
+      return ShadyPines.floor(this.values[index]);
+    }
+
+    @Override
+    long longValue(final int index) {
+      return (long) Math.floor(this.values[index]);
+    }
+
+    @Override
+    float floatValue(final int index) {
+      return (float) this.values[index];
+    }
+
+    @Override
+    double doubleValue(final int index) {
+      return this.values[index];
+    }
+
+    @Override
+    double@NotNull[] toDoubleArray() {
+      return this.values.clone();
+    }
+
+    @Override
+    void write(final @NotNull DataOutput output) throws IOException {
+      for (final double value : this.values) {
+        output.writeDouble(value);
+      }
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (other instanceof Doubles) return Arrays.equals(this.values, ((Doubles) other).values);
+      return super.equals(other);
+    }
+
+    @Override
+    public int hashCode() {
+      int hashCode = 1;
+      for (final double value : this.values) {
+        hashCode = 31 * hashCode + Double.hashCode(value);
+      }
+      return hashCode;
+    }
+  }
+}
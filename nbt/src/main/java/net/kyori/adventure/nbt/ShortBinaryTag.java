@@ -40,7 +40,7 @@ public interface ShortBinaryTag extends NumberBinaryTag {
    * @since 4.14.0
    */
   static @NotNull ShortBinaryTag shortBinaryTag(final short value) {
-    return new ShortBinaryTagImpl(value);
+    return ShortBinaryTagImpl.of(value);
   }
 
   /**
@@ -54,7 +54,7 @@ public interface ShortBinaryTag extends NumberBinaryTag {
   @Deprecated
   @ApiStatus.ScheduledForRemoval(inVersion = "5.0.0")
   static @NotNull ShortBinaryTag of(final short value) {
-    return new ShortBinaryTagImpl(value);
+    return ShortBinaryTagImpl.of(value);
   }
 
   @Override
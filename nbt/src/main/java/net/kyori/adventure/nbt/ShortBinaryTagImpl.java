@@ -37,6 +37,27 @@ final class ShortBinaryTagImpl extends AbstractBinaryTag implements ShortBinaryT
     this.value = value;
   }
 
+  // small values are shared, like Integer.valueOf does
+  static @NotNull ShortBinaryTag of(final short value) {
+    if (value >= Cache.LOW && value <= Cache.HIGH) {
+      return Cache.VALUES[value - Cache.LOW];
+    }
+    return new ShortBinaryTagImpl(value);
+  }
+
+  // initialized on first use, so unused types do not allocate their cache
+  private static final class Cache {
+    static final int LOW = -128;
+    static final int HIGH = 1023;
+    static final ShortBinaryTagImpl[] VALUES = new ShortBinaryTagImpl[HIGH - LOW + 1];
+
+    static {
+      for (int i = 0; i < VALUES.length; i++) {
+        VALUES[i] = new ShortBinaryTagImpl((short) (LOW + i));
+      }
+    }
+  }
+
   @Override
   public short value() {
     return this.value;
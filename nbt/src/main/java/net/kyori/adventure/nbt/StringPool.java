@@ -0,0 +1,64 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A pool used to deduplicate strings while reading binary tags.
+ *
+ * <p>Pools may be shared between readers and threads, so implementations must be thread-safe.</p>
+ *
+ * @see BinaryTagIO.Reader.Builder#keyPool(StringPool)
+ * @see BinaryTagIO.Reader.Builder#stringPool(StringPool)
+ * @since 4.17.0
+ */
+@FunctionalInterface
+public interface StringPool {
+  /**
+   * Creates a pool that retains at most {@code maxSize} strings.
+   *
+   * <p>Strings are grouped into small buckets by hash. A new string evicts the least recently added
+   * string of its bucket. Strings returned by this pool have their hash code already computed.</p>
+   *
+   * @param maxSize the maximum number of retained strings, must be greater than {@code 0}
+   * @return a string pool
+   * @since 4.17.0
+   */
+  static @NotNull StringPool bounded(final int maxSize) {
+    if (maxSize <= 0) {
+      throw new IllegalArgumentException("The maximum size must be greater than zero");
+    }
+    return new BoundedStringPool(Integer.highestOneBit(maxSize));
+  }
+
+  /**
+   * Gets the canonical instance of {@code value}.
+   *
+   * @param value a decoded string
+   * @return an equal string, possibly {@code value} itself
+   * @since 4.17.0
+   */
+  @NotNull String intern(final @NotNull String value);
+}
@@ -92,6 +92,30 @@ public final class TagStringIO {
     }
   }
 
+  /**
+   * Read the string as a compound tag, passing its contents to a visitor instead of building a tag structure.
+   *
+   * <p>Compound tags are visited as they are parsed. Any other value, including lists, is parsed
+   * completely before being visited.</p>
+   *
+   * @param input Input data
+   * @param visitor the visitor to receive the contents of the tag
+   * @throws IOException on any syntax errors
+   * @since 4.17.0
+   */
+  public void visit(final String input, final BinaryTagVisitor visitor) throws IOException {
+    try {
+      final CharBuffer buffer = new CharBuffer(input);
+      final TagStringReader parser = new TagStringReader(buffer);
+      parser.legacy(this.acceptLegacy);
+      if (parser.compound(visitor) && buffer.skipWhitespace().hasMore()) {
+        throw new IOException("Document had trailing content after first CompoundTag");
+      }
+    } catch (final StringTagParseException ex) {
+      throw new IOException(ex);
+    }
+  }
+
   /**
    * Get a string representation of the provided tag.
    *
@@ -102,11 +126,26 @@ public final class TagStringIO {
    */
   public String asString(final CompoundBinaryTag input) throws IOException {
     final StringBuilder sb = new StringBuilder();
-    try (final TagStringWriter emit = new TagStringWriter(sb, this.indent)) {
+    this.writeTo(input, sb);
+    return sb.toString();
+  }
+
+  /**
+   * Writes a string representation of the provided tag to {@code output}.
+   *
+   * <p>The tag is emitted incrementally, rather than being built into a complete string first. A {@link Writer}
+   * is flushed, but remains open, after writing a tag.</p>
+   *
+   * @param input tag to serialize
+   * @param output the destination, such as a {@link Writer} or {@link StringBuilder}
+   * @throws IOException if any errors occur writing to {@code output}
+   * @since 4.17.0
+   */
+  public void writeTo(final @NotNull BinaryTag input, final @NotNull Appendable output) throws IOException {
+    try (final TagStringWriter emit = new TagStringWriter(output, this.indent)) {
       emit.legacy(this.emitLegacy);
       emit.writeTag(input);
     }
-    return sb.toString();
   }
 
   /**
@@ -120,10 +159,7 @@ public final class TagStringIO {
    * @since 4.0.0
    */
   public void toWriter(final CompoundBinaryTag input, final Writer dest) throws IOException {
-    try (final TagStringWriter emit = new TagStringWriter(dest, this.indent)) {
-      emit.legacy(this.emitLegacy);
-      emit.writeTag(input);
-    }
+    this.writeTo(input, dest);
   }
 
   /**
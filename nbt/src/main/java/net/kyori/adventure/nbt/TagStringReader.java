@@ -23,23 +23,45 @@
  */
 package net.kyori.adventure.nbt;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.stream.IntStream;
-import java.util.stream.LongStream;
+import java.util.Arrays;
 
+/**
+ * Parses SNBT.
+ *
+ * <p>Tokens are scanned directly from the underlying sequence. Numbers are parsed in place, and strings
+ * are only copied once, when the tag holding them is created.</p>
+ */
 final class TagStringReader {
   private static final int MAX_DEPTH = 512;
   private static final byte[] EMPTY_BYTE_ARRAY = new byte[0];
   private static final int[] EMPTY_INT_ARRAY = new int[0];
   private static final long[] EMPTY_LONG_ARRAY = new long[0];
+  private static final BinaryTagVisitor SKIPPING = new BinaryTagVisitor() {
+  };
+
+  private static final double[] DOUBLE_POWERS_OF_TEN = {
+    1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+    1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+  };
+  private static final float[] FLOAT_POWERS_OF_TEN = {1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f};
 
   private final CharBuffer buffer;
+  private final CharSequence sequence;
+  private final int length;
+  private final StringBuilder scratch = new StringBuilder();
   private boolean acceptLegacy;
   private int depth;
+  // results of the number scanners below
+  private long integer;
+  private long mantissa;
+  private int exponent;
+  private boolean negative;
+  private boolean exact;
 
   TagStringReader(final CharBuffer buffer) {
     this.buffer = buffer;
+    this.sequence = buffer.sequence();
+    this.length = this.sequence.length();
   }
 
   public CompoundBinaryTag compound() throws StringTagParseException {
@@ -58,10 +80,69 @@ final class TagStringReader {
     throw this.buffer.makeError("Unterminated compound tag!");
   }
 
+  /**
+   * Parses a compound tag, producing events for {@code visitor} instead of building a tag.
+   *
+   * <p>Compound tags are visited as they are parsed, while any other value is parsed completely before it is visited.</p>
+   *
+   * @param visitor the visitor
+   * @return {@code false} if the visitor requested to stop
+   * @throws StringTagParseException if the compound could not be parsed
+   */
+  public boolean compound(final BinaryTagVisitor visitor) throws StringTagParseException {
+    this.buffer.expect(Tokens.COMPOUND_BEGIN);
+    final BinaryTagVisitor.Action action = visitor.visitCompoundStart();
+    if (action == BinaryTagVisitor.Action.STOP) {
+      return false;
+    }
+    final BinaryTagVisitor target = action == BinaryTagVisitor.Action.CONTINUE ? visitor : SKIPPING;
+    if (!this.buffer.takeIf(Tokens.COMPOUND_END)) {
+      while (true) {
+        if (!this.buffer.hasMore()) {
+          throw this.buffer.makeError("Unterminated compound tag!");
+        }
+        if (!this.entry(this.key(), target)) {
+          return false;
+        }
+        if (this.separatorOrCompleteWith(Tokens.COMPOUND_END)) {
+          break;
+        }
+      }
+    }
+    if (target == visitor) {
+      visitor.visitCompoundEnd();
+    }
+    return true;
+  }
+
+  private boolean entry(final String key, final BinaryTagVisitor visitor) throws StringTagParseException {
+    if (this.buffer.skipWhitespace().hasMore() && this.buffer.peek() == Tokens.COMPOUND_BEGIN) {
+      final BinaryTagVisitor.Action action = visitor.visitCompoundEntry(BinaryTagTypes.COMPOUND, key);
+      if (action == BinaryTagVisitor.Action.STOP) {
+        return false;
+      }
+      if (this.depth++ > MAX_DEPTH) {
+        throw this.buffer.makeError("Exceeded maximum allowed depth of " + MAX_DEPTH + " when reading tag");
+      }
+      try {
+        return this.compound(action == BinaryTagVisitor.Action.CONTINUE ? visitor : SKIPPING);
+      } finally {
+        this.depth--;
+      }
+    }
+
+    final BinaryTag value = this.tag();
+    final BinaryTagVisitor.Action action = visitor.visitCompoundEntry(value.type(), key);
+    if (action == BinaryTagVisitor.Action.STOP) {
+      return false;
+    }
+    return action != BinaryTagVisitor.Action.CONTINUE || BinaryTagEvents.accept(value, visitor);
+  }
+
   public ListBinaryTag list() throws StringTagParseException {
     final ListBinaryTag.Builder<BinaryTag> builder = ListBinaryTag.builder();
     this.buffer.expect(Tokens.ARRAY_BEGIN);
-    final boolean prefixedIndex = this.acceptLegacy && this.buffer.peek() == '0' && this.buffer.peek(1) == ':';
+    final boolean prefixedIndex = this.acceptLegacy && this.buffer.hasMore(1) && this.buffer.peek() == '0' && this.buffer.peek(1) == ':';
     if (!prefixedIndex && this.buffer.takeIf(Tokens.ARRAY_END)) {
       return ListBinaryTag.empty();
     }
@@ -109,24 +190,15 @@ final class TagStringReader {
       return EMPTY_BYTE_ARRAY;
     }
 
-    final List<Byte> bytes = new ArrayList<>();
-    while (this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_BYTE);
-      try {
-        bytes.add(Byte.valueOf(value.toString()));
-      } catch (final NumberFormatException ex) {
-        throw this.buffer.makeError("All elements of a byte array must be bytes!");
-      }
-
-      if (this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        final byte[] result = new byte[bytes.size()];
-        for (int i = 0; i < bytes.size(); ++i) { // todo yikes, let's do less boxing
-          result[i] = bytes.get(i);
-        }
-        return result;
+    byte[] values = new byte[16];
+    int size = 0;
+    do {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
       }
-    }
-    throw this.buffer.makeError("Reached end of document without array close");
+      values[size++] = (byte) this.arrayElement(Tokens.TYPE_BYTE, true, Byte.MIN_VALUE, Byte.MAX_VALUE, "All elements of a byte array must be bytes!");
+    } while (!this.arraySeparatorOrEnd());
+    return size == values.length ? values : Arrays.copyOf(values, size);
   }
 
   private int[] intArray() throws StringTagParseException {
@@ -134,18 +206,15 @@ final class TagStringReader {
       return EMPTY_INT_ARRAY;
     }
 
-    final IntStream.Builder builder = IntStream.builder();
-    while (this.buffer.hasMore()) {
-      final BinaryTag value = this.tag();
-      if (!(value instanceof IntBinaryTag)) {
-        throw this.buffer.makeError("All elements of an int array must be ints!");
-      }
-      builder.add(((IntBinaryTag) value).intValue());
-      if (this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        return builder.build().toArray();
+    int[] values = new int[16];
+    int size = 0;
+    do {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
       }
-    }
-    throw this.buffer.makeError("Reached end of document without array close");
+      values[size++] = (int) this.arrayElement(Tokens.TYPE_INT, false, Integer.MIN_VALUE, Integer.MAX_VALUE, "All elements of an int array must be ints!");
+    } while (!this.arraySeparatorOrEnd());
+    return size == values.length ? values : Arrays.copyOf(values, size);
   }
 
   private long[] longArray() throws StringTagParseException {
@@ -153,52 +222,131 @@ final class TagStringReader {
       return EMPTY_LONG_ARRAY;
     }
 
-    final LongStream.Builder longs = LongStream.builder();
-    while (this.buffer.hasMore()) {
-      final CharSequence value = this.buffer.skipWhitespace().takeUntil(Tokens.TYPE_LONG);
-      try {
-        longs.add(Long.parseLong(value.toString()));
-      } catch (final NumberFormatException ex) {
-        throw this.buffer.makeError("All elements of a long array must be longs!");
+    long[] values = new long[16];
+    int size = 0;
+    do {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
       }
+      values[size++] = this.arrayElement(Tokens.TYPE_LONG, true, Long.MIN_VALUE, Long.MAX_VALUE, "All elements of a long array must be longs!");
+    } while (!this.arraySeparatorOrEnd());
+    return size == values.length ? values : Arrays.copyOf(values, size);
+  }
 
-      if (this.separatorOrCompleteWith(Tokens.ARRAY_END)) {
-        return longs.build().toArray();
+  /**
+   * Parses an integer element of an array, followed by its type suffix.
+   *
+   * @param suffix the type suffix
+   * @param suffixRequired whether the suffix must be present
+   * @param min the minimum value
+   * @param max the maximum value
+   * @param error the message for an invalid element
+   * @return the value
+   * @throws StringTagParseException if the element is not a valid integer of the expected type
+   */
+  private long arrayElement(final char suffix, final boolean suffixRequired, final long min, final long max, final String error) throws StringTagParseException {
+    final int start = this.skipWhitespace(this.buffer.index());
+    this.buffer.index(start);
+    int end = start;
+    while (end < this.length && isDigitOrSign(this.sequence.charAt(end))) {
+      end++;
+    }
+    if (!this.parseInteger(this.sequence, start, end, min, max)) {
+      throw this.buffer.makeError(error);
+    }
+    if (end < this.length && Character.toLowerCase(this.sequence.charAt(end)) == suffix) {
+      end++;
+    } else if (suffixRequired) {
+      throw this.buffer.makeError(error);
+    }
+    if (end < this.length && Tokens.id(this.sequence.charAt(end))) {
+      throw this.buffer.makeError(error);
+    }
+    this.buffer.index(end);
+    return this.integer;
+  }
+
+  // equivalent to separatorOrCompleteWith(ARRAY_END), without the intermediate whitespace skipping calls
+  private boolean arraySeparatorOrEnd() throws StringTagParseException {
+    int index = this.skipWhitespace(this.buffer.index());
+    if (index < this.length) {
+      final char c = this.sequence.charAt(index);
+      if (c == Tokens.ARRAY_END) {
+        this.buffer.index(index + 1);
+        return true;
+      } else if (c == Tokens.VALUE_SEPARATOR) {
+        index = this.skipWhitespace(index + 1);
+        if (index < this.length && this.sequence.charAt(index) == Tokens.ARRAY_END) {
+          this.buffer.index(index + 1);
+          return true;
+        }
+        this.buffer.index(index);
+        if (index < this.length) {
+          return false;
+        }
+      } else {
+        this.buffer.index(index);
+        throw this.buffer.makeError("Expected character '" + Tokens.VALUE_SEPARATOR + "' but got '" + c + "'");
       }
     }
+    this.buffer.index(index);
     throw this.buffer.makeError("Reached end of document without array close");
   }
 
+  private static boolean isDigitOrSign(final char c) {
+    return (c >= '0' && c <= '9') || c == '-' || c == '+';
+  }
+
+  private int skipWhitespace(int index) {
+    while (index < this.length && Character.isWhitespace(this.sequence.charAt(index))) {
+      index++;
+    }
+    return index;
+  }
+
   public String key() throws StringTagParseException {
     this.buffer.skipWhitespace();
-    final char starChar = this.buffer.peek();
-    try {
-      if (starChar == Tokens.SINGLE_QUOTE || starChar == Tokens.DOUBLE_QUOTE) {
-        return unescape(this.buffer.takeUntil(this.buffer.take()).toString());
+    if (!this.buffer.hasMore()) {
+      throw this.buffer.makeError("Expected a key but got EOF");
+    }
+    final char startChar = this.buffer.peek();
+    final String key;
+    if (startChar == Tokens.SINGLE_QUOTE || startChar == Tokens.DOUBLE_QUOTE) {
+      this.buffer.advance();
+      key = this.quoted(startChar);
+    } else {
+      final int start = this.buffer.index();
+      int end = start;
+      while (end < this.length && Tokens.id(this.sequence.charAt(end))) {
+        end++;
+      }
+      this.buffer.index(end);
+      if (this.acceptLegacy && end < this.length && this.sequence.charAt(end) != Tokens.COMPOUND_KEY_TERMINATOR) {
+        key = this.legacyKey(start);
+      } else {
+        key = this.sequence.subSequence(start, end).toString();
       }
+    }
+    this.buffer.expect(Tokens.COMPOUND_KEY_TERMINATOR);
+    return key;
+  }
 
-      final StringBuilder builder = new StringBuilder();
-      while (this.buffer.hasMore()) {
-        final char peek = this.buffer.peek();
-        if (!Tokens.id(peek)) {
-          if (this.acceptLegacy) {
-            // In legacy format, a key is any non-colon character, with escapes allowed
-            if (peek == Tokens.ESCAPE_MARKER) {
-              this.buffer.take(); // skip
-              continue;
-            } else if (peek != Tokens.COMPOUND_KEY_TERMINATOR) {
-              builder.append(this.buffer.take());
-              continue;
-            }
-          }
-          break;
-        }
+  // In legacy format, a key is any non-colon character, with escapes allowed
+  private String legacyKey(final int start) {
+    final StringBuilder builder = this.scratch;
+    builder.setLength(0);
+    builder.append(this.sequence, start, this.buffer.index());
+    while (this.buffer.hasMore()) {
+      final char peek = this.buffer.peek();
+      if (peek == Tokens.ESCAPE_MARKER) {
+        this.buffer.take(); // skip
+      } else if (peek != Tokens.COMPOUND_KEY_TERMINATOR) {
         builder.append(this.buffer.take());
+      } else {
+        break;
       }
-      return builder.toString();
-    } finally {
-      this.buffer.expect(Tokens.COMPOUND_KEY_TERMINATOR);
     }
+    return builder.toString();
   }
 
   public BinaryTag tag() throws StringTagParseException {
@@ -206,7 +354,10 @@ final class TagStringReader {
       throw this.buffer.makeError("Exceeded maximum allowed depth of " + MAX_DEPTH + " when reading tag");
     }
     try {
-      final char startToken = this.buffer.skipWhitespace().peek();
+      if (!this.buffer.skipWhitespace().hasMore()) {
+        throw this.buffer.makeError("Expected a value but got EOF");
+      }
+      final char startToken = this.buffer.peek();
       switch (startToken) {
         case Tokens.COMPOUND_BEGIN:
           return this.compound();
@@ -222,7 +373,7 @@ final class TagStringReader {
         case Tokens.DOUBLE_QUOTE:
           // definitely a string tag
           this.buffer.advance();
-          return StringBinaryTag.stringBinaryTag(unescape(this.buffer.takeUntil(startToken).toString()));
+          return StringBinaryTag.stringBinaryTag(this.quoted(startToken));
         default: // scalar
           return this.scalar();
       }
@@ -231,19 +382,82 @@ final class TagStringReader {
     }
   }
 
+  /**
+   * Reads the rest of a quoted string, removing simple escape sequences.
+   *
+   * @param quote the quote character that opened the string
+   * @return the string, without quotes
+   * @throws StringTagParseException if the string is not terminated
+   */
+  private String quoted(final char quote) throws StringTagParseException {
+    final int start = this.buffer.index();
+    StringBuilder builder = null;
+    int run = start;
+    for (int i = start; i < this.length; i++) {
+      final char c = this.sequence.charAt(i);
+      if (c == quote) {
+        this.buffer.index(i + 1);
+        if (builder == null) { // nothing to unescape
+          return this.sequence.subSequence(start, i).toString();
+        }
+        return builder.append(this.sequence, run, i).toString();
+      } else if (c == Tokens.ESCAPE_MARKER) {
+        if (builder == null) {
+          builder = this.scratch;
+          builder.setLength(0);
+        }
+        builder.append(this.sequence, run, i);
+        run = ++i; // keep the escaped character
+      }
+    }
+    throw this.buffer.makeError("No occurrence of " + quote + " was found");
+  }
+
   /**
    * A tag that is definitely some sort of scalar.
    *
    * <p>Does not detect quoted strings, so those should have been parsed already.</p>
    *
    * @return a parsed tag
+   * @throws StringTagParseException if an escape sequence is not terminated
    */
-  private BinaryTag scalar() {
-    final StringBuilder builder = new StringBuilder();
-    int noLongerNumericAt = -1;
+  private BinaryTag scalar() throws StringTagParseException {
+    final int start = this.buffer.index();
+    int firstNonNumeric = -1;
+    int end = start;
+    for (; end < this.length; end++) {
+      final char current = this.sequence.charAt(end);
+      if (current == Tokens.ESCAPE_MARKER) {
+        return this.escapedScalar(start);
+      } else if (!Tokens.id(current)) { // end of value
+        break;
+      }
+      if (firstNonNumeric == -1 && !Tokens.numeric(current)) {
+        firstNonNumeric = end;
+      }
+    }
+    this.buffer.index(end);
+    return this.scalar(this.sequence, start, end, firstNonNumeric);
+  }
+
+  // escape -- we are significantly more lenient than original format at the moment
+  private BinaryTag escapedScalar(final int start) throws StringTagParseException {
+    final StringBuilder builder = this.scratch;
+    builder.setLength(0);
+    builder.append(this.sequence, start, this.buffer.index());
+    int firstNonNumeric = -1;
+    for (int i = 0; i < builder.length(); i++) {
+      if (!Tokens.numeric(builder.charAt(i))) {
+        firstNonNumeric = i;
+        break;
+      }
+    }
     while (this.buffer.hasMore()) {
       char current = this.buffer.peek();
-      if (current == '\\') { // escape -- we are significantly more lenient than original format at the moment
+      if (current == Tokens.ESCAPE_MARKER) {
+        if (!this.buffer.hasMore(1)) {
+          throw this.buffer.makeError("Unterminated escape sequence");
+        }
         this.buffer.advance();
         current = this.buffer.take();
       } else if (Tokens.id(current)) {
@@ -252,62 +466,192 @@ final class TagStringReader {
         break;
       }
       builder.append(current);
-      if (noLongerNumericAt == -1 && !Tokens.numeric(current)) {
-        noLongerNumericAt = builder.length();
+      if (firstNonNumeric == -1 && !Tokens.numeric(current)) {
+        firstNonNumeric = builder.length() - 1;
       }
     }
+    return this.scalar(builder, 0, builder.length(), firstNonNumeric);
+  }
 
-    final int length = builder.length();
-    final String built = builder.toString();
-    if (noLongerNumericAt == length && length > 1) {
-      final char last = built.charAt(length - 1);
-      try {
-        switch (Character.toLowerCase(last)) { // try to read and return as a number
-          case Tokens.TYPE_BYTE:
-            return ByteBinaryTag.byteBinaryTag(Byte.parseByte(built.substring(0, length - 1)));
-          case Tokens.TYPE_SHORT:
-            return ShortBinaryTag.shortBinaryTag(Short.parseShort(built.substring(0, length - 1)));
-          case Tokens.TYPE_INT:
-            return IntBinaryTag.intBinaryTag(Integer.parseInt(built.substring(0, length - 1)));
-          case Tokens.TYPE_LONG:
-            return LongBinaryTag.longBinaryTag(Long.parseLong(built.substring(0, length - 1)));
-          case Tokens.TYPE_FLOAT:
-            final float floatValue = Float.parseFloat(built.substring(0, length - 1));
+  private BinaryTag scalar(final CharSequence value, final int start, final int end, final int firstNonNumeric) {
+    final int length = end - start;
+    if (firstNonNumeric == end - 1 && length > 1) {
+      final int numberEnd = end - 1;
+      switch (Character.toLowerCase(value.charAt(numberEnd))) { // try to read and return as a number
+        case Tokens.TYPE_BYTE:
+          if (this.parseInteger(value, start, numberEnd, Byte.MIN_VALUE, Byte.MAX_VALUE)) {
+            return ByteBinaryTag.byteBinaryTag((byte) this.integer);
+          }
+          break;
+        case Tokens.TYPE_SHORT:
+          if (this.parseInteger(value, start, numberEnd, Short.MIN_VALUE, Short.MAX_VALUE)) {
+            return ShortBinaryTag.shortBinaryTag((short) this.integer);
+          }
+          break;
+        case Tokens.TYPE_INT:
+          if (this.parseInteger(value, start, numberEnd, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+            return IntBinaryTag.intBinaryTag((int) this.integer);
+          }
+          break;
+        case Tokens.TYPE_LONG:
+          if (this.parseInteger(value, start, numberEnd, Long.MIN_VALUE, Long.MAX_VALUE)) {
+            return LongBinaryTag.longBinaryTag(this.integer);
+          }
+          break;
+        case Tokens.TYPE_FLOAT:
+          if (this.scanDecimal(value, start, numberEnd)) {
+            final float floatValue = this.floatValue(value, start, numberEnd);
             if (Float.isFinite(floatValue)) { // don't accept NaN and Infinity
               return FloatBinaryTag.floatBinaryTag(floatValue);
             }
-            break;
-          case Tokens.TYPE_DOUBLE:
-            final double doubleValue = Double.parseDouble(built.substring(0, length - 1));
+          }
+          break;
+        case Tokens.TYPE_DOUBLE:
+          if (this.scanDecimal(value, start, numberEnd)) {
+            final double doubleValue = this.doubleValue(value, start, numberEnd);
             if (Double.isFinite(doubleValue)) { // don't accept NaN and Infinity
               return DoubleBinaryTag.doubleBinaryTag(doubleValue);
             }
-            break;
-        }
-      } catch (final NumberFormatException ignored) {
-        // not a numeric tag of the appropriate type
-      }
-    } else if (noLongerNumericAt == -1) { // if we run out of content without an explicit value separator, then we're either an integer or string tag -- all others have a character at the end
-      try {
-        return IntBinaryTag.intBinaryTag(Integer.parseInt(built));
-      } catch (final NumberFormatException ex) {
-        if (built.indexOf('.') != -1) { // see if we have an unsuffixed double; always needs a dot
-          try {
-            return DoubleBinaryTag.doubleBinaryTag(Double.parseDouble(built));
-          } catch (final NumberFormatException ex2) {
-            // ignore
           }
-        }
+          break;
+        default:
+          break;
+      }
+    } else if (firstNonNumeric == -1) { // if we run out of content without an explicit value separator, then we're either an integer or string tag -- all others have a character at the end
+      if (this.parseInteger(value, start, end, Integer.MIN_VALUE, Integer.MAX_VALUE)) {
+        return IntBinaryTag.intBinaryTag((int) this.integer);
+      }
+      if (contains(value, start, end, '.') && this.scanDecimal(value, start, end)) { // see if we have an unsuffixed double; always needs a dot
+        return DoubleBinaryTag.doubleBinaryTag(this.doubleValue(value, start, end));
       }
     }
 
-    if (built.equalsIgnoreCase(Tokens.LITERAL_TRUE)) {
+    if (matchesIgnoreCase(value, start, end, Tokens.LITERAL_TRUE)) {
       return ByteBinaryTag.ONE;
-    } else if (built.equalsIgnoreCase(Tokens.LITERAL_FALSE)) {
+    } else if (matchesIgnoreCase(value, start, end, Tokens.LITERAL_FALSE)) {
       return ByteBinaryTag.ZERO;
     }
-    return StringBinaryTag.stringBinaryTag(built);
+    return StringBinaryTag.stringBinaryTag(value.subSequence(start, end).toString());
+  }
 
+  // parses [+-]?[0-9]+ into the integer field, returning whether it is a valid integer within [min, max]
+  private boolean parseInteger(final CharSequence value, final int start, final int end, final long min, final long max) {
+    if (start >= end) return false;
+    int i = start;
+    final char first = value.charAt(i);
+    final boolean negative = first == '-';
+    if (negative || first == '+') {
+      if (++i == end) return false;
+    }
+    // accumulate negatively, since the negative range is the larger one
+    final long limit = negative ? min : -max;
+    final long multiplyLimit = limit / 10;
+    long result = 0;
+    for (; i < end; i++) {
+      final int digit = value.charAt(i) - '0';
+      if (digit < 0 || digit > 9 || result < multiplyLimit) return false;
+      result *= 10;
+      if (result < limit + digit) return false;
+      result -= digit;
+    }
+    this.integer = negative ? result : -result;
+    return true;
+  }
+
+  // scans a decimal number, [+-]?([0-9]+\.?[0-9]*|\.[0-9]+)([eE][+-]?[0-9]+)?, returning whether it is valid
+  // up to 18 significant digits, which always fit in a long, are collected into the mantissa, which is scaled by the exponent
+  private boolean scanDecimal(final CharSequence value, final int start, final int end) {
+    int i = start;
+    boolean negative = false;
+    if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+      negative = value.charAt(i++) == '-';
+    }
+    long mantissa = 0;
+    int exponent = 0;
+    int significant = 0;
+    boolean exact = true;
+    boolean digits = false;
+    boolean fraction = false;
+    for (; i < end; i++) {
+      final char c = value.charAt(i);
+      if (c >= '0' && c <= '9') {
+        digits = true;
+        if (significant < 18) {
+          if (mantissa != 0 || c != '0') {
+            mantissa = mantissa * 10 + (c - '0');
+            significant++;
+          }
+          if (fraction) exponent--;
+        } else {
+          if (c != '0') exact = false;
+          if (!fraction) exponent++;
+        }
+      } else if (c == '.' && !fraction) {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    if (!digits) return false;
+    if (i < end) {
+      final char c = value.charAt(i++);
+      if (c != 'e' && c != 'E') return false;
+      boolean negativeExponent = false;
+      if (i < end && (value.charAt(i) == '-' || value.charAt(i) == '+')) {
+        negativeExponent = value.charAt(i++) == '-';
+      }
+      if (i == end) return false;
+      int explicit = 0;
+      for (; i < end; i++) {
+        final int digit = value.charAt(i) - '0';
+        if (digit < 0 || digit > 9) return false;
+        if (explicit < 100_000) explicit = explicit * 10 + digit;
+      }
+      exponent += negativeExponent ? -explicit : explicit;
+    }
+    this.mantissa = mantissa;
+    this.exponent = exponent;
+    this.negative = negative;
+    this.exact = exact;
+    return true;
+  }
+
+  // values exactly representable as a double, scaled by an exactly representable power of ten, are correctly rounded by one operation
+  private double doubleValue(final CharSequence value, final int start, final int end) {
+    if (this.mantissa == 0) {
+      return this.negative ? -0d : 0d;
+    }
+    if (this.exact && this.mantissa >= 0 && this.mantissa < (1L << 53) && Math.abs(this.exponent) < DOUBLE_POWERS_OF_TEN.length) {
+      final double result = this.exponent < 0 ? this.mantissa / DOUBLE_POWERS_OF_TEN[-this.exponent] : this.mantissa * DOUBLE_POWERS_OF_TEN[this.exponent];
+      return this.negative ? -result : result;
+    }
+    return Double.parseDouble(value.subSequence(start, end).toString());
+  }
+
+  private float floatValue(final CharSequence value, final int start, final int end) {
+    if (this.mantissa == 0) {
+      return this.negative ? -0f : 0f;
+    }
+    if (this.exact && this.mantissa >= 0 && this.mantissa < (1L << 24) && Math.abs(this.exponent) < FLOAT_POWERS_OF_TEN.length) {
+      final float result = this.exponent < 0 ? this.mantissa / FLOAT_POWERS_OF_TEN[-this.exponent] : this.mantissa * FLOAT_POWERS_OF_TEN[this.exponent];
+      return this.negative ? -result : result;
+    }
+    return Float.parseFloat(value.subSequence(start, end).toString());
+  }
+
+  private static boolean contains(final CharSequence value, final int start, final int end, final char c) {
+    for (int i = start; i < end; i++) {
+      if (value.charAt(i) == c) return true;
+    }
+    return false;
+  }
+
+  private static boolean matchesIgnoreCase(final CharSequence value, final int start, final int end, final String literal) {
+    if (end - start != literal.length()) return false;
+    for (int i = 0; i < literal.length(); i++) {
+      if (Character.toLowerCase(value.charAt(start + i)) != literal.charAt(i)) return false;
+    }
+    return true;
   }
 
   private boolean separatorOrCompleteWith(final char endCharacter) throws StringTagParseException {
@@ -318,27 +662,6 @@ final class TagStringReader {
     return this.buffer.takeIf(endCharacter);
   }
 
-  /**
-   * Remove simple escape sequences from a string.
-   *
-   * @param withEscapes input string with escapes
-   * @return string with escapes processed
-   */
-  private static String unescape(final String withEscapes) {
-    int escapeIdx = withEscapes.indexOf(Tokens.ESCAPE_MARKER);
-    if (escapeIdx == -1) { // nothing to unescape
-      return withEscapes;
-    }
-    int lastEscape = 0;
-    final StringBuilder output = new StringBuilder(withEscapes.length());
-    do {
-      output.append(withEscapes, lastEscape, escapeIdx);
-      lastEscape = escapeIdx + 1;
-    } while ((escapeIdx = withEscapes.indexOf(Tokens.ESCAPE_MARKER, lastEscape + 1)) != -1); // add one extra character to make sure we don't include escaped backslashes
-    output.append(withEscapes.substring(lastEscape));
-    return output.toString();
-  }
-
   public void legacy(final boolean acceptLegacy) {
     this.acceptLegacy = acceptLegacy;
   }
@@ -25,15 +25,28 @@ package net.kyori.adventure.nbt;
 
 import java.io.IOException;
 import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
 import java.util.Map;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * An emitter for the SNBT format.
  *
  * <p>Details on the format are described in the package documentation.</p>
+ *
+ * <p>Output is emitted incrementally. Unless the destination is a {@link StringBuilder}, it is staged
+ * in a buffer which is flushed whenever it fills and when the writer is closed. The buffer starts small, so
+ * writing a small tag does not allocate a full-size buffer.</p>
  */
 final class TagStringWriter implements AutoCloseable {
+  private static final int INITIAL_BUFFER_SIZE = 256;
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_LONG_LENGTH = 20;
   private final Appendable out;
+  private final @Nullable StringBuilder direct;
+  private char@Nullable[] buffer;
+  private int position;
   private final String indent; // TODO: pretty-printing
   private int level;
   /**
@@ -44,6 +57,8 @@ final class TagStringWriter implements AutoCloseable {
 
   TagStringWriter(final Appendable out, final String indent) {
     this.out = out;
+    this.direct = out instanceof StringBuilder ? (StringBuilder) out : null;
+    this.buffer = this.direct == null ? new char[INITIAL_BUFFER_SIZE] : null;
     this.indent = indent;
   }
 
@@ -69,13 +84,13 @@ final class TagStringWriter implements AutoCloseable {
     } else if (type == BinaryTagTypes.STRING) {
       return this.value(((StringBinaryTag) tag).value(), Tokens.EOF);
     } else if (type == BinaryTagTypes.BYTE) {
-      return this.value(Byte.toString(((ByteBinaryTag) tag).value()), Tokens.TYPE_BYTE);
+      return this.value(((ByteBinaryTag) tag).value(), Tokens.TYPE_BYTE);
     } else if (type == BinaryTagTypes.SHORT) {
-      return this.value(Short.toString(((ShortBinaryTag) tag).value()), Tokens.TYPE_SHORT);
+      return this.value(((ShortBinaryTag) tag).value(), Tokens.TYPE_SHORT);
     } else if (type == BinaryTagTypes.INT) {
-      return this.value(Integer.toString(((IntBinaryTag) tag).value()), Tokens.TYPE_INT);
+      return this.value(((IntBinaryTag) tag).value(), Tokens.TYPE_INT);
     } else if (type == BinaryTagTypes.LONG) {
-      return this.value(Long.toString(((LongBinaryTag) tag).value()), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
+      return this.value(((LongBinaryTag) tag).value(), Character.toUpperCase(Tokens.TYPE_LONG)); // special-case
     } else if (type == BinaryTagTypes.FLOAT) {
       return this.value(Float.toString(((FloatBinaryTag) tag).value()), Tokens.TYPE_FLOAT);
     } else if (type == BinaryTagTypes.DOUBLE) {
@@ -106,7 +121,7 @@ final class TagStringWriter implements AutoCloseable {
         this.newlineIndent();
       }
       if (this.legacy) {
-        this.out.append(String.valueOf(idx++));
+        this.append(idx++);
         this.appendSeparator(Tokens.COMPOUND_KEY_TERMINATOR);
       }
 
@@ -126,7 +141,7 @@ final class TagStringWriter implements AutoCloseable {
     final byte[] value = ByteArrayBinaryTagImpl.value(tag);
     for (int i = 0, length = value.length; i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Byte.toString(value[i]), byteArrayType);
+      this.value(value[i], byteArrayType);
     }
     this.endArray();
     return this;
@@ -142,7 +157,7 @@ final class TagStringWriter implements AutoCloseable {
     final int[] value = IntArrayBinaryTagImpl.value(tag);
     for (int i = 0, length = value.length; i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Integer.toString(value[i]), Tokens.TYPE_INT);
+      this.value(value[i], Tokens.TYPE_INT);
     }
     this.endArray();
     return this;
@@ -157,7 +172,7 @@ final class TagStringWriter implements AutoCloseable {
     final long[] value = LongArrayBinaryTagImpl.value(tag);
     for (int i = 0, length = value.length; i < length; i++) {
       this.printAndResetSeparator(true);
-      this.value(Long.toString(value[i]), Tokens.TYPE_LONG);
+      this.value(value[i], Tokens.TYPE_LONG);
     }
     this.endArray();
     return this;
@@ -168,14 +183,14 @@ final class TagStringWriter implements AutoCloseable {
   public TagStringWriter beginCompound() throws IOException {
     this.printAndResetSeparator(false);
     this.level++;
-    this.out.append(Tokens.COMPOUND_BEGIN);
+    this.append(Tokens.COMPOUND_BEGIN);
     return this;
   }
 
   public TagStringWriter endCompound() throws IOException {
     this.level--;
     this.newlineIndent();
-    this.out.append(Tokens.COMPOUND_END);
+    this.append(Tokens.COMPOUND_END);
     this.needsSeparator = true;
     return this;
   }
@@ -192,19 +207,28 @@ final class TagStringWriter implements AutoCloseable {
     if (valueType == Tokens.EOF) { // string doesn't have its type
       this.writeMaybeQuoted(value, true);
     } else {
-      this.out.append(value);
+      this.append(value);
       if (valueType != Tokens.TYPE_INT) {
-        this.out.append(valueType);
+        this.append(valueType);
       }
     }
     this.needsSeparator = true;
     return this;
   }
 
+  private TagStringWriter value(final long value, final char valueType) throws IOException {
+    this.append(value);
+    if (valueType != Tokens.TYPE_INT) {
+      this.append(valueType);
+    }
+    this.needsSeparator = true;
+    return this;
+  }
+
   public TagStringWriter beginList() throws IOException {
     this.printAndResetSeparator(false);
     this.level++;
-    this.out.append(Tokens.ARRAY_BEGIN);
+    this.append(Tokens.ARRAY_BEGIN);
     return this;
   }
 
@@ -213,18 +237,18 @@ final class TagStringWriter implements AutoCloseable {
     if (lineBreak) {
       this.newlineIndent();
     }
-    this.out.append(Tokens.ARRAY_END);
+    this.append(Tokens.ARRAY_END);
     this.needsSeparator = true;
     return this;
   }
 
   private TagStringWriter beginArray(final char type) throws IOException {
-    this.beginList()
-      .out.append(Character.toUpperCase(type))
-      .append(Tokens.ARRAY_SIGNATURE_SEPARATOR);
+    this.beginList();
+    this.append(Character.toUpperCase(type));
+    this.append(Tokens.ARRAY_SIGNATURE_SEPARATOR);
 
     if (this.prettyPrinting()) {
-      this.out.append(' ');
+      this.append(' ');
     }
 
     return this;
@@ -235,8 +259,9 @@ final class TagStringWriter implements AutoCloseable {
   }
 
   private void writeMaybeQuoted(final String content, boolean requireQuotes) throws IOException {
+    final int length = content.length();
     if (!requireQuotes) {
-      for (int i = 0; i < content.length(); ++i) {
+      for (int i = 0; i < length; ++i) {
         if (!Tokens.id(content.charAt(i))) {
           requireQuotes = true;
           break;
@@ -244,31 +269,27 @@ final class TagStringWriter implements AutoCloseable {
       }
     }
     if (requireQuotes) { // TODO: single quotes
-      this.out.append(Tokens.DOUBLE_QUOTE);
-      this.out.append(escape(content, Tokens.DOUBLE_QUOTE));
-      this.out.append(Tokens.DOUBLE_QUOTE);
-    } else {
-      this.out.append(content);
-    }
-  }
-
-  private static String escape(final String content, final char quoteChar) {
-    final StringBuilder output = new StringBuilder(content.length());
-    for (int i = 0; i < content.length(); ++i) {
-      final char c = content.charAt(i);
-      if (c == quoteChar || c == '\\') {
-        output.append(Tokens.ESCAPE_MARKER);
+      this.append(Tokens.DOUBLE_QUOTE);
+      int run = 0;
+      for (int i = 0; i < length; ++i) {
+        if (Tokens.escaped(content.charAt(i))) {
+          this.append(content, run, i);
+          this.append(Tokens.ESCAPE_MARKER);
+          run = i;
+        }
       }
-      output.append(c);
+      this.append(content, run, length);
+      this.append(Tokens.DOUBLE_QUOTE);
+    } else {
+      this.append(content);
     }
-    return output.toString();
   }
 
   private void printAndResetSeparator(final boolean pad) throws IOException {
     if (this.needsSeparator) {
-      this.out.append(Tokens.VALUE_SEPARATOR);
+      this.append(Tokens.VALUE_SEPARATOR);
       if (pad && this.prettyPrinting()) {
-        this.out.append(' ');
+        this.append(' ');
       }
       this.needsSeparator = false;
     }
@@ -291,19 +312,97 @@ final class TagStringWriter implements AutoCloseable {
 
   private void newlineIndent() throws IOException {
     if (this.prettyPrinting()) {
-      this.out.append(Tokens.NEWLINE);
+      this.append(Tokens.NEWLINE);
       for (int i = 0; i < this.level; ++i) {
-        this.out.append(this.indent);
+        this.append(this.indent);
       }
     }
   }
 
-  private Appendable appendSeparator(final char separatorChar) throws IOException {
-    this.out.append(separatorChar);
+  private void appendSeparator(final char separatorChar) throws IOException {
+    this.append(separatorChar);
     if (this.prettyPrinting()) {
-      this.out.append(' ');
+      this.append(' ');
+    }
+  }
+
+  // Output
+
+  private void append(final char c) throws IOException {
+    if (this.direct != null) {
+      this.direct.append(c);
+      return;
+    }
+    if (this.position == this.buffer.length) {
+      this.makeRoom();
+    }
+    this.buffer[this.position++] = c;
+  }
+
+  private void append(final String string) throws IOException {
+    this.append(string, 0, string.length());
+  }
+
+  private void append(final String string, final int start, final int end) throws IOException {
+    if (this.direct != null) {
+      this.direct.append(string, start, end);
+      return;
+    }
+    int i = start;
+    while (i < end) {
+      if (this.position == this.buffer.length) {
+        this.makeRoom();
+      }
+      final int count = Math.min(end - i, this.buffer.length - this.position);
+      string.getChars(i, i + count, this.buffer, this.position);
+      this.position += count;
+      i += count;
+    }
+  }
+
+  private void append(long value) throws IOException {
+    if (this.direct != null) {
+      this.direct.append(value);
+      return;
+    } else if (value == Long.MIN_VALUE) {
+      this.append(Long.toString(value));
+      return;
+    }
+    while (this.buffer.length - this.position < MAX_LONG_LENGTH) {
+      this.makeRoom();
+    }
+    if (value < 0) {
+      this.buffer[this.position++] = '-';
+      value = -value;
+    }
+    int digits = 1;
+    for (long remaining = value / 10; remaining != 0; remaining /= 10) {
+      digits++;
+    }
+    for (int i = this.position + digits - 1; i >= this.position; i--) {
+      this.buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    this.position += digits;
+  }
+
+  // grows the buffer up to its full size, and only then flushes it
+  private void makeRoom() throws IOException {
+    if (this.buffer.length < BUFFER_SIZE) {
+      this.buffer = Arrays.copyOf(this.buffer, Math.min(this.buffer.length * 2, BUFFER_SIZE));
+    } else {
+      this.flushBuffer();
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (this.position == 0) return;
+    if (this.out instanceof Writer) {
+      ((Writer) this.out).write(this.buffer, 0, this.position);
+    } else {
+      this.out.append(CharBuffer.wrap(this.buffer, 0, this.position));
     }
-    return this.out;
+    this.position = 0;
   }
 
   @Override
@@ -311,6 +410,7 @@ final class TagStringWriter implements AutoCloseable {
     if (this.level != 0) {
       throw new IllegalStateException("Document finished with unbalanced start and end objects");
     }
+    this.flushBuffer();
     if (this.out instanceof Writer) {
       ((Writer) this.out).flush();
     }
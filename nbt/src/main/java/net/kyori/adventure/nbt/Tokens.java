@@ -53,6 +53,27 @@ final class Tokens {
   static final String NEWLINE = System.getProperty("line.separator", "\n");
   static final char EOF = '\0';
 
+  // Character classes, for the ASCII range
+  private static final byte CLASS_ID = 1;
+  private static final byte CLASS_ESCAPED = 2;
+  private static final byte[] CLASSES = new byte[128];
+
+  static {
+    for (char c = 'a'; c <= 'z'; c++) {
+      CLASSES[c] |= CLASS_ID;
+      CLASSES[Character.toUpperCase(c)] |= CLASS_ID;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      CLASSES[c] |= CLASS_ID;
+    }
+    CLASSES['-'] |= CLASS_ID;
+    CLASSES['_'] |= CLASS_ID;
+    CLASSES['.'] |= CLASS_ID;
+    CLASSES['+'] |= CLASS_ID;
+    CLASSES[DOUBLE_QUOTE] |= CLASS_ESCAPED;
+    CLASSES[ESCAPE_MARKER] |= CLASS_ESCAPED;
+  }
+
   private Tokens() {
   }
 
@@ -65,11 +86,17 @@ final class Tokens {
    * @return identifier
    */
   static boolean id(final char c) {
-    return (c >= 'a' && c <= 'z')
-      || (c >= 'A' && c <= 'Z')
-      || (c >= '0' && c <= '9')
-      || c == '-' || c == '_'
-      || c == '.' || c == '+';
+    return c < CLASSES.length && (CLASSES[c] & CLASS_ID) != 0;
+  }
+
+  /**
+   * Return if a character must be preceded by an {@link #ESCAPE_MARKER} in a double-quoted string.
+   *
+   * @param c the character
+   * @return whether the character must be escaped
+   */
+  static boolean escaped(final char c) {
+    return c < CLASSES.length && (CLASSES[c] & CLASS_ESCAPED) != 0;
   }
 
   /**
@@ -28,12 +28,16 @@ import java.io.IOException;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-final class TrackingDataInput implements DataInput, BinaryTagScope {
+class TrackingDataInput implements DataInput, BinaryTagScope {
   private static final int MAX_DEPTH = 512;
   private final DataInput input;
   private final long maxLength;
-  private long counter;
+  long counter;
   private int depth;
+  private @Nullable StringPool keys;
+  private @Nullable StringPool strings;
+  private byte@Nullable[] bytes;
+  private char@Nullable[] chars;
 
   TrackingDataInput(final DataInput input, final long maxLength) {
     this.input = input;
@@ -56,6 +60,45 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
     }
   }
 
+  // deduplicate decoded strings through these pools, if present
+  TrackingDataInput pools(final @Nullable StringPool keys, final @Nullable StringPool strings) {
+    this.keys = keys;
+    this.strings = strings;
+    return this;
+  }
+
+  /**
+   * Reads a compound key, deduplicated through the key pool of a tracking input.
+   *
+   * @param input the input
+   * @return the key
+   * @throws IOException if an exception occurs while reading
+   */
+  static String readKey(final DataInput input) throws IOException {
+    final String key = input.readUTF();
+    if (input instanceof TrackingDataInput) {
+      final @Nullable StringPool keys = ((TrackingDataInput) input).keys;
+      if (keys != null) return keys.intern(key);
+    }
+    return key;
+  }
+
+  /**
+   * Reads the value of a string tag, deduplicated through the string pool of a tracking input.
+   *
+   * @param input the input
+   * @return the value
+   * @throws IOException if an exception occurs while reading
+   */
+  static String readString(final DataInput input) throws IOException {
+    final String value = input.readUTF();
+    if (input instanceof TrackingDataInput) {
+      final @Nullable StringPool strings = ((TrackingDataInput) input).strings;
+      if (strings != null) return strings.intern(value);
+    }
+    return value;
+  }
+
   public DataInput input() {
     return this.input;
   }
@@ -99,7 +142,9 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
 
   @Override
   public int skipBytes(final int n) throws IOException {
-    return this.input.skipBytes(n);
+    final int skipped = this.input.skipBytes(n);
+    this.counter += skipped;
+    return skipped;
   }
 
   @Override
@@ -173,9 +218,30 @@ final class TrackingDataInput implements DataInput, BinaryTagScope {
 
   @Override
   public @NotNull String readUTF() throws IOException {
-    final String result = this.input.readUTF();
-    this.counter += (result.length() * 2L) + 2; // not entirely accurate, but the closest we can get without doing implementation details
-    return result;
+    final int length = this.readUnsignedShort();
+    final byte[] bytes = this.bytes(length);
+    this.readFully(bytes, 0, length);
+    return ModifiedUtf8.decode(bytes, 0, length, this.chars(length));
+  }
+
+  // scratch space for encoded strings, reused across reads
+  final byte[] bytes(final int length) {
+    byte[] bytes = this.bytes;
+    if (bytes == null || bytes.length < length) {
+      bytes = new byte[Math.max(length, 64)];
+      this.bytes = bytes;
+    }
+    return bytes;
+  }
+
+  // scratch space for decoded strings, reused across reads
+  final char[] chars(final int length) {
+    char[] chars = this.chars;
+    if (chars == null || chars.length < length) {
+      chars = new char[Math.max(length, 64)];
+      this.chars = chars;
+    }
+    return chars;
   }
 
   @Override
@@ -0,0 +1,115 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * An interner backed by weak maps, striped by hash to reduce contention.
+ */
+final class WeakBinaryTagInterner implements BinaryTagInterner {
+  private static final int STRIPES = 16;
+  private final Stripe[] stripes = new Stripe[STRIPES];
+
+  WeakBinaryTagInterner() {
+    for (int i = 0; i < STRIPES; i++) {
+      this.stripes[i] = new Stripe();
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T extends BinaryTag> @NotNull T intern(final @NotNull T tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.type();
+    if (type == BinaryTagTypes.COMPOUND) {
+      return (T) this.canonical(this.children((CompoundBinaryTag) tag));
+    } else if (type == BinaryTagTypes.LIST) {
+      return (T) this.canonical(this.children((ListBinaryTag) tag));
+    } else if (type == BinaryTagTypes.STRING || type == BinaryTagTypes.BYTE_ARRAY || type == BinaryTagTypes.INT_ARRAY || type == BinaryTagTypes.LONG_ARRAY) {
+      return (T) this.canonical(tag);
+    }
+    return tag; // numbers are no larger than a reference to a shared instance
+  }
+
+  // A compound with canonical children, or the compound itself if its children already are
+  private CompoundBinaryTag children(final CompoundBinaryTag tag) {
+    Map<String, BinaryTag> interned = null;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      final BinaryTag value = entry.getValue();
+      final BinaryTag canonical = this.intern(value);
+      if (interned == null && canonical != value) {
+        interned = new HashMap<>(tag.size() * 4 / 3 + 1);
+        for (final Map.Entry<String, ? extends BinaryTag> previous : tag) {
+          if (previous.getKey().equals(entry.getKey())) break;
+          interned.put(previous.getKey(), previous.getValue());
+        }
+      }
+      if (interned != null) interned.put(entry.getKey(), canonical);
+    }
+    return interned == null ? tag : new CompoundBinaryTagImpl(interned);
+  }
+
+  // A list with canonical elements, or the list itself if its elements already are
+  private ListBinaryTag children(final ListBinaryTag tag) {
+    final BinaryTagType<? extends BinaryTag> type = tag.elementType();
+    if (type.numeric()) return tag;
+    List<BinaryTag> interned = null;
+    for (int i = 0, size = tag.size(); i < size; i++) {
+      final BinaryTag element = tag.get(i);
+      final BinaryTag canonical = this.intern(element);
+      if (interned == null && canonical != element) {
+        interned = new ArrayList<>(size);
+        for (int j = 0; j < i; j++) interned.add(tag.get(j));
+      }
+      if (interned != null) interned.add(canonical);
+    }
+    return interned == null ? tag : ListBinaryTag.listBinaryTag(type, interned);
+  }
+
+  private BinaryTag canonical(final BinaryTag tag) {
+    final Stripe stripe = this.stripes[spread(tag.hashCode()) & (STRIPES - 1)];
+    synchronized (stripe) {
+      final @Nullable WeakReference<BinaryTag> reference = stripe.tags.get(tag);
+      final @Nullable BinaryTag canonical = reference == null ? null : reference.get();
+      if (canonical != null) return canonical;
+      stripe.tags.put(tag, new WeakReference<>(tag));
+      return tag;
+    }
+  }
+
+  private static int spread(final int hash) {
+    return hash ^ (hash >>> 16);
+  }
+
+  private static final class Stripe {
+    final Map<BinaryTag, WeakReference<BinaryTag>> tags = new WeakHashMap<>();
+  }
+}
@@ -23,9 +23,11 @@
  */
 package net.kyori.adventure.nbt;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -84,6 +86,22 @@ class BigTest {
 
   @Test
   void testCorrectValues() {
+    assertCorrectValues(compound);
+  }
+
+  @Test
+  void testLazyMatchesEager() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(compound, output);
+    final CompoundBinaryTag lazy = BinaryTagIO.reader().readLazy(ByteBuffer.wrap(output.toByteArray()));
+    assertCorrectValues(lazy);
+    assertEquals(compound, lazy);
+    assertEquals(lazy, compound);
+    assertEquals(compound.hashCode(), lazy.hashCode());
+    assertEquals(compound.keySet(), lazy.keySet());
+  }
+
+  private static void assertCorrectValues(final CompoundBinaryTag compound) {
     assertEquals(Short.MAX_VALUE, compound.getShort("shortTest"));
     assertEquals(Long.MAX_VALUE, compound.getLong("longTest"));
     assertEquals(Byte.MAX_VALUE, compound.getByte("byteTest"));
@@ -0,0 +1,117 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BinaryTagFingerprintTest {
+  @Test
+  void testOrderIndependent() {
+    final CompoundBinaryTag a = CompoundBinaryTag.builder().putInt("x", 1).putString("y", "two").putByte("z", (byte) 3).build();
+    final CompoundBinaryTag b = CompoundBinaryTag.builder().putByte("z", (byte) 3).putString("y", "two").putInt("x", 1).build();
+    assertEquals(BinaryTagFingerprint.of(a), BinaryTagFingerprint.of(b));
+    assertEquals(BinaryTagFingerprint.of(a), BinaryTagFingerprint.of(CompoundBinaryTag.empty().putInt("x", 1).putString("y", "two").putByte("z", (byte) 3)));
+  }
+
+  @Test
+  void testStable() {
+    // fingerprints must not change between releases, as they may be persisted
+    assertEquals("e7b328b97d4923133caa0df3c0d46861", BinaryTagFingerprint.of(CompoundBinaryTag.builder().putString("id", "minecraft:stone").putByte("Count", (byte) 64).build()).asHexString());
+  }
+
+  @Test
+  void testDistinguishesContents() {
+    final Set<BinaryTagFingerprint> fingerprints = new HashSet<>();
+    for (final BinaryTag tag : Arrays.asList(
+      ByteBinaryTag.byteBinaryTag((byte) 1),
+      ShortBinaryTag.shortBinaryTag((short) 1),
+      IntBinaryTag.intBinaryTag(1),
+      LongBinaryTag.longBinaryTag(1),
+      FloatBinaryTag.floatBinaryTag(1),
+      DoubleBinaryTag.doubleBinaryTag(1),
+      StringBinaryTag.stringBinaryTag("1"),
+      StringBinaryTag.stringBinaryTag(""),
+      ByteArrayBinaryTag.byteArrayBinaryTag((byte) 1),
+      IntArrayBinaryTag.intArrayBinaryTag(1),
+      LongArrayBinaryTag.longArrayBinaryTag(1),
+      ListBinaryTag.intListBinaryTag(1),
+      ListBinaryTag.intListBinaryTag(1, 2),
+      ListBinaryTag.intListBinaryTag(2, 1),
+      ListBinaryTag.empty(),
+      CompoundBinaryTag.empty(),
+      CompoundBinaryTag.empty().putInt("1", 1),
+      CompoundBinaryTag.empty().putInt("2", 1),
+      CompoundBinaryTag.empty().putInt("1", 2),
+      CompoundBinaryTag.empty().putInt("1", 1).putInt("2", 2),
+      CompoundBinaryTag.empty().putInt("1", 2).putInt("2", 1)
+    )) {
+      fingerprints.add(BinaryTagFingerprint.of(tag));
+    }
+    assertEquals(21, fingerprints.size());
+  }
+
+  @Test
+  void testEqualAcrossRepresentations() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .put("ints", ListBinaryTag.intListBinaryTag(1, 2, 3))
+      .put("boxed", ListBinaryTag.from(Arrays.asList(DoubleBinaryTag.doubleBinaryTag(0.5), DoubleBinaryTag.doubleBinaryTag(-0.0))))
+      .put("nested", CompoundBinaryTag.builder().putString("name", "\u2603").putLongArray("l", new long[]{1, 2}).build())
+      .build();
+    final CompoundBinaryTag sameContents = CompoundBinaryTag.builder()
+      .put("nested", CompoundBinaryTag.builder().putLongArray("l", new long[]{1, 2}).putString("name", "\u2603").build())
+      .put("boxed", ListBinaryTag.doubleListBinaryTag(0.5, -0.0))
+      .put("ints", ListBinaryTag.from(Arrays.asList(IntBinaryTag.intBinaryTag(1), IntBinaryTag.intBinaryTag(2), IntBinaryTag.intBinaryTag(3))))
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    final CompoundBinaryTag lazy = BinaryTagIO.reader().readLazy(ByteBuffer.wrap(output.toByteArray()));
+    assertEquals(BinaryTagFingerprint.of(tag), BinaryTagFingerprint.of(sameContents));
+    assertEquals(BinaryTagFingerprint.of(tag), BinaryTagFingerprint.of(lazy));
+    assertNotEquals(BinaryTagFingerprint.of(tag), BinaryTagFingerprint.of(tag.putInt("extra", 0)));
+  }
+
+  @Test
+  void testEqualEmptyLists() {
+    final ListBinaryTag emptied = ListBinaryTag.from(Collections.singletonList(IntBinaryTag.intBinaryTag(1))).remove(0, null);
+    assertEquals(ListBinaryTag.empty(), emptied);
+    assertEquals(BinaryTagFingerprint.of(ListBinaryTag.empty()), BinaryTagFingerprint.of(emptied));
+  }
+
+  @Test
+  void testCached() {
+    final CompoundBinaryTag tag = CompoundBinaryTag.empty().putString("key", "value");
+    assertSame(BinaryTagFingerprint.of(tag), BinaryTagFingerprint.of(tag));
+  }
+}
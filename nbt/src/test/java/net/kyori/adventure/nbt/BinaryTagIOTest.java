@@ -25,10 +25,49 @@ package net.kyori.adventure.nbt;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipException;
+import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class BinaryTagIOTest {
   @Test
@@ -70,4 +109,595 @@ class BinaryTagIOTest {
     BinaryTagIO.writer().writeNameless(tag, output);
     assertEquals(tag, BinaryTagIO.reader().readNameless(new ByteArrayInputStream(output.toByteArray())));
   }
+
+  @Test
+  void testWriteAndReadByteBuffer() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .putIntArray("values", new int[]{1, 2, 3})
+      .put("nested", CompoundBinaryTag.builder().putDouble("x", 4.5d).build())
+      .put("pos", ListBinaryTag.doubleListBinaryTag(1.5d, -2d, 3.25d))
+      .put("shorts", ListBinaryTag.shortListBinaryTag((short) 7, (short) -7))
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    output.write(42); // trailing data after the tag
+
+    final byte[] bytes = output.toByteArray();
+    final ByteBuffer heap = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+    assertEquals(tag, BinaryTagIO.reader().read(heap));
+    assertEquals(bytes.length - 1, heap.position());
+    assertEquals(42, heap.get());
+
+    final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+    direct.put(bytes).flip();
+    assertEquals(tag, BinaryTagIO.reader().read(direct));
+  }
+
+  @Test
+  void testNamelessAndNamedReadByteBuffer() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .build();
+    final ByteArrayOutputStream nameless = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNameless(tag, nameless);
+    assertEquals(tag, BinaryTagIO.reader().readNameless(ByteBuffer.wrap(nameless.toByteArray())));
+
+    final ByteArrayOutputStream named = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNamed(new AbstractMap.SimpleImmutableEntry<>("root", tag), named);
+    final Map.Entry<String, CompoundBinaryTag> entry = BinaryTagIO.reader().readNamed(ByteBuffer.wrap(named.toByteArray()));
+    assertEquals("root", entry.getKey());
+    assertEquals(tag, entry.getValue());
+  }
+
+  @Test
+  void testReadTruncatedByteBuffer() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    final ByteBuffer truncated = ByteBuffer.wrap(output.toByteArray(), 0, output.size() - 2);
+    assertThrows(EOFException.class, () -> BinaryTagIO.reader().read(truncated));
+    assertEquals(0, truncated.position());
+  }
+
+  @Test
+  void testReadByteBufferSizeLimit() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putByteArray("data", new byte[1024])
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(512).read(ByteBuffer.wrap(output.toByteArray())));
+  }
+
+  @Test
+  void testReadFileChannel() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .putLong("time", 1264099775885L)
+      .build();
+    final Path file = Files.createTempFile("adventure-nbt", ".dat");
+    try {
+      BinaryTagIO.writer().write(tag, file);
+      try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+        assertEquals(tag, BinaryTagIO.reader().read(channel));
+        assertEquals(channel.size(), channel.position());
+      }
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  @Test
+  void testReadLazy() throws IOException {
+    final CompoundBinaryTag nested = CompoundBinaryTag.builder()
+      .putString("name", "Eggbert")
+      .putFloat("value", 0.5f)
+      .build();
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:stone")
+      .putByte("Count", (byte) 64)
+      .put("tag", nested)
+      .put("empty", CompoundBinaryTag.empty())
+      .put("list", ListBinaryTag.builder().add(IntBinaryTag.intBinaryTag(1)).add(IntBinaryTag.intBinaryTag(2)).build())
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    output.write(42); // trailing data after the tag
+
+    final ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+    final CompoundBinaryTag lazy = BinaryTagIO.reader().readLazy(buffer);
+    assertEquals(42, buffer.get());
+
+    assertEquals("minecraft:stone", lazy.getString("id"));
+    assertEquals(64, lazy.getByte("Count"));
+    assertEquals(nested, lazy.getCompound("tag"));
+    assertEquals(CompoundBinaryTag.empty(), lazy.getCompound("empty"));
+    assertEquals(5, lazy.size());
+    assertEquals(tag, lazy);
+    assertEquals(tag.hashCode(), lazy.hashCode());
+
+    final CompoundBinaryTag edited = lazy.putInt("Damage", 3);
+    assertEquals(tag.putInt("Damage", 3), edited);
+    assertFalse(lazy.keySet().contains("Damage"));
+  }
+
+  @Test
+  void testReadLazyValidatesEagerly() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .put("nested", CompoundBinaryTag.builder().putByteArray("data", new byte[1024]).build())
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNameless(tag, output);
+    final byte[] bytes = output.toByteArray();
+    assertEquals(tag, BinaryTagIO.reader().readNamelessLazy(ByteBuffer.wrap(bytes)));
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(512).readNamelessLazy(ByteBuffer.wrap(bytes)));
+    assertThrows(EOFException.class, () -> BinaryTagIO.reader().readNamelessLazy(ByteBuffer.wrap(bytes, 0, bytes.length - 1)));
+  }
+
+  @Test
+  void testWriteLazyCopiesPayload() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:stone")
+      .put("tag", CompoundBinaryTag.builder().putInt("Damage", 3).build())
+      .build();
+    final byte[] bytes = this.write(tag);
+    final CompoundBinaryTag lazy = BinaryTagIO.reader().readLazy(ByteBuffer.wrap(bytes));
+    bytes[3] = 99; // the type of the first entry, which can no longer be decoded after validation
+    assertArrayEquals(bytes, this.write(lazy));
+    assertEquals(bytes.length, BinaryTagIO.writer().encodedSize(lazy));
+    assertThrows(IllegalArgumentException.class, lazy::size);
+  }
+
+  @Test
+  void testReadWithPools() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:stone")
+      .put("tag", CompoundBinaryTag.builder().putString("id", "minecraft:stone").build())
+      .build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    final byte[] bytes = output.toByteArray();
+
+    final BinaryTagIO.Reader reader = BinaryTagIO.readerBuilder()
+      .keyPool(StringPool.bounded(64))
+      .stringPool(StringPool.bounded(64))
+      .build();
+    final CompoundBinaryTag first = reader.read(new ByteArrayInputStream(bytes));
+    final CompoundBinaryTag second = reader.read(ByteBuffer.wrap(bytes));
+    assertEquals(tag, first);
+    assertEquals(tag, second);
+    assertSame(key(first, "id"), key(second, "id"));
+    assertSame(key(first, "id"), key(first.getCompound("tag"), "id"));
+    assertSame(first.getString("id"), second.getCompound("tag").getString("id"));
+
+    final CompoundBinaryTag unpooled = BinaryTagIO.reader().read(new ByteArrayInputStream(bytes));
+    assertNotSame(first.getString("id"), unpooled.getString("id"));
+  }
+
+  private static String key(final CompoundBinaryTag tag, final String key) {
+    for (final String candidate : tag.keySet()) {
+      if (candidate.equals(key)) return candidate;
+    }
+    throw new AssertionError("missing key " + key);
+  }
+
+  @Test
+  void testReaderBuilderSizeLimit() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder().putByteArray("data", new byte[4096]).build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    final BinaryTagIO.Reader reader = BinaryTagIO.readerBuilder().sizeLimit(1024).build();
+    assertThrows(IOException.class, () -> reader.read(new ByteArrayInputStream(output.toByteArray())));
+    assertEquals(tag, BinaryTagIO.readerBuilder().sizeLimit(1024).unlimited().build().read(new ByteArrayInputStream(output.toByteArray())));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.readerBuilder().sizeLimit(0));
+  }
+
+  @Test
+  void testCompressionLevelsAndStrategies() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .put("numbers", ListBinaryTag.intListBinaryTag(1, 2, 3, 4, 5, 6, 7, 8))
+      .build();
+    for (final BinaryTagIO.Compression compression : new BinaryTagIO.Compression[]{
+      BinaryTagIO.Compression.gzip(0),
+      BinaryTagIO.Compression.gzip(9, Deflater.FILTERED),
+      BinaryTagIO.Compression.zlib(1),
+      BinaryTagIO.Compression.zlib(Deflater.DEFAULT_COMPRESSION, Deflater.HUFFMAN_ONLY)
+    }) {
+      for (int i = 0; i < 3; i++) { // exercise pooled codecs
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BinaryTagIO.writer().write(tag, output, compression);
+        assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray()), compression));
+      }
+    }
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.gzip(10));
+    assertThrows(IllegalArgumentException.class, () -> BinaryTagIO.Compression.zlib(5, 7));
+  }
+
+  @Test
+  void testCompressionCompatibleWithJdkStreams() throws IOException {
+    final byte[] data = "compressed data compressed data compressed data".getBytes(StandardCharsets.UTF_8);
+
+    final ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+    try (final OutputStream os = new GZIPOutputStream(gzip)) {
+      os.write(data);
+    }
+    assertArrayEquals(data, remaining(BinaryTagIO.Compression.GZIP.decompress(ByteBuffer.wrap(gzip.toByteArray()))));
+    try (final InputStream is = BinaryTagIO.Compression.GZIP.decompress(new ByteArrayInputStream(gzip.toByteArray()))) {
+      assertArrayEquals(data, remaining(IOStreamUtil.readFully(is, -1, null)));
+    }
+
+    final ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+    try (final OutputStream os = BinaryTagIO.Compression.GZIP.compress(gzipped)) {
+      os.write(data);
+    }
+    try (final InputStream is = new GZIPInputStream(new ByteArrayInputStream(gzipped.toByteArray()))) {
+      assertArrayEquals(data, remaining(IOStreamUtil.readFully(is, -1, null)));
+    }
+    try (final InputStream is = new InflaterInputStream(new ByteArrayInputStream(remaining(BinaryTagIO.Compression.ZLIB.compress(ByteBuffer.wrap(data)))))) {
+      assertArrayEquals(data, remaining(IOStreamUtil.readFully(is, -1, null)));
+    }
+  }
+
+  @Test
+  void testCompressionCorruptGzipTrailer() throws IOException {
+    final byte[] gzip = remaining(BinaryTagIO.Compression.GZIP.compress(ByteBuffer.wrap(new byte[]{1, 2, 3, 4})));
+    gzip[gzip.length - 5] ^= 1; // crc
+    assertThrows(ZipException.class, () -> BinaryTagIO.Compression.GZIP.decompress(ByteBuffer.wrap(gzip)));
+    assertThrows(ZipException.class, () -> {
+      try (final InputStream is = BinaryTagIO.Compression.GZIP.decompress(new ByteArrayInputStream(gzip))) {
+        IOStreamUtil.readFully(is, -1, null);
+      }
+    });
+  }
+
+  @Test
+  void testReadCompressedByteBuffer() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("name", "test")
+      .putLongArray("longs", new long[]{1, 2, 3})
+      .build();
+    for (final BinaryTagIO.Compression compression : new BinaryTagIO.Compression[]{BinaryTagIO.Compression.NONE, BinaryTagIO.Compression.GZIP, BinaryTagIO.Compression.ZLIB}) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      BinaryTagIO.writer().write(tag, output, compression);
+      final byte[] bytes = output.toByteArray();
+      final ByteBuffer heap = ByteBuffer.allocate(bytes.length + 1).put(bytes).put((byte) 42);
+      heap.flip();
+      assertEquals(tag, BinaryTagIO.reader().read(heap, compression));
+      if (compression != BinaryTagIO.Compression.NONE) {
+        assertEquals(bytes.length, heap.position());
+      }
+
+      final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length).put(bytes);
+      direct.flip();
+      assertEquals(tag, BinaryTagIO.reader().read(direct, compression));
+    }
+
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNameless(tag, output, BinaryTagIO.Compression.GZIP);
+    assertEquals(tag, BinaryTagIO.reader().readNameless(ByteBuffer.wrap(output.toByteArray()), BinaryTagIO.Compression.GZIP));
+  }
+
+  @Test
+  void testReadCompressedByteBufferSizeLimit() throws IOException {
+    final ByteBuffer compressed = BinaryTagIO.Compression.ZLIB.compress(ByteBuffer.allocate(1 << 20));
+    final IOException ex = assertThrows(IOException.class, () -> BinaryTagIO.readerBuilder().sizeLimit(1024).build().read(compressed, BinaryTagIO.Compression.ZLIB));
+    assertTrue(ex.getMessage().contains("maximum allowed size"));
+  }
+
+  @Test
+  void testCustomCompression() throws IOException {
+    // xor every byte, standing in for a third-party codec
+    final BinaryTagIO.Compression xor = new BinaryTagIO.Compression() {
+      @Override
+      protected @NotNull InputStream decompress(final @NotNull InputStream is) {
+        return new FilterInputStream(is) {
+          @Override
+          public int read() throws IOException {
+            final int b = super.read();
+            return b == -1 ? -1 : b ^ 0x5a;
+          }
+
+          @Override
+          public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int read = super.read(b, off, len);
+            for (int i = 0; i < read; i++) {
+              b[off + i] ^= 0x5a;
+            }
+            return read;
+          }
+        };
+      }
+
+      @Override
+      protected @NotNull OutputStream compress(final @NotNull OutputStream os) {
+        return new FilterOutputStream(os) {
+          @Override
+          public void write(final int b) throws IOException {
+            super.write(b ^ 0x5a);
+          }
+        };
+      }
+    };
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder().putString("name", "test").build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output, xor);
+    assertEquals(tag, BinaryTagIO.reader().read(new ByteArrayInputStream(output.toByteArray()), xor));
+    assertEquals(tag, BinaryTagIO.reader().read(ByteBuffer.wrap(output.toByteArray()), xor));
+    assertArrayEquals(new byte[]{0x5a ^ 1, 0x5a ^ 2}, remaining(xor.compress(ByteBuffer.wrap(new byte[]{1, 2}))));
+  }
+
+  @Test
+  void testCustomCompressionSizeLimit() {
+    // a codec that decompresses into endless zeros
+    final long[] decompressed = new long[1];
+    final BinaryTagIO.Compression endless = new BinaryTagIO.Compression() {
+      @Override
+      protected @NotNull InputStream decompress(final @NotNull InputStream is) {
+        return new InputStream() {
+          @Override
+          public int read() {
+            decompressed[0]++;
+            return 0;
+          }
+
+          @Override
+          public int read(final byte[] b, final int off, final int len) {
+            decompressed[0] += len;
+            Arrays.fill(b, off, off + len, (byte) 0);
+            return len;
+          }
+        };
+      }
+
+      @Override
+      protected @NotNull OutputStream compress(final @NotNull OutputStream os) {
+        return os;
+      }
+    };
+    assertThrows(IOException.class, () -> BinaryTagIO.reader(4096).read(ByteBuffer.allocate(1), endless));
+    assertTrue(decompressed[0] <= 4097, "decompressed " + decompressed[0] + " bytes");
+  }
+
+  @Test
+  void testReadAllAndWriteAllFiles() throws Exception {
+    final Path directory = Files.createTempDirectory("adventure-nbt");
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final Map<Path, CompoundBinaryTag> tags = new LinkedHashMap<>();
+      for (int i = 0; i < 50; i++) {
+        tags.put(directory.resolve(i + ".dat"), CompoundBinaryTag.builder().putInt("index", i).putString("name", "player" + i).build());
+      }
+      final List<BinaryTagIO.BulkResult<Path>> written = BinaryTagIO.writer().writeAll(tags, BinaryTagIO.Compression.GZIP, executor).get();
+      assertEquals(new ArrayList<>(tags.keySet()), written.stream().map(BinaryTagIO.BulkResult::value).collect(Collectors.toList()));
+
+      final List<Path> paths = new ArrayList<>(tags.keySet());
+      paths.add(3, directory.resolve("missing.dat"));
+      final List<BinaryTagIO.BulkResult<CompoundBinaryTag>> read = BinaryTagIO.reader().readAll(paths, BinaryTagIO.Compression.GZIP, executor).get();
+      assertEquals(paths.size(), read.size());
+      for (int i = 0; i < paths.size(); i++) {
+        final BinaryTagIO.BulkResult<CompoundBinaryTag> result = read.get(i);
+        assertEquals(i, result.index());
+        if (i == 3) {
+          assertFalse(result.successful());
+          assertTrue(result.error() instanceof NoSuchFileException);
+          assertThrows(NoSuchFileException.class, result::orThrow);
+        } else {
+          assertTrue(result.successful());
+          assertEquals(tags.get(paths.get(i)), result.orThrow());
+        }
+      }
+    } finally {
+      executor.shutdown();
+      try (final Stream<Path> files = Files.list(directory)) {
+        for (final Path file : (Iterable<Path>) files::iterator) {
+          Files.delete(file);
+        }
+      }
+      Files.delete(directory);
+    }
+  }
+
+  @Test
+  void testReadAllAndWriteAllBuffers() throws Exception {
+    final ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      final List<CompoundBinaryTag> tags = new ArrayList<>();
+      for (int i = 0; i < 50; i++) {
+        tags.add(CompoundBinaryTag.builder().putInt("index", i).putIntArray("data", new int[i]).build());
+      }
+      for (final BinaryTagIO.Compression compression : new BinaryTagIO.Compression[]{BinaryTagIO.Compression.NONE, BinaryTagIO.Compression.ZLIB}) {
+        final List<ByteBuffer> buffers = new ArrayList<>();
+        for (final BinaryTagIO.BulkResult<ByteBuffer> result : BinaryTagIO.writer().writeAll(tags, compression, executor).get()) {
+          buffers.add(result.orThrow());
+        }
+        buffers.add(ByteBuffer.wrap(new byte[]{1, 2, 3}));
+        final List<BinaryTagIO.BulkResult<CompoundBinaryTag>> read = BinaryTagIO.reader().readAllBuffers(buffers, compression, executor).get();
+        for (int i = 0; i < tags.size(); i++) {
+          assertEquals(tags.get(i), read.get(i).value());
+          assertEquals(0, buffers.get(i).position());
+        }
+        assertFalse(read.get(tags.size()).successful());
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  @Test
+  void testReadAllRejected() throws Exception {
+    final List<BinaryTagIO.BulkResult<CompoundBinaryTag>> read = BinaryTagIO.reader().readAllBuffers(Collections.singletonList(ByteBuffer.allocate(0)), BinaryTagIO.Compression.NONE, command -> {
+      throw new RejectedExecutionException();
+    }).get();
+    assertEquals(1, read.size());
+    assertFalse(read.get(0).successful());
+    assertTrue(BinaryTagIO.reader().readAll(Collections.emptyList(), BinaryTagIO.Compression.NONE, Runnable::run).get().isEmpty());
+  }
+
+  @Test
+  void testReadAllError() {
+    final BinaryTagIO.Compression overflowing = new BinaryTagIO.Compression() {
+      @Override
+      protected @NotNull InputStream decompress(final @NotNull InputStream is) {
+        throw new StackOverflowError();
+      }
+
+      @Override
+      protected @NotNull OutputStream compress(final @NotNull OutputStream os) {
+        throw new StackOverflowError();
+      }
+    };
+    final ExecutionException thrown = assertThrows(ExecutionException.class, () -> BinaryTagIO.reader().readAllBuffers(Collections.singletonList(ByteBuffer.allocate(0)), overflowing, Runnable::run).get());
+    assertTrue(thrown.getCause() instanceof StackOverflowError);
+  }
+
+  @Test
+  void testEncodedSizeAndByteBufferWrite() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putByte("b", (byte) 1)
+      .putShort("s", (short) 2)
+      .putInt("i", 3)
+      .putLong("l", 4L)
+      .putFloat("f", 5f)
+      .putDouble("d", 6d)
+      .putString("str", "h\u00e9llo \u2603 \u0000")
+      .putByteArray("ba", new byte[]{1, 2, 3})
+      .putIntArray("ia", new int[]{1, 2})
+      .putLongArray("la", new long[]{1})
+      .put("ints", ListBinaryTag.intListBinaryTag(1, 2, 3))
+      .put("strings", ListBinaryTag.from(Arrays.asList(StringBinaryTag.stringBinaryTag("a"), StringBinaryTag.stringBinaryTag("\u00df"))))
+      .put("empty", ListBinaryTag.empty())
+      .put("nested", CompoundBinaryTag.builder().put("deeper", CompoundBinaryTag.empty()).build())
+      .build();
+    for (final CompoundBinaryTag candidate : new CompoundBinaryTag[]{tag, tag.putString("str", "changed"), BinaryTagIO.reader().readLazy(ByteBuffer.wrap(this.write(tag)))}) {
+      final byte[] expected = this.write(candidate);
+      assertEquals(expected.length, BinaryTagIO.writer().encodedSize(candidate));
+      assertEquals(expected.length - 2, BinaryTagIO.writer().encodedSizeNameless(candidate));
+
+      final ByteBuffer buffer = ByteBuffer.allocate(expected.length + 2).order(ByteOrder.LITTLE_ENDIAN);
+      buffer.position(1);
+      BinaryTagIO.writer().write(candidate, buffer);
+      assertEquals(expected.length + 1, buffer.position());
+      buffer.flip().position(1);
+      assertArrayEquals(expected, remaining(buffer));
+    }
+  }
+
+  @Test
+  void testByteBufferWriteOverflow() {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder().putString("key", "value").build();
+    final ByteBuffer buffer = ByteBuffer.allocate((int) BinaryTagIO.writer().encodedSize(tag) - 1);
+    assertThrows(BufferOverflowException.class, () -> BinaryTagIO.writer().write(tag, buffer));
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void testDecoderChunked() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putByte("b", (byte) 1)
+      .putShort("s", (short) 2)
+      .putInt("i", 3)
+      .putLong("l", 4L)
+      .putFloat("f", 5f)
+      .putDouble("d", 6d)
+      .putString("str", "h\u00e9llo \u2603 \u0000")
+      .putByteArray("ba", new byte[]{1, 2, 3})
+      .putIntArray("ia", new int[]{1, 2})
+      .putLongArray("la", new long[]{1, -1})
+      .put("ints", ListBinaryTag.intListBinaryTag(1, 2, 3))
+      .put("doubles", ListBinaryTag.doubleListBinaryTag(1.5, -2.5))
+      .put("strings", ListBinaryTag.from(Arrays.asList(StringBinaryTag.stringBinaryTag("a"), StringBinaryTag.stringBinaryTag("\u00df"))))
+      .put("lists", ListBinaryTag.from(Arrays.asList(ListBinaryTag.empty(), ListBinaryTag.intListBinaryTag(7))))
+      .put("compounds", ListBinaryTag.from(Arrays.asList(CompoundBinaryTag.empty(), CompoundBinaryTag.builder().putInt("x", 1).build())))
+      .put("empty", ListBinaryTag.empty())
+      .put("nested", CompoundBinaryTag.builder().put("deeper", CompoundBinaryTag.builder().putString("k", "v").build()).build())
+      .build();
+    final byte[] bytes = this.write(tag);
+    for (final int size : new int[]{1, 2, 3, 7, 64, bytes.length}) {
+      final BinaryTagIO.Decoder decoder = BinaryTagIO.reader().decoder();
+      for (int offset = 0; offset < bytes.length; offset += size) {
+        assertFalse(decoder.done());
+        final ByteBuffer chunk = ByteBuffer.wrap(bytes, offset, Math.min(size, bytes.length - offset)).slice().order(ByteOrder.LITTLE_ENDIAN);
+        assertEquals(offset + size >= bytes.length, decoder.decode(chunk));
+        assertFalse(chunk.hasRemaining());
+      }
+      assertTrue(decoder.done());
+      assertEquals(tag, decoder.result());
+      assertEquals(bytes.length, decoder.consumed());
+    }
+  }
+
+  @Test
+  void testDecoderLeavesTrailingBytes() throws IOException {
+    final CompoundBinaryTag first = CompoundBinaryTag.builder().putString("key", "first").build();
+    final CompoundBinaryTag second = CompoundBinaryTag.builder().putString("key", "second").build();
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().writeNameless(first, output);
+    BinaryTagIO.writer().writeNameless(second, output);
+    final ByteBuffer buffer = ByteBuffer.wrap(output.toByteArray());
+
+    final BinaryTagIO.Decoder decoder = BinaryTagIO.reader().decoderNameless();
+    assertThrows(IllegalStateException.class, decoder::result);
+    assertTrue(decoder.decode(buffer));
+    assertEquals(first, decoder.result());
+    assertTrue(buffer.hasRemaining());
+    assertTrue(decoder.decode(buffer)); // already done, nothing consumed
+    assertTrue(buffer.hasRemaining());
+    decoder.reset();
+    assertTrue(decoder.decode(buffer));
+    assertEquals(second, decoder.result());
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  void testDecoderLimits() throws IOException {
+    final byte[] large = this.write(CompoundBinaryTag.builder().putByteArray("data", new byte[4096]).build());
+    final BinaryTagIO.Decoder limited = BinaryTagIO.readerBuilder().sizeLimit(1024).build().decoder();
+    final ByteBuffer header = ByteBuffer.wrap(large, 0, 16);
+    assertThrows(IOException.class, () -> limited.decode(header)); // rejected from the array length alone
+    assertThrows(IllegalStateException.class, () -> limited.decode(ByteBuffer.wrap(large)));
+    limited.reset();
+    final byte[] small = this.write(CompoundBinaryTag.builder().putInt("i", 1).build());
+    assertTrue(limited.decode(ByteBuffer.wrap(small)));
+
+    CompoundBinaryTag deep = CompoundBinaryTag.empty();
+    for (int i = 0; i < 600; i++) {
+      deep = CompoundBinaryTag.builder().put("c", deep).build();
+    }
+    final byte[] deepBytes = this.write(deep);
+    final BinaryTagIO.Decoder unlimited = BinaryTagIO.unlimitedReader().decoder();
+    assertThrows(IOException.class, () -> unlimited.decode(ByteBuffer.wrap(deepBytes)));
+
+    final BinaryTagIO.Decoder wrongRoot = BinaryTagIO.reader().decoder();
+    assertThrows(IOException.class, () -> wrongRoot.decode(ByteBuffer.wrap(new byte[]{8, 0, 0})));
+  }
+
+  @Test
+  void testDecoderWithPools() throws IOException {
+    final byte[] bytes = this.write(CompoundBinaryTag.builder().putString("id", "minecraft:stone").build());
+    final BinaryTagIO.Reader reader = BinaryTagIO.readerBuilder()
+      .keyPool(StringPool.bounded(64))
+      .stringPool(StringPool.bounded(64))
+      .build();
+    final CompoundBinaryTag read = reader.read(ByteBuffer.wrap(bytes));
+    final BinaryTagIO.Decoder decoder = reader.decoder();
+    assertTrue(decoder.decode(ByteBuffer.wrap(bytes)));
+    assertSame(key(read, "id"), key(decoder.result(), "id"));
+    assertSame(read.getString("id"), decoder.result().getString("id"));
+  }
+
+  private byte[] write(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    return output.toByteArray();
+  }
+
+  private static byte[] remaining(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.get(bytes);
+    return bytes;
+  }
 }
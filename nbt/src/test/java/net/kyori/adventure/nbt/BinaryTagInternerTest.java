@@ -0,0 +1,78 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class BinaryTagInternerTest {
+  private static CompoundBinaryTag item(final String id) {
+    return CompoundBinaryTag.builder()
+      .putString("id", id)
+      .putByte("Count", (byte) 1)
+      .put("tag", CompoundBinaryTag.builder()
+        .put("display", CompoundBinaryTag.builder().putString("Name", "Sword").build())
+        .put("Lore", ListBinaryTag.from(Arrays.asList(StringBinaryTag.stringBinaryTag("a"), StringBinaryTag.stringBinaryTag("b"))))
+        .build())
+      .build();
+  }
+
+  @Test
+  void testInternsEqualTrees() {
+    final BinaryTagInterner interner = BinaryTagInterner.weak();
+    final CompoundBinaryTag first = item("sword");
+    final CompoundBinaryTag second = item("sword");
+    assertNotSame(first, second);
+    assertSame(first, interner.intern(first));
+    assertSame(first, interner.intern(second));
+  }
+
+  @Test
+  void testSharesEqualSubtrees() {
+    final BinaryTagInterner interner = BinaryTagInterner.weak();
+    final CompoundBinaryTag first = interner.intern(item("sword"));
+    final CompoundBinaryTag second = interner.intern(item("axe"));
+    assertEquals(item("axe"), second);
+    assertSame(first.getCompound("tag"), second.getCompound("tag"));
+    assertSame(first.getCompound("tag").getList("Lore"), second.getCompound("tag").getList("Lore"));
+  }
+
+  @Test
+  void testReaderInterns() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(item("sword"), output);
+    final byte[] bytes = output.toByteArray();
+    final BinaryTagIO.Reader reader = BinaryTagIO.readerBuilder().interner(BinaryTagInterner.weak()).build();
+    final CompoundBinaryTag first = reader.read(ByteBuffer.wrap(bytes));
+    assertSame(first, reader.read(ByteBuffer.wrap(bytes)));
+    assertNotSame(first, BinaryTagIO.reader().read(ByteBuffer.wrap(bytes)));
+  }
+}
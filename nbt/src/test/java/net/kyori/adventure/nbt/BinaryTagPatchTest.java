@@ -0,0 +1,139 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BinaryTagPatchTest {
+  private static final String ITEM_SNBT = "{id:\"minecraft:chest\",Count:1b,tag:{Items:[{Slot:0b,id:\"stone\",Count:64b},{Slot:1b,id:\"dirt\",Count:3b}],display:{Name:\"Box\"}},pos:[I;1,2,3]}";
+  private static final CompoundBinaryTag ITEM = snbt(ITEM_SNBT);
+
+  @Test
+  void testEqualTreesProduceEmptyPatch() {
+    assertTrue(BinaryTagPatch.diff(ITEM, ITEM).isEmpty());
+    assertTrue(BinaryTagPatch.diff(ITEM, snbt(ITEM_SNBT)).isEmpty());
+    assertSame(ITEM, BinaryTagPatch.empty().apply(ITEM));
+  }
+
+  @Test
+  void testSetAndRemove() {
+    assertRoundTrip(ITEM, ITEM.putByte("Count", (byte) 2).remove("pos").putString("extra", "x"));
+    assertRoundTrip(ITEM, ITEM.putInt("pos", 4));
+  }
+
+  @Test
+  void testNestedCompound() {
+    final CompoundBinaryTag changed = ITEM.put("tag", ITEM.getCompound("tag").put("display", CompoundBinaryTag.builder().putString("Name", "Crate").build()));
+    final BinaryTagPatch patch = assertRoundTrip(ITEM, changed);
+    assertEquals("BinaryTagPatch[patch tag BinaryTagPatch[patch display BinaryTagPatch[set Name = " + StringBinaryTag.stringBinaryTag("Crate") + "]]]", patch.toString());
+  }
+
+  @Test
+  void testListElementPatch() {
+    final ListBinaryTag items = ITEM.getCompound("tag").getList("Items");
+    final ListBinaryTag changedItems = items.set(1, items.getCompound(1).putByte("Count", (byte) 4), null);
+    final CompoundBinaryTag changed = ITEM.put("tag", ITEM.getCompound("tag").put("Items", changedItems));
+    final BinaryTagPatch patch = assertRoundTrip(ITEM, changed);
+    assertTrue(patch.toString().contains("patch 1 BinaryTagPatch[set Count"), patch.toString());
+  }
+
+  @Test
+  void testListSplice() {
+    final CompoundBinaryTag from = snbt("{l:[1,2,3,4,5]}");
+    assertRoundTrip(from, snbt("{l:[1,2,9,9,4,5]}"));
+    assertRoundTrip(from, snbt("{l:[1,5]}"));
+    assertRoundTrip(from, snbt("{l:[1,2,3,4,5,6]}"));
+    assertRoundTrip(from, snbt("{l:[0,1,2,3,4,5]}"));
+    assertRoundTrip(from, snbt("{l:[7,8]}"));
+    assertRoundTrip(from, snbt("{l:[\"a\"]}"));
+    assertRoundTrip(from, snbt("{l:[]}"));
+    assertRoundTrip(snbt("{l:[{a:1},{a:2}]}"), snbt("{l:[{a:1},{b:2},{a:3}]}"));
+  }
+
+  @Test
+  void testApplyToMismatchedTag() {
+    final BinaryTagPatch patch = BinaryTagPatch.diff(snbt("{a:{b:1}}"), snbt("{a:{b:2}}"));
+    assertThrows(IllegalArgumentException.class, () -> patch.apply(snbt("{a:1}")));
+    final BinaryTagPatch splice = BinaryTagPatch.diff(snbt("{l:[1,2,3]}"), snbt("{l:[1,2,3,4]}"));
+    assertThrows(IllegalArgumentException.class, () -> splice.apply(snbt("{l:[1]}")));
+  }
+
+  @Test
+  void testReadInvalid() {
+    assertThrows(IOException.class, () -> read(new byte[]{0, 0, 0, 1, 9, 0, 1, 'a'}));
+    assertThrows(IOException.class, () -> read(new byte[]{0, 0, 0, 1, 4, 0, 1, 'l', 0, 0, 0, 1, 5, 0, 0, 0, 0, -1, -1, -1, -1, 0, 0, 0, 0}));
+    assertThrows(IOException.class, () -> read(new byte[]{0, 0, 0, 1, 4, 0, 1, 'l', 0, 0, 0, 1, 5, -1, -1, -1, -1, 0, 0, 0, 0, 0, 0, 0, 0}));
+  }
+
+  @Test
+  void testReadOversized() throws IOException {
+    assertThrows(IOException.class, () -> read(new byte[]{0x7f, -1, -1, -1}));
+    assertThrows(IOException.class, () -> read(new byte[]{0, 0, 0, 1, 4, 0, 1, 'l', 0x7f, -1, -1, -1}));
+    assertThrows(IOException.class, () -> read(new byte[]{0, 0, 0, 1, 4, 0, 1, 'l', 0, 0, 0, 1, 5, 0, 0, 0, 0, 0, 0, 0, 0, 0x7f, -1, -1, -1}));
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagPatch.diff(CompoundBinaryTag.empty(), snbt("{a:\"" + String.join("", Collections.nCopies(64, "x")) + "\"}")).write(new DataOutputStream(output));
+    assertThrows(IOException.class, () -> BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray())), 32));
+    assertFalse(BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray())), 128).isEmpty());
+  }
+
+  private static BinaryTagPatch read(final byte[] input) throws IOException {
+    return BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(input)));
+  }
+
+  private static BinaryTagPatch assertRoundTrip(final CompoundBinaryTag from, final CompoundBinaryTag to) {
+    final BinaryTagPatch patch = BinaryTagPatch.diff(from, to);
+    assertFalse(patch.isEmpty());
+    assertEquals(to, patch.apply(from));
+    try {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      patch.write(new DataOutputStream(output));
+      final BinaryTagPatch read = BinaryTagPatch.read(new DataInputStream(new ByteArrayInputStream(output.toByteArray())));
+      assertEquals(to, read.apply(from));
+      assertEquals(patch.toString(), read.toString());
+    } catch (final IOException e) {
+      throw new AssertionError(e);
+    }
+    return patch;
+  }
+
+  private static CompoundBinaryTag snbt(final String input) {
+    try {
+      return TagStringIO.get().asCompound(input);
+    } catch (final IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
@@ -0,0 +1,248 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Set;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class BinaryTagVisitorTest {
+  private static final CompoundBinaryTag TAG = CompoundBinaryTag.builder()
+    .putByte("byte", (byte) 3)
+    .putShort("short", (short) 300)
+    .putInt("int", 70000)
+    .putLong("long", 1264099775885L)
+    .putFloat("float", 0.5f)
+    .putDouble("double", 0.25d)
+    .putString("string", "Hello \"world\"")
+    .putByteArray("bytes", new byte[]{1, 2, 3})
+    .putIntArray("ints", new int[]{4, 5, 6})
+    .putLongArray("longs", new long[]{7, 8, 9})
+    .put("list", ListBinaryTag.builder()
+      .add(CompoundBinaryTag.builder().putString("name", "a").build())
+      .add(CompoundBinaryTag.builder().putString("name", "b").build())
+      .build())
+    .put("nested", CompoundBinaryTag.builder()
+      .put("deeper", CompoundBinaryTag.builder().putBoolean("flag", true).build())
+      .put("skip", ListBinaryTag.builder().add(IntBinaryTag.intBinaryTag(1)).build())
+      .build())
+    .build();
+
+  @Test
+  void testVisitBinary() throws IOException {
+    final byte[] bytes = write(TAG);
+    final TreeBuilder builder = new TreeBuilder();
+    BinaryTagIO.reader().visit(new ByteArrayInputStream(bytes), BinaryTagIO.Compression.NONE, builder);
+    assertEquals(TAG, builder.result);
+
+    final TreeBuilder fromBuffer = new TreeBuilder();
+    BinaryTagIO.reader().visit(ByteBuffer.wrap(bytes), fromBuffer);
+    assertEquals(TAG, fromBuffer.result);
+  }
+
+  @Test
+  void testVisitString() throws IOException {
+    final TreeBuilder builder = new TreeBuilder();
+    TagStringIO.get().visit(TagStringIO.get().asString(TAG), builder);
+    assertEquals(TAG, builder.result);
+  }
+
+  @Test
+  void testSkip() throws IOException {
+    final CompoundBinaryTag expected = TAG
+      .remove("list")
+      .put("nested", TAG.getCompound("nested").remove("skip"));
+
+    final TreeBuilder binary = new TreeBuilder("list", "skip");
+    BinaryTagIO.reader().visit(new DataInputStream(new ByteArrayInputStream(write(TAG))), binary);
+    assertEquals(expected, binary.result);
+
+    final TreeBuilder string = new TreeBuilder("list", "skip");
+    TagStringIO.get().visit(TagStringIO.get().asString(TAG), string);
+    assertEquals(expected, string.result);
+  }
+
+  @Test
+  void testStop() throws IOException {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .putString("id", "minecraft:stone")
+      .build();
+    final BinaryTagVisitor stopping = new BinaryTagVisitor() {
+      @Override
+      public @NotNull Action visitCompoundEntry(final @NotNull BinaryTagType<? extends BinaryTag> type, final @NotNull String key) {
+        return Action.STOP;
+      }
+
+      @Override
+      public void visitString(final @NotNull String value) {
+        throw new AssertionError("Visitor should have stopped");
+      }
+
+      @Override
+      public void visitCompoundEnd() {
+        throw new AssertionError("Visitor should have stopped");
+      }
+    };
+    BinaryTagIO.reader().visit(ByteBuffer.wrap(write(tag)), stopping);
+    TagStringIO.get().visit(TagStringIO.get().asString(tag) + " trailing content is not read", stopping);
+  }
+
+  @Test
+  void testSkipRoot() throws IOException {
+    final TreeBuilder builder = new TreeBuilder() {
+      @Override
+      public @NotNull Action visitCompoundStart() {
+        return Action.SKIP;
+      }
+    };
+    final ByteBuffer buffer = ByteBuffer.wrap(write(TAG));
+    BinaryTagIO.reader().visit(buffer, builder);
+    assertEquals(0, buffer.remaining());
+    assertNull(builder.result);
+  }
+
+  private static byte[] write(final CompoundBinaryTag tag) throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(tag, output);
+    return output.toByteArray();
+  }
+
+  // rebuilds a tag from visitor events
+  static class TreeBuilder implements BinaryTagVisitor {
+    private final Set<String> skipped;
+    private final Deque<Object> containers = new ArrayDeque<>();
+    private final Deque<String> keys = new ArrayDeque<>();
+    BinaryTag result;
+
+    TreeBuilder(final String... skipped) {
+      this.skipped = new HashSet<>(Arrays.asList(skipped));
+    }
+
+    @Override
+    public @NotNull Action visitCompoundStart() {
+      this.containers.push(CompoundBinaryTag.builder());
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public @NotNull Action visitCompoundEntry(final @NotNull BinaryTagType<? extends BinaryTag> type, final @NotNull String key) {
+      if (this.skipped.contains(key)) {
+        return Action.SKIP;
+      }
+      this.keys.push(key);
+      return Action.CONTINUE;
+    }
+
+    @Override
+    public void visitCompoundEnd() {
+      this.value(((CompoundBinaryTag.Builder) this.containers.pop()).build());
+    }
+
+    @Override
+    public @NotNull Action visitListStart(final @NotNull BinaryTagType<? extends BinaryTag> elementType, final int size) {
+      this.containers.push(ListBinaryTag.builder());
+      return Action.CONTINUE;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void visitListEnd() {
+      this.value(((ListBinaryTag.Builder<BinaryTag>) this.containers.pop()).build());
+    }
+
+    @Override
+    public void visitByte(final byte value) {
+      this.value(ByteBinaryTag.byteBinaryTag(value));
+    }
+
+    @Override
+    public void visitShort(final short value) {
+      this.value(ShortBinaryTag.shortBinaryTag(value));
+    }
+
+    @Override
+    public void visitInt(final int value) {
+      this.value(IntBinaryTag.intBinaryTag(value));
+    }
+
+    @Override
+    public void visitLong(final long value) {
+      this.value(LongBinaryTag.longBinaryTag(value));
+    }
+
+    @Override
+    public void visitFloat(final float value) {
+      this.value(FloatBinaryTag.floatBinaryTag(value));
+    }
+
+    @Override
+    public void visitDouble(final double value) {
+      this.value(DoubleBinaryTag.doubleBinaryTag(value));
+    }
+
+    @Override
+    public void visitString(final @NotNull String value) {
+      this.value(StringBinaryTag.stringBinaryTag(value));
+    }
+
+    @Override
+    public void visitByteArray(final byte@NotNull[] value) {
+      this.value(ByteArrayBinaryTag.byteArrayBinaryTag(value));
+    }
+
+    @Override
+    public void visitIntArray(final int@NotNull[] value) {
+      this.value(IntArrayBinaryTag.intArrayBinaryTag(value));
+    }
+
+    @Override
+    public void visitLongArray(final long@NotNull[] value) {
+      this.value(LongArrayBinaryTag.longArrayBinaryTag(value));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void value(final BinaryTag tag) {
+      final Object container = this.containers.peek();
+      if (container == null) {
+        this.result = tag;
+      } else if (container instanceof CompoundBinaryTag.Builder) {
+        ((CompoundBinaryTag.Builder) container).put(this.keys.pop(), tag);
+      } else {
+        ((ListBinaryTag.Builder<BinaryTag>) container).add(tag);
+      }
+    }
+  }
+}
@@ -0,0 +1,209 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+class CompoundBinaryTagTest {
+  @Test
+  void testPutChainMatchesMap() {
+    final Random random = new Random(42);
+    final Map<String, BinaryTag> expected = new HashMap<>();
+    CompoundBinaryTag tag = CompoundBinaryTag.empty();
+    for (int i = 0; i < 5000; i++) {
+      final String key = "key" + random.nextInt(700);
+      if (random.nextInt(4) == 0) {
+        expected.remove(key);
+        tag = tag.remove(key);
+      } else {
+        final IntBinaryTag value = IntBinaryTag.intBinaryTag(i);
+        expected.put(key, value);
+        tag = tag.put(key, value);
+      }
+    }
+    assertEquals(expected.size(), tag.size());
+    assertEquals(CompoundBinaryTag.from(expected), tag);
+    assertEquals(CompoundBinaryTag.from(expected).hashCode(), tag.hashCode());
+    for (final Map.Entry<String, BinaryTag> entry : expected.entrySet()) {
+      assertEquals(entry.getValue(), tag.get(entry.getKey()));
+    }
+    int count = 0;
+    for (final Map.Entry<String, ? extends BinaryTag> entry : tag) {
+      assertEquals(expected.get(entry.getKey()), entry.getValue());
+      count++;
+    }
+    assertEquals(expected.size(), count);
+  }
+
+  @Test
+  void testPutLeavesOriginalUntouched() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.builder().putInt("a", 1).putInt("b", 2).build();
+    final CompoundBinaryTag c1 = c0.putInt("c", 3);
+    final CompoundBinaryTag c2 = c1.remove("a");
+    assertEquals(2, c0.size());
+    assertFalse(c0.keySet().contains("c"));
+    assertEquals(3, c1.size());
+    assertEquals(1, c1.getInt("a"));
+    assertNull(c2.get("a"));
+    assertEquals(3, c2.getInt("c"));
+  }
+
+  @Test
+  void testHashCollisions() {
+    // "Aa" and "BB" share a hash code, as do their concatenations
+    final CompoundBinaryTag c0 = CompoundBinaryTag.empty()
+      .putString("AaAa", "1")
+      .putString("BBBB", "2")
+      .putString("AaBB", "3");
+    assertEquals(3, c0.size());
+    assertEquals("1", c0.getString("AaAa"));
+    assertEquals("2", c0.getString("BBBB"));
+    assertEquals("3", c0.getString("AaBB"));
+    final CompoundBinaryTag c1 = c0.remove("BBBB");
+    assertEquals(2, c1.size());
+    assertNull(c1.get("BBBB"));
+    assertEquals("1", c1.getString("AaAa"));
+    assertEquals(CompoundBinaryTag.empty(), c1.remove("AaAa").remove("AaBB"));
+  }
+
+  @Test
+  void testRemoveMissingReturnsSame() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.empty().putInt("a", 1);
+    assertSame(c0, c0.remove("b"));
+  }
+
+  @Test
+  void testEdit() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.builder()
+      .putInt("a", 1)
+      .putString("b", "x")
+      .put("nested", CompoundBinaryTag.builder().putInt("depth", 1).build())
+      .build();
+    final CompoundBinaryTag c1 = c0.edit(view -> {
+      view.putInt("a", 2).remove("b");
+      for (int i = 0; i < 100; i++) {
+        view.putInt("k" + i, i);
+      }
+      assertEquals(102, view.size());
+      view.editCompound("nested", nested -> nested.putInt("depth", 2).editCompound("deeper", deeper -> deeper.putBoolean("created", true)));
+      view.editList("list", list -> list.add(IntBinaryTag.intBinaryTag(7)));
+    });
+    assertEquals(103, c1.size());
+    assertEquals(2, c1.getInt("a"));
+    assertNull(c1.get("b"));
+    assertEquals(99, c1.getInt("k99"));
+    assertEquals(2, c1.getCompound("nested").getInt("depth"));
+    assertEquals(true, c1.getCompound("nested").getCompound("deeper").getBoolean("created"));
+    assertEquals(7, c1.getList("list").getInt(0));
+
+    // ensure original is untouched
+    assertEquals(3, c0.size());
+    assertEquals(1, c0.getInt("a"));
+    assertEquals(1, c0.getCompound("nested").getInt("depth"));
+  }
+
+  @Test
+  void testEditWithoutChangesReturnsSame() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.empty().putInt("a", 1);
+    assertSame(c0, c0.edit(view -> view.remove("missing").put("a", view.get("a"))));
+    assertSame(c0, c0.edit(view -> { }));
+  }
+
+  @Test
+  void testEditRemoveMissingSkipsCallback() {
+    CompoundBinaryTag.empty().putInt("a", 1).edit(view -> view.remove("missing", removed -> fail("Nothing was removed")));
+  }
+
+  @Test
+  void testViewUnusableAfterEdit() {
+    final CompoundBinaryTag.MutableView[] escaped = new CompoundBinaryTag.MutableView[1];
+    CompoundBinaryTag.empty().edit(view -> escaped[0] = view);
+    assertThrows(IllegalStateException.class, () -> escaped[0].putInt("a", 1));
+  }
+
+  @Test
+  void testEditDoesNotLeakIntoLaterEdits() {
+    final CompoundBinaryTag c0 = CompoundBinaryTag.empty().edit(view -> {
+      for (int i = 0; i < 100; i++) {
+        view.putInt("k" + i, i);
+      }
+    });
+    final CompoundBinaryTag c1 = c0.edit(view -> view.putInt("k5", -1));
+    final CompoundBinaryTag c2 = c0.putInt("k5", -2);
+    assertEquals(5, c0.getInt("k5"));
+    assertEquals(-1, c1.getInt("k5"));
+    assertEquals(-2, c2.getInt("k5"));
+  }
+
+  @Test
+  void testTypedGettersConvertNumbers() {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder().putByte("b", (byte) 7).putDouble("d", 2.5).putString("s", "x").build();
+    assertEquals(7, tag.getInt("b"));
+    assertEquals(7L, tag.getLong("b"));
+    assertEquals(2, tag.getInt("d"));
+    assertEquals(-1, tag.getInt("s", -1));
+    assertEquals("def", tag.getString("b", "def"));
+    assertEquals(0, tag.getIntArray("b").length);
+  }
+
+  @Test
+  void testNestedGetters() {
+    final CompoundBinaryTag tag = CompoundBinaryTag.builder()
+      .put("a", CompoundBinaryTag.builder()
+        .put("b", CompoundBinaryTag.builder().putInt("c", 42).putDouble("d", 1.5).build())
+        .putString("s", "text")
+        .build())
+      .build();
+    assertEquals(42, tag.getInt("a", "b", "c"));
+    assertEquals(42L, tag.getLong("a", "b", "c"));
+    assertEquals(1.5, tag.getDouble("a", "b", "d"));
+    assertEquals((byte) 42, tag.getByte("a", "b", "c"));
+    assertEquals(0, tag.getInt("a", "b", "missing"));
+    assertEquals(0, tag.getInt("a", "s", "c"));
+    assertEquals(0, tag.getInt("missing", "b", "c"));
+    assertEquals(StringBinaryTag.stringBinaryTag("text"), tag.get("a", "s"));
+    assertNull(tag.get("a", "s", "deeper"));
+  }
+
+  @Test
+  void testSmallNumbersShared() {
+    assertSame(IntBinaryTag.intBinaryTag(5), IntBinaryTag.intBinaryTag(5));
+    assertSame(IntBinaryTag.intBinaryTag(-128), IntBinaryTag.intBinaryTag(-128));
+    assertSame(ShortBinaryTag.shortBinaryTag((short) 1023), ShortBinaryTag.shortBinaryTag((short) 1023));
+    assertSame(ByteBinaryTag.byteBinaryTag((byte) -100), ByteBinaryTag.byteBinaryTag((byte) -100));
+    assertSame(ByteBinaryTag.ZERO, ByteBinaryTag.byteBinaryTag((byte) 0));
+    assertEquals(100_000, IntBinaryTag.intBinaryTag(100_000).value());
+    assertEquals(-129, IntBinaryTag.intBinaryTag(-129).value());
+  }
+}
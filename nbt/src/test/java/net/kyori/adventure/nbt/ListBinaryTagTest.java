@@ -24,9 +24,13 @@
 package net.kyori.adventure.nbt;
 
 import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 class ListBinaryTagTest {
@@ -94,4 +98,138 @@ class ListBinaryTagTest {
     assertEquals(i1, l3.get(1));
     assertEquals(i2, l3.get(2));
   }
+
+  @Test
+  void testPrimitiveListMatchesBoxed() {
+    final ListBinaryTag primitive = ListBinaryTag.intListBinaryTag(1, 2, 3);
+    final ListBinaryTag boxed = ListBinaryTag.listBinaryTag(BinaryTagTypes.INT, ImmutableList.of(IntBinaryTag.intBinaryTag(1), IntBinaryTag.intBinaryTag(2), IntBinaryTag.intBinaryTag(3)));
+    assertEquals(BinaryTagTypes.INT, primitive.elementType());
+    assertEquals(boxed, primitive);
+    assertEquals(primitive, boxed);
+    assertEquals(boxed.hashCode(), primitive.hashCode());
+    assertEquals(IntBinaryTag.intBinaryTag(2), primitive.get(1));
+  }
+
+  @Test
+  void testPrimitiveGettersConvert() {
+    final ListBinaryTag doubles = ListBinaryTag.doubleListBinaryTag(-1.5d, 300.75d);
+    final ListBinaryTag boxed = ListBinaryTag.listBinaryTag(BinaryTagTypes.DOUBLE, ImmutableList.of(DoubleBinaryTag.doubleBinaryTag(-1.5d), DoubleBinaryTag.doubleBinaryTag(300.75d)));
+    for (int i = 0; i < doubles.size(); i++) {
+      assertEquals(boxed.getByte(i), doubles.getByte(i));
+      assertEquals(boxed.getShort(i), doubles.getShort(i));
+      assertEquals(boxed.getInt(i), doubles.getInt(i));
+      assertEquals(boxed.getLong(i), doubles.getLong(i));
+      assertEquals(boxed.getFloat(i), doubles.getFloat(i));
+      assertEquals(boxed.getDouble(i), doubles.getDouble(i));
+    }
+    assertArrayEquals(boxed.toIntArray(), doubles.toIntArray());
+    assertArrayEquals(new double[]{-1.5d, 300.75d}, doubles.toDoubleArray());
+  }
+
+  @Test
+  void testToArray() {
+    assertArrayEquals(new long[]{1, 2}, ListBinaryTag.listBinaryTag(BinaryTagTypes.BYTE, ImmutableList.of(ByteBinaryTag.byteBinaryTag((byte) 1), ByteBinaryTag.byteBinaryTag((byte) 2))).toLongArray());
+    assertArrayEquals(new int[0], ListBinaryTag.empty().toIntArray());
+    assertThrows(IllegalStateException.class, () -> ListBinaryTag.listBinaryTag(BinaryTagTypes.STRING, ImmutableList.of(StringBinaryTag.stringBinaryTag("a"))).toIntArray());
+  }
+
+  @Test
+  void testPrimitiveArrayIsCopied() {
+    final int[] values = {1, 2};
+    final ListBinaryTag l0 = ListBinaryTag.intListBinaryTag(values);
+    values[0] = 5;
+    assertEquals(1, l0.getInt(0));
+    l0.toIntArray()[1] = 5;
+    assertEquals(2, l0.getInt(1));
+  }
+
+  @Test
+  void testEditPrimitiveList() {
+    final ListBinaryTag l0 = ListBinaryTag.longListBinaryTag(1L, 2L);
+    final ListBinaryTag l1 = l0.add(LongBinaryTag.longBinaryTag(3L));
+    assertArrayEquals(new long[]{1L, 2L, 3L}, l1.toLongArray());
+    assertThrows(IllegalArgumentException.class, () -> l0.add(IntBinaryTag.intBinaryTag(3)));
+    assertEquals(2, l0.size());
+  }
+
+  @Test
+  void testLargeEditsMatchList() {
+    final List<BinaryTag> expected = new ArrayList<>();
+    ListBinaryTag tag = ListBinaryTag.empty();
+    for (int i = 0; i < 40000; i++) {
+      expected.add(IntBinaryTag.intBinaryTag(i));
+      tag = tag.add(IntBinaryTag.intBinaryTag(i));
+    }
+    tag = tag.set(5, IntBinaryTag.intBinaryTag(-5), null);
+    expected.set(5, IntBinaryTag.intBinaryTag(-5));
+    tag = tag.set(39990, IntBinaryTag.intBinaryTag(-1), null);
+    expected.set(39990, IntBinaryTag.intBinaryTag(-1));
+    for (int i = 0; i < 1100; i++) {
+      tag = tag.remove(tag.size() - 1, null);
+      expected.remove(expected.size() - 1);
+    }
+    tag = tag.remove(100, null);
+    expected.remove(100);
+    assertEquals(ListBinaryTag.listBinaryTag(BinaryTagTypes.INT, expected), tag);
+    assertEquals(expected.hashCode(), tag.hashCode());
+    for (int i = 0; i < expected.size(); i++) {
+      assertEquals(expected.get(i), tag.get(i));
+    }
+  }
+
+  @Test
+  void testRemoveLastUntilEmpty() {
+    ListBinaryTag tag = ListBinaryTag.empty();
+    for (int i = 0; i < 1100; i++) {
+      tag = tag.add(StringBinaryTag.stringBinaryTag(Integer.toString(i)));
+    }
+    while (tag.size() > 0) {
+      final int last = tag.size() - 1;
+      assertEquals(Integer.toString(last), tag.getString(last));
+      assertEquals("0", tag.getString(0));
+      tag = tag.remove(last, null);
+    }
+    assertEquals(0, tag.size());
+  }
+
+  @Test
+  void testEdit() {
+    final ListBinaryTag l0 = ListBinaryTag.builder()
+      .add(CompoundBinaryTag.empty().putString("id", "a"))
+      .add(CompoundBinaryTag.empty().putString("id", "b"))
+      .build();
+    final ListBinaryTag l1 = l0.edit(view -> {
+      view.editCompound(0, compound -> compound.putInt("count", 3));
+      view.remove(1);
+      view.add(CompoundBinaryTag.empty().putString("id", "c"));
+      assertThrows(IllegalArgumentException.class, () -> view.add(IntBinaryTag.intBinaryTag(1)));
+      assertThrows(IllegalStateException.class, () -> view.editList(0, list -> { }));
+    });
+    assertEquals(2, l1.size());
+    assertEquals(3, l1.getCompound(0).getInt("count"));
+    assertEquals("c", l1.getCompound(1).getString("id"));
+
+    // ensure original is untouched
+    assertEquals(2, l0.size());
+    assertEquals("b", l0.getCompound(1).getString("id"));
+  }
+
+  @Test
+  void testEditEmptySetsType() {
+    final ListBinaryTag l0 = ListBinaryTag.empty().edit(view -> view.add(StringBinaryTag.stringBinaryTag("a")));
+    assertEquals(BinaryTagTypes.STRING, l0.elementType());
+    assertSame(l0, l0.edit(view -> view.get(0)));
+  }
+
+  @Test
+  void testEditRejectedElementKeepsType() {
+    final ListBinaryTag l0 = ListBinaryTag.empty().edit(view -> {
+      assertThrows(IndexOutOfBoundsException.class, () -> view.set(0, StringBinaryTag.stringBinaryTag("a")));
+      view.add(IntBinaryTag.intBinaryTag(1));
+      assertThrows(IllegalArgumentException.class, () -> view.add(StringBinaryTag.stringBinaryTag("b")));
+      view.add(IntBinaryTag.intBinaryTag(2));
+    });
+    assertEquals(BinaryTagTypes.INT, l0.elementType());
+    assertEquals(2, l0.size());
+  }
 }
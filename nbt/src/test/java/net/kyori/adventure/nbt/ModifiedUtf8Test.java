@@ -0,0 +1,99 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ModifiedUtf8Test {
+  private static final String[] SAMPLES = {
+    "",
+    "minecraft:diamond_sword",
+    "nul\u0000byte",
+    "café über",
+    "世界",
+    "emoji 😀 pair",
+    "mixed ascii then é世 and back"
+  };
+
+  @Test
+  void testWriteMatchesDataOutput() throws IOException {
+    for (final String sample : SAMPLES) {
+      final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+      new DataOutputStream(expected).writeUTF(sample);
+      final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+      ModifiedUtf8.write(new DataOutputStream(actual), sample);
+      assertArrayEquals(expected.toByteArray(), actual.toByteArray());
+      assertEquals(expected.size() - 2, ModifiedUtf8.encodedLength(sample));
+    }
+  }
+
+  @Test
+  void testReadMatchesDataInput() throws IOException {
+    for (final String sample : SAMPLES) {
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      new DataOutputStream(output).writeUTF(sample);
+      final byte[] bytes = output.toByteArray();
+
+      final TrackingDataInput stream = new TrackingDataInput(new DataInputStream(new ByteArrayInputStream(bytes)), -1L);
+      assertEquals(sample, stream.readUTF());
+      assertEquals(bytes.length, stream.counter);
+
+      final ByteBufferDataInput heap = new ByteBufferDataInput(ByteBuffer.wrap(bytes), -1L);
+      assertEquals(sample, heap.readUTF());
+      assertEquals(bytes.length, heap.counter);
+
+      final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+      direct.put(bytes).flip();
+      assertEquals(sample, new ByteBufferDataInput(direct, -1L).readUTF());
+    }
+  }
+
+  @Test
+  void testMalformed() {
+    final char[] chars = new char[4];
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.decode(new byte[]{(byte) 0xc3}, 0, 1, chars));
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.decode(new byte[]{(byte) 0xe4, (byte) 0xb8, 'a'}, 0, 3, chars));
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.decode(new byte[]{(byte) 0xff}, 0, 1, chars));
+  }
+
+  @Test
+  void testTooLong() {
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 0x8000; i++) {
+      builder.append('é');
+    }
+    assertThrows(UTFDataFormatException.class, () -> ModifiedUtf8.write(new DataOutputStream(new ByteArrayOutputStream()), builder.toString()));
+  }
+}
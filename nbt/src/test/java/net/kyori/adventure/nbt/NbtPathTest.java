@@ -0,0 +1,157 @@
+/*
+ * This file is part of adventure, licensed under the MIT License.
+ *
+ * Copyright (c) 2017-2024 KyoriPowered
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+package net.kyori.adventure.nbt;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class NbtPathTest {
+  private static final CompoundBinaryTag ROOT = snbt("{name:\"root\",pos:[1,2,3],items:[{id:\"a\",count:1b},{id:\"b\",count:2b}],data:{\"quoted key\":{x:5},ids:[I;7,8,9]}}");
+
+  @Test
+  void testGetKeys() {
+    assertEquals(Collections.singletonList(StringBinaryTag.stringBinaryTag("root")), NbtPath.compile("name").get(ROOT));
+    assertEquals(IntBinaryTag.intBinaryTag(5), NbtPath.compile("data.\"quoted key\".x").first(ROOT));
+    assertEquals(IntBinaryTag.intBinaryTag(5), NbtPath.compile("data.'quoted key'.x").first(ROOT));
+    assertEquals(Collections.emptyList(), NbtPath.compile("data.missing.x").get(ROOT));
+    assertNull(NbtPath.compile("name.x").first(ROOT));
+  }
+
+  @Test
+  void testGetIndices() {
+    assertEquals(IntBinaryTag.intBinaryTag(1), NbtPath.compile("pos[0]").first(ROOT));
+    assertEquals(IntBinaryTag.intBinaryTag(3), NbtPath.compile("pos[-1]").first(ROOT));
+    assertNull(NbtPath.compile("pos[3]").first(ROOT));
+    assertNull(NbtPath.compile("pos[-4]").first(ROOT));
+    assertEquals(IntBinaryTag.intBinaryTag(8), NbtPath.compile("data.ids[1]").first(ROOT));
+    assertEquals(StringBinaryTag.stringBinaryTag("b"), NbtPath.compile("items[1].id").first(ROOT));
+  }
+
+  @Test
+  void testGetAllElements() {
+    assertEquals(Arrays.asList(StringBinaryTag.stringBinaryTag("a"), StringBinaryTag.stringBinaryTag("b")), NbtPath.compile("items[].id").get(ROOT));
+    assertEquals(Arrays.asList(IntBinaryTag.intBinaryTag(7), IntBinaryTag.intBinaryTag(8), IntBinaryTag.intBinaryTag(9)), NbtPath.compile("data.ids[]").get(ROOT));
+  }
+
+  @Test
+  void testGetFilters() {
+    assertEquals(Collections.singletonList(ByteBinaryTag.byteBinaryTag((byte) 2)), NbtPath.compile("items[{id:\"b\"}].count").get(ROOT));
+    assertEquals(Collections.singletonList(ROOT), NbtPath.compile("{name:\"root\"}").get(ROOT));
+    assertEquals(Collections.emptyList(), NbtPath.compile("{name:\"other\"}").get(ROOT));
+    assertEquals(IntBinaryTag.intBinaryTag(5), NbtPath.compile("data{ids:[I;7,8,9]}.\"quoted key\".x").first(ROOT));
+    assertNull(NbtPath.compile("data{ids:[I;7]}").first(ROOT));
+    assertEquals(1, NbtPath.compile("{items:[{id:\"b\"}]}").get(ROOT).size());
+    assertEquals(0, NbtPath.compile("{items:[{id:\"c\"}]}").get(ROOT).size());
+  }
+
+  @Test
+  void testGetLazy() throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    BinaryTagIO.writer().write(ROOT, output);
+    final CompoundBinaryTag lazy = BinaryTagIO.reader().readLazy(ByteBuffer.wrap(output.toByteArray()));
+    assertEquals(StringBinaryTag.stringBinaryTag("a"), NbtPath.compile("items[{count:1b}].id").first(lazy));
+    assertEquals(NbtPath.compile("data").set(ROOT, IntBinaryTag.intBinaryTag(1)), NbtPath.compile("data").set(lazy, IntBinaryTag.intBinaryTag(1)));
+  }
+
+  @Test
+  void testSet() {
+    final IntBinaryTag value = IntBinaryTag.intBinaryTag(42);
+    assertEquals(snbt("{a:{b:{c:42}}}"), NbtPath.compile("a.b.c").set(CompoundBinaryTag.empty(), value));
+    assertEquals(IntBinaryTag.intBinaryTag(42), NbtPath.compile("pos[-1]").first(NbtPath.compile("pos[-1]").set(ROOT, value)));
+    assertEquals(snbt("{l:[42,42]}"), NbtPath.compile("l[]").set(snbt("{l:[1,2]}"), value));
+    assertEquals(snbt("{l:[{a:1,v:42},{a:2}]}"), NbtPath.compile("l[{a:1}].v").set(snbt("{l:[{a:1},{a:2}]}"), value));
+    assertEquals(snbt("{l:[{a:2},{a:1,v:42}]}"), NbtPath.compile("l[{a:1}].v").set(snbt("{l:[{a:2}]}"), value));
+    assertEquals(snbt("{a:{b:1,v:42}}"), NbtPath.compile("a{b:1}.v").set(CompoundBinaryTag.empty(), value));
+    assertEquals(snbt("{ids:[I;7,42]}"), NbtPath.compile("ids[1]").set(snbt("{ids:[I;7,8]}"), value));
+  }
+
+  @Test
+  void testSetUnchanged() {
+    final StringBinaryTag value = StringBinaryTag.stringBinaryTag("x");
+    assertSame(ROOT, NbtPath.compile("pos[0]").set(ROOT, value));
+    assertSame(ROOT, NbtPath.compile("pos[7]").set(ROOT, value));
+    assertSame(ROOT, NbtPath.compile("data.ids[0]").set(ROOT, value));
+    assertEquals(ROOT, NbtPath.compile("name").set(ROOT, StringBinaryTag.stringBinaryTag("root")));
+    assertSame(ROOT, NbtPath.compile("name.x").set(ROOT, value));
+  }
+
+  @Test
+  void testSetThroughUnmatchedFilter() {
+    final IntBinaryTag value = IntBinaryTag.intBinaryTag(42);
+    final CompoundBinaryTag other = snbt("{a:{b:2},l:[{a:2}]}");
+    assertSame(CompoundBinaryTag.empty(), NbtPath.compile("a{b:1}").set(CompoundBinaryTag.empty(), value));
+    assertSame(other, NbtPath.compile("a{b:1}").set(other, value));
+    assertSame(other, NbtPath.compile("l[{a:1}]").set(other, value));
+  }
+
+  @Test
+  void testSetArrayElementsOfOtherTypes() {
+    final CompoundBinaryTag ids = snbt("{ids:[I;7,8],bytes:[B;1b,2b]}");
+    assertSame(ids, NbtPath.compile("ids[0]").set(ids, LongBinaryTag.longBinaryTag(1)));
+    assertSame(ids, NbtPath.compile("ids[]").set(ids, ByteBinaryTag.byteBinaryTag((byte) 1)));
+    assertSame(ids, NbtPath.compile("bytes[-1]").set(ids, IntBinaryTag.intBinaryTag(300)));
+    assertEquals(snbt("{ids:[I;7,8],bytes:[B;1b,3b]}"), NbtPath.compile("bytes[-1]").set(ids, ByteBinaryTag.byteBinaryTag((byte) 3)));
+    assertEquals(snbt("{ids:[I;8],bytes:[B;1b,2b]}"), NbtPath.compile("ids[0]").remove(ids));
+  }
+
+  @Test
+  void testRemove() {
+    assertEquals(snbt("{l:[1,3]}"), NbtPath.compile("l[1]").remove(snbt("{l:[1,2,3]}")));
+    assertEquals(snbt("{l:[{a:2}]}"), NbtPath.compile("l[{a:1}]").remove(snbt("{l:[{a:1},{a:2},{a:1,b:1}]}")));
+    assertEquals(snbt("{a:{}}"), NbtPath.compile("a.b").remove(snbt("{a:{b:1}}")));
+    assertEquals(snbt("{ids:[L;1L]}"), NbtPath.compile("ids[-1]").remove(snbt("{ids:[L;1L,2L]}")));
+    assertSame(ROOT, NbtPath.compile("missing.key").remove(ROOT));
+    assertThrows(IllegalStateException.class, () -> NbtPath.compile("{}").remove(ROOT));
+  }
+
+  @Test
+  void testCompileErrors() {
+    for (final String path : new String[]{"", "a.", "a..b", "a[", "a[x]", "a[0", "\"a", "a[99999999999]", "a{b:1", "a b", "'a\\x'"}) {
+      assertThrows(IllegalArgumentException.class, () -> NbtPath.compile(path), path);
+    }
+  }
+
+  @Test
+  void testEquality() {
+    assertEquals(NbtPath.compile("a.b[0]"), NbtPath.compile("a.b[0]"));
+    assertEquals("a.b[0]", NbtPath.compile("a.b[0]").asString());
+  }
+
+  private static CompoundBinaryTag snbt(final String input) {
+    try {
+      return TagStringIO.get().asCompound(input);
+    } catch (final IOException e) {
+      throw new AssertionError(e);
+    }
+  }
+}
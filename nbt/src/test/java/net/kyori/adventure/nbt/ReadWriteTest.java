@@ -87,6 +87,18 @@ class ReadWriteTest {
     assertEquals(a.elementType(), b.elementType());
   }
 
+  @Test
+  void testPrimitiveLists() throws IOException {
+    this.testWriteRead(ListBinaryTag.byteListBinaryTag((byte) 1, (byte) -2), BinaryTagTypes.LIST);
+    this.testWriteRead(ListBinaryTag.shortListBinaryTag((short) 300, (short) -300), BinaryTagTypes.LIST);
+    this.testWriteRead(ListBinaryTag.intListBinaryTag(Integer.MIN_VALUE, 0, Integer.MAX_VALUE), BinaryTagTypes.LIST);
+    this.testWriteRead(ListBinaryTag.longListBinaryTag(Long.MIN_VALUE, Long.MAX_VALUE), BinaryTagTypes.LIST);
+    this.testWriteRead(ListBinaryTag.floatListBinaryTag(0.5f, Float.NaN), BinaryTagTypes.LIST);
+    final ListBinaryTag doubles = this.testWriteRead(ListBinaryTag.doubleListBinaryTag(1d, -0.25d), BinaryTagTypes.LIST);
+    assertEquals(BinaryTagTypes.DOUBLE, doubles.elementType());
+    assertEquals(-0.25d, doubles.getDouble(1));
+  }
+
   @Test
   void testLongArray() throws IOException {
     this.testWriteRead(LongArrayBinaryTag.longArrayBinaryTag(Long.MIN_VALUE, -100, 0, 100, Long.MAX_VALUE), BinaryTagTypes.LONG_ARRAY);
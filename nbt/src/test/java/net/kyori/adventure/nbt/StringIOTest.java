@@ -30,10 +30,15 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringWriter;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class StringIOTest {
   @Test
@@ -300,6 +305,148 @@ class StringIOTest {
     assertEquals(ListBinaryTag.builder().add(StringBinaryTag.stringBinaryTag("hello")).build(), this.stringToTag("[\"hello\",]"));
   }
 
+  @Test
+  void testIntegerBounds() throws IOException {
+    assertEquals(ByteBinaryTag.byteBinaryTag((byte) -128), this.stringToTag("-128b"));
+    assertEquals(StringBinaryTag.stringBinaryTag("128b"), this.stringToTag("128b"));
+    assertEquals(ShortBinaryTag.shortBinaryTag(Short.MIN_VALUE), this.stringToTag("-32768s"));
+    assertEquals(IntBinaryTag.intBinaryTag(Integer.MIN_VALUE), this.stringToTag("-2147483648"));
+    assertEquals(IntBinaryTag.intBinaryTag(Integer.MAX_VALUE), this.stringToTag("2147483647i"));
+    assertEquals(LongBinaryTag.longBinaryTag(Long.MIN_VALUE), this.stringToTag("-9223372036854775808L"));
+    assertEquals(StringBinaryTag.stringBinaryTag("9223372036854775808L"), this.stringToTag("9223372036854775808L"));
+    assertEquals(StringBinaryTag.stringBinaryTag("+-1b"), this.stringToTag("+-1b"));
+    assertEquals(StringBinaryTag.stringBinaryTag("-"), this.stringToTag("-"));
+  }
+
+  @Test
+  void testFloatingPointMatchesJdk() throws IOException {
+    final Random random = new Random(42);
+    final List<String> inputs = new ArrayList<>(Arrays.asList(
+      "0.1", "-0.0", "1e22", "1e23", "123456789012345678901234e-5", "0.000000000000000000001", "9007199254740993", "3.4028235e38", "1.4e-45", "16777217"
+    ));
+    for (int i = 0; i < 500; i++) {
+      inputs.add(Double.toString(random.nextDouble() * Math.pow(10, random.nextInt(40) - 20)));
+      inputs.add(Float.toString(random.nextFloat() * (float) Math.pow(10, random.nextInt(20) - 10)));
+      inputs.add((random.nextInt(2000) - 1000) + "." + random.nextInt(100000));
+    }
+    for (final String input : inputs) {
+      assertEquals(DoubleBinaryTag.doubleBinaryTag(Double.parseDouble(input)), this.stringToTag(input + "d"), input);
+      assertEquals(FloatBinaryTag.floatBinaryTag(Float.parseFloat(input)), this.stringToTag(input + "f"), input);
+    }
+    assertEquals(StringBinaryTag.stringBinaryTag("1e999d"), this.stringToTag("1e999d"));
+    assertEquals(StringBinaryTag.stringBinaryTag(".d"), this.stringToTag(".d"));
+    assertEquals(StringBinaryTag.stringBinaryTag("1e5"), this.stringToTag("1e5"));
+  }
+
+  @Test
+  void testFloatingPointLongMantissas() throws IOException {
+    // 19 significant digits above Long.MAX_VALUE
+    final Random random = new Random(42);
+    final List<String> inputs = new ArrayList<>(Arrays.asList("-9509138505628166322e17", "-9869643757440491890", "9223372036854775808", "9999999999999999999.5"));
+    for (int i = 0; i < 200; i++) {
+      inputs.add(Long.toUnsignedString(Long.MIN_VALUE + (random.nextLong() >>> 1) + (random.nextLong() >>> 2)));
+    }
+    for (final String input : inputs) {
+      assertEquals(DoubleBinaryTag.doubleBinaryTag(Double.parseDouble(input)), this.stringToTag(input + "d"), input);
+      assertEquals(DoubleBinaryTag.doubleBinaryTag(Double.parseDouble(input)), this.stringToTag(input + "D"), input);
+      assertEquals(FloatBinaryTag.floatBinaryTag(Float.parseFloat(input)), this.stringToTag(input + "f"), input);
+      assertEquals(FloatBinaryTag.floatBinaryTag(Float.parseFloat(input)), this.stringToTag(input + "F"), input);
+    }
+  }
+
+  @Test
+  void testEscapedStrings() throws IOException {
+    assertEquals(StringBinaryTag.stringBinaryTag("a\"b"), this.stringToTag("\"a\\\"b\""));
+    assertEquals(StringBinaryTag.stringBinaryTag("it's"), this.stringToTag("'it\\'s'"));
+    assertEquals(StringBinaryTag.stringBinaryTag("ab"), this.stringToTag("a\\b"));
+    assertEquals(CompoundBinaryTag.builder().putString("k\"ey", "value").build(), this.stringToTag("{\"k\\\"ey\": value}"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("\"unterminated\\\""));
+  }
+
+  @Test
+  void testLargeArrays() throws IOException {
+    final int[] ints = new int[100];
+    final long[] longs = new long[100];
+    final byte[] bytes = new byte[100];
+    final StringBuilder intInput = new StringBuilder("[I;");
+    final StringBuilder longInput = new StringBuilder("[L;");
+    final StringBuilder byteInput = new StringBuilder("[B;");
+    for (int i = 0; i < 100; i++) {
+      ints[i] = i * 1000003;
+      longs[i] = i * 100000000003L;
+      bytes[i] = (byte) (i - 50);
+      intInput.append(i == 0 ? "" : ", ").append(ints[i]);
+      longInput.append(i == 0 ? "" : ", ").append(longs[i]).append('L');
+      byteInput.append(i == 0 ? "" : ", ").append(bytes[i]).append('b');
+    }
+    assertEquals(IntArrayBinaryTag.intArrayBinaryTag(ints), this.stringToTag(intInput.append(']').toString()));
+    assertEquals(LongArrayBinaryTag.longArrayBinaryTag(longs), this.stringToTag(longInput.append(']').toString()));
+    assertEquals(ByteArrayBinaryTag.byteArrayBinaryTag(bytes), this.stringToTag(byteInput.append(']').toString()));
+  }
+
+  @Test
+  void testInvalidArrayElements() {
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[I; 1, 2b]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[I; 1, \"2\"]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[B; 1, 2b]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[B; 128b]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[L; 1l, 2]"));
+    assertThrows(StringTagParseException.class, () -> this.stringToTag("[L; 1l, 2"));
+  }
+
+  @Test
+  void testWriteToStreamsLargeTags() throws IOException {
+    final CompoundBinaryTag.Builder builder = CompoundBinaryTag.builder();
+    for (int i = 0; i < 500; i++) {
+      builder.put("entry " + i, CompoundBinaryTag.builder()
+        .putString("name", "quoted \"value\" \\ " + i)
+        .putLongArray("longs", new long[]{Long.MIN_VALUE, -i, i, Long.MAX_VALUE})
+        .putByte("byte", (byte) -i)
+        .putDouble("double", i / 3d)
+        .build());
+    }
+    final CompoundBinaryTag tag = builder.build();
+    for (final TagStringIO io : new TagStringIO[]{TagStringIO.get(), TagStringIO.builder().indent(2).build()}) {
+      final String expected = io.asString(tag);
+      assertTrue(expected.length() > 8192);
+
+      final StringWriter writer = new StringWriter();
+      io.writeTo(tag, writer);
+      assertEquals(expected, writer.toString());
+
+      // an appendable which is neither a writer nor a string builder
+      final StringBuilder target = new StringBuilder();
+      io.writeTo(tag, new Appendable() {
+        @Override
+        public Appendable append(final CharSequence csq) {
+          target.append(csq);
+          return this;
+        }
+
+        @Override
+        public Appendable append(final CharSequence csq, final int start, final int end) {
+          target.append(csq, start, end);
+          return this;
+        }
+
+        @Override
+        public Appendable append(final char c) {
+          target.append(c);
+          return this;
+        }
+      });
+      assertEquals(expected, target.toString());
+      assertEquals(tag, io.asCompound(expected));
+    }
+  }
+
+  @Test
+  void testWriteToScalar() throws IOException {
+    final StringBuilder builder = new StringBuilder();
+    TagStringIO.get().writeTo(StringBinaryTag.stringBinaryTag("a \"b\""), builder);
+    assertEquals("\"a \\\"b\\\"\"", builder.toString());
+  }
+
   private String tagToString(final BinaryTag tag) throws IOException {
     final StringWriter writer = new StringWriter();
     try (final TagStringWriter emitter = new TagStringWriter(writer, "")) {